@@ -0,0 +1,127 @@
+package android.gameengine.icadroids.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+
+import android.gameengine.icadroids.alarms.Alarm;
+import android.gameengine.icadroids.alarms.IAlarm;
+import android.gameengine.icadroids.engine.HeadlessGameLoop;
+import android.gameengine.icadroids.objects.MoveableGameObject;
+import android.gameengine.icadroids.tasks.Script;
+import android.gameengine.icadroids.tiles.Tile;
+
+/**
+ * Checks that a running game does not allocate: a headless scene with moving
+ * objects that bounce off tiles, repeating alarms and looping scripts is
+ * warmed up, then the bytes the thread allocates during FRAMES updates are
+ * measured. The check fails when an update allocates anything.
+ * <p>
+ * Run it with
+ * <code>java -cp target/benchmarks.jar android.gameengine.icadroids.benchmarks.AllocationCheck</code>
+ * , it also runs at mvn verify.
+ */
+public final class AllocationCheck {
+
+	/**
+	 * The number of updates before and during the measurement
+	 */
+	static final int WARMUP_FRAMES = 20000, FRAMES = 10000;
+	/**
+	 * The number of objects in the scene
+	 */
+	static final int OBJECT_COUNT = 300;
+	/**
+	 * The number of tiles horizontally and vertically
+	 */
+	static final int MAP_SIZE = 60;
+
+	private AllocationCheck() {
+	}
+
+	public static void main(String[] args) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		if (!threads.isThreadAllocatedMemorySupported()) {
+			System.out.println("AllocationCheck: not supported by this VM");
+			return;
+		}
+		threads.setThreadAllocatedMemoryEnabled(true);
+		long thread = Thread.currentThread().getId();
+
+		HeadlessGameLoop loop = new Scene();
+		loop.runFrames(WARMUP_FRAMES);
+
+		// reading the counter can allocate itself, measure that first
+		long start = threads.getThreadAllocatedBytes(thread);
+		long empty = threads.getThreadAllocatedBytes(thread) - start;
+		start = threads.getThreadAllocatedBytes(thread);
+		loop.runFrames(FRAMES);
+		long bytes = threads.getThreadAllocatedBytes(thread) - start - empty;
+
+		double perFrame = (double) Math.max(0, bytes) / FRAMES;
+		System.out.println("AllocationCheck: " + bytes + " bytes in " + FRAMES
+				+ " updates, " + perFrame + " bytes per update");
+		if (perFrame > 0) {
+			throw new IllegalStateException("The game loop allocates "
+					+ perFrame + " bytes per update");
+		}
+	}
+
+	/**
+	 * A map with walls around it and objects that move, bounce and run
+	 * alarms and scripts
+	 */
+	private static final class Scene extends HeadlessGameLoop {
+
+		Scene() {
+			super(MAP_SIZE * BenchmarkWorld.TILE_SIZE, MAP_SIZE
+					* BenchmarkWorld.TILE_SIZE);
+		}
+
+		@Override
+		protected void initialize() {
+			Random random = new Random(42);
+			int[][] map = BenchmarkWorld.newMap(MAP_SIZE, MAP_SIZE, random);
+			for (int i = 0; i < MAP_SIZE; i++) {
+				map[0][i] = 0;
+				map[MAP_SIZE - 1][i] = 0;
+				map[i][0] = 0;
+				map[i][MAP_SIZE - 1] = 0;
+			}
+			world.setGameTiles(BenchmarkWorld.newTiles(map));
+			Script script = new Script().waitUpdates(7).waitMillis(100)
+					.loop();
+			for (int i = 0; i < OBJECT_COUNT; i++) {
+				Walker walker = new Walker();
+				int x = (1 + random.nextInt(MAP_SIZE - 2))
+						* BenchmarkWorld.TILE_SIZE;
+				int y = (1 + random.nextInt(MAP_SIZE - 2))
+						* BenchmarkWorld.TILE_SIZE;
+				walker.setPosition(x, y);
+				walker.position.set(x, y, x + BenchmarkWorld.OBJECT_SIZE, y
+						+ BenchmarkWorld.OBJECT_SIZE);
+				walker.setDirectionSpeed(random.nextInt(360), 3);
+				world.addGameObject(walker, x, y);
+				new Alarm(0, walker).repeatUpdates(1 + random.nextInt(30), 30);
+				walker.startScript(script);
+			}
+		}
+	}
+
+	/**
+	 * An object that turns around when it hits a tile or its alarm goes off
+	 */
+	private static final class Walker extends MoveableGameObject implements
+			IAlarm {
+
+		@Override
+		public void collisionOccurred(List<Tile> collidedTiles) {
+			setDirectionSpeed((getDirection() + 180) % 360, 3);
+		}
+
+		public void triggerAlarm(int alarmID) {
+			setDirectionSpeed((getDirection() + 90) % 360, 3);
+		}
+	}
+}
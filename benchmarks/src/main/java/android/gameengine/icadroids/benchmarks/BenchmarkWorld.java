@@ -0,0 +1,105 @@
+package android.gameengine.icadroids.benchmarks;
+
+import java.util.Random;
+
+import android.gameengine.icadroids.engine.GameWorld;
+import android.gameengine.icadroids.objects.MoveableGameObject;
+import android.gameengine.icadroids.tiles.GameTiles;
+
+/**
+ * Helper methods to fill a headless GameWorld for the benchmarks. All random
+ * numbers come from a fixed seed, so every run measures the same scene.
+ */
+final class BenchmarkWorld {
+
+	/**
+	 * The size of the world when no viewport is used
+	 */
+	static final int WORLD_WIDTH = 4000, WORLD_HEIGHT = 4000;
+	/**
+	 * The width and height of the objects in the scene
+	 */
+	static final int OBJECT_SIZE = 32;
+	/**
+	 * The tile size of the tile maps
+	 */
+	static final int TILE_SIZE = 32;
+
+	private BenchmarkWorld() {
+	}
+
+	/**
+	 * Make a new headless world, it becomes the current world
+	 * 
+	 * @return The new world
+	 */
+	static GameWorld newWorld() {
+		return new GameWorld(WORLD_WIDTH, WORLD_HEIGHT);
+	}
+
+	/**
+	 * Add objects at random places in the world. There are no sprites, so the
+	 * position rectangles are set directly.
+	 * 
+	 * @param world
+	 *            The world to fill
+	 * @param count
+	 *            The number of objects
+	 * @param random
+	 *            The random generator to place the objects with
+	 */
+	static void addObjects(GameWorld world, int count, Random random) {
+		for (int i = 0; i < count; i++) {
+			world.addGameObject(newObject(random), 0, 0);
+		}
+	}
+
+	/**
+	 * Make an object at a random place in the world
+	 * 
+	 * @param random
+	 *            The random generator to place the object with
+	 * @return The new object
+	 */
+	static MoveableGameObject newObject(Random random) {
+		MoveableGameObject object = new MoveableGameObject();
+		int x = random.nextInt(WORLD_WIDTH - OBJECT_SIZE);
+		int y = random.nextInt(WORLD_HEIGHT - OBJECT_SIZE);
+		object.setPosition(x, y);
+		object.position.set(x, y, x + OBJECT_SIZE, y + OBJECT_SIZE);
+		return object;
+	}
+
+	/**
+	 * Make a random tile map, about a third of the tiles is solid
+	 * 
+	 * @param width
+	 *            The number of tiles horizontally
+	 * @param height
+	 *            The number of tiles vertically
+	 * @param random
+	 *            The random generator to fill the map with
+	 * @return The map, -1 is an empty tile
+	 */
+	static int[][] newMap(int width, int height, Random random) {
+		int[][] map = new int[height][width];
+		for (int i = 0; i < height; i++) {
+			for (int j = 0; j < width; j++) {
+				map[i][j] = random.nextInt(3) == 0 ? random.nextInt(4) : -1;
+			}
+		}
+		return map;
+	}
+
+	/**
+	 * Make a tile map with four tile types
+	 * 
+	 * @param map
+	 *            The map, -1 is an empty tile
+	 * @return The tiles
+	 */
+	static GameTiles newTiles(int[][] map) {
+		return new GameTiles(new String[] { "tile0", "tile1", "tile2",
+				"tile3" }, map, TILE_SIZE);
+	}
+}
@@ -0,0 +1,43 @@
+package android.gameengine.icadroids.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import android.gameengine.icadroids.objects.MoveableGameObject;
+
+/**
+ * Measures MoveableGameObject.setDirection, which is called by most games
+ * every update.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DirectionBenchmark {
+
+	private MoveableGameObject object;
+	private double direction = 0;
+
+	@Setup
+	public void setup() {
+		BenchmarkWorld.newWorld();
+		object = new MoveableGameObject();
+		object.setSpeed(5);
+	}
+
+	@Benchmark
+	public double setDirection() {
+		direction += 7.3;
+		if (direction >= 360) {
+			direction -= 360;
+		}
+		object.setDirection(direction);
+		return object.getxSpeed() + object.getySpeed();
+	}
+}
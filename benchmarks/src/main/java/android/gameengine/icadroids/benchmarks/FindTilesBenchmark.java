@@ -0,0 +1,62 @@
+package android.gameengine.icadroids.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import android.gameengine.icadroids.objects.collisions.CollidingObject;
+import android.gameengine.icadroids.tiles.GameTiles;
+import android.gameengine.icadroids.tiles.Tile;
+import android.graphics.Rect;
+
+/**
+ * Measures CollidingObject.findTilesAt, the tile search that runs for every
+ * moving object every update.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FindTilesBenchmark {
+
+	/**
+	 * The width and height of the searched box in pixels
+	 */
+	@Param({ "16", "64", "256" })
+	public int boxSize;
+
+	private final CollidingObject collidingObject = new CollidingObject();
+	private GameTiles gameTiles;
+	private Rect[] boxes;
+	private int next = 0;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		BenchmarkWorld.newWorld();
+		gameTiles = BenchmarkWorld.newTiles(BenchmarkWorld.newMap(200, 200,
+				random));
+		int maxPosition = 200 * BenchmarkWorld.TILE_SIZE - boxSize;
+		boxes = new Rect[1024];
+		for (int i = 0; i < boxes.length; i++) {
+			int x = random.nextInt(maxPosition);
+			int y = random.nextInt(maxPosition);
+			boxes[i] = new Rect(x, y, x + boxSize, y + boxSize);
+		}
+	}
+
+	@Benchmark
+	public List<Tile> findTilesAt() {
+		Rect box = boxes[next];
+		next = (next + 1) & (boxes.length - 1);
+		return collidingObject.findTilesAt(box, false, gameTiles);
+	}
+}
@@ -0,0 +1,68 @@
+package android.gameengine.icadroids.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import android.gameengine.icadroids.tiles.FlowField;
+import android.gameengine.icadroids.tiles.GameTiles;
+
+/**
+ * Measures the flow field: computing the whole field when the goal moves to
+ * an other tile, and repairing it when one tile changes. Only tile type 0 is
+ * a wall, so about a twelfth of the map is solid.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FlowFieldBenchmark {
+
+	/**
+	 * The number of tiles horizontally and vertically
+	 */
+	@Param({ "100", "250" })
+	public int mapSize;
+
+	private GameTiles tiles;
+	private FlowField flowField;
+	private Random random;
+	private int goal = 0;
+
+	@Setup
+	public void setup() {
+		BenchmarkWorld.newWorld();
+		random = new Random(42);
+		tiles = BenchmarkWorld.newTiles(BenchmarkWorld.newMap(mapSize,
+				mapSize, random));
+		flowField = new FlowField(tiles);
+		flowField.setWalkable(1, true);
+		flowField.setWalkable(2, true);
+		flowField.setWalkable(3, true);
+		flowField.setGoal(mapSize / 2, mapSize / 2);
+		flowField.update();
+	}
+
+	@Benchmark
+	public int moveGoal() {
+		goal = (goal + 1) % mapSize;
+		flowField.setGoal(goal, mapSize / 2);
+		flowField.update();
+		return flowField.getDistance(0, 0);
+	}
+
+	@Benchmark
+	public int changeTile() {
+		tiles.changeTile(random.nextInt(mapSize), random.nextInt(mapSize),
+				random.nextInt(2) - 1);
+		flowField.update();
+		return flowField.getDistance(0, 0);
+	}
+}
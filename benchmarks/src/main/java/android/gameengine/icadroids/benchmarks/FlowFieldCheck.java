@@ -0,0 +1,120 @@
+package android.gameengine.icadroids.benchmarks;
+
+import java.util.Random;
+
+import android.gameengine.icadroids.tiles.FlowField;
+import android.gameengine.icadroids.tiles.GameTiles;
+
+/**
+ * Checks that a flow field that is repaired after changed tiles is the same
+ * as a field that is computed again: on random maps from a fixed seed, tiles
+ * are changed with GameTiles.changeTile() and now and then the goal moves.
+ * After every update the repaired field is compared with a new field. The
+ * check fails when a distance differs or when a direction doesn't lead to a
+ * neighbour that is one step closer to the goal. Directions are not compared
+ * directly, because two neighbours can be just as close.
+ * <p>
+ * Run it with
+ * <code>java -cp target/benchmarks.jar android.gameengine.icadroids.benchmarks.FlowFieldCheck</code>
+ * , it also runs at mvn verify.
+ */
+public final class FlowFieldCheck {
+
+	/**
+	 * The number of maps and the number of updates with changed tiles per
+	 * map
+	 */
+	static final int MAPS = 200, ROUNDS = 30;
+	/**
+	 * The largest number of tiles horizontally and vertically
+	 */
+	static final int MAX_MAP_SIZE = 48;
+	/**
+	 * The steps and costs of the directions of the field
+	 */
+	private static final int[] DX = { 0, 1, 1, 1, 0, -1, -1, -1 };
+	private static final int[] DY = { -1, -1, 0, 1, 1, 1, 0, -1 };
+	private static final int STRAIGHT = 10, DIAGONAL = 14;
+
+	private FlowFieldCheck() {
+	}
+
+	public static void main(String[] args) {
+		BenchmarkWorld.newWorld();
+		Random random = new Random(42);
+		int repairs = 0;
+		for (int i = 0; i < MAPS; i++) {
+			int width = 2 + random.nextInt(MAX_MAP_SIZE - 1);
+			int height = 2 + random.nextInt(MAX_MAP_SIZE - 1);
+			GameTiles tiles = BenchmarkWorld.newTiles(BenchmarkWorld.newMap(
+					width, height, random));
+			FlowField repaired = new FlowField(tiles);
+			int goalX = random.nextInt(width);
+			int goalY = random.nextInt(height);
+			repaired.setGoal(goalX, goalY);
+			repaired.update();
+			for (int round = 0; round < ROUNDS; round++) {
+				// mostly a few tiles, sometimes a larger change
+				int changes = 1 + random.nextInt(random.nextInt(4) == 0 ? 12
+						: 3);
+				for (int j = 0; j < changes; j++) {
+					tiles.changeTile(random.nextInt(width),
+							random.nextInt(height),
+							random.nextInt(3) == 0 ? random.nextInt(4) : -1);
+				}
+				if (random.nextInt(10) == 0) {
+					goalX = random.nextInt(width);
+					goalY = random.nextInt(height);
+					repaired.setGoal(goalX, goalY);
+				}
+				repaired.update();
+				FlowField rebuilt = new FlowField(tiles);
+				rebuilt.setGoal(goalX, goalY);
+				rebuilt.update();
+				compare(repaired, rebuilt, width, height, "map " + i
+						+ ", round " + round);
+			}
+			repairs += repaired.getRepairs();
+		}
+		if (repairs == 0) {
+			throw new IllegalStateException("No field was repaired, the"
+					+ " check compared only whole computations");
+		}
+		System.out.println("FlowFieldCheck: " + repairs + " repairs in "
+				+ (MAPS * ROUNDS) + " updates, repaired and computed fields"
+				+ " agree");
+	}
+
+	/**
+	 * Compare a repaired field with a field that was computed again
+	 */
+	private static void compare(FlowField repaired, FlowField rebuilt,
+			int width, int height, String round) {
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				int distance = repaired.getDistance(x, y);
+				if (distance != rebuilt.getDistance(x, y)) {
+					throw new IllegalStateException("The repaired distance of"
+							+ " tile (" + x + "," + y + ") is " + distance
+							+ ", computed again it is "
+							+ rebuilt.getDistance(x, y) + ", " + round);
+				}
+				int direction = repaired.getDirection(x, y);
+				if ((direction == FlowField.NONE) != (rebuilt.getDirection(x,
+						y) == FlowField.NONE)) {
+					throw new IllegalStateException("Tile (" + x + "," + y
+							+ ") has a direction in only one field, " + round);
+				}
+				if (direction != FlowField.NONE) {
+					int cost = (direction & 1) == 1 ? DIAGONAL : STRAIGHT;
+					if (repaired.getDistance(x + DX[direction], y
+							+ DY[direction]) != distance - cost) {
+						throw new IllegalStateException("The direction of tile"
+								+ " (" + x + "," + y + ") doesn't lead to"
+								+ " the goal, " + round);
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package android.gameengine.icadroids.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import android.gameengine.icadroids.tiles.GameTiles;
+
+/**
+ * Measures the construction of large tile maps, which happens when a level is
+ * loaded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GameTilesBenchmark {
+
+	/**
+	 * The number of tiles horizontally and vertically
+	 */
+	@Param({ "100", "500", "1000" })
+	public int mapSize;
+
+	private int[][] map;
+
+	@Setup
+	public void setup() {
+		BenchmarkWorld.newWorld();
+		map = BenchmarkWorld.newMap(mapSize, mapSize, new Random(42));
+	}
+
+	@Benchmark
+	public GameTiles constructMap() {
+		return BenchmarkWorld.newTiles(map);
+	}
+}
@@ -0,0 +1,152 @@
+package android.gameengine.icadroids.benchmarks;
+
+import java.util.Random;
+
+import android.gameengine.icadroids.tiles.GameTiles;
+import android.gameengine.icadroids.tiles.TileLighting;
+
+/**
+ * Checks that lighting that is updated step by step is the same as lighting
+ * that is cast from scratch: on random maps from a fixed seed, lights are
+ * added, moved, changed and removed, tiles are changed with
+ * GameTiles.changeTile() and the viewer walks around. After every update the
+ * light level and visibility of every tile are compared with a new
+ * TileLighting that has the same lights and viewer. The check fails at the
+ * first tile that differs.
+ * <p>
+ * Run it with
+ * <code>java -cp target/benchmarks.jar android.gameengine.icadroids.benchmarks.LightingCheck</code>
+ * , it also runs at mvn verify.
+ */
+public final class LightingCheck {
+
+	/**
+	 * The number of maps and the number of updates per map
+	 */
+	static final int MAPS = 150, ROUNDS = 25;
+	/**
+	 * The largest number of tiles horizontally and vertically
+	 */
+	static final int MAX_MAP_SIZE = 40;
+	/**
+	 * The largest number of lights on a map
+	 */
+	static final int MAX_LIGHTS = 6;
+	/**
+	 * How far the viewer can see in tiles
+	 */
+	static final int VIEW_RADIUS = 8;
+
+	private LightingCheck() {
+	}
+
+	public static void main(String[] args) {
+		BenchmarkWorld.newWorld();
+		Random random = new Random(42);
+		// per light: used, x, y, radius and intensity
+		boolean[] used = new boolean[MAX_LIGHTS];
+		int[][] lights = new int[MAX_LIGHTS][4];
+		int updates = 0;
+		for (int i = 0; i < MAPS; i++) {
+			int width = 2 + random.nextInt(MAX_MAP_SIZE - 1);
+			int height = 2 + random.nextInt(MAX_MAP_SIZE - 1);
+			GameTiles tiles = BenchmarkWorld.newTiles(BenchmarkWorld.newMap(
+					width, height, random));
+			TileLighting updated = new TileLighting(tiles);
+			for (int id = 0; id < MAX_LIGHTS; id++) {
+				used[id] = false;
+			}
+			int lightCount = 0;
+			int viewerX = random.nextInt(width);
+			int viewerY = random.nextInt(height);
+			updated.setViewer(viewerX, viewerY, VIEW_RADIUS);
+			for (int round = 0; round < ROUNDS; round++) {
+				int id = random.nextInt(MAX_LIGHTS);
+				int x = random.nextInt(width);
+				int y = random.nextInt(height);
+				int radius = 1 + random.nextInt(10);
+				int intensity = 50 + random.nextInt(206);
+				// removed lights are moved and changed too, that must not
+				// bring their light back
+				switch (random.nextInt(4)) {
+				case 0:
+					if (lightCount < MAX_LIGHTS) {
+						id = updated.addLight(x, y, radius, intensity);
+						used[id] = true;
+						lightCount++;
+						lights[id][0] = x;
+						lights[id][1] = y;
+						lights[id][2] = radius;
+						lights[id][3] = intensity;
+					}
+					break;
+				case 1:
+					updated.moveLight(id, x, y);
+					lights[id][0] = x;
+					lights[id][1] = y;
+					break;
+				case 2:
+					updated.setLight(id, radius, intensity);
+					lights[id][2] = radius;
+					lights[id][3] = intensity;
+					break;
+				default:
+					if (used[id]) {
+						updated.removeLight(id);
+						used[id] = false;
+						lightCount--;
+					}
+					break;
+				}
+				int changes = random.nextInt(4);
+				for (int j = 0; j < changes; j++) {
+					tiles.changeTile(random.nextInt(width),
+							random.nextInt(height),
+							random.nextInt(3) == 0 ? random.nextInt(4) : -1);
+				}
+				if (random.nextInt(4) == 0) {
+					viewerX = random.nextInt(width);
+					viewerY = random.nextInt(height);
+					updated.setViewer(viewerX, viewerY, VIEW_RADIUS);
+				}
+				updated.update();
+				updates++;
+
+				TileLighting cast = new TileLighting(tiles);
+				for (int light = 0; light < MAX_LIGHTS; light++) {
+					if (used[light]) {
+						cast.addLight(lights[light][0], lights[light][1],
+								lights[light][2], lights[light][3]);
+					}
+				}
+				cast.setViewer(viewerX, viewerY, VIEW_RADIUS);
+				cast.update();
+				compare(updated, cast, width, height, "map " + i + ", round "
+						+ round);
+			}
+		}
+		System.out.println("LightingCheck: " + updates + " updates, updated"
+				+ " and newly cast lighting agree");
+	}
+
+	/**
+	 * Compare lighting that was updated with lighting that was cast once
+	 */
+	private static void compare(TileLighting updated, TileLighting cast,
+			int width, int height, String round) {
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				if (updated.getLight(x, y) != cast.getLight(x, y)) {
+					throw new IllegalStateException("The updated light of"
+							+ " tile (" + x + "," + y + ") is "
+							+ updated.getLight(x, y) + ", cast again it is "
+							+ cast.getLight(x, y) + ", " + round);
+				}
+				if (updated.isVisible(x, y) != cast.isVisible(x, y)) {
+					throw new IllegalStateException("Tile (" + x + "," + y
+							+ ") is visible in only one lighting, " + round);
+				}
+			}
+		}
+	}
+}
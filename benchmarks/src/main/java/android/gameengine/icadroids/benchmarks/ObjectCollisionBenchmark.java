@@ -0,0 +1,63 @@
+package android.gameengine.icadroids.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import android.gameengine.icadroids.engine.GameWorld;
+import android.gameengine.icadroids.objects.GameObject;
+import android.gameengine.icadroids.objects.MoveableGameObject;
+
+/**
+ * Measures the object against object collision checks of a single object with
+ * the rest of the world.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ObjectCollisionBenchmark {
+
+	/**
+	 * The number of objects in the world
+	 */
+	@Param({ "100", "1000", "10000" })
+	public int objectCount;
+
+	private GameWorld world;
+	private MoveableGameObject[] objects;
+	private int next = 0;
+
+	@Setup
+	public void setup() {
+		world = BenchmarkWorld.newWorld();
+		BenchmarkWorld.addObjects(world, objectCount, new Random(42));
+		objects = world.items.toArray(new MoveableGameObject[objectCount]);
+	}
+
+	private MoveableGameObject nextObject() {
+		MoveableGameObject object = objects[next];
+		next = (next + 1) % objects.length;
+		return object;
+	}
+
+	@Benchmark
+	public List<GameObject> getCollidedObjects() {
+		GameWorld.setCurrent(world);
+		return nextObject().getCollidedObjects();
+	}
+
+	@Benchmark
+	public boolean collidedWith() {
+		GameWorld.setCurrent(world);
+		return nextObject().collidedWith(MoveableGameObject.class);
+	}
+}
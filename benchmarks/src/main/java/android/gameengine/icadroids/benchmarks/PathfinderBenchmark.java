@@ -0,0 +1,65 @@
+package android.gameengine.icadroids.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import android.gameengine.icadroids.tiles.GameTiles;
+import android.gameengine.icadroids.tiles.Pathfinder;
+import android.gameengine.icadroids.tiles.TilePath;
+
+/**
+ * Measures a path search between two random tiles, like an enemy that
+ * chooses a new target. Only tile type 0 is a wall, so about a twelfth of
+ * the map is solid. Every search has a new start and goal, so the cache of
+ * the pathfinder is not used.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PathfinderBenchmark {
+
+	/**
+	 * The number of tiles horizontally and vertically
+	 */
+	@Param({ "100", "500" })
+	public int mapSize;
+
+	/**
+	 * True for jump point search, false for A*
+	 */
+	@Param({ "true", "false" })
+	public boolean jumpPoints;
+
+	private Pathfinder pathfinder;
+	private final TilePath path = new TilePath();
+	private Random random;
+
+	@Setup
+	public void setup() {
+		BenchmarkWorld.newWorld();
+		random = new Random(42);
+		GameTiles tiles = BenchmarkWorld.newTiles(BenchmarkWorld.newMap(
+				mapSize, mapSize, random));
+		pathfinder = new Pathfinder(tiles);
+		pathfinder.setWalkable(1, true);
+		pathfinder.setWalkable(2, true);
+		pathfinder.setWalkable(3, true);
+		pathfinder.setJumpPoints(jumpPoints);
+	}
+
+	@Benchmark
+	public boolean findPath() {
+		return pathfinder.findPath(random.nextInt(mapSize),
+				random.nextInt(mapSize), random.nextInt(mapSize),
+				random.nextInt(mapSize), path);
+	}
+}
@@ -0,0 +1,144 @@
+package android.gameengine.icadroids.benchmarks;
+
+import java.util.Random;
+
+import android.gameengine.icadroids.tiles.GameTiles;
+import android.gameengine.icadroids.tiles.Pathfinder;
+import android.gameengine.icadroids.tiles.TilePath;
+
+/**
+ * Checks that jump point search finds paths of the same length as plain A*:
+ * on random maps from a fixed seed, both pathfinders search the same routes,
+ * and the check fails when one finds a path the other doesn't, when the
+ * lengths differ or when a path walks through a wall or past the corner of a
+ * wall.
+ * <p>
+ * Run it with
+ * <code>java -cp target/benchmarks.jar android.gameengine.icadroids.benchmarks.PathfinderCheck</code>
+ * , it also runs at mvn verify.
+ */
+public final class PathfinderCheck {
+
+	/**
+	 * The number of maps and the number of routes per map
+	 */
+	static final int MAPS = 300, ROUTES = 20;
+	/**
+	 * The largest number of tiles horizontally and vertically
+	 */
+	static final int MAX_MAP_SIZE = 64;
+	/**
+	 * The cost of a straight and a diagonal step, as the pathfinder counts
+	 */
+	private static final int STRAIGHT = 10, DIAGONAL = 14;
+
+	private PathfinderCheck() {
+	}
+
+	public static void main(String[] args) {
+		BenchmarkWorld.newWorld();
+		Random random = new Random(42);
+		TilePath jumpPath = new TilePath();
+		TilePath aStarPath = new TilePath();
+		int found = 0;
+		for (int i = 0; i < MAPS; i++) {
+			int width = 2 + random.nextInt(MAX_MAP_SIZE - 1);
+			int height = 2 + random.nextInt(MAX_MAP_SIZE - 1);
+			GameTiles tiles = BenchmarkWorld.newTiles(BenchmarkWorld.newMap(
+					width, height, random));
+			Pathfinder jumpPoints = new Pathfinder(tiles);
+			Pathfinder aStar = new Pathfinder(tiles);
+			aStar.setJumpPoints(false);
+			for (int j = 0; j < ROUTES; j++) {
+				int startX = random.nextInt(width);
+				int startY = random.nextInt(height);
+				int goalX = random.nextInt(width);
+				int goalY = random.nextInt(height);
+				// an open start finds more paths. Emptying the caches makes
+				// both pathfinders search, also when the start was open
+				// already.
+				tiles.changeTile(startX, startY, -1);
+				jumpPoints.clearCache();
+				aStar.clearCache();
+				boolean jumpFound = jumpPoints.findPath(startX, startY, goalX,
+						goalY, jumpPath);
+				boolean aStarFound = aStar.findPath(startX, startY, goalX,
+						goalY, aStarPath);
+				String route = "map " + i + ", route (" + startX + ","
+						+ startY + ") to (" + goalX + "," + goalY + ")";
+				if (jumpFound != aStarFound) {
+					throw new IllegalStateException("Jump point search "
+							+ (jumpFound ? "found" : "did not find")
+							+ " a path that A* "
+							+ (aStarFound ? "found" : "did not find") + ", "
+							+ route);
+				}
+				if (!jumpFound) {
+					continue;
+				}
+				found++;
+				int jumpCost = cost(jumpPoints, jumpPath, startX, startY,
+						goalX, goalY, route);
+				int aStarCost = cost(aStar, aStarPath, startX, startY, goalX,
+						goalY, route);
+				if (jumpCost != aStarCost) {
+					throw new IllegalStateException("Jump point search found a"
+							+ " path of cost " + jumpCost + ", A* of cost "
+							+ aStarCost + ", " + route);
+				}
+				// the cached path must be the same path
+				jumpPoints.findPath(startX, startY, goalX, goalY, aStarPath);
+				if (cost(jumpPoints, aStarPath, startX, startY, goalX, goalY,
+						route) != jumpCost) {
+					throw new IllegalStateException("The cached path differs, "
+							+ route);
+				}
+			}
+		}
+		System.out.println("PathfinderCheck: " + found + " of "
+				+ (MAPS * ROUTES) + " routes found, jump point search and A*"
+				+ " agree");
+	}
+
+	/**
+	 * Check that a path goes from the start to the goal over walkable tiles
+	 * and get its cost
+	 * 
+	 * @return The sum of the step costs
+	 */
+	private static int cost(Pathfinder pathfinder, TilePath path, int startX,
+			int startY, int goalX, int goalY, String route) {
+		int last = path.size() - 1;
+		if (last < 0 || path.getX(0) != startX || path.getY(0) != startY
+				|| path.getX(last) != goalX || path.getY(last) != goalY) {
+			throw new IllegalStateException("The path doesn't go from the"
+					+ " start to the goal, " + route);
+		}
+		int cost = 0;
+		for (int i = 1; i <= last; i++) {
+			int x = path.getX(i - 1);
+			int y = path.getY(i - 1);
+			int dx = path.getX(i) - x;
+			int dy = path.getY(i) - y;
+			if (Math.abs(dx) > 1 || Math.abs(dy) > 1 || (dx == 0 && dy == 0)) {
+				throw new IllegalStateException("Step " + i
+						+ " of the path is not to a neighbour, " + route);
+			}
+			if (!pathfinder.isWalkable(x + dx, y + dy)) {
+				throw new IllegalStateException("Step " + i
+						+ " of the path goes into a wall, " + route);
+			}
+			if (dx != 0 && dy != 0) {
+				if (!pathfinder.isWalkable(x + dx, y)
+						|| !pathfinder.isWalkable(x, y + dy)) {
+					throw new IllegalStateException("Step " + i
+							+ " of the path cuts a corner, " + route);
+				}
+				cost += DIAGONAL;
+			} else {
+				cost += STRAIGHT;
+			}
+		}
+		return cost;
+	}
+}
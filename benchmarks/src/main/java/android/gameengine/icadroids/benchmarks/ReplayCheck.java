@@ -0,0 +1,243 @@
+package android.gameengine.icadroids.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import android.gameengine.icadroids.alarms.Alarm;
+import android.gameengine.icadroids.alarms.IAlarm;
+import android.gameengine.icadroids.engine.HeadlessGameLoop;
+import android.gameengine.icadroids.input.InputState;
+import android.gameengine.icadroids.objects.GameObject;
+import android.gameengine.icadroids.objects.MoveableGameObject;
+import android.gameengine.icadroids.tiles.Tile;
+
+/**
+ * Checks that a replayed session is the same every time: a log with random
+ * input and random steps from a fixed seed is written as the InputRecorder
+ * writes it, then replayed twice by a HeadlessGameLoop in a scene with moving
+ * objects and repeating alarms that count game time. The check fails when
+ * the game time isn't the sum of the recorded steps, when the replay doesn't
+ * end with the log or when the two replays end with a different world.
+ * <p>
+ * Run it with
+ * <code>java -cp target/benchmarks.jar android.gameengine.icadroids.benchmarks.ReplayCheck</code>
+ * , it also runs at mvn verify.
+ */
+public final class ReplayCheck {
+
+	/**
+	 * The number of updates in the log
+	 */
+	static final int UPDATES = 3000;
+	/**
+	 * The number of objects in the scene
+	 */
+	static final int OBJECT_COUNT = 100;
+	/**
+	 * The number of tiles horizontally and vertically
+	 */
+	static final int MAP_SIZE = 40;
+	/**
+	 * The number of pointers in the log
+	 */
+	static final int FINGERS = 2;
+
+	private ReplayCheck() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		Random random = new Random(42);
+		ByteArrayOutputStream log = new ByteArrayOutputStream();
+		long gameTime = record(log, random);
+		byte[] session = log.toByteArray();
+
+		Scene first = replay(session, gameTime);
+		Scene second = replay(session, gameTime);
+		if (first.alarms == 0 || first.presses == 0) {
+			throw new IllegalStateException("No alarm went off or no press"
+					+ " was replayed, the check compared a still world");
+		}
+		if (first.alarms != second.alarms || first.presses != second.presses) {
+			throw new IllegalStateException("The replays had " + first.alarms
+					+ " and " + second.alarms + " alarms, " + first.presses
+					+ " and " + second.presses + " presses");
+		}
+		List<GameObject> items = first.getWorld().items;
+		List<GameObject> others = second.getWorld().items;
+		for (int i = 0; i < items.size(); i++) {
+			GameObject item = items.get(i);
+			GameObject other = others.get(i);
+			if (item.getFullX() != other.getFullX()
+					|| item.getFullY() != other.getFullY()) {
+				throw new IllegalStateException("Object " + i + " ended at ("
+						+ item.getFullX() + "," + item.getFullY() + ") and at ("
+						+ other.getFullX() + "," + other.getFullY() + ")");
+			}
+		}
+		System.out.println("ReplayCheck: " + UPDATES + " updates, "
+				+ session.length + " bytes of log, " + first.alarms
+				+ " alarms, both replays agree");
+	}
+
+	/**
+	 * Write a session of random input and random steps
+	 * 
+	 * @return The sum of the steps in nanoseconds
+	 */
+	private static long record(ByteArrayOutputStream log, Random random)
+			throws IOException {
+		DataOutputStream out = new DataOutputStream(log);
+		InputState.writeHeader(out, FINGERS);
+		InputState state = new InputState(FINGERS);
+		long gameTime = 0;
+		for (int i = 0; i < UPDATES; i++) {
+			// 5 to 60 ms, now and then a hitch of a tenth of a second
+			state.stepNanos = (random.nextInt(50) == 0 ? 100 : 5 + random
+					.nextInt(56)) * 1000000L;
+			gameTime += state.stepNanos;
+			state.flags = 0;
+			if (random.nextInt(20) == 0) {
+				state.flags |= InputState.TOUCH_PRESS;
+				state.touch[0] = random.nextInt(MAP_SIZE
+						* BenchmarkWorld.TILE_SIZE);
+				state.touch[1] = random.nextInt(MAP_SIZE
+						* BenchmarkWorld.TILE_SIZE);
+				state.pointers[0] = state.touch[0];
+				state.pointers[1] = state.touch[1];
+			}
+			if (random.nextInt(10) == 0) {
+				state.flags |= random.nextBoolean() ? InputState.DPAD_LEFT
+						: InputState.DPAD_RIGHT;
+			}
+			state.write(out);
+		}
+		out.flush();
+		return gameTime;
+	}
+
+	/**
+	 * Replay a session in a new scene, to the end of the log
+	 */
+	private static Scene replay(byte[] session, long gameTime)
+			throws IOException {
+		Scene scene = new Scene();
+		scene.startReplay(new ByteArrayInputStream(session));
+		scene.runFrames(UPDATES);
+		if (!scene.isReplaying()) {
+			throw new IllegalStateException("The replay stopped before the"
+					+ " end of the log");
+		}
+		if (scene.getWorld().getGameTime() != gameTime) {
+			throw new IllegalStateException("The replay ran "
+					+ scene.getWorld().getGameTime() + " ns of game time, the"
+					+ " log has " + gameTime + " ns of steps");
+		}
+		// the log is read to the end, the next step finds the end
+		scene.step();
+		if (scene.isReplaying()) {
+			throw new IllegalStateException("The replay didn't stop at the"
+					+ " end of the log");
+		}
+		return scene;
+	}
+
+	/**
+	 * A map with walls around it and objects that move and turn when an
+	 * alarm goes off. A press moves an object to the touch position, the
+	 * d-pad turns the objects.
+	 */
+	private static final class Scene extends HeadlessGameLoop {
+
+		/**
+		 * The number of alarms that went off and of presses that were read
+		 */
+		int alarms = 0, presses = 0;
+		private int next = 0;
+
+		Scene() {
+			super(MAP_SIZE * BenchmarkWorld.TILE_SIZE, MAP_SIZE
+					* BenchmarkWorld.TILE_SIZE);
+		}
+
+		@Override
+		protected void initialize() {
+			Random random = new Random(7);
+			int[][] map = BenchmarkWorld.newMap(MAP_SIZE, MAP_SIZE, random);
+			for (int i = 0; i < MAP_SIZE; i++) {
+				map[0][i] = 0;
+				map[MAP_SIZE - 1][i] = 0;
+				map[i][0] = 0;
+				map[i][MAP_SIZE - 1] = 0;
+			}
+			world.setGameTiles(BenchmarkWorld.newTiles(map));
+			for (int i = 0; i < OBJECT_COUNT; i++) {
+				Walker walker = new Walker(this);
+				int x = (1 + random.nextInt(MAP_SIZE - 2))
+						* BenchmarkWorld.TILE_SIZE;
+				int y = (1 + random.nextInt(MAP_SIZE - 2))
+						* BenchmarkWorld.TILE_SIZE;
+				walker.setPosition(x, y);
+				walker.position.set(x, y, x + BenchmarkWorld.OBJECT_SIZE, y
+						+ BenchmarkWorld.OBJECT_SIZE);
+				walker.setDirectionSpeed(random.nextInt(360), 3);
+				world.addGameObject(walker, x, y);
+				// game time, so the alarms follow the recorded steps
+				new Alarm(0, walker).repeatNanos(
+						(1 + random.nextInt(500)) * 1000000L, 400000000L);
+			}
+		}
+
+		@Override
+		public void update() {
+			InputState input = getInput();
+			if (input == null) {
+				return;
+			}
+			List<GameObject> items = world.items;
+			if (input.isSet(InputState.TOUCH_PRESS)) {
+				presses++;
+				MoveableGameObject walker = (MoveableGameObject) items
+						.get(next);
+				walker.setPosition(input.touch[0], input.touch[1]);
+				next = (next + 1) % items.size();
+			}
+			int turn = input.isSet(InputState.DPAD_LEFT) ? -45 : input
+					.isSet(InputState.DPAD_RIGHT) ? 45 : 0;
+			if (turn != 0) {
+				for (int i = 0; i < items.size(); i++) {
+					MoveableGameObject walker = (MoveableGameObject) items
+							.get(i);
+					walker.setDirectionSpeed(
+							(walker.getDirection() + 360 + turn) % 360, 3);
+				}
+			}
+		}
+	}
+
+	/**
+	 * An object that turns around when it hits a tile or its alarm goes off
+	 */
+	private static final class Walker extends MoveableGameObject implements
+			IAlarm {
+
+		private final Scene scene;
+
+		Walker(Scene scene) {
+			this.scene = scene;
+		}
+
+		@Override
+		public void collisionOccurred(List<Tile> collidedTiles) {
+			setDirectionSpeed((getDirection() + 180) % 360, 3);
+		}
+
+		public void triggerAlarm(int alarmID) {
+			scene.alarms++;
+			setDirectionSpeed((getDirection() + 90) % 360, 3);
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package android.gameengine.icadroids.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import android.gameengine.icadroids.objects.graphics.AnimatedSprite;
+import android.gameengine.icadroids.tiles.GameTiles;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+
+/**
+ * Measures animating and drawing a tile map where half of the tiles are
+ * animated water, with and without the chunk cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TileDrawBenchmark {
+
+	/**
+	 * The number of tiles horizontally and vertically
+	 */
+	@Param({ "100", "200" })
+	public int mapSize;
+
+	/**
+	 * True to draw the tiles from cached chunks
+	 */
+	@Param({ "false", "true" })
+	public boolean cached;
+
+	private GameTiles tiles;
+	private final Canvas canvas = new Canvas();
+
+	@Setup
+	public void setup() {
+		BenchmarkWorld.newWorld();
+		Random random = new Random(42);
+		int[][] map = BenchmarkWorld.newMap(mapSize, mapSize, random);
+		tiles = BenchmarkWorld.newTiles(map);
+		int water = tiles.addAnimatedTileResource("water", 32, 4);
+		AnimatedSprite sprite = (AnimatedSprite) tiles.tileTypes.get(water);
+		sprite.setSprite(new Bitmap(128, 32));
+		sprite.startAnimate(32);
+		for (int y = 0; y < mapSize; y++) {
+			for (int x = 0; x < mapSize; x++) {
+				if (random.nextBoolean()) {
+					tiles.changeTile(x, y, water);
+				}
+			}
+		}
+		tiles.setChunkCache(cached);
+		tiles.drawTiles(canvas);
+	}
+
+	@Benchmark
+	public void animate() {
+		tiles.update();
+	}
+
+	@Benchmark
+	public void draw() {
+		tiles.drawTiles(canvas);
+	}
+}
@@ -0,0 +1,72 @@
+package android.gameengine.icadroids.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import android.gameengine.icadroids.engine.GameWorld;
+import android.gameengine.icadroids.objects.GameObject;
+
+/**
+ * Measures one update of the world (the update pass of the GameEngine) in
+ * which a part of the objects is deleted, like when an explosion removes a
+ * lot of enemies at once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UpdateBenchmark {
+
+	/**
+	 * The number of objects in the world
+	 */
+	@Param({ "1000", "10000" })
+	public int objectCount;
+
+	/**
+	 * The percentage of objects that is deleted during the update
+	 */
+	@Param({ "0", "10", "50" })
+	public int removedPercentage;
+
+	private GameWorld world;
+	private GameObject[] objects;
+
+	@Setup(Level.Trial)
+	public void makeObjects() {
+		world = BenchmarkWorld.newWorld();
+		Random random = new Random(42);
+		objects = new GameObject[objectCount];
+		for (int i = 0; i < objectCount; i++) {
+			objects[i] = BenchmarkWorld.newObject(random);
+		}
+	}
+
+	// one update changes the world, so it is filled again for every call
+	@Setup(Level.Invocation)
+	public void fillWorld() {
+		GameWorld.setCurrent(world);
+		world.items.clear();
+		for (int i = 0; i < objects.length; i++) {
+			GameObject object = objects[i];
+			// the deleted objects are spread over the whole list
+			object.active = i % 100 >= removedPercentage;
+			world.items.add(object);
+		}
+	}
+
+	@Benchmark
+	public int updateWithRemovals() {
+		world.update();
+		return world.items.size();
+	}
+}
@@ -0,0 +1,13 @@
+package android.content;
+
+import android.content.res.Resources;
+
+/**
+ * Stand-in for the Android Context. Headless worlds have no context.
+ */
+public abstract class Context {
+
+	public abstract Resources getResources();
+
+	public abstract String getPackageName();
+}
@@ -0,0 +1,11 @@
+package android.content.res;
+
+/**
+ * Stand-in for the Android Resources.
+ */
+public class Resources {
+
+	public int getIdentifier(String name, String defType, String defPackage) {
+		return 0;
+	}
+}
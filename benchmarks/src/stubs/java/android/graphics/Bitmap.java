@@ -0,0 +1,41 @@
+package android.graphics;
+
+/**
+ * Stand-in for the Android Bitmap. It only has a size, no pixels.
+ */
+public final class Bitmap {
+	public enum Config {
+		ARGB_8888
+	}
+
+	private final int width;
+	private final int height;
+
+	public Bitmap(int width, int height) {
+		this.width = width;
+		this.height = height;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public void recycle() {
+	}
+
+	public void eraseColor(int color) {
+	}
+
+	public static Bitmap createBitmap(int width, int height, Config config) {
+		return new Bitmap(width, height);
+	}
+
+	public static Bitmap createScaledBitmap(Bitmap src, int dstWidth,
+			int dstHeight, boolean filter) {
+		return new Bitmap(dstWidth, dstHeight);
+	}
+}
@@ -0,0 +1,13 @@
+package android.graphics;
+
+import android.content.res.Resources;
+
+/**
+ * Stand-in for the Android BitmapFactory. Headless worlds never load bitmaps.
+ */
+public class BitmapFactory {
+
+	public static Bitmap decodeResource(Resources res, int id) {
+		return null;
+	}
+}
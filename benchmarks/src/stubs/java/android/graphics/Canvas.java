@@ -0,0 +1,23 @@
+package android.graphics;
+
+/**
+ * Stand-in for the Android Canvas, all drawing is ignored.
+ */
+public class Canvas {
+
+	public void setBitmap(Bitmap bitmap) {
+	}
+
+	public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+	}
+
+	public void drawBitmap(Bitmap bitmap, Rect src, Rect dst, Paint paint) {
+	}
+
+	public void drawRect(Rect r, Paint paint) {
+	}
+
+	public void drawRect(float left, float top, float right, float bottom,
+			Paint paint) {
+	}
+}
@@ -0,0 +1,30 @@
+package android.graphics;
+
+/**
+ * Stand-in for the Android Color.
+ */
+public class Color {
+	public static final int BLACK = 0xFF000000;
+	public static final int WHITE = 0xFFFFFFFF;
+	public static final int TRANSPARENT = 0;
+
+	public static int alpha(int color) {
+		return color >>> 24;
+	}
+
+	public static int red(int color) {
+		return (color >> 16) & 0xFF;
+	}
+
+	public static int green(int color) {
+		return (color >> 8) & 0xFF;
+	}
+
+	public static int blue(int color) {
+		return color & 0xFF;
+	}
+
+	public static int argb(int alpha, int red, int green, int blue) {
+		return (alpha << 24) | (red << 16) | (green << 8) | blue;
+	}
+}
@@ -0,0 +1,24 @@
+package android.graphics;
+
+/**
+ * Stand-in for the Android Paint.
+ */
+public class Paint {
+	private int color = 0xFF000000;
+
+	public void setColor(int color) {
+		this.color = color;
+	}
+
+	public int getColor() {
+		return color;
+	}
+
+	public void setAlpha(int a) {
+		color = (color & 0x00FFFFFF) | ((a & 0xFF) << 24);
+	}
+
+	public int getAlpha() {
+		return color >>> 24;
+	}
+}
@@ -0,0 +1,107 @@
+package android.graphics;
+
+/**
+ * Stand-in for the Android Rect, so the engine can run on a normal Java VM.
+ * Only the methods that are used by the engine are implemented, they behave
+ * like the Android versions.
+ */
+public final class Rect {
+	public int left;
+	public int top;
+	public int right;
+	public int bottom;
+
+	public Rect() {
+	}
+
+	public Rect(int left, int top, int right, int bottom) {
+		this.left = left;
+		this.top = top;
+		this.right = right;
+		this.bottom = bottom;
+	}
+
+	public Rect(Rect r) {
+		this(r.left, r.top, r.right, r.bottom);
+	}
+
+	public void set(int left, int top, int right, int bottom) {
+		this.left = left;
+		this.top = top;
+		this.right = right;
+		this.bottom = bottom;
+	}
+
+	public void set(Rect src) {
+		set(src.left, src.top, src.right, src.bottom);
+	}
+
+	public void setEmpty() {
+		left = right = top = bottom = 0;
+	}
+
+	public boolean isEmpty() {
+		return left >= right || top >= bottom;
+	}
+
+	public int width() {
+		return right - left;
+	}
+
+	public int height() {
+		return bottom - top;
+	}
+
+	public int centerX() {
+		return (left + right) >> 1;
+	}
+
+	public int centerY() {
+		return (top + bottom) >> 1;
+	}
+
+	public boolean contains(int x, int y) {
+		return left < right && top < bottom && x >= left && x < right
+				&& y >= top && y < bottom;
+	}
+
+	public void offset(int dx, int dy) {
+		left += dx;
+		right += dx;
+		top += dy;
+		bottom += dy;
+	}
+
+	public boolean intersects(int left, int top, int right, int bottom) {
+		return this.left < right && left < this.right && this.top < bottom
+				&& top < this.bottom;
+	}
+
+	public boolean intersect(int left, int top, int right, int bottom) {
+		if (intersects(left, top, right, bottom)) {
+			if (this.left < left) {
+				this.left = left;
+			}
+			if (this.top < top) {
+				this.top = top;
+			}
+			if (this.right > right) {
+				this.right = right;
+			}
+			if (this.bottom > bottom) {
+				this.bottom = bottom;
+			}
+			return true;
+		}
+		return false;
+	}
+
+	public boolean intersect(Rect r) {
+		return intersect(r.left, r.top, r.right, r.bottom);
+	}
+
+	public static boolean intersects(Rect a, Rect b) {
+		return a.left < b.right && b.left < a.right && a.top < b.bottom
+				&& b.top < a.bottom;
+	}
+}
@@ -1,107 +1,288 @@
-package android.gameengine.icadroids.alarms;
-
-import android.gameengine.icadroids.engine.GameEngine;
-
-/**
- * Set alarms who will trigger after a specified number of updates.
- * 
- * Alarms will trigger a method (specified in IAlarm) after the given time in
- * the specified object.
- * 
- * To make use of alarms, create a alarm object. This alarm will start immediately.
- * 
- * @author Bas van der Zandt
- * 
- */
-public class Alarm {
-	/**
-	 * The ID of the alarm
-	 */
-	private int alarmID;
-	/**
-	 * How long the alarm will count
-	 */
-	private int time;
-	/**
-	 * Counts how many updates has been passed
-	 */
-	private int counter = 0;
-	/**
-	 * The object that needs to be triggered
-	 */	
-	IAlarm alarmedObject;
-	/**
-	 * True if the alarm is running, false otherwise
-	 */
-	private boolean running = true;
-
-	/**
-	 * Make a new Alarm with the given time. The alarm will start immediately.
-	 * 
-	 * @param id
-	 *            ID to identify the alarm
-	 * @param Time
-	 *            How many updates must occur before the alarm goes off
-	 * @param alarmedObject
-	 *            The object that must be informed when the alarm goes off
-	 */
-	public Alarm(int id, int Time, IAlarm alarmedObject) {
-		alarmID = id;
-		this.time = Time;
-		this.alarmedObject = alarmedObject;
-		GameEngine.gameAlarms.add(this);
-	}
-
-	/**
-	 * Update will be triggered <b>by the GameEngine</b> every update.
-	 *  <b> Don't call this update by yourself! </b>
-	 *  
-	 *  Update handles the alarm to be triggered an deleted.
-	 */
-	public final void update() {
-		if (!alarmedObject.alarmsActiveForThisObject()) {
-			GameEngine.gameAlarms.removeElement(this);
-		} else {
-
-			if (running) {
-				if (counter >= time) {
-					running = false;
-					alarmedObject.triggerAlarm(alarmID);
-				}
-				counter++;
-			}
-		}
-	}
-
-	/**
-	 * Pause the alarm until you start it again with startAlarm()
-	 */
-	public final void pauseAlarm() {
-		running = false;
-	}
-
-	/**
-	 * Starts the alarm when it has paused
-	 */
-	public final void startAlarm() {
-		running = true;
-	}
-
-	/**
-	 * Restart the alarm
-	 */
-	public final void restartAlarm() {
-		counter = 0;
-		running = true;
-	}
-
-	/**
-	 * Change the time of the alarm
-	 * 
-	 * @param time
-	 *            The time
-	 */
-	public final void setTime(int time) {
-		this.time = time;
-	}
-}
+package android.gameengine.icadroids.alarms;
+
+import android.gameengine.icadroids.engine.GameWorld;
+import android.gameengine.icadroids.objects.GameObject;
+
+/**
+ * Set alarms who will trigger after a specified number of updates.
+ * 
+ * Alarms will trigger a method (specified in IAlarm) after the given time in
+ * the specified object.
+ * 
+ * To make use of alarms, create a alarm object. This alarm will start immediately.
+ * 
+ * Alarms can also count game time in nanoseconds instead of updates, so they
+ * take just as long when the frame rate changes, and they can repeat. Make an
+ * alarm with Alarm(id, alarmedObject) and start it with startNanos(),
+ * repeatNanos() or repeatUpdates(). The Alarm object is the handle of the
+ * alarm: cancel() stops it, and a repeating alarm uses the same object every
+ * time, so hundreds of repeating timers make no garbage.
+ * 
+ * @author Bas van der Zandt
+ * 
+ */
+public class Alarm {
+	/**
+	 * The ID of the alarm
+	 */
+	private int alarmID;
+	/**
+	 * How long the alarm will count, in updates or nanoseconds
+	 */
+	private long time;
+	/**
+	 * The time between two go-offs of a repeating alarm, 0 when the alarm
+	 * doesn't repeat
+	 */
+	long period = 0;
+	/**
+	 * True when the alarm counts nanoseconds of game time instead of updates
+	 */
+	boolean nanos = false;
+	/**
+	 * True when a repeating alarm keeps a fixed rate: the next go-off is a
+	 * period after the previous due time, not after the update it went off
+	 */
+	boolean fixedRate = false;
+	/**
+	 * The time that was left when the alarm was paused
+	 */
+	private long remaining = 0;
+	/**
+	 * The object that needs to be triggered
+	 */	
+	IAlarm alarmedObject;
+	/**
+	 * The scheduler of the world the alarm was made in
+	 */
+	AlarmScheduler scheduler;
+	/**
+	 * The pool generation of the alarmed object when the alarm was started,
+	 * see GameObject.getPoolGeneration()
+	 */
+	int generation;
+
+	/**
+	 * The place of the alarm in the timing wheel, used by the scheduler
+	 */
+	TimingWheel wheel;
+	Alarm next, prev;
+	int slot = -1;
+	long due, sequence;
+	boolean firing;
+
+	/**
+	 * Make a new Alarm with the given time. The alarm will start immediately.
+	 * 
+	 * @param id
+	 *            ID to identify the alarm
+	 * @param Time
+	 *            How many updates must occur before the alarm goes off
+	 * @param alarmedObject
+	 *            The object that must be informed when the alarm goes off
+	 */
+	public Alarm(int id, int Time, IAlarm alarmedObject) {
+		this(id, alarmedObject);
+		this.time = Time;
+		scheduler.schedule(this, time);
+	}
+
+	/**
+	 * Make a new Alarm that is not started yet. Start it with one of the
+	 * start or repeat methods.
+	 * 
+	 * @param id
+	 *            ID to identify the alarm
+	 * @param alarmedObject
+	 *            The object that must be informed when the alarm goes off
+	 */
+	public Alarm(int id, IAlarm alarmedObject) {
+		alarmID = id;
+		this.alarmedObject = alarmedObject;
+		scheduler = GameWorld.getCurrent().getAlarmScheduler();
+	}
+
+	/**
+	 * Called <b>by the AlarmScheduler</b> when the alarm goes off. Alarms of
+	 * objects that are deleted are not triggered, also when a pooled object
+	 * was used again after it was deleted.
+	 */
+	void fire() {
+		if (isForCurrentObject() && alarmedObject.alarmsActiveForThisObject()) {
+			if (period > 0) {
+				// before the trigger, so the trigger can cancel it
+				scheduler.repeat(this);
+			}
+			alarmedObject.triggerAlarm(alarmID);
+		}
+	}
+
+	/**
+	 * Get the pool generation of the alarmed object
+	 */
+	int objectGeneration() {
+		if (alarmedObject instanceof GameObject) {
+			return ((GameObject) alarmedObject).getPoolGeneration();
+		}
+		return 0;
+	}
+
+	/**
+	 * Check if the alarmed object was not returned to its pool since the
+	 * alarm was started
+	 */
+	private boolean isForCurrentObject() {
+		return generation == objectGeneration();
+	}
+
+	/**
+	 * Start the alarm, it goes off once after the given number of updates
+	 * 
+	 * @param updates
+	 *            The number of updates
+	 */
+	public final void startUpdates(int updates) {
+		start(updates, 0, false, false);
+	}
+
+	/**
+	 * Start the alarm, it goes off once after the given game time
+	 * 
+	 * @param nanoseconds
+	 *            The game time in nanoseconds
+	 */
+	public final void startNanos(long nanoseconds) {
+		start(nanoseconds, 0, true, false);
+	}
+
+	/**
+	 * Start the alarm, it goes off every period updates until it is cancelled
+	 * 
+	 * @param first
+	 *            The number of updates before the first go-off
+	 * @param period
+	 *            The number of updates between two go-offs, at least 1
+	 */
+	public final void repeatUpdates(int first, int period) {
+		start(first, Math.max(1, period), false, false);
+	}
+
+	/**
+	 * Start the alarm, it goes off every period of game time until it is
+	 * cancelled. The period counts from the update in which the alarm went
+	 * off, like a cooldown.
+	 * 
+	 * @param first
+	 *            The game time before the first go-off in nanoseconds
+	 * @param period
+	 *            The game time between two go-offs in nanoseconds
+	 */
+	public final void repeatNanos(long first, long period) {
+		start(first, Math.max(1, period), true, false);
+	}
+
+	/**
+	 * Start the alarm, it goes off every period of game time until it is
+	 * cancelled. The period counts from the previous due time, so the alarm
+	 * keeps its rate. When the period is shorter than an update, the alarm
+	 * goes off more than once in an update.
+	 * 
+	 * @param first
+	 *            The game time before the first go-off in nanoseconds
+	 * @param period
+	 *            The game time between two go-offs in nanoseconds
+	 */
+	public final void repeatNanosFixedRate(long first, long period) {
+		start(first, Math.max(1, period), true, true);
+	}
+
+	/**
+	 * Start the alarm with a new time
+	 */
+	private void start(long first, long period, boolean nanos,
+			boolean fixedRate) {
+		this.time = first;
+		this.period = period;
+		this.nanos = nanos;
+		this.fixedRate = fixedRate;
+		remaining = 0;
+		scheduler.schedule(this, first);
+	}
+
+	/**
+	 * Stop the alarm. It can be started again with one of the start methods
+	 * or restartAlarm().
+	 */
+	public final void cancel() {
+		scheduler.cancel(this);
+		remaining = 0;
+	}
+
+	/**
+	 * Check if the alarm is running
+	 * 
+	 * @return True when the alarm is waiting to go off, false when it was
+	 *         stopped because its pooled object was deleted
+	 */
+	public final boolean isRunning() {
+		return wheel != null && isForCurrentObject();
+	}
+
+	/**
+	 * Pause the alarm until you start it again with startAlarm()
+	 */
+	public final void pauseAlarm() {
+		if (isRunning()) {
+			remaining = scheduler.remaining(this);
+			scheduler.cancel(this);
+		}
+	}
+
+	/**
+	 * Starts the alarm when it has paused
+	 */
+	public final void startAlarm() {
+		if (!isRunning()) {
+			scheduler.schedule(this, remaining);
+			remaining = 0;
+		}
+	}
+
+	/**
+	 * Restart the alarm
+	 */
+	public final void restartAlarm() {
+		remaining = 0;
+		scheduler.schedule(this, time);
+	}
+
+	/**
+	 * Change the time of the alarm. The time that has already passed still
+	 * counts.
+	 * 
+	 * @param time
+	 *            The time, in updates, or in nanoseconds for alarms that count
+	 *            game time
+	 */
+	public final void setTime(int time) {
+		setTime((long) time);
+	}
+
+	/**
+	 * Change the time of the alarm. The time that has already passed still
+	 * counts.
+	 * 
+	 * @param time
+	 *            The time, in updates, or in nanoseconds for alarms that count
+	 *            game time
+	 */
+	public final void setTime(long time) {
+		if (isRunning()) {
+			long passed = this.time - scheduler.remaining(this);
+			scheduler.schedule(this, time - passed);
+		} else if (remaining > 0) {
+			remaining = Math.max(0, remaining + time - this.time);
+		}
+		this.time = time;
+	}
+}
@@ -0,0 +1,229 @@
+package android.gameengine.icadroids.alarms;
+
+/**
+ * AlarmScheduler keeps the running alarms of a GameWorld in a timing wheel.
+ * Only the alarms that go off are touched in an update, so thousands of
+ * waiting alarms cost nothing. Alarms that have gone off or are paused are not
+ * kept by the scheduler.
+ * 
+ * Alarms that go off in the same update are triggered in a fixed order: first
+ * the alarms that count updates, in the order they were started, then the
+ * alarms that count game time, in order of their due time. Alarms that are
+ * due again in the same update are triggered after them.
+ * 
+ */
+public class AlarmScheduler {
+
+	/**
+	 * The alarms, in updates
+	 */
+	private final TimingWheel ticks = new TimingWheel(0);
+	/**
+	 * The alarms, in nanoseconds of game time. A slot of the wheel is 2^20
+	 * nanoseconds, about a millisecond.
+	 */
+	private final TimingWheel times = new TimingWheel(20);
+	/**
+	 * The number of the current update
+	 */
+	private long tick = 0;
+	/**
+	 * The game time of the current update in nanoseconds
+	 */
+	private long gameTime = 0;
+	/**
+	 * Counts the starts of alarms, to trigger alarms in a fixed order
+	 */
+	private long sequence = 0;
+	/**
+	 * The alarms that go off in this update, reused every update
+	 */
+	private Alarm[] firing = new Alarm[16];
+
+	/**
+	 * Start an alarm
+	 * 
+	 * @param alarm
+	 *            The alarm, it is stopped first when it is running
+	 * @param delay
+	 *            The number of updates or nanoseconds, 0 is the next time the
+	 *            alarms are updated
+	 */
+	void schedule(Alarm alarm, long delay) {
+		cancel(alarm);
+		alarm.generation = alarm.objectGeneration();
+		delay = Math.max(0, delay);
+		if (alarm.nanos) {
+			add(alarm, gameTime + delay);
+		} else {
+			add(alarm, tick + delay);
+		}
+	}
+
+	/**
+	 * Start a repeating alarm again, a period after it went off
+	 * 
+	 * @param alarm
+	 *            The alarm that goes off
+	 */
+	void repeat(Alarm alarm) {
+		if (alarm.wheel != null) {
+			return;
+		}
+		if (!alarm.nanos) {
+			add(alarm, tick + alarm.period);
+		} else if (alarm.fixedRate) {
+			add(alarm, alarm.due + alarm.period);
+		} else {
+			add(alarm, gameTime + alarm.period);
+		}
+	}
+
+	/**
+	 * Put an alarm in its wheel
+	 */
+	private void add(Alarm alarm, long due) {
+		alarm.due = due;
+		alarm.sequence = sequence++;
+		if (alarm.nanos) {
+			times.add(alarm);
+		} else {
+			ticks.add(alarm);
+		}
+	}
+
+	/**
+	 * Stop an alarm, nothing happens when it is not running
+	 * 
+	 * @param alarm
+	 *            The alarm
+	 */
+	void cancel(Alarm alarm) {
+		if (alarm.wheel != null) {
+			alarm.wheel.remove(alarm);
+		}
+		alarm.firing = false;
+	}
+
+	/**
+	 * Get the number of updates before an alarm goes off
+	 * 
+	 * @param alarm
+	 *            A running alarm
+	 * @return The number of updates or nanoseconds
+	 */
+	long remaining(Alarm alarm) {
+		return Math.max(0, alarm.due - (alarm.nanos ? gameTime : tick));
+	}
+
+	/**
+	 * <b>This method is automatically called by the GameWorld</b> every
+	 * update.
+	 * <p>
+	 * Trigger the alarms that go off in this update. Alarms that are started
+	 * with 0 updates by a triggered alarm go off in the same update.
+	 * 
+	 * @param gameTime
+	 *            The game time of this update in nanoseconds, it never goes
+	 *            back
+	 */
+	public void update(long gameTime) {
+		this.gameTime = Math.max(this.gameTime, gameTime);
+		fire(ticks, tick);
+		fire(times, this.gameTime);
+		tick++;
+	}
+
+	/**
+	 * Trigger the expired alarms of a wheel, until no alarm is expired
+	 */
+	private void fire(TimingWheel wheel, long time) {
+		Alarm expired;
+		while ((expired = wheel.collect(time)) != null) {
+			int count = sort(expired);
+			for (int i = 0; i < count; i++) {
+				Alarm alarm = firing[i];
+				firing[i] = null;
+				// an earlier alarm may have stopped or restarted this one
+				if (alarm.firing) {
+					alarm.firing = false;
+					alarm.fire();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Put the expired alarms in the firing array, in order of due time and
+	 * then in the order they were started
+	 * 
+	 * @return The number of alarms
+	 */
+	private int sort(Alarm expired) {
+		int count = 0;
+		for (Alarm alarm = expired; alarm != null;) {
+			Alarm next = alarm.next;
+			alarm.next = null;
+			alarm.firing = true;
+			if (count == firing.length) {
+				Alarm[] larger = new Alarm[count * 2];
+				System.arraycopy(firing, 0, larger, 0, count);
+				firing = larger;
+			}
+			// insertion sort, the list is almost sorted already
+			int i = count++;
+			while (i > 0 && isLater(firing[i - 1], alarm)) {
+				firing[i] = firing[i - 1];
+				i--;
+			}
+			firing[i] = alarm;
+			alarm = next;
+		}
+		return count;
+	}
+
+	/**
+	 * Check if an alarm must go off after another alarm
+	 */
+	private static boolean isLater(Alarm alarm, Alarm other) {
+		if (alarm.due != other.due) {
+			return alarm.due > other.due;
+		}
+		return alarm.sequence > other.sequence;
+	}
+
+	/**
+	 * Stop all alarms
+	 */
+	public void clear() {
+		ticks.clear();
+		times.clear();
+	}
+
+	/**
+	 * Get the number of running alarms
+	 * 
+	 * @return The number of alarms that wait to go off
+	 */
+	public int size() {
+		return ticks.size() + times.size();
+	}
+
+	/**
+	 * Get the number of the current update
+	 * 
+	 * @return The number of updates since the scheduler was made
+	 */
+	public long getTick() {
+		return tick;
+	}
+
+	/**
+	 * Get the game time of the current update
+	 * 
+	 * @return The game time in nanoseconds
+	 */
+	public long getGameTime() {
+		return gameTime;
+	}
+}
@@ -0,0 +1,210 @@
+package android.gameengine.icadroids.alarms;
+
+/**
+ * A hierarchical timing wheel: four levels of 64 slots, each slot a linked
+ * list of alarms. Level 0 holds the alarms of the next 64 units, level 1 of the
+ * next 64 * 64 units, etc. When the wheel passes a slot of a higher level, its
+ * alarms are moved down to a lower level. Adding and removing an alarm costs
+ * O(1), finding the expired alarms costs O(expired alarms) plus one slot per
+ * unit that has passed.
+ * 
+ * The times of the alarms are longs, a unit of the wheel is 2^shift times. The
+ * alarms are linked by their own fields, so the wheel makes no garbage.
+ * 
+ */
+final class TimingWheel {
+
+	private static final int BITS = 6, SLOTS = 1 << BITS, MASK = SLOTS - 1,
+			LEVELS = 4;
+	/**
+	 * The largest distance in units that fits in the wheel, alarms further away
+	 * are put in the last slot and moved again when the wheel gets there
+	 */
+	private static final long MAX_DELTA = (1L << (BITS * LEVELS)) - 1;
+
+	private final int shift;
+	private final Alarm[] heads = new Alarm[LEVELS * SLOTS];
+	private final Alarm[] tails = new Alarm[LEVELS * SLOTS];
+	/** The last unit that was collected */
+	private long current = 0;
+	/** The last unit whose higher slots were moved down */
+	private long cascaded = 0;
+	private int size = 0;
+
+	/**
+	 * Make a new wheel
+	 * 
+	 * @param shift
+	 *            A unit of the wheel is 2^shift times
+	 */
+	TimingWheel(int shift) {
+		this.shift = shift;
+	}
+
+	/**
+	 * Add an alarm at its due time. Alarms that are already due are collected
+	 * by the next call of collect().
+	 * 
+	 * @param alarm
+	 *            The alarm, it must not be in a wheel
+	 */
+	void add(Alarm alarm) {
+		insert(alarm);
+		alarm.wheel = this;
+		size++;
+	}
+
+	/**
+	 * Remove an alarm from the wheel
+	 * 
+	 * @param alarm
+	 *            The alarm, it must be in this wheel
+	 */
+	void remove(Alarm alarm) {
+		unlink(alarm);
+		alarm.wheel = null;
+		size--;
+	}
+
+	/**
+	 * Remove all expired alarms from the wheel and link them with their next
+	 * field.
+	 * 
+	 * @param time
+	 *            The current time, alarms that are due at or before this time
+	 *            are expired
+	 * @return The first expired alarm, null when none expired
+	 */
+	Alarm collect(long time) {
+		long target = time >> shift;
+		Alarm expired = null, last = null;
+		for (long unit = current; unit <= target; unit++) {
+			current = unit;
+			if (unit > cascaded) {
+				cascade(unit);
+				cascaded = unit;
+			}
+			int slot = (int) (unit & MASK);
+			Alarm alarm = heads[slot];
+			while (alarm != null) {
+				Alarm next = alarm.next;
+				if (alarm.due <= time) {
+					unlink(alarm);
+					alarm.wheel = null;
+					size--;
+					// keep the order of the slot
+					if (last == null) {
+						expired = alarm;
+					} else {
+						last.next = alarm;
+					}
+					last = alarm;
+				}
+				alarm = next;
+			}
+		}
+		return expired;
+	}
+
+	/**
+	 * Remove all alarms from the wheel
+	 */
+	void clear() {
+		for (int i = 0; i < heads.length; i++) {
+			Alarm alarm = heads[i];
+			while (alarm != null) {
+				Alarm next = alarm.next;
+				alarm.next = null;
+				alarm.prev = null;
+				alarm.slot = -1;
+				alarm.wheel = null;
+				alarm = next;
+			}
+			heads[i] = null;
+			tails[i] = null;
+		}
+		size = 0;
+	}
+
+	/**
+	 * Get the number of alarms in the wheel
+	 * 
+	 * @return The number of alarms
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Move the alarms of the higher slots that start at this unit down
+	 */
+	private void cascade(long unit) {
+		if ((unit & MASK) != 0) {
+			return;
+		}
+		// the highest level first, its alarms may land in lower slots
+		int levels = 1;
+		while (levels < LEVELS - 1
+				&& ((unit >> (BITS * levels)) & MASK) == 0) {
+			levels++;
+		}
+		for (int level = levels; level >= 1; level--) {
+			int index = level * SLOTS
+					+ (int) ((unit >> (BITS * level)) & MASK);
+			Alarm alarm = heads[index];
+			heads[index] = null;
+			tails[index] = null;
+			while (alarm != null) {
+				Alarm next = alarm.next;
+				insert(alarm);
+				alarm = next;
+			}
+		}
+	}
+
+	/**
+	 * Put an alarm at the end of the slot of its due time
+	 */
+	private void insert(Alarm alarm) {
+		long unit = Math.max(alarm.due >> shift, current);
+		long delta = unit - current;
+		if (delta > MAX_DELTA) {
+			delta = MAX_DELTA;
+			unit = current + MAX_DELTA;
+		}
+		int level = 0;
+		while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1))) {
+			level++;
+		}
+		int index = level * SLOTS + (int) ((unit >> (BITS * level)) & MASK);
+		alarm.slot = index;
+		alarm.next = null;
+		alarm.prev = tails[index];
+		if (tails[index] == null) {
+			heads[index] = alarm;
+		} else {
+			tails[index].next = alarm;
+		}
+		tails[index] = alarm;
+	}
+
+	/**
+	 * Remove an alarm from its slot
+	 */
+	private void unlink(Alarm alarm) {
+		int index = alarm.slot;
+		if (alarm.prev == null) {
+			heads[index] = alarm.next;
+		} else {
+			alarm.prev.next = alarm.next;
+		}
+		if (alarm.next == null) {
+			tails[index] = alarm.prev;
+		} else {
+			alarm.next.prev = alarm.prev;
+		}
+		alarm.next = null;
+		alarm.prev = null;
+		alarm.slot = -1;
+	}
+}
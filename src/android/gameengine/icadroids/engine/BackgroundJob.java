@@ -0,0 +1,142 @@
+package android.gameengine.icadroids.engine;
+
+/**
+ * A BackgroundJob is heavy work that should not cost frames, like finding a
+ * long path, generating a level or writing a save game. The job runs on a
+ * worker thread of the JobExecutor, and when it is finished the engine calls
+ * done() on the game thread, at the start of an update, so done() can use
+ * the GameObjects safely.
+ * 
+ * Put the input of the job in fields before you submit it, compute the result
+ * in run() and use the result in done(). run() must not touch the
+ * GameObjects or the world, they are changed by the game thread at the same
+ * time.
+ * 
+ * <pre>
+ * GameEngine.getJobExecutor().submit(new BackgroundJob() {
+ * 	protected void run() {
+ * 		level = generator.generate(seed);
+ * 	}
+ * 
+ * 	protected void done() {
+ * 		startLevel(level);
+ * 	}
+ * }, BackgroundJob.PRIORITY_HIGH);
+ * </pre>
+ * 
+ */
+public abstract class BackgroundJob {
+	/**
+	 * Priority for work that can wait, like filling caches
+	 */
+	public static final int PRIORITY_LOW = 0;
+	/**
+	 * The default priority
+	 */
+	public static final int PRIORITY_NORMAL = 5;
+	/**
+	 * Priority for work the player is waiting for
+	 */
+	public static final int PRIORITY_HIGH = 10;
+
+	static final int IDLE = 0, PENDING = 1, RUNNING = 2, FINISHED = 3;
+
+	/**
+	 * The state of the job, guarded by the JobExecutor
+	 */
+	int state = IDLE;
+	int priority;
+	/**
+	 * The exception or error thrown by run(), null when it succeeded
+	 */
+	Throwable error;
+	/**
+	 * True when the job is cancelled, the worker can check it to stop early
+	 */
+	private volatile boolean cancelled = false;
+	/**
+	 * True when the job is cancelled when the game pauses
+	 */
+	private boolean cancelOnPause = true;
+
+	/**
+	 * Do the work. <b>This method is called on a worker thread</b>, don't
+	 * touch the GameObjects or the world here. Long jobs should check
+	 * isCancelled() now and then and return when it is true.
+	 */
+	protected abstract void run();
+
+	/**
+	 * Called on the game thread when run() is finished. Use the result of the
+	 * job here.
+	 */
+	protected void done() {
+	}
+
+	/**
+	 * Called on the game thread when the job was cancelled. When the job was
+	 * already running, this is called after run() returns.
+	 */
+	protected void cancelled() {
+	}
+
+	/**
+	 * Called on the game thread when run() threw an exception or an error,
+	 * for example an OutOfMemoryError
+	 * 
+	 * @param exception
+	 *            The exception or error
+	 */
+	protected void failed(Throwable exception) {
+		System.out.println("BackgroundJob failed: " + exception);
+		exception.printStackTrace();
+	}
+
+	/**
+	 * Cancel the job. A job that is waiting never runs, a running job can
+	 * check isCancelled(). cancelled() is called on the game thread instead
+	 * of done().
+	 */
+	public final void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Check if the job is cancelled
+	 * 
+	 * @return True when the job is cancelled
+	 */
+	public final boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * Set if the job is cancelled when the game pauses (onPause). Jobs that
+	 * must finish, like writing a save game, should not be cancelled. All jobs
+	 * are cancelled when the game is destroyed.
+	 * 
+	 * @param cancelOnPause
+	 *            False to keep the job running when the game pauses, true by
+	 *            default
+	 */
+	public final void setCancelOnPause(boolean cancelOnPause) {
+		this.cancelOnPause = cancelOnPause;
+	}
+
+	/**
+	 * Check if the job is cancelled when the game pauses
+	 * 
+	 * @return True when the job is cancelled on pause
+	 */
+	public final boolean isCancelOnPause() {
+		return cancelOnPause;
+	}
+
+	/**
+	 * Called by the JobExecutor when the job is submitted
+	 */
+	final void reset() {
+		cancelled = false;
+		error = null;
+	}
+}
@@ -0,0 +1,78 @@
+package android.gameengine.icadroids.engine;
+
+import android.os.Debug;
+import android.util.Log;
+
+/**
+ * Logs the number of objects that are allocated by the game thread during a
+ * frame. Every allocation brings the garbage collector closer, which makes the
+ * game stutter, so the engine itself should not allocate anything while the
+ * game is running. To use the allocation logger, set USE_ALLOCATION_COUNTER
+ * to 'true'.
+ * 
+ * Frames that allocate objects are logged as a warning, together with the
+ * number of bytes. Only use this while testing, counting allocations makes
+ * the game slower.
+ * 
+ * The headless part of the engine is checked on a normal Java VM by the
+ * AllocationCheck of the benchmarks.
+ * 
+ */
+public class GameAllocationCounter {
+	public static boolean USE_ALLOCATION_COUNTER = false;
+	/**
+	 * True when the allocation counting of the VM has been started
+	 */
+	private boolean counting = false;
+	/**
+	 * The number of frames that allocated objects since the counter started
+	 */
+	private int allocatingFrames = 0;
+
+	/**
+	 * Start counting the allocations of this frame. Call this from the thread
+	 * that runs the game.
+	 */
+	public void startFrame() {
+		if (USE_ALLOCATION_COUNTER) {
+			if (!counting) {
+				Debug.startAllocCounting();
+				counting = true;
+			}
+			Debug.resetThreadAllocCount();
+		} else if (counting) {
+			Debug.stopAllocCounting();
+			counting = false;
+		}
+	}
+
+	/**
+	 * Stop counting the allocations of this frame and log them when objects
+	 * were allocated.
+	 * 
+	 * @param name
+	 *            The name of the counted loop, used as log tag
+	 */
+	public void endFrame(String name) {
+		if (counting) {
+			int allocations = Debug.getThreadAllocCount();
+			if (allocations > 0) {
+				allocatingFrames++;
+				Log.w(name, "Frame allocated " + allocations + " objects ("
+						+ Debug.getThreadAllocSize() + " bytes), "
+						+ allocatingFrames + " allocating frames so far");
+			}
+		}
+	}
+
+	/**
+	 * Get the number of frames that allocated objects since the counter was
+	 * turned on.
+	 * 
+	 * @return The number of allocating frames
+	 */
+	public int getAllocatingFrames() {
+		return allocatingFrames;
+	}
+
+}
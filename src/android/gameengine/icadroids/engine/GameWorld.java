@@ -0,0 +1,454 @@
+package android.gameengine.icadroids.engine;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Vector;
+
+import android.gameengine.icadroids.alarms.AlarmScheduler;
+import android.gameengine.icadroids.objects.GameObject;
+import android.gameengine.icadroids.objects.GameObjectPool;
+import android.gameengine.icadroids.objects.ProjectileSystem;
+import android.gameengine.icadroids.objects.particles.ParticleEmitter;
+import android.gameengine.icadroids.tasks.TaskScheduler;
+import android.gameengine.icadroids.tiles.GameTiles;
+import android.graphics.Rect;
+
+/**
+ * GameWorld holds the simulation of the game: the GameObjects, alarms, tiles,
+ * projectiles and particles, and the update pass that moves them. It does not
+ * need an Activity, a Context or a screen, so the simulation can also run on a
+ * normal Java VM, for example for benchmarks, validation on a server or
+ * replaying recorded input (see HeadlessGameLoop).
+ * 
+ * On a phone, the GameEngine makes the world and is the adapter between the
+ * world and Android. The static lists of the GameEngine (items,
+ * projectileSystems, etc.) are the same lists as the lists of the current world.
+ * 
+ * The engine classes use the current world, set it with setCurrent() when you
+ * make your own world.
+ * 
+ */
+public class GameWorld {
+
+	/**
+	 * The world that is used by the engine classes
+	 */
+	private static GameWorld current;
+	/**
+	 * The maximum number of objects in a pool that is made by the world
+	 */
+	public static int DEFAULT_POOL_SIZE = 100;
+	/**
+	 * A vectorlist that holds all the active GameObjects
+	 */
+	public final Vector<GameObject> items = new Vector<GameObject>();
+	/**
+	 * A vectorlist that holds all the projectile systems
+	 */
+	public final Vector<ProjectileSystem> projectileSystems = new Vector<ProjectileSystem>();
+	/**
+	 * A vectorlist that holds all the particle emitters
+	 */
+	public final Vector<ParticleEmitter> particleEmitters = new Vector<ParticleEmitter>();
+	/**
+	 * The running alarms
+	 */
+	private final AlarmScheduler alarmScheduler = new AlarmScheduler();
+	/**
+	 * The running scripts
+	 */
+	private final TaskScheduler taskScheduler = new TaskScheduler();
+	/**
+	 * The pools of deleted GameObjects, one pool per class
+	 */
+	private final HashMap<Class<?>, GameObjectPool<?>> gameObjectPools = new HashMap<Class<?>, GameObjectPool<?>>();
+	/**
+	 * The current tile map
+	 */
+	private GameTiles gameTiles = new GameTiles(100);
+	/**
+	 * The size of the world when no viewport is used, normally the size of the
+	 * screen
+	 */
+	private int screenWidth, screenHeight;
+	/**
+	 * True when the world runs without Android, sprites are not loaded then
+	 */
+	private final boolean headless;
+	/**
+	 * The number of updates since the world was made
+	 */
+	private long tick = 0;
+	/**
+	 * The game time in nanoseconds, the time the world has been updated
+	 */
+	private long gameTime = 0;
+	/**
+	 * The time of the previous update, -1 before the first update
+	 */
+	private long lastUpdate = -1;
+	/**
+	 * The largest step of the game time in one update, in nanoseconds. A
+	 * longer time between two updates (the game was paused, a debugger
+	 * stopped it) counts as this step.
+	 */
+	public static long MAX_STEP_NANOS = 100000000L;
+
+	/**
+	 * Make a new headless world and make it the current world.
+	 * 
+	 * @param screenWidth
+	 *            The width of the world when no viewport is used
+	 * @param screenHeight
+	 *            The height of the world when no viewport is used
+	 */
+	public GameWorld(int screenWidth, int screenHeight) {
+		this(true);
+		setScreenSize(screenWidth, screenHeight);
+	}
+
+	/**
+	 * Make a new world and make it the current world.
+	 * 
+	 * @param headless
+	 *            True when the world runs without Android
+	 */
+	GameWorld(boolean headless) {
+		this.headless = headless;
+		current = this;
+	}
+
+	/**
+	 * Get the world that is used by the engine classes
+	 * 
+	 * @return The current world, null when no world is made yet
+	 */
+	public static GameWorld getCurrent() {
+		return current;
+	}
+
+	/**
+	 * Set the world that is used by the engine classes. Worlds make themselves
+	 * current when they are made.
+	 * 
+	 * @param world
+	 *            The world that becomes current
+	 */
+	public static void setCurrent(GameWorld world) {
+		current = world;
+	}
+
+	/**
+	 * Check if the current world runs without Android
+	 * 
+	 * @return True when there is a headless current world
+	 */
+	public static boolean isHeadless() {
+		return current != null && current.headless;
+	}
+
+	/**
+	 * Update the world once, the game time moves on by the real time since
+	 * the previous update (at most MAX_STEP_NANOS).
+	 */
+	public void update() {
+		update(measureStep());
+	}
+
+	/**
+	 * <b>This method is automatically called by the GameEngine</b> at the
+	 * start of every update.
+	 * <p>
+	 * Measure the real time since the previous measurement, the step of a
+	 * real time update
+	 * 
+	 * @return The step in nanoseconds, at most MAX_STEP_NANOS and 0 the first
+	 *         time
+	 */
+	public long measureStep() {
+		long now = System.nanoTime();
+		long step = lastUpdate < 0 ? 0 : Math.min(now - lastUpdate,
+				MAX_STEP_NANOS);
+		lastUpdate = now;
+		return step;
+	}
+
+	/**
+	 * <b>This method is automatically called by the GameEngine and the
+	 * HeadlessGameLoop.</b>
+	 * <p>
+	 * Update every GameObject, projectile system, particle emitter, animated
+	 * tile type, alarm and script once. Deleted GameObjects are removed and returned to their pool.
+	 * 
+	 * @param stepNanos
+	 *            The game time of this update in nanoseconds
+	 */
+	public void update(long stepNanos) {
+		gameTime += Math.max(0, stepNanos);
+		for (int i = 0; i < items.size(); i++) {
+			GameObject item = items.get(i);
+			item.update();
+
+			if (!item.active) {
+				items.remove(i);
+				item.releaseToPool();
+				i--;
+			}
+		}
+		for (int i = 0; i < projectileSystems.size(); i++) {
+			projectileSystems.get(i).update();
+		}
+		for (int i = 0; i < particleEmitters.size(); i++) {
+			ParticleEmitter emitter = particleEmitters.get(i);
+			emitter.update();
+			if (emitter.isRemoveWhenFinished() && emitter.isFinished()) {
+				particleEmitters.remove(i);
+				i--;
+			}
+		}
+		if (gameTiles != null) {
+			gameTiles.update();
+		}
+		alarmScheduler.update(gameTime);
+		taskScheduler.update(gameTime);
+		tick++;
+	}
+
+	/**
+	 * Get the number of updates since the world was made
+	 * 
+	 * @return The number of updates
+	 */
+	public long getTick() {
+		return tick;
+	}
+
+	/**
+	 * Get the game time, the time the world has been updated
+	 * 
+	 * @return The game time in nanoseconds
+	 */
+	public long getGameTime() {
+		return gameTime;
+	}
+
+	/**
+	 * Add a GameObject to the world.
+	 * 
+	 * @param gameObject
+	 *            The GameObject that will be added
+	 * @param x
+	 *            The X spawnlocation when this object is created
+	 * @param y
+	 *            The Y spawnlocation when this object is created
+	 */
+	public void addGameObject(GameObject gameObject, int x, int y) {
+		gameObject.setStartPosition(x, y);
+		gameObject.jumpToStartPosition();
+		items.add(gameObject);
+	}
+
+	/**
+	 * Add a GameObject to the world at a layer position.
+	 * 
+	 * @param gameObject
+	 *            The GameObject that will be added
+	 * @param layerposition
+	 *            The layerposition when this object is drawed. <b>Between 0 and
+	 *            1 (float). </b> 1 front, 0 back
+	 */
+	public void addGameObject(GameObject gameObject, float layerposition) {
+		items.add(Math.round(items.size() * layerposition), gameObject);
+	}
+
+	/**
+	 * Add a collection of GameObjects to the world.
+	 * 
+	 * @param objectList
+	 *            The GameObjects that will be added
+	 */
+	public void addListOfObject(Collection<GameObject> objectList) {
+		items.addAll(objectList);
+	}
+
+	/**
+	 * Delete a GameObject from the world.
+	 * 
+	 * @param gameObject
+	 *            The GameObject to be removed
+	 */
+	public void deleteGameObject(GameObject gameObject) {
+		if (items.removeElement(gameObject)) {
+			gameObject.releaseToPool();
+		}
+	}
+
+	/**
+	 * Delete all GameObjects from the world.
+	 */
+	public void deleteAllGameObjects() {
+		for (int i = 0; i < items.size(); i++) {
+			items.get(i).releaseToPool();
+		}
+		items.removeAllElements();
+	}
+
+	/**
+	 * Remove all GameObject instances of given class type.
+	 * 
+	 * @param type
+	 *            De class type of the instances to be removed
+	 */
+	public <T> void deleteAllGameObjectsOfType(Class<T> type) {
+		for (int i = 0; i < items.size(); i++) {
+			if (items.get(i).getClass() == type) {
+				items.remove(i).releaseToPool();
+				i--;
+			}
+		}
+	}
+
+	/**
+	 * Get the pool of the given GameObject class. The pool is made when it
+	 * doesn't exist yet.
+	 * 
+	 * @param type
+	 *            the class name with .class behind it.
+	 * @return The pool of the given class
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends GameObject> GameObjectPool<T> getGameObjectPool(
+			Class<T> type) {
+		GameObjectPool<T> pool = (GameObjectPool<T>) gameObjectPools.get(type);
+		if (pool == null) {
+			pool = new GameObjectPool<T>(type, DEFAULT_POOL_SIZE);
+			gameObjectPools.put(type, pool);
+		}
+		return pool;
+	}
+
+	/**
+	 * Get a GameObject of the given class from its pool and add it to the
+	 * world.
+	 * 
+	 * @param type
+	 *            the class name with .class behind it. The class needs a
+	 *            constructor without parameters.
+	 * @param x
+	 *            The X spawnlocation when this object is created
+	 * @param y
+	 *            The Y spawnlocation when this object is created
+	 * @return The (reused) GameObject
+	 */
+	public <T extends GameObject> T spawnGameObject(Class<T> type, int x, int y) {
+		T gameObject = getGameObjectPool(type).obtain();
+		addGameObject(gameObject, x, y);
+		return gameObject;
+	}
+
+	/**
+	 * Get all instances of the specified type that are currently in the world
+	 * 
+	 * @param type
+	 *            the class name with .class behind it.
+	 * @return a list containing all gameObjects of the specified type.
+	 */
+	public <T> Vector<GameObject> getItemsOfType(Class<T> type) {
+		Vector<GameObject> gameobjects = new Vector<GameObject>();
+		for (int i = 0; i < items.size(); i++) {
+			if (items.get(i).getClass() == type) {
+				gameobjects.add(items.get(i));
+			}
+		}
+		return gameobjects;
+	}
+
+	/**
+	 * Find the GameObjects inside a given rectangle.
+	 * 
+	 * @param rectangle
+	 *            the rectangle specified in a left, top to bottom,right
+	 *            location
+	 * @return the list of items it found at the location the size is zero when
+	 *         nothing is found.
+	 */
+	public Vector<GameObject> findItemAt(Rect rectangle) {
+		Vector<GameObject> foundItems = new Vector<GameObject>();
+
+		for (int i = 0; i < items.size(); i++) {
+			if (Rect.intersects(rectangle, items.get(i).position)) {
+				foundItems.add(items.get(i));
+			}
+		}
+		return foundItems;
+	}
+
+	/**
+	 * Get the scheduler of the alarms of this world
+	 * 
+	 * @return The alarm scheduler
+	 */
+	public AlarmScheduler getAlarmScheduler() {
+		return alarmScheduler;
+	}
+
+	/**
+	 * Get the scheduler of the scripts of this world
+	 * 
+	 * @return The task scheduler
+	 */
+	public TaskScheduler getTaskScheduler() {
+		return taskScheduler;
+	}
+
+	/**
+	 * Get the current tile map
+	 * 
+	 * @return The tiles of the world
+	 */
+	public GameTiles getGameTiles() {
+		return gameTiles;
+	}
+
+	/**
+	 * Set the current tile map
+	 * 
+	 * @param gameTiles
+	 *            The tiles of the world
+	 */
+	public void setGameTiles(GameTiles gameTiles) {
+		this.gameTiles = gameTiles;
+	}
+
+	/**
+	 * Set the size of the world when no viewport is used. On a phone this is
+	 * the size of the screen.
+	 * 
+	 * @param screenWidth
+	 *            The width in pixels
+	 * @param screenHeight
+	 *            The height in pixels
+	 */
+	public void setScreenSize(int screenWidth, int screenHeight) {
+		this.screenWidth = screenWidth;
+		this.screenHeight = screenHeight;
+	}
+
+	/**
+	 * Get the width of the world when no viewport is used
+	 * 
+	 * @return The width in pixels
+	 */
+	public int getScreenWidth() {
+		return screenWidth;
+	}
+
+	/**
+	 * Get the height of the world when no viewport is used
+	 * 
+	 * @return The height in pixels
+	 */
+	public int getScreenHeight() {
+		return screenHeight;
+	}
+}
@@ -0,0 +1,241 @@
+package android.gameengine.icadroids.engine;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import android.gameengine.icadroids.input.InputState;
+
+/**
+ * HeadlessGameLoop runs a GameWorld without Android: nothing is drawn and no
+ * input is read. Use it to run the simulation of a game on a normal Java VM,
+ * for example for benchmarks, validation on a server or replays.
+ * 
+ * Extend this class and override initialize() to fill the world and update()
+ * for your own game logic, like you would do in the GameEngine. Then call
+ * runFrames() to run as fast as possible, or start the loop in a thread to run
+ * at MAX_FPS.
+ * 
+ * A log of the InputRecorder can be replayed with startReplay(): every step
+ * reads the input of the next update into getInput() before update() is
+ * called, and the world is updated with the recorded step, so a recorded
+ * session runs on exactly the same updates. The input classes need Android,
+ * so update() reads the input from the InputState instead.
+ * 
+ */
+public class HeadlessGameLoop implements Runnable {
+
+	/**
+	 * The world that is simulated
+	 */
+	protected final GameWorld world;
+	/**
+	 * running is true when the loop is running, false otherwise
+	 */
+	private volatile boolean running = false;
+	/**
+	 * True when initialize() has been called
+	 */
+	private boolean initialized = false;
+	/**
+	 * The log that is replayed, null when there is no replay
+	 */
+	private DataInputStream replay;
+	/**
+	 * The input of the current update of the replay
+	 */
+	private InputState input;
+	/**
+	 * Max FPS of the loop when it runs in real time
+	 */
+	public static int MAX_FPS = 30;
+
+	/**
+	 * Make a new loop with a new headless world
+	 * 
+	 * @param screenWidth
+	 *            The width of the world when no viewport is used
+	 * @param screenHeight
+	 *            The height of the world when no viewport is used
+	 */
+	public HeadlessGameLoop(int screenWidth, int screenHeight) {
+		this(new GameWorld(screenWidth, screenHeight));
+	}
+
+	/**
+	 * Make a new loop that simulates the given world
+	 * 
+	 * @param world
+	 *            The world to simulate
+	 */
+	public HeadlessGameLoop(GameWorld world) {
+		this.world = world;
+	}
+
+	/**
+	 * Called once before the first update. Override this method to add the
+	 * GameObjects, tiles and alarms of the game to the world.
+	 */
+	protected void initialize() {
+
+	}
+
+	/**
+	 * Called every update before the world is updated. Override this method
+	 * to run your own game logic.
+	 */
+	public void update() {
+
+	}
+
+	/**
+	 * Update the game once. The game time moves on by 1/MAX_FPS second,
+	 * also when the loop runs as fast as possible, so a run is always the
+	 * same. During a replay the input of the next update is read first and
+	 * the game time moves on by the recorded step.
+	 */
+	public final void step() {
+		GameWorld.setCurrent(world);
+		if (!initialized) {
+			initialized = true;
+			initialize();
+		}
+		long stepNanos = 1000000000L / MAX_FPS;
+		if (replay != null) {
+			stepNanos = readInput(stepNanos);
+		}
+		update();
+		world.update(stepNanos);
+	}
+
+	/**
+	 * Read the input of the next update of the replay
+	 * 
+	 * @return The recorded step, or the given step when the log has no steps
+	 */
+	private long readInput(long stepNanos) {
+		try {
+			input.read(replay);
+			if (input.stepNanos >= 0) {
+				return input.stepNanos;
+			}
+		} catch (EOFException e) {
+			stopReplay();
+		} catch (IOException e) {
+			System.out.println("HeadlessGameLoop: replay stopped, " + e);
+			stopReplay();
+		}
+		return stepNanos;
+	}
+
+	/**
+	 * Start replaying a log of the InputRecorder. A running replay is
+	 * stopped. The replay stops by itself at the end of the log, the input
+	 * keeps the values of the last update.
+	 * 
+	 * @param in
+	 *            The stream to read the log from, it is closed when the replay
+	 *            stops
+	 * @throws IOException
+	 *             When the stream is not a log of the InputRecorder
+	 */
+	public final void startReplay(InputStream in) throws IOException {
+		stopReplay();
+		DataInputStream stream = new DataInputStream(new BufferedInputStream(
+				in));
+		try {
+			input = InputState.readHeader(stream);
+		} catch (IOException e) {
+			stream.close();
+			throw e;
+		}
+		replay = stream;
+	}
+
+	/**
+	 * Stop replaying
+	 */
+	public final void stopReplay() {
+		if (replay != null) {
+			try {
+				replay.close();
+			} catch (IOException e) {
+				// nothing to do, the log was only read
+			}
+			replay = null;
+		}
+	}
+
+	/**
+	 * Check if a log is being replayed
+	 * 
+	 * @return True while replaying
+	 */
+	public final boolean isReplaying() {
+		return replay != null;
+	}
+
+	/**
+	 * Get the input of the current update of the replay
+	 * 
+	 * @return The input, null when no log was replayed
+	 */
+	public final InputState getInput() {
+		return input;
+	}
+
+	/**
+	 * Update the game the given number of times, as fast as possible.
+	 * 
+	 * @param frames
+	 *            The number of updates
+	 */
+	public final void runFrames(int frames) {
+		for (int i = 0; i < frames; i++) {
+			step();
+		}
+	}
+
+	/***
+	 * Runs the game in real time at MAX_FPS until setRunning(false) is called.
+	 */
+	public void run() {
+		long ticksPS = 1000 / MAX_FPS;
+		long startTime;
+		long sleepTime;
+		running = true;
+		while (running) {
+			startTime = System.currentTimeMillis();
+			step();
+			sleepTime = ticksPS - (System.currentTimeMillis() - startTime);
+			try {
+				if (sleepTime > 0) {
+					Thread.sleep(sleepTime);
+				}
+			} catch (InterruptedException e) {
+				running = false;
+			}
+		}
+	}
+
+	/**
+	 * Start or stop the loop from running
+	 * 
+	 * @param running
+	 *            true to start, false to stop
+	 */
+	public final void setRunning(boolean running) {
+		this.running = running;
+	}
+
+	/**
+	 * Get the world that is simulated
+	 * 
+	 * @return The world of this loop
+	 */
+	public final GameWorld getWorld() {
+		return world;
+	}
+}
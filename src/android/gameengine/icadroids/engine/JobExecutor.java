@@ -0,0 +1,226 @@
+package android.gameengine.icadroids.engine;
+
+import java.util.ArrayList;
+
+/**
+ * The JobExecutor runs BackgroundJobs on a few worker threads and hands the
+ * results back to the game thread. Get it with GameEngine.getJobExecutor().
+ * 
+ * Jobs with a higher priority run first, jobs with the same priority run in
+ * the order they were submitted. The results are delivered by
+ * deliverResults(), which the GameEngine calls at the start of every update,
+ * so done() is always called on the game thread at the same point in the
+ * update.
+ * 
+ * When the game pauses, the jobs that are cancelled on pause are cancelled.
+ * When the game is destroyed, all jobs are cancelled and the workers stop.
+ * 
+ */
+public class JobExecutor {
+	/**
+	 * The number of worker threads of a new executor. The game thread and the
+	 * render work keep a core, so by default there is one worker per other
+	 * core, at most 2.
+	 */
+	public static int WORKER_THREADS = Math.max(1,
+			Math.min(2, Runtime.getRuntime().availableProcessors() - 1));
+
+	/**
+	 * The waiting jobs, sorted from low to high priority, the next job is
+	 * last
+	 */
+	private final ArrayList<BackgroundJob> pending = new ArrayList<BackgroundJob>();
+	/**
+	 * The jobs that are running on a worker
+	 */
+	private final ArrayList<BackgroundJob> running = new ArrayList<BackgroundJob>();
+	/**
+	 * The jobs of which the result must be delivered
+	 */
+	private ArrayList<BackgroundJob> finished = new ArrayList<BackgroundJob>();
+	/**
+	 * The list that is delivered, swapped with finished
+	 */
+	private ArrayList<BackgroundJob> delivering = new ArrayList<BackgroundJob>();
+	/**
+	 * The workers, made when the first job is submitted
+	 */
+	private JobWorker[] workers;
+	private boolean shutdown = false;
+
+	/**
+	 * Submit a job with normal priority
+	 * 
+	 * @param job
+	 *            The job
+	 */
+	public void submit(BackgroundJob job) {
+		submit(job, BackgroundJob.PRIORITY_NORMAL);
+	}
+
+	/**
+	 * Submit a job. A job can be submitted again when its result was
+	 * delivered.
+	 * 
+	 * @param job
+	 *            The job
+	 * @param priority
+	 *            The priority, for example BackgroundJob.PRIORITY_HIGH
+	 */
+	public synchronized void submit(BackgroundJob job, int priority) {
+		if (job.state != BackgroundJob.IDLE) {
+			throw new IllegalStateException("The job is already submitted");
+		}
+		if (shutdown) {
+			System.out.println("JobExecutor: job submitted after shutdown");
+			return;
+		}
+		if (workers == null) {
+			workers = new JobWorker[WORKER_THREADS];
+			for (int i = 0; i < workers.length; i++) {
+				workers[i] = new JobWorker(this, i);
+				workers[i].start();
+			}
+		}
+		job.reset();
+		job.priority = priority;
+		job.state = BackgroundJob.PENDING;
+		// before the jobs with the same priority, they were submitted earlier
+		int index = 0;
+		while (index < pending.size()
+				&& pending.get(index).priority < priority) {
+			index++;
+		}
+		pending.add(index, job);
+		notify();
+	}
+
+	/**
+	 * Called by a worker, wait for the next job
+	 * 
+	 * @return The job with the highest priority, null when the executor is
+	 *         shut down
+	 */
+	synchronized BackgroundJob take() throws InterruptedException {
+		while (true) {
+			if (shutdown) {
+				return null;
+			}
+			int last = pending.size() - 1;
+			if (last >= 0) {
+				BackgroundJob job = pending.remove(last);
+				if (job.isCancelled()) {
+					finish(job);
+				} else {
+					job.state = BackgroundJob.RUNNING;
+					running.add(job);
+					return job;
+				}
+			} else {
+				wait();
+			}
+		}
+	}
+
+	/**
+	 * Called by a worker when a job is finished
+	 * 
+	 * @param job
+	 *            The job
+	 */
+	synchronized void finished(BackgroundJob job) {
+		running.remove(job);
+		finish(job);
+	}
+
+	/**
+	 * Put a job in the list of results
+	 */
+	private void finish(BackgroundJob job) {
+		job.state = BackgroundJob.FINISHED;
+		if (!shutdown) {
+			finished.add(job);
+		} else {
+			job.state = BackgroundJob.IDLE;
+		}
+	}
+
+	/**
+	 * <b>This method is automatically called by the GameEngine</b> at the
+	 * start of every update.
+	 * <p>
+	 * Call done(), cancelled() or failed() on the game thread for the jobs
+	 * that are finished.
+	 */
+	public void deliverResults() {
+		synchronized (this) {
+			if (finished.isEmpty()) {
+				return;
+			}
+			ArrayList<BackgroundJob> swap = delivering;
+			delivering = finished;
+			finished = swap;
+			for (int i = 0; i < delivering.size(); i++) {
+				delivering.get(i).state = BackgroundJob.IDLE;
+			}
+		}
+		for (int i = 0; i < delivering.size(); i++) {
+			BackgroundJob job = delivering.get(i);
+			if (job.isCancelled()) {
+				job.cancelled();
+			} else if (job.error != null) {
+				job.failed(job.error);
+			} else {
+				job.done();
+			}
+		}
+		delivering.clear();
+	}
+
+	/**
+	 * Cancel the jobs that are waiting or running. The jobs that are waiting
+	 * are delivered as cancelled in the next update.
+	 * 
+	 * @param pausing
+	 *            True to cancel only the jobs that are cancelled on pause
+	 */
+	public synchronized void cancelAll(boolean pausing) {
+		for (int i = pending.size() - 1; i >= 0; i--) {
+			BackgroundJob job = pending.get(i);
+			if (!pausing || job.isCancelOnPause()) {
+				job.cancel();
+				pending.remove(i);
+				finish(job);
+			}
+		}
+		for (int i = 0; i < running.size(); i++) {
+			BackgroundJob job = running.get(i);
+			if (!pausing || job.isCancelOnPause()) {
+				job.cancel();
+			}
+		}
+	}
+
+	/**
+	 * Cancel all jobs and stop the workers. The results of the jobs are not
+	 * delivered anymore.
+	 */
+	public synchronized void shutdown() {
+		cancelAll(false);
+		shutdown = true;
+		for (int i = 0; i < finished.size(); i++) {
+			finished.get(i).state = BackgroundJob.IDLE;
+		}
+		finished.clear();
+		notifyAll();
+	}
+
+	/**
+	 * Get the number of jobs that are waiting or running
+	 * 
+	 * @return The number of jobs
+	 */
+	public synchronized int size() {
+		return pending.size() + running.size();
+	}
+}
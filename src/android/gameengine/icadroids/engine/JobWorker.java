@@ -0,0 +1,50 @@
+package android.gameengine.icadroids.engine;
+
+/**
+ * A worker thread of the JobExecutor. It takes the jobs with the highest
+ * priority and runs them at background priority, so they don't take time
+ * from the game thread.
+ * 
+ */
+final class JobWorker extends Thread {
+
+	private final JobExecutor executor;
+
+	/**
+	 * Make a new worker
+	 * 
+	 * @param executor
+	 *            The executor with the jobs
+	 * @param number
+	 *            The number of the worker, for the name of the thread
+	 */
+	JobWorker(JobExecutor executor, int number) {
+		super("GameJobs-" + number);
+		this.executor = executor;
+		setDaemon(true);
+	}
+
+	@Override
+	public void run() {
+		android.os.Process
+				.setThreadPriority(android.os.Process.THREAD_PRIORITY_BACKGROUND);
+		try {
+			BackgroundJob job;
+			while ((job = executor.take()) != null) {
+				try {
+					if (!job.isCancelled()) {
+						job.run();
+					}
+				} catch (Throwable e) {
+					// also errors like a StackOverflowError of a deep search,
+					// the worker must go on with the next job
+					job.error = e;
+				} finally {
+					executor.finished(job);
+				}
+			}
+		} catch (InterruptedException e) {
+			// stopped
+		}
+	}
+}
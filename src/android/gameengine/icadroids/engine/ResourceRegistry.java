@@ -0,0 +1,135 @@
+package android.gameengine.icadroids.engine;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+
+import android.content.Context;
+
+/**
+ * ResourceRegistry finds the numeric id of a resource by its name, like
+ * Resources.getIdentifier(), but fast. The first time a type of resource is
+ * used (drawable, raw, layout, id, ...) all names of that type are read from
+ * the generated R class of the app, after that every lookup is a HashMap get.
+ * 
+ * Names that are not in the R class, for example because the R class has
+ * another package than the app, are looked up with getIdentifier() once and
+ * then cached as well.
+ * 
+ * The engine uses the registry for sprites, sounds, music and forms. The
+ * GameEngine reads the drawables and raw files when the game starts.
+ * 
+ */
+public final class ResourceRegistry {
+
+	/**
+	 * The ids per type of resource, then per name
+	 */
+	private static final HashMap<String, HashMap<String, Integer>> types = new HashMap<String, HashMap<String, Integer>>();
+	/**
+	 * The R class of the app, found with the package name when it isn't set
+	 */
+	private static String rClassName;
+
+	private ResourceRegistry() {
+		// only static methods
+	}
+
+	/**
+	 * Use another R class than the R class in the package of the app, when
+	 * the resources are generated in another package.
+	 * 
+	 * @param rClass
+	 *            The R class, like my.game.R.class
+	 */
+	public static synchronized void setRClass(Class<?> rClass) {
+		rClassName = rClass.getName();
+		types.clear();
+	}
+
+	/**
+	 * Read all names of the given types now, so the first lookup isn't slow
+	 * 
+	 * @param context
+	 *            The context of the app
+	 * @param resourceTypes
+	 *            The types, like "drawable" and "raw"
+	 */
+	public static synchronized void preload(Context context,
+			String... resourceTypes) {
+		for (int i = 0; i < resourceTypes.length; i++) {
+			getType(context, resourceTypes[i]);
+		}
+	}
+
+	/**
+	 * Get the id of a resource
+	 * 
+	 * @param context
+	 *            The context of the app
+	 * @param name
+	 *            The name of the resource without extension
+	 * @param type
+	 *            The type of the resource, like "drawable", "raw", "layout"
+	 *            or "id"
+	 * @return The id of the resource, 0 when there is no such resource
+	 */
+	public static synchronized int getId(Context context, String name,
+			String type) {
+		HashMap<String, Integer> ids = getType(context, type);
+		Integer id = ids.get(name);
+		if (id == null) {
+			id = context.getResources().getIdentifier(name, type,
+					context.getPackageName());
+			ids.put(name, id);
+		}
+		return id;
+	}
+
+	/**
+	 * Forget all ids, they are read again when they are used
+	 */
+	public static synchronized void clear() {
+		types.clear();
+	}
+
+	/**
+	 * Get the ids of a type, read them from the R class the first time
+	 */
+	private static HashMap<String, Integer> getType(Context context,
+			String type) {
+		HashMap<String, Integer> ids = types.get(type);
+		if (ids == null) {
+			ids = new HashMap<String, Integer>();
+			readRClass(context, type, ids);
+			types.put(type, ids);
+		}
+		return ids;
+	}
+
+	/**
+	 * Read the static int fields of the R class of a type, like R.drawable
+	 */
+	private static void readRClass(Context context, String type,
+			HashMap<String, Integer> ids) {
+		String className = rClassName != null ? rClassName : context
+				.getPackageName() + ".R";
+		try {
+			Class<?> typeClass = Class.forName(className + "$" + type, true,
+					ResourceRegistry.class.getClassLoader());
+			Field[] fields = typeClass.getFields();
+			for (int i = 0; i < fields.length; i++) {
+				Field field = fields[i];
+				if (field.getType() == int.class
+						&& Modifier.isStatic(field.getModifiers())) {
+					ids.put(field.getName(), field.getInt(null));
+				}
+			}
+		} catch (ClassNotFoundException e) {
+			// no R class for this type, getIdentifier() is used per name
+		} catch (IllegalAccessException e) {
+			System.out.println("ResourceRegistry: can't read " + className
+					+ "$" + type + ", " + e);
+		}
+	}
+}
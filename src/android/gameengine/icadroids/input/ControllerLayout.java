@@ -0,0 +1,189 @@
+package android.gameengine.icadroids.input;
+
+import java.util.ArrayList;
+
+/**
+ * ControllerLayout is the list of controls of the on screen controller. Make
+ * your own layout with any number of buttons, d-pads and sticks and give it to
+ * OnScreenButtons.setLayout().
+ * 
+ * To find the control under a finger fast, the screen is divided in cells of
+ * CELL_SIZE pixels. buildHitGrid() stores for every cell the controls that
+ * overlap it, so a touch only tests the one or two controls of its cell,
+ * however many controls there are. Controls that are added later are on top.
+ * 
+ */
+public class ControllerLayout {
+
+	/**
+	 * The size of a cell of the hit grid in pixels
+	 */
+	public static int CELL_SIZE = 32;
+
+	/**
+	 * The controls in the order they are drawn
+	 */
+	private final ArrayList<VirtualControl> controls = new ArrayList<VirtualControl>();
+	/**
+	 * The controls as an array, made by buildHitGrid()
+	 */
+	private VirtualControl[] controlArray;
+	/**
+	 * The size of the grid in cells
+	 */
+	private int columns, rows, cellSize;
+	/**
+	 * The controls of cell c are cellControls[cellStart[c]] up to
+	 * cellControls[cellStart[c + 1]], the top control first
+	 */
+	private int[] cellStart;
+	private short[] cellControls;
+
+	/**
+	 * Add a control on top of the other controls
+	 * 
+	 * @param control
+	 *            The control to add
+	 * @return The control
+	 */
+	public <T extends VirtualControl> T add(T control) {
+		controls.add(control);
+		cellStart = null;
+		return control;
+	}
+
+	/**
+	 * Remove a control
+	 * 
+	 * @param control
+	 *            The control to remove
+	 */
+	public void remove(VirtualControl control) {
+		if (controls.remove(control)) {
+			cellStart = null;
+		}
+	}
+
+	/**
+	 * Get the number of controls
+	 * 
+	 * @return The number of controls
+	 */
+	public int size() {
+		return controls.size();
+	}
+
+	/**
+	 * Get a control
+	 * 
+	 * @param index
+	 *            The index of the control, in the order they were added
+	 * @return The control
+	 */
+	public VirtualControl get(int index) {
+		return controls.get(index);
+	}
+
+	/**
+	 * <b>This method is automatically called by OnScreenButtons</b> when the
+	 * layout is used.
+	 * <p>
+	 * Build the hit grid for a screen of the given size. Adding or removing a
+	 * control clears the grid, it is built again in the next update.
+	 * 
+	 * @param width
+	 *            The width of the screen in pixels
+	 * @param height
+	 *            The height of the screen in pixels
+	 */
+	public void buildHitGrid(int width, int height) {
+		cellSize = Math.max(1, CELL_SIZE);
+		columns = Math.max(1, (width + cellSize - 1) / cellSize);
+		rows = Math.max(1, (height + cellSize - 1) / cellSize);
+		controlArray = controls.toArray(new VirtualControl[controls.size()]);
+
+		int cells = columns * rows;
+		int[] start = new int[cells + 1];
+		// first count the controls of every cell
+		for (int i = 0; i < controlArray.length; i++) {
+			int[] range = cellRange(controlArray[i]);
+			for (int row = range[1]; row <= range[3]; row++) {
+				for (int column = range[0]; column <= range[2]; column++) {
+					start[row * columns + column + 1]++;
+				}
+			}
+		}
+		for (int c = 0; c < cells; c++) {
+			start[c + 1] += start[c];
+		}
+		// then fill the cells, the last control (on top) first
+		short[] entries = new short[start[cells]];
+		int[] next = new int[cells];
+		System.arraycopy(start, 0, next, 0, cells);
+		for (int i = controlArray.length - 1; i >= 0; i--) {
+			int[] range = cellRange(controlArray[i]);
+			for (int row = range[1]; row <= range[3]; row++) {
+				for (int column = range[0]; column <= range[2]; column++) {
+					entries[next[row * columns + column]++] = (short) i;
+				}
+			}
+		}
+		cellControls = entries;
+		cellStart = start;
+	}
+
+	/**
+	 * Check if the hit grid is built
+	 * 
+	 * @return TRUE when the grid is up to date with the controls
+	 */
+	boolean hasHitGrid() {
+		return cellStart != null;
+	}
+
+	/**
+	 * Get the cells that a control overlaps, clamped to the grid
+	 * 
+	 * @return left column, top row, right column and bottom row, the range is
+	 *         empty when the control is outside the grid
+	 */
+	private int[] cellRange(VirtualControl control) {
+		int[] range = new int[4];
+		range[0] = Math.max(0, (int) Math.floor(control.hitArea.left / cellSize));
+		range[1] = Math.max(0, (int) Math.floor(control.hitArea.top / cellSize));
+		range[2] = Math.min(columns - 1,
+				(int) Math.floor(control.hitArea.right / cellSize));
+		range[3] = Math.min(rows - 1,
+				(int) Math.floor(control.hitArea.bottom / cellSize));
+		return range;
+	}
+
+	/**
+	 * Find the top control at a position on the screen
+	 * 
+	 * @param x
+	 *            The x position in pixels
+	 * @param y
+	 *            The y position in pixels
+	 * @return The control, null when there is no control at the position or
+	 *         the hit grid is not built
+	 */
+	public VirtualControl findControlAt(float x, float y) {
+		if (cellStart == null || x < 0 || y < 0) {
+			return null;
+		}
+		int column = (int) (x / cellSize);
+		int row = (int) (y / cellSize);
+		if (column >= columns || row >= rows) {
+			return null;
+		}
+		int cell = row * columns + column;
+		for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+			VirtualControl control = controlArray[cellControls[i]];
+			if (control.hitArea.contains(x, y)) {
+				return control;
+			}
+		}
+		return null;
+	}
+}
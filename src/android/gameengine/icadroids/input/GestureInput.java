@@ -0,0 +1,272 @@
+package android.gameengine.icadroids.input;
+
+import android.view.MotionEvent;
+
+/**
+ * GestureInput recognises drags and flings of the first finger. It uses all
+ * samples of the touch screen, also the samples that Android batches between
+ * two touch events, so fast swipes are followed accurately.
+ * 
+ * Like TouchInput, all values are static. They are set once per update,
+ * before the update of the game. TouchInput.use must be true to receive
+ * touch events.
+ * 
+ */
+public final class GestureInput {
+
+	/**
+	 * Set this to true to recognise gestures
+	 */
+	public static boolean use;
+
+	/**
+	 * The distance in pixels a finger must move before a drag starts
+	 */
+	public static float touchSlop = 16f;
+	/**
+	 * The minimum speed in pixels per second of a fling
+	 */
+	public static float minFlingVelocity = 1000f;
+
+	/**
+	 * The maximum number of samples per update
+	 */
+	public static final int MAX_SAMPLES = 256;
+	/**
+	 * The number of samples of the first finger in this update
+	 */
+	public static int sampleCount;
+	/**
+	 * The positions of the samples of this update, oldest first. Only the
+	 * first sampleCount values are valid.
+	 */
+	public static final float[] sampleX = new float[MAX_SAMPLES],
+			sampleY = new float[MAX_SAMPLES];
+	/**
+	 * The times of the samples of this update in milliseconds
+	 */
+	public static final long[] sampleTime = new long[MAX_SAMPLES];
+
+	/** The speed of the finger in pixels per second */
+	public static float velocityX, velocityY;
+
+	/** TRUE while the finger is dragged */
+	public static boolean dragging;
+	/** TRUE during the update in which a drag started */
+	public static boolean dragStarted;
+	/** TRUE during the update in which a drag ended */
+	public static boolean dragEnded;
+	/** The position where the finger went down */
+	public static float downX, downY;
+	/** The distance the finger moved in this update */
+	public static float dragDeltaX, dragDeltaY;
+
+	/**
+	 * TRUE during the update in which the finger was released with at least
+	 * minFlingVelocity
+	 */
+	public static boolean fling;
+	/** The speed of the last fling in pixels per second */
+	public static float flingVelocityX, flingVelocityY;
+
+	/**
+	 * The samples that are used to estimate the speed, only the samples of
+	 * the last VELOCITY_WINDOW milliseconds are used
+	 */
+	private static final int RECENT_SAMPLES = 20;
+	private static final long VELOCITY_WINDOW = 100;
+	private static final float[] recentX = new float[RECENT_SAMPLES],
+			recentY = new float[RECENT_SAMPLES];
+	private static final long[] recentTime = new long[RECENT_SAMPLES];
+	private static int recentIndex = 0, recentCount = 0;
+
+	/** TRUE while the first finger is down */
+	private static boolean down;
+	/** The position of the last sample */
+	private static float lastX, lastY;
+
+	private GestureInput() {
+		// only static values
+	}
+
+	/**
+	 * <b>This method is automatically called by TouchInput</b> before the
+	 * events of an update are handled. Clears the values that only last one
+	 * update.
+	 */
+	static void beginUpdate() {
+		sampleCount = 0;
+		dragStarted = false;
+		dragEnded = false;
+		fling = false;
+		dragDeltaX = 0;
+		dragDeltaY = 0;
+	}
+
+	/**
+	 * <b>This method is automatically called by TouchInput</b> for every
+	 * event of an update.
+	 * 
+	 * @param event
+	 *            The event from the queue
+	 */
+	static void handleEvent(TouchEvent event) {
+		switch (event.action) {
+		case MotionEvent.ACTION_DOWN:
+			down = true;
+			clearVelocity();
+			downX = lastX = event.x[0];
+			downY = lastY = event.y[0];
+			addSample(event.x[0], event.y[0], event.eventTime);
+			break;
+		case MotionEvent.ACTION_POINTER_DOWN:
+			// more fingers are a pinch or zoom, not a drag
+			endDrag();
+			down = false;
+			break;
+		case MotionEvent.ACTION_MOVE:
+			if (down) {
+				for (int h = 0; h < event.historySize; h++) {
+					addSample(event.historyX[h], event.historyY[h],
+							event.historyTime[h]);
+				}
+				addSample(event.x[0], event.y[0], event.eventTime);
+			}
+			break;
+		case MotionEvent.ACTION_UP:
+			if (down) {
+				addSample(event.x[0], event.y[0], event.eventTime);
+				down = false;
+				if (dragging) {
+					checkFling();
+				}
+				endDrag();
+			}
+			break;
+		case MotionEvent.ACTION_CANCEL:
+			down = false;
+			endDrag();
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * <b>This method is automatically called by TouchInput</b> after the
+	 * events of an update are handled. Estimates the speed of the finger.
+	 */
+	static void endUpdate() {
+		if (down) {
+			estimateVelocity();
+		}
+	}
+
+	/**
+	 * Add a sample of the first finger
+	 */
+	private static void addSample(float x, float y, long time) {
+		if (sampleCount < MAX_SAMPLES) {
+			sampleX[sampleCount] = x;
+			sampleY[sampleCount] = y;
+			sampleTime[sampleCount] = time;
+			sampleCount++;
+		}
+
+		recentX[recentIndex] = x;
+		recentY[recentIndex] = y;
+		recentTime[recentIndex] = time;
+		recentIndex = (recentIndex + 1) % RECENT_SAMPLES;
+		if (recentCount < RECENT_SAMPLES) {
+			recentCount++;
+		}
+
+		if (down) {
+			if (!dragging
+					&& (Math.abs(x - downX) > touchSlop || Math.abs(y - downY) > touchSlop)) {
+				dragging = true;
+				dragStarted = true;
+			}
+			if (dragging) {
+				dragDeltaX += x - lastX;
+				dragDeltaY += y - lastY;
+			}
+		}
+		lastX = x;
+		lastY = y;
+	}
+
+	/**
+	 * Estimate the speed with a least squares fit of a straight line through
+	 * the samples of the last VELOCITY_WINDOW milliseconds.
+	 */
+	private static void estimateVelocity() {
+		if (recentCount < 2) {
+			velocityX = 0;
+			velocityY = 0;
+			return;
+		}
+		int newest = (recentIndex + RECENT_SAMPLES - 1) % RECENT_SAMPLES;
+		long newestTime = recentTime[newest];
+		float sumT = 0, sumTT = 0, sumX = 0, sumTX = 0, sumY = 0, sumTY = 0;
+		int n = 0;
+		for (int i = 0; i < recentCount; i++) {
+			int index = (newest + RECENT_SAMPLES - i) % RECENT_SAMPLES;
+			long age = newestTime - recentTime[index];
+			if (age > VELOCITY_WINDOW) {
+				break;
+			}
+			// seconds, relative to the newest sample
+			float t = -age / 1000f;
+			sumT += t;
+			sumTT += t * t;
+			sumX += recentX[index];
+			sumTX += t * recentX[index];
+			sumY += recentY[index];
+			sumTY += t * recentY[index];
+			n++;
+		}
+		float denominator = n * sumTT - sumT * sumT;
+		if (n < 2 || denominator == 0) {
+			velocityX = 0;
+			velocityY = 0;
+			return;
+		}
+		velocityX = (n * sumTX - sumT * sumX) / denominator;
+		velocityY = (n * sumTY - sumT * sumY) / denominator;
+	}
+
+	/**
+	 * Check if the released finger was moving fast enough for a fling
+	 */
+	private static void checkFling() {
+		estimateVelocity();
+		float speed = (float) Math.sqrt(velocityX * velocityX + velocityY
+				* velocityY);
+		if (speed >= minFlingVelocity) {
+			fling = true;
+			flingVelocityX = velocityX;
+			flingVelocityY = velocityY;
+		}
+	}
+
+	/**
+	 * End the current drag
+	 */
+	private static void endDrag() {
+		if (dragging) {
+			dragging = false;
+			dragEnded = true;
+		}
+	}
+
+	/**
+	 * Forget the samples of the previous touch
+	 */
+	private static void clearVelocity() {
+		recentIndex = 0;
+		recentCount = 0;
+		velocityX = 0;
+		velocityY = 0;
+	}
+}
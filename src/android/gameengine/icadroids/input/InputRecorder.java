@@ -0,0 +1,356 @@
+package android.gameengine.icadroids.input;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * InputRecorder saves the state of all input (TouchInput, OnScreenButtons,
+ * MotionSensor and GestureInput) and the length of the update once every
+ * update in a compact binary log, and can feed a log back into the input
+ * classes. A replayed session gets exactly the same input on exactly the same
+ * updates, and the world is updated with the recorded steps instead of the
+ * real time, so alarms and scripts fire on the same updates too. A problem can
+ * be reproduced again and again, as long as the game itself doesn't use the
+ * real time or unseeded random numbers.
+ * 
+ * During a replay the real input is ignored. The replay stops by itself at the
+ * end of the log.
+ * 
+ * The GameEngine calls tick() at the start of every update. The input classes
+ * need Android, a HeadlessGameLoop replays a log with InputState instead (see
+ * HeadlessGameLoop.startReplay()), for example to use a session as a
+ * benchmark.
+ * 
+ * Example:
+ * 
+ * <pre>
+ * InputRecorder.startRecording(openFileOutput(&quot;session.rec&quot;, 0));
+ * ...
+ * InputRecorder.stopRecording();
+ * InputRecorder.startReplay(openFileInput(&quot;session.rec&quot;));
+ * </pre>
+ * 
+ */
+public final class InputRecorder {
+
+	private static DataOutputStream output;
+	private static DataInputStream input;
+	/**
+	 * The input of the update that is recorded or replayed
+	 */
+	private static InputState state;
+	/**
+	 * The number of updates that have been recorded or replayed
+	 */
+	private static int ticks;
+
+	private InputRecorder() {
+		// only static methods
+	}
+
+	/**
+	 * Start recording the input. A running recording or replay is stopped.
+	 * 
+	 * @param out
+	 *            The stream to write the log to, it is closed when the
+	 *            recording stops
+	 * @throws IOException
+	 *             When the header of the log can't be written
+	 */
+	public static void startRecording(OutputStream out) throws IOException {
+		stopRecording();
+		stopReplay();
+		output = new DataOutputStream(new BufferedOutputStream(out));
+		InputState.writeHeader(output, TouchInput.maxFingers);
+		state = new InputState(TouchInput.maxFingers);
+		ticks = 0;
+	}
+
+	/**
+	 * Stop recording and close the log
+	 */
+	public static void stopRecording() {
+		if (output != null) {
+			try {
+				output.close();
+			} catch (IOException e) {
+				System.out.println("InputRecorder: could not close the log, "
+						+ e);
+			}
+			output = null;
+		}
+	}
+
+	/**
+	 * Start replaying a log. A running recording or replay is stopped.
+	 * 
+	 * @param in
+	 *            The stream to read the log from, it is closed when the replay
+	 *            stops
+	 * @throws IOException
+	 *             When the stream is not a log of the InputRecorder
+	 */
+	public static void startReplay(InputStream in) throws IOException {
+		stopRecording();
+		stopReplay();
+		DataInputStream stream = new DataInputStream(new BufferedInputStream(
+				in));
+		try {
+			state = InputState.readHeader(stream);
+		} catch (IOException e) {
+			stream.close();
+			throw e;
+		}
+		ticks = 0;
+		input = stream;
+	}
+
+	/**
+	 * Stop replaying, the real input is used again
+	 */
+	public static void stopReplay() {
+		if (input != null) {
+			try {
+				input.close();
+			} catch (IOException e) {
+				// nothing to do, the log was only read
+			}
+			input = null;
+		}
+	}
+
+	/**
+	 * Check if the input is being recorded
+	 * 
+	 * @return True while recording
+	 */
+	public static boolean isRecording() {
+		return output != null;
+	}
+
+	/**
+	 * Check if a log is being replayed. The input classes ignore the real
+	 * input while this is true.
+	 * 
+	 * @return True while replaying
+	 */
+	public static boolean isReplaying() {
+		return input != null;
+	}
+
+	/**
+	 * Get the number of updates that have been recorded or replayed since the
+	 * last start
+	 * 
+	 * @return The number of updates
+	 */
+	public static int getTicks() {
+		return ticks;
+	}
+
+	/**
+	 * <b>This method is automatically called by the GameEngine</b> at the
+	 * start of every update.
+	 * <p>
+	 * Writes the current input and step to the log while recording, or sets
+	 * the input of the next update from the log while replaying.
+	 * 
+	 * @param stepNanos
+	 *            The real length of the update in nanoseconds
+	 * @return The step to update the world with: the recorded step while
+	 *         replaying, otherwise stepNanos
+	 */
+	public static long tick(long stepNanos) {
+		if (input != null) {
+			try {
+				state.read(input);
+				applyState();
+				ticks++;
+				if (state.stepNanos >= 0) {
+					return state.stepNanos;
+				}
+			} catch (EOFException e) {
+				stopReplay();
+			} catch (IOException e) {
+				System.out.println("InputRecorder: replay stopped, " + e);
+				stopReplay();
+			}
+		} else if (output != null) {
+			try {
+				state.stepNanos = stepNanos;
+				captureState();
+				state.write(output);
+				ticks++;
+			} catch (IOException e) {
+				System.out.println("InputRecorder: recording stopped, " + e);
+				stopRecording();
+			}
+		}
+		return stepNanos;
+	}
+
+	/**
+	 * Copy the input of the input classes into the state
+	 */
+	private static void captureState() {
+		state.flags = getFlags();
+		state.touch[0] = TouchInput.xPos;
+		state.touch[1] = TouchInput.yPos;
+		state.touch[2] = TouchInput.scale;
+		float[] pointers = state.pointers;
+		int fingers = Math.min(pointers.length / 2,
+				Math.min(TouchInput.xPointer.length,
+						TouchInput.yPointer.length));
+		for (int i = 0; i < fingers; i++) {
+			pointers[i * 2] = TouchInput.xPointer[i];
+			pointers[i * 2 + 1] = TouchInput.yPointer[i];
+		}
+		float[] sensor = state.sensor;
+		sensor[0] = MotionSensor.xAcceleration;
+		sensor[1] = MotionSensor.yAcceleration;
+		sensor[2] = MotionSensor.zAcceleration;
+		sensor[3] = MotionSensor.yaw;
+		sensor[4] = MotionSensor.pitch;
+		sensor[5] = MotionSensor.roll;
+		float[] stick = state.stick;
+		stick[0] = OnScreenButtons.stickX;
+		stick[1] = OnScreenButtons.stickY;
+		stick[2] = OnScreenButtons.stickMagnitude;
+		stick[3] = OnScreenButtons.stickDirection;
+		float[] gesture = state.gesture;
+		gesture[0] = GestureInput.velocityX;
+		gesture[1] = GestureInput.velocityY;
+		gesture[2] = GestureInput.downX;
+		gesture[3] = GestureInput.downY;
+		gesture[4] = GestureInput.dragDeltaX;
+		gesture[5] = GestureInput.dragDeltaY;
+		gesture[6] = GestureInput.flingVelocityX;
+		gesture[7] = GestureInput.flingVelocityY;
+		int samples = Math.min(GestureInput.sampleCount,
+				InputState.MAX_SAMPLES);
+		System.arraycopy(GestureInput.sampleX, 0, state.sampleX, 0, samples);
+		System.arraycopy(GestureInput.sampleY, 0, state.sampleY, 0, samples);
+		System.arraycopy(GestureInput.sampleTime, 0, state.sampleTime, 0,
+				samples);
+		state.sampleCount = samples;
+	}
+
+	/**
+	 * Put the input of the state in the input classes
+	 */
+	private static void applyState() {
+		setFlags(state.flags);
+		TouchInput.xPos = state.touch[0];
+		TouchInput.yPos = state.touch[1];
+		TouchInput.scale = state.touch[2];
+		float[] pointers = state.pointers;
+		int fingers = Math.min(pointers.length / 2,
+				Math.min(TouchInput.xPointer.length,
+						TouchInput.yPointer.length));
+		for (int i = 0; i < fingers; i++) {
+			TouchInput.xPointer[i] = pointers[i * 2];
+			TouchInput.yPointer[i] = pointers[i * 2 + 1];
+		}
+		float[] sensor = state.sensor;
+		MotionSensor.xAcceleration = sensor[0];
+		MotionSensor.yAcceleration = sensor[1];
+		MotionSensor.zAcceleration = sensor[2];
+		MotionSensor.yaw = sensor[3];
+		MotionSensor.pitch = sensor[4];
+		MotionSensor.roll = sensor[5];
+		MotionSensor.publishSnapshot(ticks);
+		float[] stick = state.stick;
+		OnScreenButtons.stickX = stick[0];
+		OnScreenButtons.stickY = stick[1];
+		OnScreenButtons.stickMagnitude = stick[2];
+		OnScreenButtons.stickDirection = stick[3];
+		float[] gesture = state.gesture;
+		GestureInput.velocityX = gesture[0];
+		GestureInput.velocityY = gesture[1];
+		GestureInput.downX = gesture[2];
+		GestureInput.downY = gesture[3];
+		GestureInput.dragDeltaX = gesture[4];
+		GestureInput.dragDeltaY = gesture[5];
+		GestureInput.flingVelocityX = gesture[6];
+		GestureInput.flingVelocityY = gesture[7];
+		int samples = Math.min(state.sampleCount, GestureInput.MAX_SAMPLES);
+		System.arraycopy(state.sampleX, 0, GestureInput.sampleX, 0, samples);
+		System.arraycopy(state.sampleY, 0, GestureInput.sampleY, 0, samples);
+		System.arraycopy(state.sampleTime, 0, GestureInput.sampleTime, 0,
+				samples);
+		GestureInput.sampleCount = samples;
+	}
+
+	/**
+	 * Pack all boolean input flags in one int
+	 * 
+	 * @return The flags, see InputState
+	 */
+	private static int getFlags() {
+		int flags = 0;
+		flags |= TouchInput.onPress ? InputState.TOUCH_PRESS : 0;
+		flags |= TouchInput.onRelease ? InputState.TOUCH_RELEASE : 0;
+		flags |= TouchInput.zoom ? InputState.ZOOM : 0;
+		flags |= TouchInput.pinch ? InputState.PINCH : 0;
+		flags |= OnScreenButtons.dPadUp ? InputState.DPAD_UP : 0;
+		flags |= OnScreenButtons.dPadDown ? InputState.DPAD_DOWN : 0;
+		flags |= OnScreenButtons.dPadLeft ? InputState.DPAD_LEFT : 0;
+		flags |= OnScreenButtons.dPadRight ? InputState.DPAD_RIGHT : 0;
+		flags |= OnScreenButtons.button1 ? InputState.BUTTON1 : 0;
+		flags |= OnScreenButtons.button2 ? InputState.BUTTON2 : 0;
+		flags |= OnScreenButtons.button3 ? InputState.BUTTON3 : 0;
+		flags |= OnScreenButtons.button4 ? InputState.BUTTON4 : 0;
+		flags |= OnScreenButtons.start ? InputState.START : 0;
+		flags |= OnScreenButtons.select ? InputState.SELECT : 0;
+		flags |= OnScreenButtons.shoulderL ? InputState.SHOULDER_L : 0;
+		flags |= OnScreenButtons.shoulderR ? InputState.SHOULDER_R : 0;
+		flags |= MotionSensor.tiltUp ? InputState.TILT_UP : 0;
+		flags |= MotionSensor.tiltDown ? InputState.TILT_DOWN : 0;
+		flags |= MotionSensor.tiltLeft ? InputState.TILT_LEFT : 0;
+		flags |= MotionSensor.tiltRight ? InputState.TILT_RIGHT : 0;
+		flags |= GestureInput.dragging ? InputState.DRAGGING : 0;
+		flags |= GestureInput.dragStarted ? InputState.DRAG_STARTED : 0;
+		flags |= GestureInput.dragEnded ? InputState.DRAG_ENDED : 0;
+		flags |= GestureInput.fling ? InputState.FLING : 0;
+		return flags;
+	}
+
+	/**
+	 * Set all boolean input flags from one int
+	 * 
+	 * @param flags
+	 *            The flags, see InputState
+	 */
+	private static void setFlags(int flags) {
+		TouchInput.onPress = (flags & InputState.TOUCH_PRESS) != 0;
+		TouchInput.onRelease = (flags & InputState.TOUCH_RELEASE) != 0;
+		TouchInput.zoom = (flags & InputState.ZOOM) != 0;
+		TouchInput.pinch = (flags & InputState.PINCH) != 0;
+		OnScreenButtons.dPadUp = (flags & InputState.DPAD_UP) != 0;
+		OnScreenButtons.dPadDown = (flags & InputState.DPAD_DOWN) != 0;
+		OnScreenButtons.dPadLeft = (flags & InputState.DPAD_LEFT) != 0;
+		OnScreenButtons.dPadRight = (flags & InputState.DPAD_RIGHT) != 0;
+		OnScreenButtons.button1 = (flags & InputState.BUTTON1) != 0;
+		OnScreenButtons.button2 = (flags & InputState.BUTTON2) != 0;
+		OnScreenButtons.button3 = (flags & InputState.BUTTON3) != 0;
+		OnScreenButtons.button4 = (flags & InputState.BUTTON4) != 0;
+		OnScreenButtons.start = (flags & InputState.START) != 0;
+		OnScreenButtons.select = (flags & InputState.SELECT) != 0;
+		OnScreenButtons.shoulderL = (flags & InputState.SHOULDER_L) != 0;
+		OnScreenButtons.shoulderR = (flags & InputState.SHOULDER_R) != 0;
+		MotionSensor.tiltUp = (flags & InputState.TILT_UP) != 0;
+		MotionSensor.tiltDown = (flags & InputState.TILT_DOWN) != 0;
+		MotionSensor.tiltLeft = (flags & InputState.TILT_LEFT) != 0;
+		MotionSensor.tiltRight = (flags & InputState.TILT_RIGHT) != 0;
+		GestureInput.dragging = (flags & InputState.DRAGGING) != 0;
+		GestureInput.dragStarted = (flags & InputState.DRAG_STARTED) != 0;
+		GestureInput.dragEnded = (flags & InputState.DRAG_ENDED) != 0;
+		GestureInput.fling = (flags & InputState.FLING) != 0;
+	}
+}
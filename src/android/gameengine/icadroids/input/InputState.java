@@ -0,0 +1,328 @@
+package android.gameengine.icadroids.input;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * The input of one update, as it is saved in the log of the InputRecorder:
+ * the length of the update, the boolean flags of TouchInput, OnScreenButtons,
+ * MotionSensor and GestureInput packed in one int, their float values in small
+ * arrays and the touch samples of GestureInput. InputState only uses plain
+ * Java, so a HeadlessGameLoop can replay a recorded session on a normal Java
+ * VM, for example as a benchmark:
+ * 
+ * <pre>
+ * loop.startReplay(new FileInputStream(&quot;session.rec&quot;));
+ * ...
+ * public void update() {
+ * 	InputState input = getInput();
+ * 	if (input != null &amp;&amp; input.isSet(InputState.BUTTON1)) {
+ * 		...
+ * </pre>
+ * 
+ * The log only holds the groups of values that changed since the previous
+ * update, so the updates of a log must be written and read in order, each
+ * log with its own InputState.
+ * 
+ */
+public final class InputState {
+
+	/**
+	 * The first bytes of every log, 'ICAR'
+	 */
+	private static final int MAGIC = 0x49434152;
+	/**
+	 * The version of the log format
+	 */
+	private static final int VERSION = 3;
+
+	/**
+	 * The bits of the flags
+	 */
+	public static final int TOUCH_PRESS = 1, TOUCH_RELEASE = 1 << 1,
+			ZOOM = 1 << 2, PINCH = 1 << 3, DPAD_UP = 1 << 4,
+			DPAD_DOWN = 1 << 5, DPAD_LEFT = 1 << 6, DPAD_RIGHT = 1 << 7,
+			BUTTON1 = 1 << 8, BUTTON2 = 1 << 9, BUTTON3 = 1 << 10,
+			BUTTON4 = 1 << 11, START = 1 << 12, SELECT = 1 << 13,
+			SHOULDER_L = 1 << 14, SHOULDER_R = 1 << 15, TILT_UP = 1 << 16,
+			TILT_DOWN = 1 << 17, TILT_LEFT = 1 << 18, TILT_RIGHT = 1 << 19,
+			DRAGGING = 1 << 20, DRAG_STARTED = 1 << 21, DRAG_ENDED = 1 << 22,
+			FLING = 1 << 23;
+
+	/**
+	 * The maximum number of touch samples per update, as GestureInput
+	 */
+	public static final int MAX_SAMPLES = 256;
+
+	/**
+	 * Bits of the changed-mask, only the changed groups of values are written
+	 */
+	private static final int CHANGED_TOUCH = 1, CHANGED_POINTERS = 2,
+			CHANGED_SENSOR = 4, CHANGED_STICK = 8, CHANGED_GESTURE = 16,
+			HAS_SAMPLES = 32;
+
+	/**
+	 * The length of the update in nanoseconds, the step the world was
+	 * updated with. -1 in logs of version 1 and 2, which have no steps.
+	 */
+	public long stepNanos;
+	/**
+	 * The boolean input, see the bits TOUCH_PRESS to FLING
+	 */
+	public int flags;
+	/**
+	 * The touch position and scale: x, y, scale
+	 */
+	public final float[] touch = new float[3];
+	/**
+	 * The position of every pointer: x0, y0, x1, y1, ...
+	 */
+	public final float[] pointers;
+	/**
+	 * The motion sensor: x, y and z acceleration, yaw, pitch, roll
+	 */
+	public final float[] sensor = new float[6];
+	/**
+	 * The analog stick: x, y, magnitude, direction
+	 */
+	public final float[] stick = new float[4];
+	/**
+	 * The gestures: x and y velocity, x and y of the down position, x and y
+	 * of the drag delta, x and y fling velocity
+	 */
+	public final float[] gesture = new float[8];
+	/**
+	 * The touch samples of the update, only the first sampleCount are valid
+	 */
+	public int sampleCount;
+	public final float[] sampleX = new float[MAX_SAMPLES],
+			sampleY = new float[MAX_SAMPLES];
+	public final long[] sampleTime = new long[MAX_SAMPLES];
+
+	/**
+	 * The version of the log that is read
+	 */
+	private int version = VERSION;
+	/**
+	 * The values of the previous update that was written. NaN never equals a
+	 * value, so the first update writes all values.
+	 */
+	private final float[] writtenTouch = new float[] { Float.NaN, 0, 0 };
+	private final float[] writtenPointers;
+	private final float[] writtenSensor = new float[] { Float.NaN, 0, 0, 0,
+			0, 0 };
+	private final float[] writtenStick = new float[] { Float.NaN, 0, 0, 0 };
+	private final float[] writtenGesture = new float[] { Float.NaN, 0, 0, 0,
+			0, 0, 0, 0 };
+
+	/**
+	 * Make an empty state
+	 * 
+	 * @param fingers
+	 *            The number of pointers
+	 */
+	public InputState(int fingers) {
+		pointers = new float[fingers * 2];
+		writtenPointers = new float[fingers * 2];
+		if (fingers > 0) {
+			writtenPointers[0] = Float.NaN;
+		}
+	}
+
+	/**
+	 * Check a boolean input
+	 * 
+	 * @param flag
+	 *            One of the bits TOUCH_PRESS to FLING
+	 * @return True when the input is set
+	 */
+	public boolean isSet(int flag) {
+		return (flags & flag) != 0;
+	}
+
+	/**
+	 * Get the number of pointers
+	 * 
+	 * @return The number of pointers
+	 */
+	public int getFingers() {
+		return pointers.length / 2;
+	}
+
+	/**
+	 * Write the start of a log
+	 * 
+	 * @param out
+	 *            The stream of the log
+	 * @param fingers
+	 *            The number of pointers of every update
+	 * @throws IOException
+	 *             When the stream can't be written
+	 */
+	public static void writeHeader(DataOutputStream out, int fingers)
+			throws IOException {
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(fingers);
+	}
+
+	/**
+	 * Read the start of a log
+	 * 
+	 * @param in
+	 *            The stream of the log
+	 * @return An empty state to read the updates of the log with
+	 * @throws IOException
+	 *             When the stream is not a log of this version
+	 */
+	public static InputState readHeader(DataInputStream in) throws IOException {
+		// version 1 logs have no stick values and version 2 logs no steps and
+		// gestures, they can still be read
+		int version = 0;
+		if (in.readInt() != MAGIC || (version = in.readInt()) < 1
+				|| version > VERSION) {
+			throw new IOException("Not an input log of this version");
+		}
+		InputState state = new InputState(in.readInt());
+		state.version = version;
+		return state;
+	}
+
+	/**
+	 * Write this state as the next update of a log
+	 * 
+	 * @param out
+	 *            The stream of the log
+	 * @throws IOException
+	 *             When the stream can't be written
+	 */
+	public void write(DataOutputStream out) throws IOException {
+		int changed = 0;
+		if (copyChanged(touch, writtenTouch)) {
+			changed |= CHANGED_TOUCH;
+		}
+		if (copyChanged(pointers, writtenPointers)) {
+			changed |= CHANGED_POINTERS;
+		}
+		if (copyChanged(sensor, writtenSensor)) {
+			changed |= CHANGED_SENSOR;
+		}
+		if (copyChanged(stick, writtenStick)) {
+			changed |= CHANGED_STICK;
+		}
+		if (copyChanged(gesture, writtenGesture)) {
+			changed |= CHANGED_GESTURE;
+		}
+		if (sampleCount > 0) {
+			changed |= HAS_SAMPLES;
+		}
+		out.writeLong(stepNanos);
+		out.writeInt(flags);
+		out.writeByte(changed);
+		if ((changed & CHANGED_TOUCH) != 0) {
+			writeFloats(out, touch);
+		}
+		if ((changed & CHANGED_POINTERS) != 0) {
+			writeFloats(out, pointers);
+		}
+		if ((changed & CHANGED_SENSOR) != 0) {
+			writeFloats(out, sensor);
+		}
+		if ((changed & CHANGED_STICK) != 0) {
+			writeFloats(out, stick);
+		}
+		if ((changed & CHANGED_GESTURE) != 0) {
+			writeFloats(out, gesture);
+		}
+		if ((changed & HAS_SAMPLES) != 0) {
+			out.writeShort(sampleCount);
+			for (int i = 0; i < sampleCount; i++) {
+				out.writeFloat(sampleX[i]);
+				out.writeFloat(sampleY[i]);
+				out.writeLong(sampleTime[i]);
+			}
+		}
+	}
+
+	/**
+	 * Read the next update of a log into this state. The values that did not
+	 * change keep the value of the previous update, the touch samples are
+	 * only of this update.
+	 * 
+	 * @param in
+	 *            The stream of the log
+	 * @throws IOException
+	 *             When the log can't be read, EOFException at the end of the
+	 *             log
+	 */
+	public void read(DataInputStream in) throws IOException {
+		stepNanos = version >= 3 ? in.readLong() : -1;
+		flags = in.readInt();
+		int changed = in.readByte();
+		if ((changed & CHANGED_TOUCH) != 0) {
+			readFloats(in, touch);
+		}
+		if ((changed & CHANGED_POINTERS) != 0) {
+			readFloats(in, pointers);
+		}
+		if ((changed & CHANGED_SENSOR) != 0) {
+			readFloats(in, sensor);
+		}
+		if ((changed & CHANGED_STICK) != 0 && version >= 2) {
+			readFloats(in, stick);
+		}
+		if ((changed & CHANGED_GESTURE) != 0) {
+			readFloats(in, gesture);
+		}
+		sampleCount = 0;
+		if ((changed & HAS_SAMPLES) != 0) {
+			int count = in.readShort();
+			if (count < 0 || count > MAX_SAMPLES) {
+				throw new IOException("Too many touch samples in the log");
+			}
+			for (int i = 0; i < count; i++) {
+				sampleX[i] = in.readFloat();
+				sampleY[i] = in.readFloat();
+				sampleTime[i] = in.readLong();
+			}
+			sampleCount = count;
+		}
+	}
+
+	/**
+	 * Copy the values into the written values when they have changed
+	 * 
+	 * @return True when one of the values has changed
+	 */
+	private static boolean copyChanged(float[] values, float[] written) {
+		boolean changed = false;
+		for (int i = 0; i < values.length; i++) {
+			if (written[i] != values[i]) {
+				written[i] = values[i];
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Write all values to the log
+	 */
+	private static void writeFloats(DataOutputStream out, float[] values)
+			throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			out.writeFloat(values[i]);
+		}
+	}
+
+	/**
+	 * Read all values from the log
+	 */
+	private static void readFloats(DataInputStream in, float[] values)
+			throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			values[i] = in.readFloat();
+		}
+	}
+}
@@ -1,165 +1,281 @@
-package android.gameengine.icadroids.input;
-
-import android.content.Context;
-import android.gameengine.icadroids.engine.GameEngine;
-import android.hardware.Sensor;
-import android.hardware.SensorEvent;
-import android.hardware.SensorEventListener;
-import android.hardware.SensorManager;
-
-/**
- *Motion Sensor is used to receive certain statics about certain
- *motionEvent note that this only works on real phones and not in
- *emulator. Some of these functions will not work if you do not have
- *the required sensor in your phone.
- *         
- *@author Roel
- *@see http://developer.android.com/reference/android/hardware/SensorEvent.html
- */
-public class MotionSensor implements SensorEventListener {
-
-	/** Set this to TRUE if you want to use the MotionSensor and be able to ask for input. 
-	 * Note that this variable should be set to TRUE in the constructor of your game, and not in initialize.*/
-	public static boolean use;
-
-	/** This variable contains the x Acceleration of the phone. */
-	public static float xAcceleration;
-	/** This variable contains the y Acceleration of the phone. */
-	public static float yAcceleration;
-	/** This variable contains the Z Acceleration of the phone , minus the gravity */
-	public static float zAcceleration;
-
-	/** the x rotation of the phone */
-	public static float yaw;
-	/** the y rotation of the phone */
-	public static float pitch;
-	/** the z rotation of the phone */
-	public static float roll;
-
-	/** this var is TRUE when the phone has been tilted Up*/
-	public static boolean tiltUp;
-	/** this var is TRUE when the phone has been tilted Down*/
-	public static boolean tiltDown;
-	/** this var is TRUE when the phone has been tilted Left*/
-	public static boolean tiltLeft;
-	/** this var is TRUE when the phone has been tilted Right*/
-	public static boolean tiltRight;
-
-	/** this holds the sensorManager */
-	private SensorManager sensorManager;
-	/** this holds the accelMeter */
-	private Sensor accelMeter;
-	/** this holds the magneticMeter */
-	private Sensor magneticMeter;
-
-	final float toDegr = (float) (180.0f / Math.PI);
-
-	/** vars for calculation */
-	private float[] mGData = new float[3];
-	private float[] mMData = new float[3];
-	private float[] mR = new float[16];
-	private float[] mI = new float[16];
-	private float[] orientation = new float[3];
-
-	/**
-	 * DO NOT CALL THIS CONSTRUCTOR YOURSELF!
-	 * use the static variables to ask any information from the motion Sensor.
-	 */
-	public MotionSensor() {}
-	
-	/**
-	 * initialize the sensors, this is called by the engine. Do not call this.
-	 */
-	public void initializeSensors()
-	{
-		sensorManager = (SensorManager) GameEngine.getAppContext()
-				.getSystemService(Context.SENSOR_SERVICE);
-		accelMeter = sensorManager.getDefaultSensor(Sensor.TYPE_ACCELEROMETER);
-		magneticMeter = sensorManager
-				.getDefaultSensor(Sensor.TYPE_ACCELEROMETER);
-	}
-	
-	/**
-	 * default function that comes with the sensorEventListener interface.
-	 * This function does nothing.
-	 */
-	public void onAccuracyChanged(Sensor arg0, int arg1) {
-
-	}
-
-	/**
-	 * default function that comes with the sensorEventListener interface.
-	 * this function analyses the output of the sensorEvent and translates this to the easy to use variables
-	 * It all modifies the z axis to ignore the constant gravity the phone endures.
-	 */
-	public void onSensorChanged(SensorEvent event) {
-
-		float data[];
-		if (event.sensor.getType() == Sensor.TYPE_ACCELEROMETER) {
-			data = mGData;
-			setAxis(event.values);
-		} else if (event.sensor.getType() == Sensor.TYPE_MAGNETIC_FIELD) {
-			data = mMData;
-		} else {
-			// function should end here if an other sensor activates this event.
-			return;
-		}
-
-		for (int i = 0; i < 3; i++) {
-			data[i] = event.values[i];
-		}
-
-		SensorManager.getRotationMatrix(mR, mI, mGData, mMData);
-		SensorManager.getOrientation(mR, orientation);
-
-		setRotation(orientation);
-
-	}
-
-	/** sets the axis */
-	private void setAxis(float[] f) {
-		xAcceleration = f[0];
-		yAcceleration = f[1];
-		zAcceleration = f[2] - SensorManager.GRAVITY_EARTH;
-	}
-
-	/**
-	 * sets the rotation vars and the handy flags
-	 */
-	private void setRotation(float[] f) {
-		yaw = f[0] * toDegr;
-		pitch = f[1] * toDegr + 180;
-		roll = f[2] * toDegr + 90;
-		setTilting();
-	}
-
-	/**
-	 * Sets the tild variables to describe the current rotation the phone is in.
-	 */
-	private void setTilting() {
-		tiltUp = pitch > 0 && pitch < 70 ? true : false;
-		tiltDown = pitch > 110 && pitch < 180 ? true : false;
-
-		tiltLeft = roll > 0 && roll < 70 ? true : false;
-		tiltRight = roll > 110 && roll < 180 ? true : false;
-	}
-
-	/** 
-	 * Register this listener so it will listen for events from the device.
-	 * This function is used by engine and should not be used by the student.
-	 */
-	public void registerListener() {
-		sensorManager.registerListener(this, accelMeter,
-				SensorManager.SENSOR_DELAY_GAME);
-		sensorManager.registerListener(this, magneticMeter,
-				SensorManager.SENSOR_DELAY_GAME);
-	}
-
-	/**
-	 * Unregister the listener so the device should no longer check for the output of the sensors.
-	 */
-	public void unregisterListener() {
-		sensorManager.unregisterListener(this);
-	}
-
-}
+package android.gameengine.icadroids.input;
+
+import android.content.Context;
+import android.gameengine.icadroids.engine.GameEngine;
+import android.hardware.Sensor;
+import android.hardware.SensorEvent;
+import android.hardware.SensorEventListener;
+import android.hardware.SensorManager;
+
+/**
+ *Motion Sensor is used to receive certain statics about certain
+ *motionEvent note that this only works on real phones and not in
+ *emulator. Some of these functions will not work if you do not have
+ *the required sensor in your phone.
+ *
+ *The sensors only store their latest sample. Once per update, before
+ *the update of the game, the latest samples are smoothed with a
+ *low-pass filter and the statics are set, so a sensor that sends many
+ *events costs little and the tilt values don't shake. Set filter to
+ *choose between smooth (small) and fast (large) values.
+ *         
+ *@author Roel
+ *@see http://developer.android.com/reference/android/hardware/SensorEvent.html
+ */
+public class MotionSensor implements SensorEventListener {
+
+	/** The part of a new sample that is added to the filtered values every update,
+	 * between 0 (no change) and 1 (no filtering).*/
+	public static float filter = 0.25f;
+
+	/** The sample rate of the sensors, one of the SensorManager.SENSOR_DELAY_ constants
+	 * or the time between samples in microseconds. Set it before the game starts.*/
+	public static int sampleRate = SensorManager.SENSOR_DELAY_GAME;
+
+	/** Set this to TRUE if you want to use the MotionSensor and be able to ask for input. 
+	 * Note that this variable should be set to TRUE in the constructor of your game, and not in initialize.*/
+	public static boolean use;
+
+	/** This variable contains the x Acceleration of the phone. */
+	public static float xAcceleration;
+	/** This variable contains the y Acceleration of the phone. */
+	public static float yAcceleration;
+	/** This variable contains the Z Acceleration of the phone , minus the gravity */
+	public static float zAcceleration;
+
+	/** the x rotation of the phone */
+	public static float yaw;
+	/** the y rotation of the phone */
+	public static float pitch;
+	/** the z rotation of the phone */
+	public static float roll;
+
+	/** this var is TRUE when the phone has been tilted Up*/
+	public static boolean tiltUp;
+	/** this var is TRUE when the phone has been tilted Down*/
+	public static boolean tiltDown;
+	/** this var is TRUE when the phone has been tilted Left*/
+	public static boolean tiltLeft;
+	/** this var is TRUE when the phone has been tilted Right*/
+	public static boolean tiltRight;
+
+	/** this holds the sensorManager */
+	private SensorManager sensorManager;
+	/** this holds the accelMeter */
+	private Sensor accelMeter;
+	/** this holds the magneticMeter */
+	private Sensor magneticMeter;
+
+	final float toDegr = (float) (180.0f / Math.PI);
+
+	/** the latest samples of the sensors, written by the sensor thread */
+	private final float[] latestGravity = new float[3];
+	private final float[] latestMagnetic = new float[3];
+	private boolean newGravity, newMagnetic;
+	private final Object sampleLock = new Object();
+
+	/** vars for calculation, only used by the game thread */
+	private float[] mGData = new float[3];
+	private float[] mMData = new float[3];
+	private boolean hasGravity, hasMagnetic;
+	private float[] mR = new float[16];
+	private float[] mI = new float[16];
+	private float[] orientation = new float[3];
+	private long tick;
+
+	/** the values that are given to other threads */
+	private static final SensorSnapshot snapshot = new SensorSnapshot();
+
+	/**
+	 * DO NOT CALL THIS CONSTRUCTOR YOURSELF!
+	 * use the static variables to ask any information from the motion Sensor.
+	 */
+	public MotionSensor() {}
+	
+	/**
+	 * initialize the sensors, this is called by the engine. Do not call this.
+	 */
+	public void initializeSensors()
+	{
+		sensorManager = (SensorManager) GameEngine.getAppContext()
+				.getSystemService(Context.SENSOR_SERVICE);
+		accelMeter = sensorManager.getDefaultSensor(Sensor.TYPE_ACCELEROMETER);
+		magneticMeter = sensorManager
+				.getDefaultSensor(Sensor.TYPE_MAGNETIC_FIELD);
+	}
+	
+	/**
+	 * default function that comes with the sensorEventListener interface.
+	 * This function does nothing.
+	 */
+	public void onAccuracyChanged(Sensor arg0, int arg1) {
+
+	}
+
+	/**
+	 * default function that comes with the sensorEventListener interface.
+	 * this function only stores the latest sample, the game thread handles
+	 * it in processSensors().
+	 */
+	public void onSensorChanged(SensorEvent event) {
+		if (InputRecorder.isReplaying()) {
+			// the recorded values are used instead
+			return;
+		}
+
+		int type = event.sensor.getType();
+		synchronized (sampleLock) {
+			if (type == Sensor.TYPE_ACCELEROMETER) {
+				System.arraycopy(event.values, 0, latestGravity, 0, 3);
+				newGravity = true;
+			} else if (type == Sensor.TYPE_MAGNETIC_FIELD) {
+				System.arraycopy(event.values, 0, latestMagnetic, 0, 3);
+				newMagnetic = true;
+			}
+		}
+	}
+
+	/**
+	 * <b>This method is automatically called by the GameEngine</b> at the
+	 * start of every update.
+	 * <p>
+	 * Filters the latest samples of the sensors and sets the static values.
+	 */
+	public void processSensors() {
+		tick++;
+		if (InputRecorder.isReplaying()) {
+			// the InputRecorder sets the values
+			return;
+		}
+		synchronized (sampleLock) {
+			if (newGravity) {
+				lowPass(latestGravity, mGData, hasGravity);
+				hasGravity = true;
+				newGravity = false;
+			}
+			if (newMagnetic) {
+				lowPass(latestMagnetic, mMData, hasMagnetic);
+				hasMagnetic = true;
+				newMagnetic = false;
+			}
+		}
+		if (!hasGravity) {
+			return;
+		}
+
+		setAxis(mGData);
+		if (hasMagnetic && SensorManager.getRotationMatrix(mR, mI, mGData, mMData)) {
+			SensorManager.getOrientation(mR, orientation);
+		} else {
+			// without a compass only pitch and roll are known, they follow
+			// from the gravity like in SensorManager.getOrientation()
+			float length = (float) Math.sqrt(mGData[0] * mGData[0]
+					+ mGData[1] * mGData[1] + mGData[2] * mGData[2]);
+			if (length > 0) {
+				orientation[1] = (float) Math.asin(Math.max(-1,
+						Math.min(1, -mGData[1] / length)));
+				orientation[2] = (float) Math.atan2(-mGData[0], mGData[2]);
+			}
+		}
+		setRotation(orientation);
+		publishSnapshot(tick);
+	}
+
+	/**
+	 * Moves the filtered values a part towards the new sample
+	 */
+	private static void lowPass(float[] sample, float[] filtered,
+			boolean initialized) {
+		float a = initialized ? Math.max(0, Math.min(1, filter)) : 1;
+		for (int i = 0; i < 3; i++) {
+			filtered[i] += a * (sample[i] - filtered[i]);
+		}
+	}
+
+	/** sets the axis */
+	private void setAxis(float[] f) {
+		xAcceleration = f[0];
+		yAcceleration = f[1];
+		zAcceleration = f[2] - SensorManager.GRAVITY_EARTH;
+	}
+
+	/**
+	 * sets the rotation vars and the handy flags
+	 */
+	private void setRotation(float[] f) {
+		yaw = f[0] * toDegr;
+		pitch = f[1] * toDegr + 180;
+		roll = f[2] * toDegr + 90;
+		setTilting();
+	}
+
+	/**
+	 * Sets the tild variables to describe the current rotation the phone is in.
+	 */
+	private void setTilting() {
+		tiltUp = pitch > 0 && pitch < 70 ? true : false;
+		tiltDown = pitch > 110 && pitch < 180 ? true : false;
+
+		tiltLeft = roll > 0 && roll < 70 ? true : false;
+		tiltRight = roll > 110 && roll < 180 ? true : false;
+	}
+
+	/**
+	 * Copies the static values into the snapshot for other threads. Called
+	 * after the values are set by the sensors or by the InputRecorder.
+	 * 
+	 * @param tick
+	 *            the number of the update
+	 */
+	static void publishSnapshot(long tick) {
+		synchronized (snapshot) {
+			snapshot.xAcceleration = xAcceleration;
+			snapshot.yAcceleration = yAcceleration;
+			snapshot.zAcceleration = zAcceleration;
+			snapshot.yaw = yaw;
+			snapshot.pitch = pitch;
+			snapshot.roll = roll;
+			snapshot.tiltUp = tiltUp;
+			snapshot.tiltDown = tiltDown;
+			snapshot.tiltLeft = tiltLeft;
+			snapshot.tiltRight = tiltRight;
+			snapshot.tick = tick;
+		}
+	}
+
+	/**
+	 * Get the latest filtered values. Unlike the static values, this is safe
+	 * to call from any thread, the values always belong to the same update.
+	 * 
+	 * @param out
+	 *            the snapshot that is filled
+	 * @return the filled snapshot
+	 */
+	public static SensorSnapshot getSnapshot(SensorSnapshot out) {
+		synchronized (snapshot) {
+			out.set(snapshot);
+		}
+		return out;
+	}
+
+	/** 
+	 * Register this listener so it will listen for events from the device.
+	 * This function is used by engine and should not be used by the student.
+	 */
+	public void registerListener() {
+		if (accelMeter != null) {
+			sensorManager.registerListener(this, accelMeter, sampleRate);
+		}
+		if (magneticMeter != null) {
+			sensorManager.registerListener(this, magneticMeter, sampleRate);
+		}
+	}
+
+	/**
+	 * Unregister the listener so the device should no longer check for the output of the sensors.
+	 */
+	public void unregisterListener() {
+		sensorManager.unregisterListener(this);
+	}
+
+}
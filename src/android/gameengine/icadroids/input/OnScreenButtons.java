@@ -1,651 +1,460 @@
-package android.gameengine.icadroids.input;
-
-import java.util.ArrayList;
-import android.content.Context;
-import android.gameengine.icadroids.engine.GameEngine;
-import android.gameengine.icadroids.objects.graphics.Sprite;
-import android.graphics.Canvas;
-import android.graphics.Paint;
-import android.graphics.RectF;
-import android.view.Display;
-import android.view.HapticFeedbackConstants;
-import android.view.MotionEvent;
-import android.view.View;
-import android.view.View.OnTouchListener;
-import android.view.WindowManager;
-
-/**
- * This class provides statics and a few function to easily make use of the
- * touch functionality of an android device. This class manages and draws
- * virtual buttons to the screen to detect for input. When a button is enabled (by default)
- * the user can check wether a button is pressed or not, by accessing the static
- * boolean values for each correspodending button.
- * 
- * Do not make an instance of this class yourself.
- * @author Roel
- */
-public class OnScreenButtons implements OnTouchListener {
-
-	/** var needed to calculate the screenBlock */
-	private int[] screenBlock = new int[2];
-
-	/** the paint required for the opacity **/
-	private Paint alphaPaint;
-
-	/**
-	 * sprites
-	 */
-	private Sprite startSprite, selectSprite, dpadSprite, button1Sprite,
-			button2Sprite, button3Sprite, button4Sprite, shoulder1Sprite,
-			shoulder2Sprite;
-
-	/** lists for sprites and for the buttons */
-	private ArrayList<Sprite> drawList = new ArrayList<Sprite>();
-	private ArrayList<ButtonLocStruct> buttonList = new ArrayList<ButtonLocStruct>();
-
-	private RectF dPadHitRect;
-
-	// general settings
-	/** use : wether or not to actually use these buttons */
-	public static boolean use;
-	/** feedback: wether or not to allow feedback */
-	public static boolean feedback;
-	/** opacity: sets the opacity of all the buttons in a range from 0 to 255 */
-	public static int opacity = 100;
-	private int oldOpacity;
-
-	/**
-	 * required private vars for each button and its configuration.
-	 */
-	private ButtonLocStruct dPadStruct, button1Struct, button2Struct,
-			button3Struct, button4Struct, startStruct, selectStruct,
-			shoulder1Struct, shoulder2Struct;
-
-	/**
-	 * holds the values of wether or not the button has been pressed. Use these
-	 * to check for input.
-	 */
-	public static boolean 
-	/** This static var is TRUE when input has been detected on the up key of the dpad. */ dPadUp, 
-	/** This static var is TRUE when input has been detected on the down key of the dpad. */ dPadDown, 
-	/** This static var is TRUE when input has been detected on the left key of the dpad. */ dPadLeft, 
-	/** This static var is TRUE when input has been detected on the right key of the dpad. */ dPadRight, 
-	/** This static var is TRUE when input has been detected on button 1. default sprite is button A. */ button1,
-	/** This static var is TRUE when input has been detected on button 2. default sprite is button B. */ button2, 
-	/** This static var is TRUE when input has been detected on button 3. default sprite is button C. */ button3, 
-	/** This static var is TRUE when input has been detected on button 4. default sprite is button D. */ button4, 
-	/** This static var is TRUE when input has been detected on start. */ start, 
-	/** This static var is TRUE when input has been detected on select. */ select, 
-	/** This static var is TRUE when input has been detected on the right shoulder button */ shoulderR, 
-	/** This static var is TRUE when input has been detected on the left shoulder button */ shoulderL;
-
-	/**
-	 * wether or not to disable these buttons.
-	 */
-	public static boolean 
-	/** setting this on TRUE will disable button 1. by default the A button! */ disableButton1, 
-	/** setting this on TRUE will disable button 2. by default the B button! */ disableButton2, 
-	/** setting this on TRUE will disable button 3. by default the C button! */ disableButton3,
-	/** setting this on TRUE will disable button 4. by default the D button! */	disableButton4;
-
-	/**
-	 * Do not call the constructor yourself this is for the GameEngine
-	 * 
-	 * @param context
-	 *            : The context is required by this class so it can receive the
-	 *            screen width and height.
-	 */
-	public OnScreenButtons() {
-		Display display;
-		display = ((WindowManager) GameEngine.getAppContext()
-				.getSystemService(Context.WINDOW_SERVICE)).getDefaultDisplay();
-		screenBlock[0] = display.getWidth() / 100;
-		screenBlock[1] = display.getHeight() / 100;
-		initSprites();
-		buttonConfig();
-		GameEngine.getAppView().setHapticFeedbackEnabled(true);
-	}
-
-	/**
-	 * configures all the onScreenButtons
-	 * you can remove certain configure functions to disable buttons.
-	 */
-	private void buttonConfig() {
-
-		confDpad();
-		confButton1();
-		confButton2();
-		confButton3();
-		confButton4();
-		confSelect();
-		confStart();
-		confShoulders();
-
-	}
-
-	/** configures the dpad */
-	private void confDpad() {
-		dPadStruct = new ButtonLocStruct(screenBlock[0] * 2,
-				screenBlock[1] * 65, screenBlock[0] * 25, screenBlock[0] * 25);
-
-		dPadHitRect = new RectF(0, screenBlock[1] * 55, screenBlock[0] * 30,
-				screenBlock[1] * 119);
-		drawList.add(dpadSprite);
-		buttonList.add(dPadStruct);
-	}
-
-	/** configures the button1 */
-	private void confButton1() {
-		if (!disableButton1) {
-			button1Struct = new ButtonLocStruct(screenBlock[0] * 72,
-					screenBlock[1] * 80, screenBlock[0] * 10,
-					screenBlock[0] * 10);
-			drawList.add(button1Sprite);
-			buttonList.add(button1Struct);
-		}
-	}
-
-	/** configures the button2 */
-	private void confButton2() {
-		if (!disableButton2) {
-			button2Struct = new ButtonLocStruct(screenBlock[0] * 85,
-					screenBlock[1] * 80, screenBlock[0] * 10,
-					screenBlock[0] * 10);
-			drawList.add(button2Sprite);
-			buttonList.add(button2Struct);
-		}
-	}
-
-	/** configures the button3 */
-	private void confButton3() {
-		if (!disableButton3) {
-			button3Struct = new ButtonLocStruct(screenBlock[0] * 72,
-					screenBlock[1] * 55, screenBlock[0] * 10,
-					screenBlock[0] * 10);
-			drawList.add(button3Sprite);
-			buttonList.add(button3Struct);
-		}
-	}
-
-	/** configures the button4 */
-	private void confButton4() {
-		if (!disableButton4) {
-			button4Struct = new ButtonLocStruct(screenBlock[0] * 85,
-					screenBlock[1] * 55, screenBlock[0] * 10,
-					screenBlock[0] * 10);
-			drawList.add(button4Sprite);
-			buttonList.add(button4Struct);
-		}
-	}
-
-	/** configures the start button */
-	private void confStart() {
-		startStruct = new ButtonLocStruct(screenBlock[0] * 32,
-				screenBlock[1] * 90, screenBlock[0] * 15, screenBlock[1] * 10);
-		drawList.add(startSprite);
-		buttonList.add(startStruct);
-	}
-
-	/** configures the select button */
-	private void confSelect() {
-		selectStruct = new ButtonLocStruct(screenBlock[0] * 50,
-				screenBlock[1] * 90, screenBlock[0] * 15, screenBlock[1] * 10);
-		drawList.add(selectSprite);
-		buttonList.add(selectStruct);
-	}
-
-	/** configures both shoulder buttons */
-	private void confShoulders() {
-		shoulder1Struct = new ButtonLocStruct(0, 0, screenBlock[0] * 20,
-				screenBlock[1] * 20);
-		drawList.add(shoulder1Sprite);
-		buttonList.add(shoulder1Struct);
-
-		shoulder2Struct = new ButtonLocStruct(screenBlock[0] * 80, 0,
-				screenBlock[0] * 20, screenBlock[1] * 20);
-		drawList.add(shoulder2Sprite);
-		buttonList.add(shoulder2Struct);
-	}
-
-	/**
-	 * Performs a short shake that only works on actual devices.
-	 * 
-	 * @param bool
-	 *            wether or not to vibrate
-	 */
-	private void performFeedback() {
-		if (feedback) {
-			GameEngine.getAppView().performHapticFeedback(HapticFeedbackConstants.VIRTUAL_KEY);
-		}
-	}
-	
-	/**
-	 * Peforms results if the button is released
-	 * @param e the event called
-	 * @param i the index of the pointer that called the event
-	 */
-	private void buttonReleased(MotionEvent e,int i){
-		if(dPadStruct != null){
-			if (dPadHitRect.contains(e.getX(i), e.getY(i))) {
-				dPadUp = false;
-				dPadDown = false;
-				dPadLeft = false;
-				dPadRight = false;
-				return;
-			}
-		}
-
-		if (!disableButton1 && button1Struct != null) {
-			if (button1Struct.intersects(e.getX(i), e.getY(i))) {
-				button1 = false;
-				return;
-			}
-		}
-
-		if (!disableButton2 && button2Struct != null) {
-			if (button2Struct.intersects(e.getX(i), e.getY(i))) {
-				button2 = false;
-				return;
-			}
-		}
-
-		if (!disableButton3 && button3Struct != null) {
-			if (button3Struct.intersects(e.getX(i), e.getY(i))) {
-				button3 = false;
-				return;
-			}
-		}
-
-		if (!disableButton4 && button4Struct != null) {
-			if (button4Struct.intersects(e.getX(i), e.getY(i))) {
-				button4 = false;
-				return;
-			}
-		}
-
-		if(startStruct != null){
-			if (startStruct.intersects(e.getX(i), e.getY(i))) {
-				start = false;
-				return;
-			}
-		}
-
-		if(selectStruct != null){
-			if (selectStruct.intersects(e.getX(i), e.getY(i))) {
-				select = false;
-				return;
-			}
-		}
-
-		if(shoulder1Struct != null && shoulder2Struct != null){
-			if (shoulder1Struct.intersects(e.getX(i), e.getY(i))) {
-				shoulderL = false;
-				return;
-			}
-	
-			if (shoulder2Struct.intersects(e.getX(i), e.getY(i))) {
-				shoulderR = false;
-				return;
-			}
-		}
-
-	}
-
-	/**
-	 * detection for buttonPresses.
-	 */
-	private void buttonPressed(MotionEvent e) {
-		int pCount = e.getPointerCount();
-		for (int i = 0; i < pCount; i++) {
-
-			dpadPressed(e, i);
-			buttonPressed(e, i);
-			startButtonPressed(e,i);
-			selectButtonPressed(e, i);
-			shoulderButtonPressed(e,i);
-		}
-	}
-	
-	/**Performs the checks for pressing the dPad
-	 * This function checks if the button is there or not. */
-	private void dpadPressed(MotionEvent e, int i)
-	{
-		if(dPadStruct != null){
-			if (dPadHitRect.contains(e.getX(i), e.getY(i))) {
-				detectDpadHit(e.getX(i), e.getY(i));
-				performFeedback();
-			}
-		}
-	}
-	
-	/**Performs the checks for pressing any of the A,B,C,D Button
-	 * This function checks if the button is there or not. */
-	private void buttonPressed(MotionEvent e,int i){
-		if (!disableButton1 && button1Struct != null) {
-			if (button1Struct.intersects(e.getX(i), e.getY(i))) {
-				button1 = true;
-				performFeedback();
-			}
-		}
-
-		if (!disableButton2 && button2Struct != null) {
-			if (button2Struct.intersects(e.getX(i), e.getY(i))) {
-				button2 = true;
-				performFeedback();
-			}
-		}
-
-		if (!disableButton3 && button3Struct != null) {
-			if (button3Struct.intersects(e.getX(i), e.getY(i))) {
-				button3 = true;
-				performFeedback();
-			}
-		}
-
-		if (!disableButton4 && button4Struct != null) {
-			if (button4Struct.intersects(e.getX(i), e.getY(i))) {
-				button4 = true;
-				performFeedback();
-			}
-		}
-	}
-	
-	/**Performs the checks for pressing the select button
-	 * This function checks if the select button is there or not. */
-	private void startButtonPressed(MotionEvent e, int i){
-		if(startStruct != null){
-			if (startStruct.intersects(e.getX(i), e.getY(i))) {
-				start = true;
-				performFeedback();
-			}
-		}
-	}
-	
-	/**Performs the checks for pressing the select button
-	 * This function checks if the select button is there or not. */
-	private void selectButtonPressed(MotionEvent e, int i){
-		if(selectStruct != null){
-			if (selectStruct.intersects(e.getX(i), e.getY(i))) {
-				select = true;
-				performFeedback();
-			}
-		}
-	}
-	
-	/**Performs the checks for pressing either shoulder button 
-	 * This function checks if the shoulder button is there or not. */
-	private void shoulderButtonPressed(MotionEvent e, int i){
-		if(shoulder1Struct != null && shoulder2Struct != null){
-			if (shoulder1Struct.intersects(e.getX(i), e.getY(i))) {
-				shoulderL = true;
-				performFeedback();
-			}
-	
-			if (shoulder2Struct.intersects(e.getX(i), e.getY(i))) {
-				shoulderR = true;
-				performFeedback();
-			}
-		}
-	}
-
-	/**
-	 * reupdates the button hit detection when the input moves around.
-	 * @param e : the incoming event.
-	 */
-	private void buttonMoved(MotionEvent e) {
-		boolean dPadIntersect = false, b1Intersect = false, b2Intersect = false, b3Intersect = false, b4Intersect = false, startIntersect = false, selectIntersect = false, shoulder1Intersect = false, shoulder2Intersect = false;
-		int pCount = e.getPointerCount();
-		float[] x = new float[pCount];
-		float[] y = new float[pCount];
-		for (int i = 0; i < pCount; i++) {
-
-			x[i] = e.getX(i);
-			y[i] = e.getY(i);
-
-			if (!dPadIntersect && dPadStruct != null) {
-				if (dPadHitRect.contains(x[i], y[i])) {
-					dPadIntersect = true;
-					detectDpadHit(x[i], y[i]);
-					
-				} else {
-					dPadUp = false;
-					dPadDown = false;
-					dPadLeft = false;
-					dPadRight = false;
-				}
-			}
-
-			if (!disableButton1 && !b1Intersect && button1Struct != null) {
-				if (button1Struct.intersects(x[i], y[i])) {
-					b1Intersect = true;
-					if (!button1) {
-						button1 = true;
-					}
-				} else {
-					button1 = false;
-				}
-			}
-
-			if (!disableButton2 && !b2Intersect && button2Struct != null) {
-				if (button2Struct.intersects(x[i], y[i])) {
-					b2Intersect = true;
-					if (!button2) {
-						button2 = true;
-					}
-				} else {
-					button2 = false;
-				}
-			}
-
-			if (!disableButton3 && !b3Intersect && button3Struct != null) {
-				if (button3Struct.intersects(x[i], y[i])) {
-					b3Intersect = true;
-					if (!button3) {
-						button3 = true;
-					}
-				} else {
-					button3 = false;
-				}
-			}
-
-			if (!disableButton4 && !b4Intersect && button4Struct != null) {
-				if (button4Struct.intersects(x[i], y[i])) {
-					b4Intersect = true;
-					if (!button4) {
-						button4 = true;
-					}
-				} else {
-					button4 = false;
-				}
-			}
-
-			if (!startIntersect && startStruct != null) {
-				if (startStruct.intersects(x[i], y[i])) {
-					startIntersect = true;
-					if (!start) {
-						start = true;
-					}
-				} else {
-					start = false;
-				}
-			}
-
-			//checks for null
-			if (!selectIntersect && selectStruct != null) {
-				if (selectStruct.intersects(x[i], y[i])) {
-					selectIntersect = true;
-					if (!select) {
-						select = true;
-					}
-				} else {
-					select = false;
-				}
-			}
-			
-			//checks for null, this is used to make this method fail-safe!
-			if(shoulder1Struct != null && shoulder2Struct != null){
-				if (!shoulder1Intersect) {
-					if (shoulder1Struct.intersects(x[i], y[i])) {
-						shoulder1Intersect = true;
-						if (!shoulderL) {
-							shoulderL = true;
-						}
-					} else {
-						shoulderL = false;
-					}
-				}
-	
-				if (!shoulder2Intersect) {
-					if (shoulder2Struct.intersects(x[i], y[i])) {
-						shoulder2Intersect = true;
-						if (!shoulderR) {
-							shoulderR = true;
-						}
-					} else {
-						shoulderR = false;
-					}
-				}
-			}
-		}
-			
-	}
-
-	/**
-	 * detects which side of a dpad has been pressed, or possibly more sides.
-	 * 
-	 * @param x
-	 *            incoming x location of the press or move action
-	 * @param y
-	 *            incoming y location of the press or move action
-	 */
-	private void detectDpadHit(float x, float y) {
-		float xCenter = dPadHitRect.centerX();
-		float yCenter = dPadHitRect.centerY();
-
-		if (y < yCenter - screenBlock[0] * 4) {
-			
-			dPadLeft = false;
-			dPadRight = false;
-			dPadDown = false;
-			dPadUp = true;
-		} else if (y > yCenter + screenBlock[0] * 4) {
-			
-			dPadUp = false;
-			dPadLeft = false;
-			dPadRight = false;
-			dPadDown = true;
-		}
-		if (x < xCenter - screenBlock[0] * 4) {
-			dPadDown = false;
-			dPadRight = false;
-			dPadUp = false;
-			dPadLeft = true;
-			if (y > yCenter + screenBlock[0] * 6) {
-				dPadDown = true;
-			} else if (y < yCenter - screenBlock[0] * 6) {
-				dPadUp = true;
-			}
-		} else if (x > xCenter + screenBlock[0] * 4) {
-			dPadDown = false;
-			dPadLeft = false;
-			dPadUp = false;
-			dPadRight = true;
-			if (y > yCenter + screenBlock[0] * 6) {
-				dPadDown = true;
-			} else if (y < yCenter - screenBlock[0] * 6) {
-				dPadUp = true;
-			}
-		}
-	}
-
-	/**
-	 * initialize all the required drawing components
-	 */
-	private void initSprites() {
-
-		alphaPaint = new Paint();
-		alphaPaint.setAlpha(opacity);
-
-		startSprite = new Sprite("start");
-		selectSprite = new Sprite("select");
-		dpadSprite = new Sprite("dpad");
-		button1Sprite = new Sprite("buttona");
-		button2Sprite = new Sprite("buttonb");
-		button3Sprite = new Sprite("buttonx");
-		button4Sprite = new Sprite("buttony");
-		shoulder1Sprite = new Sprite("shoulder1");
-		shoulder2Sprite = new Sprite("shoulder2");
-	}
-
-	/**
-	 * draws the button interface to the screen.
-	 */
-	public void drawButtons(Canvas canvas) {
-		if (oldOpacity != opacity) {
-			alphaPaint.setAlpha(opacity);
-		}
-		oldOpacity = opacity;
-		for (int i = 0; i < drawList.size(); i++) {
-			canvas.drawBitmap(drawList.get(i).getSprite(), null,
-					buttonList.get(i).rect, alphaPaint);
-		}
-	}
-
-	/**
-	 * used by the touchListener, do not call this function yourself!!!
-	 * this checks for touch events from the device and it should call the appropriate function.
-	 */
-	public boolean onTouch(View v, MotionEvent event) {
-		if (use) {
-			switch (event.getAction() & MotionEvent.ACTION_MASK) {
-			case MotionEvent.ACTION_DOWN:			
-				buttonPressed(event);
-				break;
-			case MotionEvent.ACTION_POINTER_DOWN:
-				buttonPressed(event);
-				break;
-			case MotionEvent.ACTION_MOVE:
-				buttonMoved(event);
-				break;
-			case MotionEvent.ACTION_UP:
-				buttonReleased(event,0);
-				break;
-			case MotionEvent.ACTION_POINTER_UP:
-				buttonReleased(event,event.getActionIndex());
-				break;
-			default:
-				break;
-			}
-		}
-		return true;
-	}
-
-	/**
-	 * buttonStructure class for easier hit detection, and important
-	 * information.
-	 * This should function exactly as a structure.
-	 */
-	private class ButtonLocStruct {
-
-		private RectF rect;
-		
-		/** Constructor for this structure */
-		public ButtonLocStruct(int x, int y, int width, int height) {
-			rect = new RectF(x, y, x + width, y + height);
-		}
-		
-		/**
-		 * checks if specified coordinates intersect with this button.
-		 * @param x the x coordinate
-		 * @param y the y coorinate
-		 * @return TRUE if the coordinates are inside the rectangle
-		 */
-		public boolean intersects(float x, float y) {
-
-			if (rect.contains(x, y)) {
-				return true;
-			}
-			return false;
-		}
-	}
-}
\ No newline at end of file
+package android.gameengine.icadroids.input;
+
+import android.content.Context;
+import android.gameengine.icadroids.engine.GameEngine;
+import android.gameengine.icadroids.objects.graphics.Sprite;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.view.Display;
+import android.view.HapticFeedbackConstants;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.View.OnTouchListener;
+import android.view.WindowManager;
+
+/**
+ * This class provides statics and a few function to easily make use of the
+ * touch functionality of an android device. This class manages and draws
+ * virtual buttons to the screen to detect for input. When a button is enabled (by default)
+ * the user can check wether a button is pressed or not, by accessing the static
+ * boolean values for each correspodending button.
+ * 
+ * The buttons are a ControllerLayout. Use setLayout() to replace the default
+ * layout by your own buttons, d-pads and sticks. Set analogStick to use an
+ * analog stick instead of the dpad, for example:
+ * 
+ * <pre>
+ * if (OnScreenButtons.stickMagnitude &gt; 0) {
+ * 	player.setDirectionSpeed(OnScreenButtons.stickDirection,
+ * 			OnScreenButtons.stickMagnitude * maxSpeed);
+ * }
+ * </pre>
+ * 
+ * Do not make an instance of this class yourself.
+ * @author Roel
+ */
+public class OnScreenButtons implements OnTouchListener {
+
+	/** var needed to calculate the screenBlock */
+	private int[] screenBlock = new int[2];
+	/** the size of the screen, needed for the hit grid */
+	private int screenWidth, screenHeight;
+
+	/** the paint required for the opacity **/
+	private Paint alphaPaint;
+
+	/** the controls that are used */
+	private ControllerLayout layout;
+	/** TRUE while the default layout is used */
+	private boolean defaultLayout;
+	/** the settings the default layout was made with, see defaultSettings() */
+	private int defaultLayoutSettings;
+	/** the layout that replaces the current layout in the next update */
+	private static volatile ControllerLayout newLayout;
+
+	/**
+	 * The events from the UI thread that are waiting for the next update
+	 */
+	private final TouchEventQueue events = new TouchEventQueue(
+			TouchInput.QUEUE_SIZE, MAX_POINTERS);
+	/** the stick value where a dpad direction is pressed */
+	private static final float STICK_DPAD = 0.4f;
+	/** the maximum number of fingers that are followed */
+	private static final int MAX_POINTERS = 10;
+	/** the control under each finger, by pointer id */
+	private final VirtualControl[] pointerControls = new VirtualControl[MAX_POINTERS];
+
+	// general settings
+	/** use : wether or not to actually use these buttons */
+	public static boolean use;
+	/** feedback: wether or not to allow feedback */
+	public static boolean feedback;
+	/** opacity: sets the opacity of all the buttons in a range from 0 to 255 */
+	public static int opacity = 100;
+	/** analogStick: use an analog stick instead of the dpad in the default layout */
+	public static boolean analogStick;
+	private int oldOpacity;
+
+	/**
+	 * the controls of the default layout, null when they are not used.
+	 */
+	private VirtualDpad dPad;
+	private VirtualStick stick;
+	private VirtualButton button1Control, button2Control, button3Control,
+			button4Control, startControl, selectControl, shoulder1Control,
+			shoulder2Control;
+
+	/**
+	 * holds the values of wether or not the button has been pressed. Use these
+	 * to check for input.
+	 */
+	public static boolean 
+	/** This static var is TRUE when input has been detected on the up key of the dpad. */ dPadUp, 
+	/** This static var is TRUE when input has been detected on the down key of the dpad. */ dPadDown, 
+	/** This static var is TRUE when input has been detected on the left key of the dpad. */ dPadLeft, 
+	/** This static var is TRUE when input has been detected on the right key of the dpad. */ dPadRight, 
+	/** This static var is TRUE when input has been detected on button 1. default sprite is button A. */ button1,
+	/** This static var is TRUE when input has been detected on button 2. default sprite is button B. */ button2, 
+	/** This static var is TRUE when input has been detected on button 3. default sprite is button C. */ button3, 
+	/** This static var is TRUE when input has been detected on button 4. default sprite is button D. */ button4, 
+	/** This static var is TRUE when input has been detected on start. */ start, 
+	/** This static var is TRUE when input has been detected on select. */ select, 
+	/** This static var is TRUE when input has been detected on the right shoulder button */ shoulderR, 
+	/** This static var is TRUE when input has been detected on the left shoulder button */ shoulderL;
+
+	/**
+	 * the values of the analog stick, when analogStick is TRUE. They are set
+	 * once per update, before the update of the game, and are 0 when there is
+	 * no stick.
+	 */
+	public static float 
+	/** The horizontal axis of the stick, from -1 (left) to 1 (right). */ stickX,
+	/** The vertical axis of the stick, from -1 (up) to 1 (down). */ stickY,
+	/** How far the stick is pushed, from 0 (center or dead zone) to 1 (edge). */ stickMagnitude,
+	/** The direction of the stick in degrees (0 is up), use it with MoveableGameObject.setDirectionSpeed(). */ stickDirection;
+
+	/**
+	 * wether or not to disable these buttons.
+	 */
+	public static boolean 
+	/** setting this on TRUE will disable button 1. by default the A button! */ disableButton1, 
+	/** setting this on TRUE will disable button 2. by default the B button! */ disableButton2, 
+	/** setting this on TRUE will disable button 3. by default the C button! */ disableButton3,
+	/** setting this on TRUE will disable button 4. by default the D button! */	disableButton4;
+
+	/**
+	 * Do not call the constructor yourself this is for the GameEngine
+	 * 
+	 * @param context
+	 *            : The context is required by this class so it can receive the
+	 *            screen width and height.
+	 */
+	public OnScreenButtons() {
+		Display display;
+		display = ((WindowManager) GameEngine.getAppContext()
+				.getSystemService(Context.WINDOW_SERVICE)).getDefaultDisplay();
+		screenWidth = display.getWidth();
+		screenHeight = display.getHeight();
+		screenBlock[0] = screenWidth / 100;
+		screenBlock[1] = screenHeight / 100;
+		alphaPaint = new Paint();
+		alphaPaint.setAlpha(opacity);
+		useDefaultLayout();
+		GameEngine.getAppView().setHapticFeedbackEnabled(true);
+	}
+
+	/**
+	 * Start using the default layout, made with the current settings
+	 */
+	private void useDefaultLayout() {
+		clearDefaultControls();
+		defaultLayoutSettings = defaultSettings();
+		useLayout(buttonConfig());
+		defaultLayout = true;
+	}
+
+	/**
+	 * The settings that change the default layout, packed in one int. Games
+	 * change them in initialize(), after the buttons are made, so the default
+	 * layout is made again when they change.
+	 * 
+	 * @return the settings, one bit per setting
+	 */
+	private static int defaultSettings() {
+		int settings = 0;
+		settings |= disableButton1 ? 1 : 0;
+		settings |= disableButton2 ? 1 << 1 : 0;
+		settings |= disableButton3 ? 1 << 2 : 0;
+		settings |= disableButton4 ? 1 << 3 : 0;
+		settings |= analogStick ? 1 << 4 : 0;
+		return settings;
+	}
+
+	/**
+	 * configures the default layout of the onScreenButtons. Buttons 1 to 4
+	 * are left out when they are disabled.
+	 * 
+	 * @return the default layout
+	 */
+	private ControllerLayout buttonConfig() {
+		ControllerLayout buttons = new ControllerLayout();
+		int w = screenBlock[0];
+		int h = screenBlock[1];
+
+		if (analogStick) {
+			stick = buttons.add(new VirtualStick(new Sprite("dpad"), null,
+					w * 2, h * 65, w * 25, 0.2f));
+			stick.setHitArea(0, h * 55, w * 30, h * 119);
+		} else {
+			dPad = buttons.add(new VirtualDpad(new Sprite("dpad"), w * 2,
+					h * 65, w * 25, w * 25, w * 4, w * 6));
+			dPad.setHitArea(0, h * 55, w * 30, h * 119);
+		}
+		if (!disableButton1) {
+			button1Control = buttons.add(new VirtualButton(
+					new Sprite("buttona"), w * 72, h * 80, w * 10, w * 10));
+		}
+		if (!disableButton2) {
+			button2Control = buttons.add(new VirtualButton(
+					new Sprite("buttonb"), w * 85, h * 80, w * 10, w * 10));
+		}
+		if (!disableButton3) {
+			button3Control = buttons.add(new VirtualButton(
+					new Sprite("buttonx"), w * 72, h * 55, w * 10, w * 10));
+		}
+		if (!disableButton4) {
+			button4Control = buttons.add(new VirtualButton(
+					new Sprite("buttony"), w * 85, h * 55, w * 10, w * 10));
+		}
+		selectControl = buttons.add(new VirtualButton(new Sprite("select"),
+				w * 50, h * 90, w * 15, h * 10));
+		startControl = buttons.add(new VirtualButton(new Sprite("start"),
+				w * 32, h * 90, w * 15, h * 10));
+		shoulder1Control = buttons.add(new VirtualButton(new Sprite(
+				"shoulder1"), 0, 0, w * 20, h * 20));
+		shoulder2Control = buttons.add(new VirtualButton(new Sprite(
+				"shoulder2"), w * 80, 0, w * 20, h * 20));
+		return buttons;
+	}
+
+	/**
+	 * Replace the buttons by your own layout. The layout is used from the next
+	 * update. The static button values (dPadUp, button1, etc.) stay FALSE with
+	 * your own layout, check the controls of the layout instead.
+	 * 
+	 * @param layout
+	 *            the new layout
+	 */
+	public static void setLayout(ControllerLayout layout) {
+		newLayout = layout;
+	}
+
+	/**
+	 * Forget the controls of the default layout, they are only published
+	 * while the default layout is used
+	 */
+	private void clearDefaultControls() {
+		dPad = null;
+		stick = null;
+		button1Control = null;
+		button2Control = null;
+		button3Control = null;
+		button4Control = null;
+		startControl = null;
+		selectControl = null;
+		shoulder1Control = null;
+		shoulder2Control = null;
+	}
+
+	/**
+	 * Start using a layout, the fingers on the old layout are forgotten
+	 */
+	private void useLayout(ControllerLayout buttons) {
+		releaseAll();
+		layout = buttons;
+		layout.buildHitGrid(screenWidth, screenHeight);
+	}
+
+	/**
+	 * Performs a short shake that only works on actual devices.
+	 */
+	private void performFeedback() {
+		if (feedback) {
+			GameEngine.getAppView().performHapticFeedback(HapticFeedbackConstants.VIRTUAL_KEY);
+		}
+	}
+
+	/**
+	 * <b>This method is automatically called by the GameEngine</b> at the
+	 * start of every update.
+	 * <p>
+	 * Handles the touch events that arrived since the last update and sets the
+	 * static button values. The default layout is made again when buttons
+	 * were disabled or enabled, or analogStick changed.
+	 */
+	public void processEvents() {
+		ControllerLayout requested = newLayout;
+		if (requested != null) {
+			newLayout = null;
+			clearDefaultControls();
+			defaultLayout = false;
+			useLayout(requested);
+		} else if (defaultLayout && defaultLayoutSettings != defaultSettings()) {
+			useDefaultLayout();
+		} else if (!layout.hasHitGrid()) {
+			layout.buildHitGrid(screenWidth, screenHeight);
+		}
+
+		TouchEvent event;
+		while ((event = events.peek()) != null) {
+			handleEvent(event);
+			events.remove();
+		}
+		publish();
+	}
+
+	/**
+	 * Finds the controls under the fingers of an event
+	 * 
+	 * @param e
+	 *            the event from the queue
+	 */
+	private void handleEvent(TouchEvent e) {
+		switch (e.action) {
+		case MotionEvent.ACTION_DOWN:
+		case MotionEvent.ACTION_POINTER_DOWN:
+			if (e.actionIndex < e.pointerCount) {
+				moveTo(e.pointerId[e.actionIndex], e.x[e.actionIndex],
+						e.y[e.actionIndex], true);
+			}
+			break;
+		case MotionEvent.ACTION_MOVE:
+			for (int i = 0; i < e.pointerCount; i++) {
+				moveTo(e.pointerId[i], e.x[i], e.y[i], false);
+			}
+			break;
+		case MotionEvent.ACTION_POINTER_UP:
+			if (e.actionIndex < e.pointerCount) {
+				release(e.pointerId[e.actionIndex]);
+			}
+			break;
+		case MotionEvent.ACTION_UP:
+		case MotionEvent.ACTION_CANCEL:
+			// no fingers are left
+			releaseAll();
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Moves a finger to a position, the finger leaves its old control when
+	 * the position is on another control.
+	 * 
+	 * @param id
+	 *            the pointer id of the finger
+	 * @param x
+	 *            the x position of the finger
+	 * @param y
+	 *            the y position of the finger
+	 * @param pressed
+	 *            TRUE when the finger just touched the screen
+	 */
+	private void moveTo(int id, float x, float y, boolean pressed) {
+		if (id < 0 || id >= MAX_POINTERS) {
+			return;
+		}
+		VirtualControl control = layout.findControlAt(x, y);
+		if (control != pointerControls[id]) {
+			release(id);
+			if (control != null) {
+				pointerControls[id] = control;
+				control.pointers++;
+				if (pressed && control.pointers == 1) {
+					performFeedback();
+				}
+			}
+		}
+		if (control != null) {
+			control.touch(x, y);
+		}
+	}
+
+	/**
+	 * Removes a finger from its control
+	 * 
+	 * @param id
+	 *            the pointer id of the finger
+	 */
+	private void release(int id) {
+		if (id < 0 || id >= MAX_POINTERS) {
+			return;
+		}
+		VirtualControl control = pointerControls[id];
+		if (control != null) {
+			pointerControls[id] = null;
+			control.pointers--;
+			if (control.pointers <= 0) {
+				control.pointers = 0;
+				control.release();
+			}
+		}
+	}
+
+	/**
+	 * Removes all fingers from their controls
+	 */
+	private void releaseAll() {
+		for (int id = 0; id < MAX_POINTERS; id++) {
+			release(id);
+		}
+	}
+
+	/**
+	 * sets the static button values from the controls of the default layout
+	 */
+	private void publish() {
+		if (stick != null) {
+			stickX = stick.getXAxis();
+			stickY = stick.getYAxis();
+			stickMagnitude = stick.getMagnitude();
+			stickDirection = (float) stick.getDirection();
+			// the dpad values follow the stick, for games that use the dpad
+			dPadUp = stickY < -STICK_DPAD;
+			dPadDown = stickY > STICK_DPAD;
+			dPadLeft = stickX < -STICK_DPAD;
+			dPadRight = stickX > STICK_DPAD;
+		} else {
+			stickX = 0;
+			stickY = 0;
+			stickMagnitude = 0;
+			stickDirection = 0;
+			dPadUp = dPad != null && dPad.isUp();
+			dPadDown = dPad != null && dPad.isDown();
+			dPadLeft = dPad != null && dPad.isLeft();
+			dPadRight = dPad != null && dPad.isRight();
+		}
+		button1 = isPressed(button1Control);
+		button2 = isPressed(button2Control);
+		button3 = isPressed(button3Control);
+		button4 = isPressed(button4Control);
+		start = isPressed(startControl);
+		select = isPressed(selectControl);
+		shoulderL = isPressed(shoulder1Control);
+		shoulderR = isPressed(shoulder2Control);
+	}
+
+	/**
+	 * @return TRUE when the control is used and pressed
+	 */
+	private static boolean isPressed(VirtualControl control) {
+		return control != null && control.isPressed();
+	}
+
+	/**
+	 * draws the button interface to the screen.
+	 */
+	public void drawButtons(Canvas canvas) {
+		if (oldOpacity != opacity) {
+			alphaPaint.setAlpha(opacity);
+		}
+		oldOpacity = opacity;
+		ControllerLayout buttons = layout;
+		for (int i = 0; i < buttons.size(); i++) {
+			buttons.get(i).draw(canvas, alphaPaint);
+		}
+	}
+
+	/**
+	 * used by the touchListener, do not call this function yourself!!!
+	 * The event is copied to a queue, the buttons are updated by the game
+	 * thread in processEvents().
+	 */
+	public boolean onTouch(View v, MotionEvent event) {
+		if (use && !InputRecorder.isReplaying()) {
+			events.offer(event);
+		}
+		return true;
+	}
+}
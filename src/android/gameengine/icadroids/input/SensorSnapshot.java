@@ -0,0 +1,39 @@
+package android.gameengine.icadroids.input;
+
+/**
+ * A copy of the filtered values of the MotionSensor, made at one moment. Get
+ * it with MotionSensor.getSnapshot(), which is safe to call from any thread.
+ * Keep one snapshot and fill it again and again, so no garbage is made.
+ * 
+ */
+public class SensorSnapshot {
+
+	/** The acceleration of the phone, z without the gravity */
+	public float xAcceleration, yAcceleration, zAcceleration;
+	/** The rotation of the phone in degrees */
+	public float yaw, pitch, roll;
+	/** The tilt flags of the phone */
+	public boolean tiltUp, tiltDown, tiltLeft, tiltRight;
+	/** The number of the update in which the values were set */
+	public long tick;
+
+	/**
+	 * Copy the values of another snapshot
+	 * 
+	 * @param other
+	 *            The snapshot to copy
+	 */
+	void set(SensorSnapshot other) {
+		xAcceleration = other.xAcceleration;
+		yAcceleration = other.yAcceleration;
+		zAcceleration = other.zAcceleration;
+		yaw = other.yaw;
+		pitch = other.pitch;
+		roll = other.roll;
+		tiltUp = other.tiltUp;
+		tiltDown = other.tiltDown;
+		tiltLeft = other.tiltLeft;
+		tiltRight = other.tiltRight;
+		tick = other.tick;
+	}
+}
@@ -0,0 +1,122 @@
+package android.gameengine.icadroids.input;
+
+import android.view.MotionEvent;
+
+/**
+ * A copy of a MotionEvent, made on the UI thread and handled on the game
+ * thread. TouchEvents are made once by the TouchEventQueue and used again and
+ * again, so handling touch input doesn't make garbage.
+ * 
+ * <b>Do not keep a TouchEvent</b>, its values are overwritten when the queue
+ * uses it again.
+ * 
+ */
+public class TouchEvent {
+
+	/**
+	 * The action of the event, one of the MotionEvent.ACTION_ constants
+	 * (already masked with MotionEvent.ACTION_MASK)
+	 */
+	public int action;
+	/**
+	 * The index of the pointer that went down or up for ACTION_POINTER_DOWN
+	 * and ACTION_POINTER_UP
+	 */
+	public int actionIndex;
+	/**
+	 * The number of pointers (fingers) in the event, never more than the
+	 * length of x and y
+	 */
+	public int pointerCount;
+	/**
+	 * The positions of the pointers on the screen
+	 */
+	public final float[] x, y;
+	/**
+	 * The ids of the pointers, a pointer keeps its id while it is down
+	 */
+	public final int[] pointerId;
+	/**
+	 * The time of the event in milliseconds, see MotionEvent.getEventTime()
+	 */
+	public long eventTime;
+	/**
+	 * The maximum number of historical samples that are copied per event
+	 */
+	public static final int MAX_HISTORY = 16;
+	/**
+	 * The number of historical samples of the first pointer. Android batches
+	 * the samples of a move between two events, they are older than x[0] and
+	 * y[0].
+	 */
+	public int historySize;
+	/**
+	 * The historical positions of the first pointer, oldest first
+	 */
+	public final float[] historyX = new float[MAX_HISTORY],
+			historyY = new float[MAX_HISTORY];
+	/**
+	 * The times of the historical samples in milliseconds
+	 */
+	public final long[] historyTime = new long[MAX_HISTORY];
+
+	/**
+	 * Make a new event
+	 * 
+	 * @param maxPointers
+	 *            The maximum number of pointers that are copied
+	 */
+	TouchEvent(int maxPointers) {
+		x = new float[maxPointers];
+		y = new float[maxPointers];
+		pointerId = new int[maxPointers];
+	}
+
+	/**
+	 * Copy the values of a MotionEvent into this event
+	 * 
+	 * @param event
+	 *            The event to copy
+	 */
+	void set(MotionEvent event) {
+		action = event.getAction() & MotionEvent.ACTION_MASK;
+		actionIndex = event.getActionIndex();
+		eventTime = event.getEventTime();
+		pointerCount = Math.min(event.getPointerCount(), x.length);
+		for (int i = 0; i < pointerCount; i++) {
+			x[i] = event.getX(i);
+			y[i] = event.getY(i);
+			pointerId[i] = event.getPointerId(i);
+		}
+		// only the newest samples are kept when there are too many
+		int history = event.getHistorySize();
+		historySize = Math.min(history, MAX_HISTORY);
+		int skip = history - historySize;
+		for (int h = 0; h < historySize; h++) {
+			historyX[h] = event.getHistoricalX(0, skip + h);
+			historyY[h] = event.getHistoricalY(0, skip + h);
+			historyTime[h] = event.getHistoricalEventTime(skip + h);
+		}
+	}
+
+	/**
+	 * Check if this event ends a touch
+	 * 
+	 * @return True for ACTION_UP, ACTION_CANCEL and ACTION_POINTER_UP
+	 */
+	public boolean isRelease() {
+		return action == MotionEvent.ACTION_UP
+				|| action == MotionEvent.ACTION_CANCEL
+				|| action == MotionEvent.ACTION_POINTER_UP;
+	}
+
+	/**
+	 * Check if this event starts a touch
+	 * 
+	 * @return True for ACTION_DOWN and ACTION_POINTER_DOWN
+	 */
+	public boolean isPress() {
+		return action == MotionEvent.ACTION_DOWN
+				|| action == MotionEvent.ACTION_POINTER_DOWN;
+	}
+}
@@ -0,0 +1,137 @@
+package android.gameengine.icadroids.input;
+
+import android.view.MotionEvent;
+
+/**
+ * A lock-free queue that passes touch events from the UI thread (the only
+ * producer) to the game thread (the only consumer). All events are made when
+ * the queue is made and are used again, so no objects are allocated while
+ * the game runs.
+ * 
+ * The UI thread only writes 'tail' and the game thread only writes 'head'.
+ * Both are volatile, so an event is completely written before the game thread
+ * can see it, and it is completely read before the UI thread can write it
+ * again. No locks are needed.
+ * 
+ * When the queue is full, new events are dropped, moves first: a press or
+ * release is only dropped when the game thread hasn't handled any events for a
+ * long time.
+ * 
+ */
+public class TouchEventQueue {
+
+	/**
+	 * The events, used as a ring
+	 */
+	private final TouchEvent[] events;
+	/**
+	 * capacity - 1, the capacity is a power of two
+	 */
+	private final int mask;
+	/**
+	 * Index of the next event the consumer reads, only written by the consumer
+	 */
+	private volatile int head = 0;
+	/**
+	 * Index of the next event the producer writes, only written by the
+	 * producer
+	 */
+	private volatile int tail = 0;
+	/**
+	 * The number of events that were dropped because the queue was full
+	 */
+	private volatile int droppedEvents = 0;
+
+	/**
+	 * Make a new queue
+	 * 
+	 * @param capacity
+	 *            The number of events the queue can hold, rounded up to a
+	 *            power of two
+	 * @param maxPointers
+	 *            The maximum number of pointers per event
+	 */
+	public TouchEventQueue(int capacity, int maxPointers) {
+		int size = 2;
+		while (size < capacity) {
+			size <<= 1;
+		}
+		events = new TouchEvent[size];
+		for (int i = 0; i < size; i++) {
+			events[i] = new TouchEvent(maxPointers);
+		}
+		mask = size - 1;
+	}
+
+	/**
+	 * <b>Producer only.</b> Copy a MotionEvent into the queue.
+	 * 
+	 * @param event
+	 *            The event to copy
+	 * @return False when the queue was full and the event has been dropped
+	 */
+	public boolean offer(MotionEvent event) {
+		int t = tail;
+		int used = t - head;
+		// keep the last free places for presses and releases
+		int action = event.getAction() & MotionEvent.ACTION_MASK;
+		int limit = action == MotionEvent.ACTION_MOVE ? events.length - 4
+				: events.length;
+		if (used >= limit) {
+			droppedEvents++;
+			return false;
+		}
+		events[t & mask].set(event);
+		tail = t + 1;
+		return true;
+	}
+
+	/**
+	 * <b>Consumer only.</b> Get the oldest event without removing it.
+	 * 
+	 * @return The oldest event, or null when the queue is empty
+	 */
+	public TouchEvent peek() {
+		int h = head;
+		if (h == tail) {
+			return null;
+		}
+		return events[h & mask];
+	}
+
+	/**
+	 * <b>Consumer only.</b> Remove the oldest event, the event that was
+	 * returned by peek() can be used again by the producer after this call.
+	 */
+	public void remove() {
+		int h = head;
+		if (h != tail) {
+			head = h + 1;
+		}
+	}
+
+	/**
+	 * Remove all events. Only call this when the producer is not running.
+	 */
+	public void clear() {
+		head = tail;
+	}
+
+	/**
+	 * Get the number of events in the queue
+	 * 
+	 * @return The number of events waiting to be handled
+	 */
+	public int size() {
+		return tail - head;
+	}
+
+	/**
+	 * Get the number of events that were dropped because the queue was full
+	 * 
+	 * @return The number of dropped events
+	 */
+	public int getDroppedEvents() {
+		return droppedEvents;
+	}
+}
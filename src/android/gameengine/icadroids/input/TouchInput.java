@@ -1,188 +1,259 @@
-/**
- * @author Roel
- */
-package android.gameengine.icadroids.input;
-
-import android.util.FloatMath;
-import android.view.MotionEvent;
-import android.view.View;
-import android.view.View.OnTouchListener;
-
-/**
- * TouchInput class that sets and handles the input and put the result in
- * easy-to-use flags. Each flag can statically be accessed, they hold the
- * values.
- * 
- * Do not instantiate this class yourself, all you need are the static values.
- * @author Roel
- */
-public class TouchInput implements OnTouchListener {
-
-	/**
-	 * Wether or not you want to use the touch input or not , set this flag to
-	 * true if you want to use it. Note that only one touch Listener may be
-	 * active at the time.
-	 */
-	public static boolean use;
-
-	/**
-	 * Change this value to increase the amount of fingers you can use. defaults
-	 * to 10.
-	 */
-	public static int maxFingers = 10;
-
-	/** TRUE when device receives input ; FALSE otherwise */
-	public static boolean onPress;
-	/**
-	 * TRUE when device has no input/or loses input(ex: user removes his finger)
-	 */
-	public static boolean onRelease = true;
-	/** The relative X position of where the user touches on the screen and NOT the actual game. */
-	public static float xPos = 0;
-	/** The relative Y position of where the user touches on the screen and NOT the actual game. */
-	public static float yPos = 0;
-
-	// multi touch flags start from here.
-	/** TRUE when space between two fingers increase. */
-	public static boolean zoom;
-	/** TRUE when space between two fingers decreases. */
-	public static boolean pinch;
-	/** gets the scaling factor that applies on zoom and pinch actions */
-	public static float scale = 1f;
-	/**
-	 * Use this when you want to check the location of multipletouches so
-	 * POINTER_X[0] is the first finger, 1 is the second etc..
-	 */
-	public static float[] xPointer = new float[maxFingers];
-	/** the Y value of multiple touches. */
-	public static float[] yPointer = new float[maxFingers];
-
-	private float oldDistance = 0f;
-	private float newDistance = 0f;
-	private boolean zoomCheck;
-
-	/**
-	 * DO NOT CALL THIS FUNCTION.
-	 * 
-	 * This is the standard function android provides for touch events.
-	 * This class checks for the static values he need to change.
-	 * 
-	 * @param v
-	 *            the View that android requires
-	 * @param event
-	 *            the event that this function catches.
-	 */
-	public boolean onTouch(View v, MotionEvent event) {
-
-		// Checks wether the user allows the default touch input or not.
-		if (use) {
-			switch (event.getAction() & MotionEvent.ACTION_MASK) {
-			case MotionEvent.ACTION_DOWN:
-				// Set the right flags
-				actionPress(event);
-				break;
-			case MotionEvent.ACTION_UP:
-				// Set the right flags
-				actionCancel(event);
-				break;
-			case MotionEvent.ACTION_CANCEL:
-				// Set the right flags
-				actionCancel(event);
-				break;
-			case MotionEvent.ACTION_POINTER_DOWN:
-				actionPress(event);
-				oldDistance = spacing(event);
-				if (oldDistance > 10f) {
-					zoomCheck = true;
-				}
-				break;
-			case MotionEvent.ACTION_POINTER_UP:
-				actionCancel(event);
-				zoomCheck = false;
-				break;
-			case MotionEvent.ACTION_MOVE:
-				setPositions(event);
-				if (zoomCheck) {
-					calculateScaling(event);
-				}
-				break;
-			default:
-				break;
-
-			}
-
-		}
-
-		return true;
-	}
-	
-	/** sequence of actions it should perform on a press event 
-	 * @param event the incoming MotionEvent 
-	 */
-	private void actionPress(MotionEvent event){
-		onPress = true;
-		onRelease = false;
-		setPositions(event);
-	}
-	
-	/** sequence of actions it should perform on a canceling event 
-	 * @param event the incoming MotionEvent 
-	 */
-	private void actionCancel(MotionEvent event)
-	{
-		onPress = false;
-		onRelease = true;
-		setPositions(event);
-	}
-
-	/**
-	 * calculates wether the user peforms a zoom or a pinch
-	 * 
-	 * @param event
-	 *            the event from OnTouch
-	 */
-	private void calculateScaling(MotionEvent event) {
-		newDistance = spacing(event);
-		if (oldDistance > newDistance) {
-			pinch = true;
-			zoom = false;
-		} else if (oldDistance < newDistance) {
-			pinch = false;
-			zoom = true;
-		}
-		scale += (newDistance / oldDistance) - 1f;
-		oldDistance = newDistance;
-	}
-
-	/**
-	 * calculates the space between two fingers/pointers
-	 * 
-	 * @param event
-	 *            the event to pass to this function
-	 * 
-	 * @return a float that specifys the amount of distance between two fingers
-	 */
-	private float spacing(MotionEvent event) {
-		float x = event.getX(0) - event.getX(1);
-		float y = event.getY(0) - event.getY(1);
-		return FloatMath.sqrt(x * x + y * y);
-	}
-
-	/**
-	 * updates the positions of all the pointers/fingers.
-	 * 
-	 * @param e
-	 *            the event to pass to this function.
-	 */
-	private void setPositions(MotionEvent e) {
-		// Starting or end location of the touch event.
-		xPos = (int) e.getX();
-		yPos = (int) e.getY();
-		if (e.getPointerCount() > 1) {
-			for (int i = 0; i < e.getPointerCount(); i++) {
-				xPointer[i] = e.getX(i);
-				yPointer[i] = e.getY(i);
-			}
-		}
-	}
-}
+/**
+ * @author Roel
+ */
+package android.gameengine.icadroids.input;
+
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.View.OnTouchListener;
+
+/**
+ * TouchInput class that sets and handles the input and put the result in
+ * easy-to-use flags. Each flag can statically be accessed, they hold the
+ * values.
+ * 
+ * Do not instantiate this class yourself, all you need are the static values.
+ * 
+ * The events from Android are queued and handled once per update on the game
+ * thread, so the values don't change while the game is updating.
+ * @author Roel
+ */
+public class TouchInput implements OnTouchListener {
+
+	/**
+	 * Wether or not you want to use the touch input or not , set this flag to
+	 * true if you want to use it. Note that only one touch Listener may be
+	 * active at the time.
+	 */
+	public static boolean use;
+
+	/**
+	 * Change this value to increase the amount of fingers you can use. defaults
+	 * to 10.
+	 */
+	public static int maxFingers = 10;
+
+	/** TRUE when device receives input ; FALSE otherwise */
+	public static boolean onPress;
+	/**
+	 * TRUE when device has no input/or loses input(ex: user removes his finger)
+	 */
+	public static boolean onRelease = true;
+	/** The relative X position of where the user touches on the screen and NOT the actual game. */
+	public static float xPos = 0;
+	/** The relative Y position of where the user touches on the screen and NOT the actual game. */
+	public static float yPos = 0;
+
+	// multi touch flags start from here.
+	/** TRUE when space between two fingers increase. */
+	public static boolean zoom;
+	/** TRUE when space between two fingers decreases. */
+	public static boolean pinch;
+	/** gets the scaling factor that applies on zoom and pinch actions */
+	public static float scale = 1f;
+	/**
+	 * Use this when you want to check the location of multipletouches so
+	 * POINTER_X[0] is the first finger, 1 is the second etc..
+	 */
+	public static float[] xPointer = new float[maxFingers];
+	/** the Y value of multiple touches. */
+	public static float[] yPointer = new float[maxFingers];
+
+	private float oldDistance = 0f;
+	private float newDistance = 0f;
+	private boolean zoomCheck;
+
+	/**
+	 * The size of the event queue, the number of touch events that can arrive
+	 * between two updates
+	 */
+	public static final int QUEUE_SIZE = 64;
+
+	/**
+	 * The events from the UI thread that are waiting for the next update
+	 */
+	private final TouchEventQueue events = new TouchEventQueue(QUEUE_SIZE,
+			maxFingers);
+
+	/**
+	 * DO NOT CALL THIS FUNCTION.
+	 * 
+	 * This is the standard function android provides for touch events. It runs
+	 * on the UI thread, the event is only copied into the queue. The static
+	 * values are changed by the game thread in processEvents().
+	 * 
+	 * @param v
+	 *            the View that android requires
+	 * @param event
+	 *            the event that this function catches.
+	 */
+	public boolean onTouch(View v, MotionEvent event) {
+
+		// Checks wether the user allows the default touch input or not.
+		// Recorded input is used instead while a replay is running.
+		if (use && !InputRecorder.isReplaying()) {
+			events.offer(event);
+		}
+
+		return true;
+	}
+
+	/**
+	 * <b>This method is automatically called by the GameEngine</b> at the
+	 * start of every update.
+	 * <p>
+	 * Handles the touch events that arrived since the last update and sets the
+	 * static values. When a finger is pressed and released again before the
+	 * update, the release is handled in the next update, so the game still
+	 * sees the press.
+	 */
+	public void processEvents() {
+		boolean pressed = false;
+		TouchEvent event;
+		if (GestureInput.use) {
+			GestureInput.beginUpdate();
+		}
+		while ((event = events.peek()) != null) {
+			if (pressed && event.isRelease()) {
+				// keep the release for the next update
+				break;
+			}
+			pressed |= event.isPress();
+			handleEvent(event);
+			if (GestureInput.use) {
+				GestureInput.handleEvent(event);
+			}
+			events.remove();
+		}
+		if (GestureInput.use) {
+			GestureInput.endUpdate();
+		}
+	}
+
+	/**
+	 * Sets the static values for one event
+	 * 
+	 * @param event
+	 *            the event from the queue
+	 */
+	private void handleEvent(TouchEvent event) {
+		switch (event.action) {
+		case MotionEvent.ACTION_DOWN:
+			// Set the right flags
+			actionPress(event);
+			break;
+		case MotionEvent.ACTION_UP:
+			// Set the right flags
+			actionCancel(event);
+			break;
+		case MotionEvent.ACTION_CANCEL:
+			// Set the right flags
+			actionCancel(event);
+			break;
+		case MotionEvent.ACTION_POINTER_DOWN:
+			actionPress(event);
+			oldDistance = spacing(event);
+			if (oldDistance > 10f) {
+				zoomCheck = true;
+			}
+			break;
+		case MotionEvent.ACTION_POINTER_UP:
+			actionCancel(event);
+			zoomCheck = false;
+			break;
+		case MotionEvent.ACTION_MOVE:
+			setPositions(event);
+			if (zoomCheck) {
+				calculateScaling(event);
+			}
+			break;
+		default:
+			break;
+
+		}
+	}
+	
+	/** sequence of actions it should perform on a press event 
+	 * @param event the incoming TouchEvent 
+	 */
+	private void actionPress(TouchEvent event){
+		onPress = true;
+		onRelease = false;
+		setPositions(event);
+	}
+	
+	/** sequence of actions it should perform on a canceling event 
+	 * @param event the incoming TouchEvent 
+	 */
+	private void actionCancel(TouchEvent event)
+	{
+		onPress = false;
+		onRelease = true;
+		setPositions(event);
+	}
+
+	/**
+	 * calculates wether the user peforms a zoom or a pinch
+	 * 
+	 * @param event
+	 *            the event from the queue
+	 */
+	private void calculateScaling(TouchEvent event) {
+		newDistance = spacing(event);
+		if (oldDistance > newDistance) {
+			pinch = true;
+			zoom = false;
+		} else if (oldDistance < newDistance) {
+			pinch = false;
+			zoom = true;
+		}
+		scale += (newDistance / oldDistance) - 1f;
+		oldDistance = newDistance;
+	}
+
+	/**
+	 * calculates the space between two fingers/pointers
+	 * 
+	 * @param event
+	 *            the event to pass to this function
+	 * 
+	 * @return a float that specifys the amount of distance between two fingers
+	 */
+	private float spacing(TouchEvent event) {
+		if (event.pointerCount < 2) {
+			return 0f;
+		}
+		float x = event.x[0] - event.x[1];
+		float y = event.y[0] - event.y[1];
+		return (float) Math.sqrt(x * x + y * y);
+	}
+
+	/**
+	 * updates the positions of all the pointers/fingers.
+	 * 
+	 * @param e
+	 *            the event to pass to this function.
+	 */
+	private void setPositions(TouchEvent e) {
+		// Starting or end location of the touch event.
+		xPos = (int) e.x[0];
+		yPos = (int) e.y[0];
+		if (e.pointerCount > 1) {
+			int count = Math.min(e.pointerCount, xPointer.length);
+			for (int i = 0; i < count; i++) {
+				xPointer[i] = e.x[i];
+				yPointer[i] = e.y[i];
+			}
+		}
+	}
+
+	/**
+	 * Get the number of touch events that were lost because the game didn't
+	 * handle them in time
+	 * 
+	 * @return The number of dropped events
+	 */
+	public int getDroppedEvents() {
+		return events.getDroppedEvents();
+	}
+}
\ No newline at end of file
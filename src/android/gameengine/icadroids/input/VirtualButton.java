@@ -0,0 +1,30 @@
+package android.gameengine.icadroids.input;
+
+import android.gameengine.icadroids.objects.graphics.Sprite;
+
+/**
+ * A button of the on screen controller. The button is pressed as long as a
+ * finger is on it, check it with isPressed().
+ * 
+ */
+public class VirtualButton extends VirtualControl {
+
+	/**
+	 * Make a new button
+	 * 
+	 * @param sprite
+	 *            The sprite of the button, null to draw nothing
+	 * @param x
+	 *            The left side of the button in pixels
+	 * @param y
+	 *            The top side of the button in pixels
+	 * @param width
+	 *            The width of the button in pixels
+	 * @param height
+	 *            The height of the button in pixels
+	 */
+	public VirtualButton(Sprite sprite, float x, float y, float width,
+			float height) {
+		super(sprite, x, y, width, height);
+	}
+}
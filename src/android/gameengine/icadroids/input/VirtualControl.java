@@ -0,0 +1,135 @@
+package android.gameengine.icadroids.input;
+
+import android.gameengine.icadroids.objects.graphics.Sprite;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+/**
+ * VirtualControl is a control of the on screen controller, like a button or a
+ * d-pad. A control has an area where it is drawn and an area where it can be
+ * touched, by default they are the same.
+ * 
+ * Controls are added to a ControllerLayout. The OnScreenButtons tell a control
+ * when a finger touches it, moves over it and leaves it again. All of this
+ * happens on the game thread, once per update.
+ * 
+ */
+public abstract class VirtualControl {
+
+	/**
+	 * The sprite of the control, may be null
+	 */
+	protected Sprite sprite;
+	/**
+	 * The area of the screen where the control is drawn
+	 */
+	protected final RectF drawArea;
+	/**
+	 * The area of the screen where the control can be touched
+	 */
+	protected final RectF hitArea;
+	/**
+	 * The number of fingers on this control, changed by the OnScreenButtons
+	 */
+	int pointers = 0;
+
+	/**
+	 * Make a new control
+	 * 
+	 * @param sprite
+	 *            The sprite of the control, null to draw nothing
+	 * @param x
+	 *            The left side of the control in pixels
+	 * @param y
+	 *            The top side of the control in pixels
+	 * @param width
+	 *            The width of the control in pixels
+	 * @param height
+	 *            The height of the control in pixels
+	 */
+	public VirtualControl(Sprite sprite, float x, float y, float width,
+			float height) {
+		this.sprite = sprite;
+		drawArea = new RectF(x, y, x + width, y + height);
+		hitArea = new RectF(drawArea);
+	}
+
+	/**
+	 * Set the area where the control can be touched, when it must be larger
+	 * (or smaller) than the sprite. Set the area before the layout is used.
+	 * 
+	 * @param left
+	 *            The left side in pixels
+	 * @param top
+	 *            The top side in pixels
+	 * @param right
+	 *            The right side in pixels
+	 * @param bottom
+	 *            The bottom side in pixels
+	 */
+	public void setHitArea(float left, float top, float right, float bottom) {
+		hitArea.set(left, top, right, bottom);
+	}
+
+	/**
+	 * Get the area where the control can be touched
+	 * 
+	 * @return The hit area, do not change it
+	 */
+	public RectF getHitArea() {
+		return hitArea;
+	}
+
+	/**
+	 * Get the area where the control is drawn
+	 * 
+	 * @return The draw area, do not change it
+	 */
+	public RectF getDrawArea() {
+		return drawArea;
+	}
+
+	/**
+	 * Check if a finger is on this control
+	 * 
+	 * @return TRUE when at least one finger touches the control
+	 */
+	public boolean isPressed() {
+		return pointers > 0;
+	}
+
+	/**
+	 * Called when a finger touches the control or moves over it. Override this
+	 * method when the position of the finger matters, like on a d-pad.
+	 * 
+	 * @param x
+	 *            The x position of the finger on the screen
+	 * @param y
+	 *            The y position of the finger on the screen
+	 */
+	protected void touch(float x, float y) {
+
+	}
+
+	/**
+	 * Called when the last finger leaves the control
+	 */
+	protected void release() {
+
+	}
+
+	/**
+	 * Draw the control
+	 * 
+	 * @param canvas
+	 *            The canvas to draw on
+	 * @param paint
+	 *            The paint with the opacity of the controller
+	 */
+	protected void draw(Canvas canvas, Paint paint) {
+		if (sprite != null && sprite.getSprite() != null) {
+			canvas.drawBitmap(sprite.getSprite(), null, drawArea, paint);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package android.gameengine.icadroids.input;
+
+import android.gameengine.icadroids.objects.graphics.Sprite;
+
+/**
+ * A d-pad of the on screen controller with four directions. A finger presses
+ * a direction when it is further than the dead zone from the center of the hit
+ * area. Two directions are pressed together when the finger is further than
+ * the diagonal distance in both directions.
+ * 
+ */
+public class VirtualDpad extends VirtualControl {
+
+	/**
+	 * TRUE when the direction is pressed
+	 */
+	private boolean up, down, left, right;
+	/**
+	 * The distances from the center in pixels
+	 */
+	private final float deadZone, diagonal;
+
+	/**
+	 * Make a new d-pad
+	 * 
+	 * @param sprite
+	 *            The sprite of the d-pad, null to draw nothing
+	 * @param x
+	 *            The left side of the d-pad in pixels
+	 * @param y
+	 *            The top side of the d-pad in pixels
+	 * @param width
+	 *            The width of the d-pad in pixels
+	 * @param height
+	 *            The height of the d-pad in pixels
+	 * @param deadZone
+	 *            The distance from the center in pixels where no direction is
+	 *            pressed
+	 * @param diagonal
+	 *            The distance from the center in pixels where the second
+	 *            direction of a diagonal is pressed
+	 */
+	public VirtualDpad(Sprite sprite, float x, float y, float width,
+			float height, float deadZone, float diagonal) {
+		super(sprite, x, y, width, height);
+		this.deadZone = deadZone;
+		this.diagonal = diagonal;
+	}
+
+	@Override
+	protected void touch(float x, float y) {
+		float dx = x - hitArea.centerX();
+		float dy = y - hitArea.centerY();
+
+		if (dx < -deadZone || dx > deadZone) {
+			// horizontal first, vertical only when far enough
+			left = dx < 0;
+			right = !left;
+			up = dy < -diagonal;
+			down = dy > diagonal;
+		} else if (dy < -deadZone || dy > deadZone) {
+			up = dy < 0;
+			down = !up;
+			left = false;
+			right = false;
+		}
+	}
+
+	@Override
+	protected void release() {
+		up = false;
+		down = false;
+		left = false;
+		right = false;
+	}
+
+	/**
+	 * @return TRUE when up is pressed
+	 */
+	public boolean isUp() {
+		return up;
+	}
+
+	/**
+	 * @return TRUE when down is pressed
+	 */
+	public boolean isDown() {
+		return down;
+	}
+
+	/**
+	 * @return TRUE when left is pressed
+	 */
+	public boolean isLeft() {
+		return left;
+	}
+
+	/**
+	 * @return TRUE when right is pressed
+	 */
+	public boolean isRight() {
+		return right;
+	}
+}
@@ -0,0 +1,178 @@
+package android.gameengine.icadroids.input;
+
+import android.gameengine.icadroids.objects.MoveableGameObject;
+import android.gameengine.icadroids.objects.graphics.Sprite;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+/**
+ * An analog stick of the on screen controller. The position of the finger
+ * relative to the center of the stick gives the x and y axis, from -1 to 1,
+ * and the magnitude, from 0 to 1. Near the center there is a dead zone where
+ * the stick is not moved, so a resting thumb does not make the player drift.
+ * 
+ * The values are calculated once per update, when the touch events are
+ * handled. Use applyTo() to move a MoveableGameObject with the stick, without
+ * calculating directions yourself.
+ * 
+ */
+public class VirtualStick extends VirtualControl {
+
+	/**
+	 * The sprite of the knob, when it is null a circle is drawn
+	 */
+	protected Sprite knobSprite;
+	/**
+	 * The radius of the stick in pixels
+	 */
+	private final float radius;
+	/**
+	 * The dead zone as a part of the radius
+	 */
+	private float deadZone;
+	/**
+	 * The axes (-1 to 1), the magnitude (0 to 1) and the direction in degrees
+	 */
+	private float xAxis, yAxis, magnitude;
+	private double direction;
+	/**
+	 * The area where the knob is drawn, reused every draw
+	 */
+	private final RectF knobArea = new RectF();
+	private final Paint knobPaint = new Paint();
+
+	/**
+	 * Make a new stick
+	 * 
+	 * @param sprite
+	 *            The sprite of the base of the stick, null to draw nothing
+	 * @param knobSprite
+	 *            The sprite of the knob, null to draw a circle
+	 * @param x
+	 *            The left side of the stick in pixels
+	 * @param y
+	 *            The top side of the stick in pixels
+	 * @param size
+	 *            The width and height of the stick in pixels
+	 * @param deadZone
+	 *            The dead zone as a part of the radius, between 0 and 1
+	 */
+	public VirtualStick(Sprite sprite, Sprite knobSprite, float x, float y,
+			float size, float deadZone) {
+		super(sprite, x, y, size, size);
+		this.knobSprite = knobSprite;
+		this.radius = size / 2;
+		setDeadZone(deadZone);
+		knobPaint.setColor(Color.WHITE);
+	}
+
+	/**
+	 * Set the dead zone
+	 * 
+	 * @param deadZone
+	 *            The dead zone as a part of the radius, between 0 and 1
+	 */
+	public void setDeadZone(float deadZone) {
+		this.deadZone = Math.max(0, Math.min(0.99f, deadZone));
+	}
+
+	@Override
+	protected void touch(float x, float y) {
+		float dx = x - drawArea.centerX();
+		float dy = y - drawArea.centerY();
+		float distance = (float) Math.sqrt(dx * dx + dy * dy);
+		float dead = deadZone * radius;
+		if (distance <= dead) {
+			release();
+			return;
+		}
+		// scale so the magnitude starts at 0 at the edge of the dead zone
+		magnitude = Math.min(1, (distance - dead) / (radius - dead));
+		xAxis = dx / distance * magnitude;
+		yAxis = dy / distance * magnitude;
+		// 0 degrees is up, like the direction of a MoveableGameObject
+		direction = Math.toDegrees(Math.atan2(dy, dx)) + 90;
+		if (direction < 0) {
+			direction += 360;
+		}
+	}
+
+	@Override
+	protected void release() {
+		xAxis = 0;
+		yAxis = 0;
+		magnitude = 0;
+	}
+
+	/**
+	 * Get the horizontal axis
+	 * 
+	 * @return -1 (left) to 1 (right), 0 in the dead zone
+	 */
+	public float getXAxis() {
+		return xAxis;
+	}
+
+	/**
+	 * Get the vertical axis
+	 * 
+	 * @return -1 (up) to 1 (down), 0 in the dead zone
+	 */
+	public float getYAxis() {
+		return yAxis;
+	}
+
+	/**
+	 * Get how far the stick is pushed
+	 * 
+	 * @return 0 (center) to 1 (edge)
+	 */
+	public float getMagnitude() {
+		return magnitude;
+	}
+
+	/**
+	 * Get the direction of the stick in degrees, 0 is up and 90 is right. The
+	 * last direction is kept when the stick is released.
+	 * 
+	 * @return The direction in degrees, from 0 to 360
+	 */
+	public double getDirection() {
+		return direction;
+	}
+
+	/**
+	 * Move a MoveableGameObject in the direction of the stick, with a speed
+	 * that depends on how far the stick is pushed. The object stops when the
+	 * stick is released or in the dead zone.
+	 * 
+	 * @param object
+	 *            The object to move
+	 * @param maxSpeed
+	 *            The speed when the stick is pushed to the edge
+	 */
+	public void applyTo(MoveableGameObject object, double maxSpeed) {
+		if (magnitude > 0) {
+			object.setDirectionSpeed(direction, magnitude * maxSpeed);
+		} else {
+			object.setSpeed(0);
+		}
+	}
+
+	@Override
+	protected void draw(Canvas canvas, Paint paint) {
+		super.draw(canvas, paint);
+		float knobX = drawArea.centerX() + xAxis * radius / 2;
+		float knobY = drawArea.centerY() + yAxis * radius / 2;
+		if (knobSprite != null && knobSprite.getSprite() != null) {
+			knobArea.set(knobX - radius / 2, knobY - radius / 2, knobX + radius
+					/ 2, knobY + radius / 2);
+			canvas.drawBitmap(knobSprite.getSprite(), null, knobArea, paint);
+		} else {
+			knobPaint.setAlpha(paint.getAlpha());
+			canvas.drawCircle(knobX, knobY, radius / 2, knobPaint);
+		}
+	}
+}
@@ -0,0 +1,180 @@
+package android.gameengine.icadroids.objects;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+
+/**
+ * A GameObjectPool keeps GameObjects that are deleted from the game, so they
+ * can be used again instead of making new objects. This is useful for objects
+ * that are spawned and deleted very often, like bullets and enemies: making
+ * new objects (with their sprites and rectangles) all the time causes the
+ * garbage collector to run, which makes the game stutter.
+ * 
+ * Get an object with 'obtain()' or with 'spawnGameObject' in the GameEngine.
+ * When the object is deleted (deleteThisGameObject()), the GameEngine returns
+ * it to its pool and calls reset() on it. Override reset() in your own
+ * GameObject to reset your own variables.
+ * 
+ * Pooled classes need a constructor without parameters.
+ * 
+ * @param <T>
+ *            The type of GameObject in this pool
+ */
+public class GameObjectPool<T extends GameObject> {
+
+	/**
+	 * The class of the objects in this pool
+	 */
+	private final Class<T> type;
+	/**
+	 * The objects that are waiting to be used again
+	 */
+	private final ArrayList<T> freeObjects;
+	/**
+	 * The maximum number of objects kept in the pool
+	 */
+	private int maxSize;
+
+	/**
+	 * Make a new pool for the given type of GameObjects
+	 * 
+	 * @param type
+	 *            the class name with .class behind it.
+	 * @param maxSize
+	 *            The maximum number of deleted objects that are kept. When
+	 *            the pool is full, deleted objects are left to the garbage
+	 *            collector.
+	 */
+	public GameObjectPool(Class<T> type, int maxSize) {
+		this.type = type;
+		this.maxSize = maxSize;
+		freeObjects = new ArrayList<T>(maxSize);
+	}
+
+	/**
+	 * Get an object from the pool. When the pool is empty, a new object is
+	 * made. The object is active, but not yet added to the game.
+	 * 
+	 * @return A (reused) GameObject
+	 */
+	public T obtain() {
+		T gameObject;
+		int size = freeObjects.size();
+		if (size > 0) {
+			gameObject = freeObjects.remove(size - 1);
+		} else {
+			gameObject = createObject();
+		}
+		gameObject.pool = this;
+		gameObject.inPool = false;
+		gameObject.active = true;
+		return gameObject;
+	}
+
+	/**
+	 * Make new objects and put them in the pool, so no objects need to be
+	 * made during the game. Call this during the initializing phase.
+	 * 
+	 * @param numberOfObjects
+	 *            The number of objects to make
+	 */
+	public void prefill(int numberOfObjects) {
+		for (int i = 0; i < numberOfObjects && freeObjects.size() < maxSize; i++) {
+			T gameObject = createObject();
+			gameObject.pool = this;
+			gameObject.inPool = true;
+			gameObject.active = false;
+			freeObjects.add(gameObject);
+		}
+	}
+
+	/**
+	 * Put an object back in the pool. <b>This method is automatically called
+	 * by the GameEngine</b>, use deleteThisGameObject() to delete an object.
+	 * 
+	 * @param gameObject
+	 *            The object to put back, must be of the type of this pool
+	 */
+	@SuppressWarnings("unchecked")
+	void free(GameObject gameObject) {
+		if (gameObject.inPool) {
+			return;
+		}
+		gameObject.inPool = true;
+		gameObject.active = false;
+		if (freeObjects.size() < maxSize) {
+			freeObjects.add((T) gameObject);
+		} else {
+			gameObject.pool = null;
+		}
+	}
+
+	/**
+	 * Make a new object of the type of this pool
+	 * 
+	 * @return The new object
+	 */
+	protected T createObject() {
+		try {
+			return type.getDeclaredConstructor().newInstance();
+		} catch (NoSuchMethodException e) {
+			throw new IllegalArgumentException(type.getName()
+					+ " needs a constructor without parameters to be pooled",
+					e);
+		} catch (InstantiationException e) {
+			throw new IllegalArgumentException(type.getName()
+					+ " is abstract and can not be pooled", e);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException(type.getName()
+					+ " needs a public constructor to be pooled", e);
+		} catch (InvocationTargetException e) {
+			// the constructor itself failed, let its exception through
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("The constructor of "
+					+ type.getName() + " failed", e.getCause());
+		}
+	}
+
+	/**
+	 * Get the number of objects that are waiting in the pool
+	 * 
+	 * @return The number of free objects
+	 */
+	public int getFreeCount() {
+		return freeObjects.size();
+	}
+
+	/**
+	 * Set the maximum number of deleted objects that are kept
+	 * 
+	 * @param maxSize
+	 *            The maximum size of the pool
+	 */
+	public void setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+		while (freeObjects.size() > maxSize) {
+			freeObjects.remove(freeObjects.size() - 1).pool = null;
+		}
+	}
+
+	/**
+	 * Remove all objects from the pool
+	 */
+	public void clear() {
+		for (int i = 0; i < freeObjects.size(); i++) {
+			freeObjects.get(i).pool = null;
+		}
+		freeObjects.clear();
+	}
+
+	/**
+	 * Get the class of the objects in this pool
+	 * 
+	 * @return The class of the objects
+	 */
+	public Class<T> getType() {
+		return type;
+	}
+}
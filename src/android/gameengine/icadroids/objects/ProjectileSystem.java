@@ -0,0 +1,575 @@
+package android.gameengine.icadroids.objects;
+
+import java.util.Vector;
+
+import android.gameengine.icadroids.engine.GameWorld;
+import android.gameengine.icadroids.objects.graphics.Sprite;
+import android.gameengine.icadroids.renderer.Viewport;
+import android.gameengine.icadroids.tiles.GameTiles;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+
+/**
+ * ProjectileSystem moves a large number of simple objects, like bullets or
+ * debris, that don't need their own update() logic. Instead of one
+ * MoveableGameObject per bullet, all positions, speeds and friction values are
+ * kept in arrays and moved in one loop every update.
+ * 
+ * A projectile is identified by a handle (an int) that you get back from
+ * spawnProjectile(). Handles stay valid until the projectile is destroyed,
+ * after that isAlive(handle) returns false, also when the place is reused by a
+ * new projectile.
+ * 
+ * <b>Don't forget to add the ProjectileSystem to the game with
+ * 'addProjectileSystem'!</b>
+ * 
+ */
+public class ProjectileSystem {
+
+	/**
+	 * Returned when no projectile could be spawned or found
+	 */
+	public static final int NO_PROJECTILE = -1;
+
+	/**
+	 * Number of bits of a handle that hold the id of the projectile, the other
+	 * bits hold the generation.
+	 */
+	private static final int ID_BITS = 20;
+	private static final int ID_MASK = (1 << ID_BITS) - 1;
+	private static final int GENERATION_MASK = (1 << (31 - ID_BITS)) - 1;
+
+	/**
+	 * The maximum number of projectiles
+	 */
+	private final int capacity;
+	/**
+	 * The number of projectiles that are alive. Alive projectiles are packed
+	 * in the first 'count' places of the arrays.
+	 */
+	private int count = 0;
+
+	// the projectile data, indexed by slot
+	private final float[] x;
+	private final float[] y;
+	private final float[] xSpeed;
+	private final float[] ySpeed;
+	private final float[] friction;
+	private final int[] lifetime;
+	private final int[] type;
+	private final int[] idOfSlot;
+
+	// the handle administration, indexed by id
+	private final int[] slotOfId;
+	private final int[] generation;
+	private final int[] freeIds;
+	private int freeIdCount;
+
+	/**
+	 * The sprites of the projectile types
+	 */
+	private Vector<Sprite> typeSprites = new Vector<Sprite>();
+	/**
+	 * For every projectile type, if the projectile must be destroyed when it
+	 * hits a tile
+	 */
+	private boolean[] destroyOnTile = new boolean[0];
+
+	/**
+	 * Destroy projectiles that leave the game world
+	 */
+	private boolean destroyOutsideWorld = true;
+	/**
+	 * Indicates if the projectiles are visible or not.
+	 */
+	public boolean isVisible = true;
+
+	/**
+	 * Make a new ProjectileSystem
+	 * 
+	 * @param capacity
+	 *            The maximum number of projectiles that can be alive at the
+	 *            same time
+	 */
+	public ProjectileSystem(int capacity) {
+		if (capacity <= 0 || capacity > ID_MASK) {
+			throw new IllegalArgumentException("Capacity must be between 1 and "
+					+ ID_MASK);
+		}
+		this.capacity = capacity;
+		x = new float[capacity];
+		y = new float[capacity];
+		xSpeed = new float[capacity];
+		ySpeed = new float[capacity];
+		friction = new float[capacity];
+		lifetime = new int[capacity];
+		type = new int[capacity];
+		idOfSlot = new int[capacity];
+		slotOfId = new int[capacity];
+		generation = new int[capacity];
+		freeIds = new int[capacity];
+		for (int i = 0; i < capacity; i++) {
+			freeIds[i] = capacity - 1 - i;
+		}
+		freeIdCount = capacity;
+	}
+
+	/**
+	 * Add a projectile type with the given sprite.
+	 * 
+	 * @param resourceName
+	 *            The name of the resource in the /res/drawable folder <b>
+	 *            without extension </b>
+	 * @param destroyOnTileCollision
+	 *            True if projectiles of this type must be destroyed when they
+	 *            hit a tile
+	 * @return The number of the projectile type, used by spawnProjectile
+	 */
+	public int addProjectileType(String resourceName,
+			boolean destroyOnTileCollision) {
+		typeSprites.add(new Sprite(resourceName));
+		boolean[] types = new boolean[destroyOnTile.length + 1];
+		System.arraycopy(destroyOnTile, 0, types, 0, destroyOnTile.length);
+		types[destroyOnTile.length] = destroyOnTileCollision;
+		destroyOnTile = types;
+		return typeSprites.size() - 1;
+	}
+
+	/**
+	 * Spawn a new projectile.
+	 * 
+	 * @param projectileType
+	 *            The type of the projectile, given by addProjectileType
+	 * @param xPosition
+	 *            The x position in the game world
+	 * @param yPosition
+	 *            The y position in the game world
+	 * @param direction
+	 *            The direction in degrees, 0 is up, 90 is right
+	 * @param speed
+	 *            The speed in pixels per update
+	 * @return The handle of the new projectile, or NO_PROJECTILE when the
+	 *         system is full
+	 */
+	public int spawnProjectile(int projectileType, float xPosition,
+			float yPosition, double direction, double speed) {
+		double radianDirection = Math.toRadians(direction) - (0.5 * Math.PI);
+		return spawnProjectile(projectileType, xPosition, yPosition,
+				(float) (Math.cos(radianDirection) * speed),
+				(float) (Math.sin(radianDirection) * speed), 0f, -1);
+	}
+
+	/**
+	 * Spawn a new projectile.
+	 * 
+	 * @param projectileType
+	 *            The type of the projectile, given by addProjectileType
+	 * @param xPosition
+	 *            The x position in the game world
+	 * @param yPosition
+	 *            The y position in the game world
+	 * @param xSpeed
+	 *            The x speed in pixels per update
+	 * @param ySpeed
+	 *            The y speed in pixels per update
+	 * @param friction
+	 *            The friction, the speed decreases with this amount every
+	 *            update
+	 * @param lifetime
+	 *            The number of updates before the projectile is destroyed, -1
+	 *            to live until it is destroyed otherwise
+	 * @return The handle of the new projectile, or NO_PROJECTILE when the
+	 *         system is full
+	 */
+	public int spawnProjectile(int projectileType, float xPosition,
+			float yPosition, float xSpeed, float ySpeed, float friction,
+			int lifetime) {
+		if (freeIdCount == 0) {
+			return NO_PROJECTILE;
+		}
+		int id = freeIds[--freeIdCount];
+		int slot = count++;
+		idOfSlot[slot] = id;
+		slotOfId[id] = slot;
+
+		x[slot] = xPosition;
+		y[slot] = yPosition;
+		this.xSpeed[slot] = xSpeed;
+		this.ySpeed[slot] = ySpeed;
+		this.friction[slot] = friction;
+		this.lifetime[slot] = lifetime;
+		type[slot] = projectileType;
+		return (generation[id] << ID_BITS) | id;
+	}
+
+	/**
+	 * Destroy a projectile. Nothing happens when the projectile is already
+	 * destroyed.
+	 * 
+	 * @param handle
+	 *            The handle of the projectile
+	 */
+	public void destroyProjectile(int handle) {
+		int slot = slotOf(handle);
+		if (slot >= 0) {
+			removeSlot(slot);
+		}
+	}
+
+	/**
+	 * Destroy all projectiles
+	 */
+	public void destroyAllProjectiles() {
+		while (count > 0) {
+			removeSlot(count - 1);
+		}
+	}
+
+	/**
+	 * Check if the projectile with the given handle is still alive
+	 * 
+	 * @param handle
+	 *            The handle of the projectile
+	 * @return True if the projectile is alive
+	 */
+	public boolean isAlive(int handle) {
+		return slotOf(handle) >= 0;
+	}
+
+	/**
+	 * <b> This method is automatically called by the GameEngine </b>
+	 * 
+	 * Moves all projectiles and destroys the ones whose lifetime is over, that
+	 * hit a tile or that are outside of the world.
+	 */
+	public void update() {
+		GameWorld world = GameWorld.getCurrent();
+		GameTiles gameTiles = world.getGameTiles();
+		boolean checkTiles = gameTiles != null && gameTiles.tileArray != null;
+		float maxX, maxY;
+		if (Viewport.useViewport) {
+			maxX = Viewport.getInstance().getMaxX();
+			maxY = Viewport.getInstance().getMaxY();
+		} else {
+			maxX = world.getScreenWidth();
+			maxY = world.getScreenHeight();
+		}
+
+		int i = 0;
+		while (i < count) {
+			float f = friction[i];
+			if (f != 0) {
+				xSpeed[i] = applyFriction(xSpeed[i], f);
+				ySpeed[i] = applyFriction(ySpeed[i], f);
+			}
+			float newX = x[i] + xSpeed[i];
+			float newY = y[i] + ySpeed[i];
+			x[i] = newX;
+			y[i] = newY;
+
+			boolean destroy = false;
+			if (lifetime[i] > 0) {
+				destroy = --lifetime[i] == 0;
+			}
+			if (!destroy && destroyOutsideWorld) {
+				destroy = newX < 0 || newY < 0 || newX > maxX || newY > maxY;
+			}
+			if (!destroy && checkTiles && destroyOnTile[type[i]]) {
+				destroy = isSolidTile(gameTiles, newX, newY);
+			}
+
+			if (destroy) {
+				// the last projectile moves into this slot, check it next
+				removeSlot(i);
+			} else {
+				i++;
+			}
+		}
+	}
+
+	/**
+	 * Draw all projectiles that are in the viewport
+	 * 
+	 * @param canvas
+	 *            Android canvas
+	 */
+	public void drawProjectiles(Canvas canvas) {
+		if (!isVisible) {
+			return;
+		}
+		int left = 0;
+		int top = 0;
+		int right = Integer.MAX_VALUE;
+		int bottom = Integer.MAX_VALUE;
+		if (Viewport.useViewport) {
+			Viewport vp = Viewport.getInstance();
+			left = vp.getViewportX();
+			top = vp.getViewportY();
+			right = left + vp.getScreenWidth();
+			bottom = top + vp.getScreenHeight();
+		}
+		for (int i = 0; i < count; i++) {
+			Bitmap bitmap = typeSprites.get(type[i]).getSprite();
+			if (bitmap != null) {
+				float px = x[i];
+				float py = y[i];
+				if (px + bitmap.getWidth() > left && px < right
+						&& py + bitmap.getHeight() > top && py < bottom) {
+					canvas.drawBitmap(bitmap, px, py, null);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Find the first projectile that lies in the given rectangle, for
+	 * example the position of a GameObject.
+	 * 
+	 * @param rectangle
+	 *            The rectangle in the game world
+	 * @return The handle of the projectile, or NO_PROJECTILE when there is no
+	 *         projectile in the rectangle
+	 */
+	public int findProjectileAt(Rect rectangle) {
+		for (int i = 0; i < count; i++) {
+			if (x[i] >= rectangle.left && x[i] < rectangle.right
+					&& y[i] >= rectangle.top && y[i] < rectangle.bottom) {
+				return (generation[idOfSlot[i]] << ID_BITS) | idOfSlot[i];
+			}
+		}
+		return NO_PROJECTILE;
+	}
+
+	/**
+	 * Find all projectiles that lie in the given rectangle.
+	 * 
+	 * @param rectangle
+	 *            The rectangle in the game world
+	 * @param handles
+	 *            The array that will be filled with the found handles
+	 * @return The number of found projectiles, at most handles.length
+	 */
+	public int findProjectilesAt(Rect rectangle, int[] handles) {
+		int found = 0;
+		for (int i = 0; i < count && found < handles.length; i++) {
+			if (x[i] >= rectangle.left && x[i] < rectangle.right
+					&& y[i] >= rectangle.top && y[i] < rectangle.bottom) {
+				handles[found++] = (generation[idOfSlot[i]] << ID_BITS)
+						| idOfSlot[i];
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Get the x position of a projectile
+	 * 
+	 * @param handle
+	 *            The handle of the projectile
+	 * @return The x position, or 0 if the projectile is not alive
+	 */
+	public float getX(int handle) {
+		int slot = slotOf(handle);
+		return slot >= 0 ? x[slot] : 0;
+	}
+
+	/**
+	 * Get the y position of a projectile
+	 * 
+	 * @param handle
+	 *            The handle of the projectile
+	 * @return The y position, or 0 if the projectile is not alive
+	 */
+	public float getY(int handle) {
+		int slot = slotOf(handle);
+		return slot >= 0 ? y[slot] : 0;
+	}
+
+	/**
+	 * Set the position of a projectile
+	 * 
+	 * @param handle
+	 *            The handle of the projectile
+	 * @param xPosition
+	 *            The new x position
+	 * @param yPosition
+	 *            The new y position
+	 */
+	public void setPosition(int handle, float xPosition, float yPosition) {
+		int slot = slotOf(handle);
+		if (slot >= 0) {
+			x[slot] = xPosition;
+			y[slot] = yPosition;
+		}
+	}
+
+	/**
+	 * Get the x speed of a projectile
+	 * 
+	 * @param handle
+	 *            The handle of the projectile
+	 * @return The x speed, or 0 if the projectile is not alive
+	 */
+	public float getxSpeed(int handle) {
+		int slot = slotOf(handle);
+		return slot >= 0 ? xSpeed[slot] : 0;
+	}
+
+	/**
+	 * Get the y speed of a projectile
+	 * 
+	 * @param handle
+	 *            The handle of the projectile
+	 * @return The y speed, or 0 if the projectile is not alive
+	 */
+	public float getySpeed(int handle) {
+		int slot = slotOf(handle);
+		return slot >= 0 ? ySpeed[slot] : 0;
+	}
+
+	/**
+	 * Set the speed of a projectile
+	 * 
+	 * @param handle
+	 *            The handle of the projectile
+	 * @param xSpeed
+	 *            The new x speed
+	 * @param ySpeed
+	 *            The new y speed
+	 */
+	public void setSpeed(int handle, float xSpeed, float ySpeed) {
+		int slot = slotOf(handle);
+		if (slot >= 0) {
+			this.xSpeed[slot] = xSpeed;
+			this.ySpeed[slot] = ySpeed;
+		}
+	}
+
+	/**
+	 * Set the friction of a projectile
+	 * 
+	 * @param handle
+	 *            The handle of the projectile
+	 * @param friction
+	 *            The new friction
+	 */
+	public void setFriction(int handle, float friction) {
+		int slot = slotOf(handle);
+		if (slot >= 0) {
+			this.friction[slot] = friction;
+		}
+	}
+
+	/**
+	 * Get the number of projectiles that are alive
+	 * 
+	 * @return The number of projectiles
+	 */
+	public int getProjectileCount() {
+		return count;
+	}
+
+	/**
+	 * Get the maximum number of projectiles
+	 * 
+	 * @return The capacity of this system
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Destroy projectiles when they leave the game world. This is on by
+	 * default.
+	 * 
+	 * @param destroyOutsideWorld
+	 *            True to destroy projectiles outside the world
+	 */
+	public void setDestroyOutsideWorld(boolean destroyOutsideWorld) {
+		this.destroyOutsideWorld = destroyOutsideWorld;
+	}
+
+	/**
+	 * Get the slot of the projectile with the given handle
+	 * 
+	 * @param handle
+	 *            The handle of the projectile
+	 * @return The slot, or -1 when the projectile is not alive
+	 */
+	private int slotOf(int handle) {
+		if (handle < 0) {
+			return -1;
+		}
+		int id = handle & ID_MASK;
+		if (id >= capacity || generation[id] != (handle >>> ID_BITS)) {
+			return -1;
+		}
+		int slot = slotOfId[id];
+		if (slot < count && idOfSlot[slot] == id) {
+			return slot;
+		}
+		return -1;
+	}
+
+	/**
+	 * Remove the projectile in the given slot by moving the last projectile
+	 * into its place.
+	 * 
+	 * @param slot
+	 *            The slot to remove
+	 */
+	private void removeSlot(int slot) {
+		int id = idOfSlot[slot];
+		generation[id] = (generation[id] + 1) & GENERATION_MASK;
+		freeIds[freeIdCount++] = id;
+
+		int last = --count;
+		if (slot != last) {
+			x[slot] = x[last];
+			y[slot] = y[last];
+			xSpeed[slot] = xSpeed[last];
+			ySpeed[slot] = ySpeed[last];
+			friction[slot] = friction[last];
+			lifetime[slot] = lifetime[last];
+			type[slot] = type[last];
+			int movedId = idOfSlot[last];
+			idOfSlot[slot] = movedId;
+			slotOfId[movedId] = slot;
+		}
+	}
+
+	/**
+	 * Calculates the changes in speed, the same way a MoveableGameObject does.
+	 * 
+	 * @param speed
+	 *            The current speed
+	 * @param friction
+	 *            The friction
+	 * @return The new speed
+	 */
+	private static float applyFriction(float speed, float friction) {
+		if (speed < 0) {
+			return speed + friction > 0 ? 0 : speed + friction;
+		}
+		if (speed > 0) {
+			return speed - friction < 0 ? 0 : speed - friction;
+		}
+		return 0;
+	}
+
+	/**
+	 * Check if there is a solid tile on the given position
+	 */
+	private static boolean isSolidTile(GameTiles gameTiles, float xPosition,
+			float yPosition) {
+		int tileY = (int) (yPosition / gameTiles.tileSize);
+		int tileX = (int) (xPosition / gameTiles.tileSize);
+		if (tileY >= 0 && tileY < gameTiles.tileArray.length && tileX >= 0
+				&& tileX < gameTiles.tileArray[tileY].length) {
+			return gameTiles.isSolid(gameTiles.tileArray[tileY][tileX]
+					.getTileType());
+		}
+		return false;
+	}
+}
@@ -0,0 +1,85 @@
+package android.gameengine.icadroids.objects.particles;
+
+/**
+ * A ParticleCurve describes how a value (for example the alpha, size or speed)
+ * of a particle changes during its life. The curve is a list of points, the
+ * value between two points is interpolated.
+ * 
+ * The time of a point is a value between 0 (the particle is born) and 1 (the
+ * particle dies).
+ * 
+ */
+public class ParticleCurve {
+
+	/**
+	 * The times of the points, between 0 and 1, in increasing order
+	 */
+	private final float[] times;
+	/**
+	 * The values of the points
+	 */
+	private final float[] values;
+
+	/**
+	 * Make a curve that doesn't change
+	 * 
+	 * @param value
+	 *            The value during the whole life of the particle
+	 */
+	public ParticleCurve(float value) {
+		this(new float[] { 0f }, new float[] { value });
+	}
+
+	/**
+	 * Make a curve that changes linear from the start value to the end value
+	 * 
+	 * @param startValue
+	 *            The value when the particle is born
+	 * @param endValue
+	 *            The value when the particle dies
+	 */
+	public ParticleCurve(float startValue, float endValue) {
+		this(new float[] { 0f, 1f }, new float[] { startValue, endValue });
+	}
+
+	/**
+	 * Make a curve with the given points. For example a particle that fades in
+	 * and fades out: times {0, 0.2f, 1}, values {0, 255, 0}.
+	 * 
+	 * @param times
+	 *            The times of the points, between 0 and 1, in increasing
+	 *            order
+	 * @param values
+	 *            The value at each time
+	 */
+	public ParticleCurve(float[] times, float[] values) {
+		if (times.length == 0 || times.length != values.length) {
+			throw new IllegalArgumentException(
+					"A curve needs the same number of times and values");
+		}
+		this.times = times.clone();
+		this.values = values.clone();
+	}
+
+	/**
+	 * Get the value of the curve at the given time
+	 * 
+	 * @param time
+	 *            The time between 0 and 1
+	 * @return The interpolated value
+	 */
+	public float getValue(float time) {
+		if (time <= times[0]) {
+			return values[0];
+		}
+		int last = times.length - 1;
+		for (int i = 1; i <= last; i++) {
+			if (time < times[i]) {
+				float fraction = (time - times[i - 1])
+						/ (times[i] - times[i - 1]);
+				return values[i - 1] + (values[i] - values[i - 1]) * fraction;
+			}
+		}
+		return values[last];
+	}
+}
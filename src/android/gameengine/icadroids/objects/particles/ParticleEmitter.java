@@ -0,0 +1,538 @@
+package android.gameengine.icadroids.objects.particles;
+
+import java.util.Random;
+
+import android.gameengine.icadroids.objects.GameObject;
+import android.gameengine.icadroids.objects.graphics.Sprite;
+import android.gameengine.icadroids.renderer.Viewport;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+/**
+ * A ParticleEmitter emits particles, like smoke, sparks or rain. Particles are
+ * not GameObjects: they have no sprite object, collision or update() of their
+ * own. All particles of an emitter are kept in arrays and are updated and
+ * drawn in one loop, so an emitter can handle hundreds of particles.
+ * 
+ * How particles behave is configured on the emitter: the emission rate, the
+ * lifetime, the direction and speed, gravity, and how the speed, size, colour
+ * and alpha change during the life of a particle (see ParticleCurve).
+ * 
+ * <b>Don't forget to add the ParticleEmitter to the game with
+ * 'addParticleEmitter'!</b>
+ * 
+ */
+public class ParticleEmitter {
+
+	/**
+	 * The maximum number of particles that are alive at the same time
+	 */
+	private final int capacity;
+	/**
+	 * The number of particles that are alive. Alive particles are packed in the
+	 * first 'count' places of the arrays.
+	 */
+	private int count = 0;
+
+	// the particle data
+	private final float[] x;
+	private final float[] y;
+	private final float[] xSpeed;
+	private final float[] ySpeed;
+	private final int[] age;
+	private final int[] lifetime;
+
+	/**
+	 * Number of particles per update, may be a fraction
+	 */
+	private float emissionRate = 1f;
+	/**
+	 * Collects the fractions of the emission rate
+	 */
+	private float emissionCounter = 0f;
+	/**
+	 * True when the emitter emits new particles
+	 */
+	private boolean emitting = true;
+	/**
+	 * Remove the emitter from the game when it stopped emitting and all
+	 * particles are dead
+	 */
+	private boolean removeWhenFinished = false;
+
+	/**
+	 * The position and size of the area where particles are born
+	 */
+	private float emitterX, emitterY, emitterWidth, emitterHeight;
+	/**
+	 * The object the emitter follows, can be null
+	 */
+	private GameObject attachedObject;
+	private float attachOffsetX, attachOffsetY;
+
+	private int minLifetime = 30;
+	private int maxLifetime = 30;
+	private float direction = 0f;
+	private float spread = 360f;
+	private float minSpeed = 1f;
+	private float maxSpeed = 1f;
+	private float gravityX = 0f;
+	private float gravityY = 0f;
+
+	private ParticleCurve speedCurve = new ParticleCurve(1f);
+	private ParticleCurve sizeCurve = new ParticleCurve(4f);
+	private ParticleCurve alphaCurve = new ParticleCurve(255f);
+	private int startColor = Color.WHITE;
+	private int endColor = Color.WHITE;
+
+	/**
+	 * The optional sprite of the particles, particles are drawn as squares
+	 * when there is no sprite
+	 */
+	private Sprite sprite;
+	private final Paint paint = new Paint();
+	private final Rect drawRect = new Rect();
+	private final Random random = new Random();
+
+	/**
+	 * Indicates if the particles are visible or not.
+	 */
+	public boolean isVisible = true;
+
+	/**
+	 * Make a new ParticleEmitter
+	 * 
+	 * @param capacity
+	 *            The maximum number of particles that are alive at the same
+	 *            time. When the emitter is full, no new particles are emitted.
+	 */
+	public ParticleEmitter(int capacity) {
+		this.capacity = capacity;
+		x = new float[capacity];
+		y = new float[capacity];
+		xSpeed = new float[capacity];
+		ySpeed = new float[capacity];
+		age = new int[capacity];
+		lifetime = new int[capacity];
+	}
+
+	/**
+	 * <b> This method is automatically called by the GameEngine </b>
+	 * 
+	 * Emits new particles and moves, ages and removes the existing particles.
+	 */
+	public void update() {
+		if (attachedObject != null) {
+			emitterX = (float) attachedObject.getFullX() + attachOffsetX;
+			emitterY = (float) attachedObject.getFullY() + attachOffsetY;
+		}
+
+		if (emitting) {
+			emissionCounter += emissionRate;
+			while (emissionCounter >= 1f) {
+				emitParticle();
+				emissionCounter -= 1f;
+			}
+		}
+
+		int i = 0;
+		while (i < count) {
+			age[i]++;
+			if (age[i] >= lifetime[i]) {
+				removeParticle(i);
+			} else {
+				xSpeed[i] += gravityX;
+				ySpeed[i] += gravityY;
+				float speedFactor = speedCurve.getValue((float) age[i]
+						/ lifetime[i]);
+				x[i] += xSpeed[i] * speedFactor;
+				y[i] += ySpeed[i] * speedFactor;
+				i++;
+			}
+		}
+	}
+
+	/**
+	 * Draw all particles that are in the viewport
+	 * 
+	 * @param canvas
+	 *            Android canvas
+	 */
+	public void drawParticles(Canvas canvas) {
+		if (!isVisible || count == 0) {
+			return;
+		}
+		int left = Integer.MIN_VALUE;
+		int top = Integer.MIN_VALUE;
+		int right = Integer.MAX_VALUE;
+		int bottom = Integer.MAX_VALUE;
+		if (Viewport.useViewport) {
+			Viewport vp = Viewport.getInstance();
+			left = vp.getViewportX();
+			top = vp.getViewportY();
+			right = left + vp.getScreenWidth();
+			bottom = top + vp.getScreenHeight();
+		}
+
+		Bitmap bitmap = sprite != null ? sprite.getSprite() : null;
+		boolean fixedColor = startColor == endColor;
+		if (fixedColor) {
+			paint.setColor(startColor);
+		}
+		int colorAlpha = Color.alpha(startColor);
+
+		for (int i = 0; i < count; i++) {
+			float time = (float) age[i] / lifetime[i];
+			int halfSize = Math.round(sizeCurve.getValue(time) / 2);
+			int px = Math.round(x[i]);
+			int py = Math.round(y[i]);
+			if (px + halfSize < left || px - halfSize > right
+					|| py + halfSize < top || py - halfSize > bottom) {
+				continue;
+			}
+
+			if (!fixedColor) {
+				int color = interpolateColor(startColor, endColor, time);
+				paint.setColor(color);
+				colorAlpha = Color.alpha(color);
+			}
+			paint.setAlpha(Math.max(0,
+					Math.min(255, Math.round(alphaCurve.getValue(time)
+							* colorAlpha / 255))));
+
+			drawRect.set(px - halfSize, py - halfSize, px + halfSize, py
+					+ halfSize);
+			if (bitmap != null) {
+				canvas.drawBitmap(bitmap, null, drawRect, paint);
+			} else {
+				canvas.drawRect(drawRect, paint);
+			}
+		}
+	}
+
+	/**
+	 * Emit a number of particles at once, for example for an explosion.
+	 * 
+	 * @param numberOfParticles
+	 *            The number of particles
+	 */
+	public void burst(int numberOfParticles) {
+		if (attachedObject != null) {
+			emitterX = (float) attachedObject.getFullX() + attachOffsetX;
+			emitterY = (float) attachedObject.getFullY() + attachOffsetY;
+		}
+		for (int i = 0; i < numberOfParticles; i++) {
+			emitParticle();
+		}
+	}
+
+	/**
+	 * Emit one particle with a random lifetime, direction and speed.
+	 */
+	private void emitParticle() {
+		if (count >= capacity) {
+			return;
+		}
+		int i = count++;
+		x[i] = emitterX + random.nextFloat() * emitterWidth;
+		y[i] = emitterY + random.nextFloat() * emitterHeight;
+
+		double particleDirection = direction + (random.nextFloat() - 0.5f)
+				* spread;
+		double radianDirection = Math.toRadians(particleDirection)
+				- (0.5 * Math.PI);
+		float speed = minSpeed + random.nextFloat() * (maxSpeed - minSpeed);
+		xSpeed[i] = (float) (Math.cos(radianDirection) * speed);
+		ySpeed[i] = (float) (Math.sin(radianDirection) * speed);
+
+		age[i] = 0;
+		lifetime[i] = minLifetime
+				+ random.nextInt(maxLifetime - minLifetime + 1);
+	}
+
+	/**
+	 * Remove the particle in the given place by moving the last particle into
+	 * its place.
+	 */
+	private void removeParticle(int i) {
+		int last = --count;
+		x[i] = x[last];
+		y[i] = y[last];
+		xSpeed[i] = xSpeed[last];
+		ySpeed[i] = ySpeed[last];
+		age[i] = age[last];
+		lifetime[i] = lifetime[last];
+	}
+
+	/**
+	 * Interpolate between two ARGB colours
+	 */
+	private static int interpolateColor(int from, int to, float time) {
+		int a = Color.alpha(from)
+				+ Math.round((Color.alpha(to) - Color.alpha(from)) * time);
+		int r = Color.red(from)
+				+ Math.round((Color.red(to) - Color.red(from)) * time);
+		int g = Color.green(from)
+				+ Math.round((Color.green(to) - Color.green(from)) * time);
+		int b = Color.blue(from)
+				+ Math.round((Color.blue(to) - Color.blue(from)) * time);
+		return (a << 24) | (r << 16) | (g << 8) | b;
+	}
+
+	/**
+	 * Remove all particles
+	 */
+	public void clearParticles() {
+		count = 0;
+	}
+
+	/**
+	 * Start emitting particles
+	 */
+	public void startEmitting() {
+		emitting = true;
+	}
+
+	/**
+	 * Stop emitting new particles, the particles that are alive will live
+	 * until their lifetime is over.
+	 */
+	public void stopEmitting() {
+		emitting = false;
+	}
+
+	/**
+	 * Check if the emitter is emitting particles
+	 * 
+	 * @return True when the emitter emits particles
+	 */
+	public boolean isEmitting() {
+		return emitting;
+	}
+
+	/**
+	 * Check if the emitter is finished: it doesn't emit new particles and all
+	 * particles are dead.
+	 * 
+	 * @return True when the emitter is finished
+	 */
+	public boolean isFinished() {
+		return !emitting && count == 0;
+	}
+
+	/**
+	 * Remove the emitter from the game when it is finished. Useful for
+	 * explosions: call burst(), stopEmitting() and add the emitter to the game.
+	 * 
+	 * @param removeWhenFinished
+	 *            True to remove the emitter when it is finished
+	 */
+	public void setRemoveWhenFinished(boolean removeWhenFinished) {
+		this.removeWhenFinished = removeWhenFinished;
+	}
+
+	/**
+	 * Check if the emitter must be removed when it is finished.
+	 * 
+	 * @return True if the emitter must be removed when it is finished
+	 */
+	public boolean isRemoveWhenFinished() {
+		return removeWhenFinished;
+	}
+
+	/**
+	 * Set the number of particles that are emitted every update
+	 * 
+	 * @param emissionRate
+	 *            The number of particles per update, can be a fraction. 0.5
+	 *            emits a particle every two updates.
+	 */
+	public void setEmissionRate(float emissionRate) {
+		this.emissionRate = emissionRate;
+	}
+
+	/**
+	 * Set the position of the emitter in the game world
+	 * 
+	 * @param x
+	 *            The x position
+	 * @param y
+	 *            The y position
+	 */
+	public void setPosition(float x, float y) {
+		emitterX = x;
+		emitterY = y;
+	}
+
+	/**
+	 * Set the size of the area where particles are born. The area starts at
+	 * the position of the emitter. Default the size is 0, all particles are
+	 * born in one point.
+	 * 
+	 * @param width
+	 *            The width of the area
+	 * @param height
+	 *            The height of the area
+	 */
+	public void setEmitterSize(float width, float height) {
+		emitterWidth = width;
+		emitterHeight = height;
+	}
+
+	/**
+	 * Let the emitter follow a GameObject
+	 * 
+	 * @param gameObject
+	 *            The GameObject to follow, null to stop following
+	 * @param offsetX
+	 *            The x position of the emitter relative to the GameObject
+	 * @param offsetY
+	 *            The y position of the emitter relative to the GameObject
+	 */
+	public void attachTo(GameObject gameObject, float offsetX, float offsetY) {
+		attachedObject = gameObject;
+		attachOffsetX = offsetX;
+		attachOffsetY = offsetY;
+	}
+
+	/**
+	 * Set the lifetime of new particles
+	 * 
+	 * @param minLifetime
+	 *            The minimum number of updates a particle lives
+	 * @param maxLifetime
+	 *            The maximum number of updates a particle lives
+	 */
+	public void setLifetime(int minLifetime, int maxLifetime) {
+		this.minLifetime = Math.max(1, minLifetime);
+		this.maxLifetime = Math.max(this.minLifetime, maxLifetime);
+	}
+
+	/**
+	 * Set the direction of new particles
+	 * 
+	 * @param direction
+	 *            The direction in degrees, 0 is up, 90 is right
+	 * @param spread
+	 *            The angle in degrees around the direction in which particles
+	 *            are emitted. 360 emits particles in all directions.
+	 */
+	public void setDirection(float direction, float spread) {
+		this.direction = direction;
+		this.spread = spread;
+	}
+
+	/**
+	 * Set the speed of new particles
+	 * 
+	 * @param minSpeed
+	 *            The minimum speed in pixels per update
+	 * @param maxSpeed
+	 *            The maximum speed in pixels per update
+	 */
+	public void setSpeed(float minSpeed, float maxSpeed) {
+		this.minSpeed = minSpeed;
+		this.maxSpeed = maxSpeed;
+	}
+
+	/**
+	 * Set the gravity, the speed of all particles changes with this amount
+	 * every update.
+	 * 
+	 * @param gravityX
+	 *            The horizontal gravity
+	 * @param gravityY
+	 *            The vertical gravity, a positive value pulls particles down
+	 */
+	public void setGravity(float gravityX, float gravityY) {
+		this.gravityX = gravityX;
+		this.gravityY = gravityY;
+	}
+
+	/**
+	 * Set how the speed changes during the life of a particle. The speed of
+	 * the particle is multiplied with the value of the curve.
+	 * 
+	 * @param speedCurve
+	 *            The speed curve, for example new ParticleCurve(1, 0) to slow
+	 *            down
+	 */
+	public void setSpeedCurve(ParticleCurve speedCurve) {
+		this.speedCurve = speedCurve;
+	}
+
+	/**
+	 * Set how the size changes during the life of a particle.
+	 * 
+	 * @param sizeCurve
+	 *            The size curve in pixels
+	 */
+	public void setSizeCurve(ParticleCurve sizeCurve) {
+		this.sizeCurve = sizeCurve;
+	}
+
+	/**
+	 * Set how the alpha changes during the life of a particle.
+	 * 
+	 * @param alphaCurve
+	 *            The alpha curve, values between 0 (invisible) and 255
+	 */
+	public void setAlphaCurve(ParticleCurve alphaCurve) {
+		this.alphaCurve = alphaCurve;
+	}
+
+	/**
+	 * Set the colour of the particles. The colour changes from the start
+	 * colour to the end colour during the life of a particle. Use the Color
+	 * class from Android.
+	 * 
+	 * @param startColor
+	 *            The colour when a particle is born
+	 * @param endColor
+	 *            The colour when a particle dies
+	 */
+	public void setColor(int startColor, int endColor) {
+		this.startColor = startColor;
+		this.endColor = endColor;
+	}
+
+	/**
+	 * Set a sprite for the particles. The sprite is scaled to the size of the
+	 * particle. When no sprite is set, particles are drawn as squares.
+	 * 
+	 * @param resourceName
+	 *            The name of the resource in the /res/drawable folder <b>
+	 *            without extension </b>, null to draw squares
+	 */
+	public void setSprite(String resourceName) {
+		if (resourceName == null) {
+			sprite = null;
+		} else {
+			sprite = new Sprite(resourceName);
+		}
+	}
+
+	/**
+	 * Set the seed of the random numbers of the emitter. An emitter with a
+	 * seed emits the same particles every run, for example when a recorded
+	 * game is replayed. Without a seed the particles differ every run.
+	 * 
+	 * @param seed
+	 *            The seed
+	 */
+	public void setSeed(long seed) {
+		random.setSeed(seed);
+	}
+
+	/**
+	 * Get the number of particles that are alive
+	 * 
+	 * @return The number of particles
+	 */
+	public int getParticleCount() {
+		return count;
+	}
+}
@@ -0,0 +1,324 @@
+package android.gameengine.icadroids.renderer;
+
+import android.gameengine.icadroids.objects.graphics.Sprite;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+
+/**
+ * A ParallaxLayer is a background (or foreground) image that scrolls with its
+ * own speed relative to the viewport. Layers that scroll slower than the
+ * viewport seem further away, so you can give a side-scroller depth by stacking
+ * a few layers (sky, mountains, trees) on top of each other.
+ *
+ * The image is scaled only once (when the zoom factor or screen size changes)
+ * and is drawn unscaled afterwards. Only the parts of the layer that are on
+ * the screen are drawn.
+ *
+ * Add a layer to the game with 'addParallaxLayer' in your GameEngine.
+ *
+ */
+public class ParallaxLayer {
+
+	/**
+	 * The sprite that holds the original image of this layer
+	 */
+	private Sprite sprite;
+	/**
+	 * The cached, pre-scaled bitmap that is drawn on the screen
+	 */
+	private Bitmap scaledBitmap;
+	/**
+	 * The original bitmap the cached bitmap was made of
+	 */
+	private Bitmap scaledSource;
+	/**
+	 * The size of the cached bitmap
+	 */
+	private int scaledWidth, scaledHeight;
+	/**
+	 * The scroll factor of this layer relative to the viewport. 1 scrolls
+	 * along with the game world, 0 does not scroll at all.
+	 */
+	private float scrollFactorX, scrollFactorY;
+	/**
+	 * Repeat the image horizontally / vertically
+	 */
+	private boolean tileHorizontal, tileVertical;
+	/**
+	 * Scale the image so it fits exactly on the height of the screen
+	 */
+	private boolean fitScreenHeight = false;
+	/**
+	 * Draw the layer in front of the GameObjects instead of behind them
+	 */
+	private boolean foreground = false;
+	/**
+	 * The position of the layer in the game world
+	 */
+	private int offsetX, offsetY;
+
+	/**
+	 * Make a new parallax layer which repeats horizontally.
+	 *
+	 * @param resourceName
+	 *            The name of the image in the /res/drawable folder <b>without
+	 *            extension</b>
+	 * @param scrollFactor
+	 *            The horizontal scroll factor. 1 scrolls as fast as the
+	 *            viewport, 0.5 half as fast, 0 does not scroll at all.
+	 */
+	public ParallaxLayer(String resourceName, float scrollFactor) {
+		this(resourceName, scrollFactor, scrollFactor, true, false);
+	}
+
+	/**
+	 * Make a new parallax layer.
+	 *
+	 * @param resourceName
+	 *            The name of the image in the /res/drawable folder <b>without
+	 *            extension</b>
+	 * @param scrollFactorX
+	 *            The horizontal scroll factor. 1 scrolls as fast as the
+	 *            viewport, 0.5 half as fast, 0 does not scroll at all.
+	 * @param scrollFactorY
+	 *            The vertical scroll factor
+	 * @param tileHorizontal
+	 *            True if the image must be repeated horizontally
+	 * @param tileVertical
+	 *            True if the image must be repeated vertically
+	 */
+	public ParallaxLayer(String resourceName, float scrollFactorX,
+			float scrollFactorY, boolean tileHorizontal, boolean tileVertical) {
+		sprite = new Sprite(resourceName);
+		this.scrollFactorX = scrollFactorX;
+		this.scrollFactorY = scrollFactorY;
+		this.tileHorizontal = tileHorizontal;
+		this.tileVertical = tileVertical;
+	}
+
+	/**
+	 * <b> This method is automatically called by the GameView </b>
+	 *
+	 * Draws the visible part of the layer on the screen. The canvas must be in
+	 * screen coordinates (no viewport translation or zoom).
+	 *
+	 * @param canvas
+	 *            The canvas to draw on
+	 * @param viewportX
+	 *            The x position of the viewport in the game world
+	 * @param viewportY
+	 *            The y position of the viewport in the game world
+	 * @param zoomFactor
+	 *            The zoom factor of the viewport
+	 * @param screenWidth
+	 *            The width of the screen in pixels
+	 * @param screenHeight
+	 *            The height of the screen in pixels
+	 */
+	public void drawLayer(Canvas canvas, int viewportX, int viewportY,
+			float zoomFactor, int screenWidth, int screenHeight) {
+		Bitmap bitmap = getScaledBitmap(zoomFactor, screenHeight);
+		if (bitmap == null) {
+			return;
+		}
+
+		int left = Math.round((offsetX - viewportX * scrollFactorX)
+				* zoomFactor);
+		int top = Math.round((offsetY - viewportY * scrollFactorY)
+				* zoomFactor);
+
+		if (tileHorizontal) {
+			left = wrap(left, scaledWidth);
+		}
+		if (tileVertical) {
+			top = wrap(top, scaledHeight);
+		}
+
+		// culling, the whole layer is outside the screen
+		if (left >= screenWidth || top >= screenHeight
+				|| (!tileHorizontal && left + scaledWidth <= 0)
+				|| (!tileVertical && top + scaledHeight <= 0)) {
+			return;
+		}
+
+		int y = top;
+		do {
+			int x = left;
+			do {
+				canvas.drawBitmap(bitmap, x, y, null);
+				x += scaledWidth;
+			} while (tileHorizontal && x < screenWidth);
+			y += scaledHeight;
+		} while (tileVertical && y < screenHeight);
+	}
+
+	/**
+	 * Move the start position to the first copy of the image that is (partly)
+	 * visible on the left or top of the screen.
+	 *
+	 * @param position
+	 *            The position of the image on the screen
+	 * @param size
+	 *            The size of the image
+	 * @return The position of the first visible copy, always <= 0
+	 */
+	private int wrap(int position, int size) {
+		int wrapped = position % size;
+		if (wrapped > 0) {
+			wrapped -= size;
+		}
+		return wrapped;
+	}
+
+	/**
+	 * Get the cached bitmap of this layer. A new scaled bitmap will only be
+	 * made when the zoom factor or the screen size has changed.
+	 *
+	 * @param zoomFactor
+	 *            The zoom factor of the viewport
+	 * @param screenHeight
+	 *            The height of the screen in pixels
+	 * @return The scaled bitmap, or null when the image is not loaded yet
+	 */
+	private Bitmap getScaledBitmap(float zoomFactor, int screenHeight) {
+		Bitmap source = sprite.getSprite();
+		if (source == null) {
+			return null;
+		}
+
+		int width, height;
+		if (fitScreenHeight) {
+			height = screenHeight;
+			width = Math.round(source.getWidth()
+					* ((float) screenHeight / source.getHeight()));
+		} else {
+			width = Math.round(source.getWidth() * zoomFactor);
+			height = Math.round(source.getHeight() * zoomFactor);
+		}
+		if (width <= 0 || height <= 0) {
+			return null;
+		}
+
+		if (scaledBitmap == null || scaledSource != source
+				|| width != scaledWidth || height != scaledHeight) {
+			recycleScaledBitmap();
+			scaledBitmap = Bitmap.createScaledBitmap(source, width, height,
+					true);
+			scaledSource = source;
+			scaledWidth = width;
+			scaledHeight = height;
+		}
+		return scaledBitmap;
+	}
+
+	/**
+	 * Release the cached bitmap, it will be made again the next time the layer
+	 * is drawn.
+	 */
+	public void recycleScaledBitmap() {
+		if (scaledBitmap != null && scaledBitmap != scaledSource) {
+			scaledBitmap.recycle();
+		}
+		scaledBitmap = null;
+		scaledSource = null;
+	}
+
+	/**
+	 * Set the scroll factors of this layer.
+	 *
+	 * @param scrollFactorX
+	 *            The horizontal scroll factor
+	 * @param scrollFactorY
+	 *            The vertical scroll factor
+	 */
+	public void setScrollFactor(float scrollFactorX, float scrollFactorY) {
+		this.scrollFactorX = scrollFactorX;
+		this.scrollFactorY = scrollFactorY;
+	}
+
+	/**
+	 * Get the horizontal scroll factor
+	 *
+	 * @return the horizontal scroll factor
+	 */
+	public float getScrollFactorX() {
+		return scrollFactorX;
+	}
+
+	/**
+	 * Get the vertical scroll factor
+	 *
+	 * @return the vertical scroll factor
+	 */
+	public float getScrollFactorY() {
+		return scrollFactorY;
+	}
+
+	/**
+	 * Set if the image must be repeated horizontally and/or vertically
+	 *
+	 * @param tileHorizontal
+	 *            True to repeat the image horizontally
+	 * @param tileVertical
+	 *            True to repeat the image vertically
+	 */
+	public void setTiling(boolean tileHorizontal, boolean tileVertical) {
+		this.tileHorizontal = tileHorizontal;
+		this.tileVertical = tileVertical;
+	}
+
+	/**
+	 * Scale the image so its height is exactly the height of the screen. The
+	 * zoom factor of the viewport will be ignored for this layer.
+	 *
+	 * @param fitScreenHeight
+	 *            True to fit the image on the screen height
+	 */
+	public void setFitScreenHeight(boolean fitScreenHeight) {
+		this.fitScreenHeight = fitScreenHeight;
+	}
+
+	/**
+	 * Draw this layer in front of the GameObjects, for example for fog or
+	 * leaves that scroll faster than the game world.
+	 *
+	 * @param foreground
+	 *            True to draw in front of the GameObjects, false to draw
+	 *            behind them (default)
+	 */
+	public void setForeground(boolean foreground) {
+		this.foreground = foreground;
+	}
+
+	/**
+	 * Check if this layer is drawn in front of the GameObjects
+	 *
+	 * @return True if this is a foreground layer
+	 */
+	public boolean isForeground() {
+		return foreground;
+	}
+
+	/**
+	 * Set the position of the layer in the game world. The image starts at
+	 * this position when the viewport is at 0,0.
+	 *
+	 * @param offsetX
+	 *            The x position
+	 * @param offsetY
+	 *            The y position
+	 */
+	public void setOffset(int offsetX, int offsetY) {
+		this.offsetX = offsetX;
+		this.offsetY = offsetY;
+	}
+
+	/**
+	 * Get the sprite of this layer
+	 *
+	 * @return The sprite with the original image
+	 */
+	public Sprite getSprite() {
+		return sprite;
+	}
+}
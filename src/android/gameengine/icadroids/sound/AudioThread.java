@@ -0,0 +1,50 @@
+package android.gameengine.icadroids.sound;
+
+/**
+ * The thread that plays the sounds of GameSound. It takes the commands from
+ * the queue and runs them, so the SoundPool is never called by the game
+ * thread.
+ * 
+ */
+final class AudioThread extends Thread {
+
+	private final SoundCommandQueue queue;
+
+	/**
+	 * Make a new audio thread
+	 * 
+	 * @param queue
+	 *            The queue with the commands
+	 */
+	AudioThread(SoundCommandQueue queue) {
+		super("GameSound");
+		this.queue = queue;
+		setDaemon(true);
+	}
+
+	@Override
+	public void run() {
+		android.os.Process
+				.setThreadPriority(android.os.Process.THREAD_PRIORITY_AUDIO);
+		int[] command = new int[3];
+		try {
+			while (true) {
+				String name = queue.take(command);
+				try {
+					if (!GameSound.execute(command[0], command[1], command[2],
+							name)) {
+						return;
+					}
+				} catch (RuntimeException e) {
+					// a bad sound must not stop the thread, the game may be
+					// waiting for room in the queue
+					System.out.println("GameSound: command " + command[0]
+							+ " failed, " + e);
+				}
+			}
+		} catch (InterruptedException e) {
+			// stopped by GameSound.cleanup() without a release command
+			GameSound.release();
+		}
+	}
+}
@@ -1,168 +1,312 @@
-package android.gameengine.icadroids.sound;
-
-import java.util.ArrayList;
-import java.util.HashMap;
-import android.content.Context;
-import android.gameengine.icadroids.engine.GameEngine;
-import android.media.AudioManager;
-import android.media.SoundPool;
-
-/**
- * This class features a number of static methods that can be used to add sound
- * to your game.
- * 
- * This class should be used when you want to play short sound clips, the length
- * of these clips should not be longer than about 5 seconds. For larger files,
- * use the MusicPlayer class.
- * 
- * @author Leon & Lex
- * 
- */
-public final class GameSound {
-
-	private static SoundPool soundPool;
-	private static Context context;
-	private static HashMap<Integer, Integer> soundPoolMap;
-	private static HashMap<Integer, Integer> currentSoundMap;
-	private static AudioManager audioManager;
-	private static boolean hasPlayed = false;
-	private static int maxStreams = 20;
-	private static ArrayList<Integer> soundList;
-
-	/**
-	 * Constructs an instance of this class.
-	 */
-	public GameSound() {
-		initSounds(GameEngine.getAppContext());
-	}
-
-	/**
-	 * Initializes the storage for the sounds.
-	 * 
-	 * @param theContext
-	 *            The Application context.
-	 */
-	public static final void initSounds(Context theContext) {
-		context = theContext;
-		soundList = new ArrayList<Integer>();
-		soundPool = new SoundPool(maxStreams, AudioManager.STREAM_MUSIC, 0);
-		soundPoolMap = new HashMap<Integer, Integer>();
-		currentSoundMap = new HashMap<Integer, Integer>();
-		audioManager = (AudioManager) context
-				.getSystemService(Context.AUDIO_SERVICE);
-	}
-
-	/**
-	 * Adds a new sound to the SoundPool. Call this method to store a sound, you
-	 * can then retrieve the sound from the SoundPool with the playSound
-	 * function.
-	 * 
-	 * @param Index
-	 *            The sound index where the sound will be stored.
-	 * @param SoundID
-	 *            The name of the sound that needs to be stored.
-	 */
-	public static final void addSound(int index, String soundID) {
-		int resID = GameEngine
-				.getAppContext()
-				.getResources()
-				.getIdentifier(soundID, "raw",
-						GameEngine.getAppContext().getPackageName());
-		soundPoolMap.put(index, soundPool.load(context, resID, 1));
-	}
-
-	/**
-	 * Plays a sound that has been added to the SoundPool with addSound
-	 * 
-	 * @param index
-	 *            The Index of the Sound to be played, defined by addSound.
-	 * @param loopSound
-	 *            The amount of times the music should loop, a negative value
-	 *            will result in an endless loop.
-	 */
-	public static final void playSound(int index, int loopSound) {
-		float streamVolume = audioManager
-				.getStreamVolume(AudioManager.STREAM_MUSIC);
-		streamVolume = streamVolume
-				/ audioManager.getStreamMaxVolume(AudioManager.STREAM_MUSIC);
-		int i = soundPool.play(soundPoolMap.get(index), streamVolume,
-				streamVolume, 1, loopSound, 1f);
-		currentSoundMap.put(index, i);
-		soundList.add(i);
-		hasPlayed = true;
-	}
-
-	/**
-	 * Pause a sound, call resumeSound to continue playing the specified sound.
-	 * 
-	 * @param index
-	 *            index of the sound to be paused.
-	 */
-	public static final void pauseSound(int index) {
-		if (currentSoundMap.get(index) != null) {
-			soundPool.pause(currentSoundMap.get(index));
-		}
-	}
-
-	/**
-	 * Pauses all sounds, call resumeSounds to continue playing sounds.
-	 */
-	public static final void pauseSounds() {
-		soundPool.autoPause();
-	}
-
-	/**
-	 * Resumes the specified paused sound.
-	 * 
-	 * @param index
-	 *            index of the sound to be resumed
-	 */
-	public static final void resumeSound(int index) {
-		if (currentSoundMap.get(index) != null) {
-			soundPool.resume(currentSoundMap.get(index));
-		}
-	}
-
-	/**
-	 * Resumes all paused sounds.
-	 */
-	public static final void resumeSounds() {
-		soundPool.autoResume();
-	}
-
-	/**
-	 * Stops a sound
-	 * 
-	 * @param index
-	 *            index of the sound to be stopped
-	 */
-	public static final void stopSound(int index) {
-		if (currentSoundMap.get(index) != null) {
-			soundPool.stop(currentSoundMap.get(index));
-		}
-	}
-
-	/**
-	 * Stops all sounds.
-	 */
-	public static final void stopSounds() {
-		if (soundList != null) {
-			for (int i = 0; i < soundList.size(); i++) {
-				soundPool.stop(soundList.get(i));
-			}
-		}
-	}
-
-	/**
-	 * Deallocates the resources and Instance of GameSound.This is called
-	 * automatically when the application is be closed.
-	 */
-	public static final void cleanup() {
-		if (hasPlayed) {
-			soundPool.release();
-			soundPool = null;
-			soundPoolMap.clear();
-			audioManager.unloadSoundEffects();
-		}
-	}
-}
+package android.gameengine.icadroids.sound;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.gameengine.icadroids.engine.GameEngine;
+import android.gameengine.icadroids.engine.ResourceRegistry;
+import android.media.AudioManager;
+import android.media.SoundPool;
+import android.util.SparseIntArray;
+
+/**
+ * This class features a number of static methods that can be used to add sound
+ * to your game.
+ * 
+ * This class should be used when you want to play short sound clips, the length
+ * of these clips should not be longer than about 5 seconds. For larger files,
+ * use the MusicPlayer class.
+ * 
+ * The methods only put a command in a queue and return at once. The sounds are
+ * played by a separate audio thread, so playing many sounds doesn't slow down
+ * the game.
+ * 
+ * @author Leon & Lex
+ * 
+ */
+public final class GameSound {
+
+	private static SoundPool soundPool;
+	private static Context context;
+	private static SparseIntArray soundPoolMap;
+	private static SparseIntArray currentSoundMap;
+	private static AudioManager audioManager;
+	private static int maxStreams = 20;
+	/**
+	 * The last started streams. The SoundPool never plays more than
+	 * maxStreams sounds at once, so older streams have already been stopped.
+	 */
+	private static int[] soundList;
+	private static int soundListIndex = 0;
+
+	/**
+	 * The maximum number of commands that wait for the audio thread
+	 */
+	public static int queueSize = 256;
+	/**
+	 * The longest time in milliseconds a command other than playing a sound
+	 * waits for room in a full queue
+	 */
+	private static final long PUT_TIMEOUT = 1000;
+	private static SoundCommandQueue queue;
+	private static AudioThread audioThread;
+
+	/**
+	 * The volume of the music stream, read again when it has changed
+	 */
+	private static float volume;
+	private static volatile boolean volumeChanged = true;
+	private static final String VOLUME_CHANGED_ACTION = "android.media.VOLUME_CHANGED_ACTION";
+	private static final BroadcastReceiver volumeReceiver = new BroadcastReceiver() {
+		@Override
+		public void onReceive(Context context, Intent intent) {
+			volumeChanged = true;
+		}
+	};
+
+	/**
+	 * The commands of the audio thread
+	 */
+	private static final int ADD = 0, PLAY = 1, PAUSE = 2, PAUSE_ALL = 3,
+			RESUME = 4, RESUME_ALL = 5, STOP = 6, STOP_ALL = 7, RELEASE = 8;
+
+	/**
+	 * Constructs an instance of this class.
+	 */
+	public GameSound() {
+		initSounds(GameEngine.getAppContext());
+	}
+
+	/**
+	 * Initializes the storage for the sounds and starts the audio thread.
+	 * 
+	 * @param theContext
+	 *            The Application context.
+	 */
+	public static final void initSounds(Context theContext) {
+		if (audioThread != null) {
+			// the old thread must be done with the old SoundPool
+			cleanup();
+			try {
+				audioThread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		context = theContext;
+		soundList = new int[maxStreams];
+		soundListIndex = 0;
+		soundPool = new SoundPool(maxStreams, AudioManager.STREAM_MUSIC, 0);
+		soundPoolMap = new SparseIntArray();
+		currentSoundMap = new SparseIntArray();
+		audioManager = (AudioManager) context
+				.getSystemService(Context.AUDIO_SERVICE);
+		volumeChanged = true;
+		context.registerReceiver(volumeReceiver, new IntentFilter(
+				VOLUME_CHANGED_ACTION));
+
+		queue = new SoundCommandQueue(queueSize);
+		audioThread = new AudioThread(queue);
+		audioThread.start();
+	}
+
+	/**
+	 * Put a command in the queue of the audio thread. Only playing a sound is
+	 * dropped when the queue is full, the other commands wait for room.
+	 */
+	private static void send(int command, int index, int value, String name) {
+		if (queue != null) {
+			if (command == PLAY) {
+				queue.offer(command, index, value, name);
+			} else if (!queue.put(command, index, value, name, PUT_TIMEOUT)) {
+				System.out.println("GameSound: the audio thread is not "
+						+ "responding, command " + command + " is lost");
+			}
+		}
+	}
+
+	/**
+	 * Adds a new sound to the SoundPool. Call this method to store a sound, you
+	 * can then retrieve the sound from the SoundPool with the playSound
+	 * function.
+	 * 
+	 * @param Index
+	 *            The sound index where the sound will be stored.
+	 * @param SoundID
+	 *            The name of the sound that needs to be stored.
+	 */
+	public static final void addSound(int index, String soundID) {
+		send(ADD, index, 0, soundID);
+	}
+
+	/**
+	 * Plays a sound that has been added to the SoundPool with addSound
+	 * 
+	 * @param index
+	 *            The Index of the Sound to be played, defined by addSound.
+	 * @param loopSound
+	 *            The amount of times the music should loop, a negative value
+	 *            will result in an endless loop.
+	 */
+	public static final void playSound(int index, int loopSound) {
+		send(PLAY, index, loopSound, null);
+	}
+
+	/**
+	 * Pause a sound, call resumeSound to continue playing the specified sound.
+	 * 
+	 * @param index
+	 *            index of the sound to be paused.
+	 */
+	public static final void pauseSound(int index) {
+		send(PAUSE, index, 0, null);
+	}
+
+	/**
+	 * Pauses all sounds, call resumeSounds to continue playing sounds.
+	 */
+	public static final void pauseSounds() {
+		send(PAUSE_ALL, 0, 0, null);
+	}
+
+	/**
+	 * Resumes the specified paused sound.
+	 * 
+	 * @param index
+	 *            index of the sound to be resumed
+	 */
+	public static final void resumeSound(int index) {
+		send(RESUME, index, 0, null);
+	}
+
+	/**
+	 * Resumes all paused sounds.
+	 */
+	public static final void resumeSounds() {
+		send(RESUME_ALL, 0, 0, null);
+	}
+
+	/**
+	 * Stops a sound
+	 * 
+	 * @param index
+	 *            index of the sound to be stopped
+	 */
+	public static final void stopSound(int index) {
+		send(STOP, index, 0, null);
+	}
+
+	/**
+	 * Stops all sounds.
+	 */
+	public static final void stopSounds() {
+		send(STOP_ALL, 0, 0, null);
+	}
+
+	/**
+	 * Get the number of sound commands that were dropped because the game
+	 * sent them faster than the audio thread could play them. Only the
+	 * commands that play a sound are dropped, unless the audio thread stops
+	 * responding.
+	 * 
+	 * @return The number of dropped commands
+	 */
+	public static final int getDroppedCommands() {
+		return queue == null ? 0 : queue.getDroppedCommands();
+	}
+
+	/**
+	 * Deallocates the resources and Instance of GameSound.This is called
+	 * automatically when the application is be closed.
+	 */
+	public static final void cleanup() {
+		if (queue != null) {
+			context.unregisterReceiver(volumeReceiver);
+			// the audio thread releases the SoundPool and stops, also when
+			// it is interrupted because it did not take the command in time
+			if (!queue.put(RELEASE, 0, 0, null, PUT_TIMEOUT)) {
+				audioThread.interrupt();
+			}
+			queue = null;
+		}
+	}
+
+	/**
+	 * <b>This method is called by the audio thread</b> when it stops, it
+	 * releases the SoundPool.
+	 */
+	static void release() {
+		soundPool.release();
+		soundPoolMap.clear();
+		audioManager.unloadSoundEffects();
+	}
+
+	/**
+	 * <b>This method is called by the audio thread</b>, it runs a command
+	 * from the queue.
+	 * 
+	 * @return False when the audio thread must stop
+	 */
+	static boolean execute(int command, int index, int value, String name) {
+		int streamID;
+		switch (command) {
+		case ADD:
+			int resID = ResourceRegistry.getId(context, name, "raw");
+			soundPoolMap.put(index, soundPool.load(context, resID, 1));
+			break;
+		case PLAY:
+			if (volumeChanged) {
+				volumeChanged = false;
+				volume = (float) audioManager
+						.getStreamVolume(AudioManager.STREAM_MUSIC)
+						/ audioManager.getStreamMaxVolume(AudioManager.STREAM_MUSIC);
+			}
+			streamID = soundPool.play(soundPoolMap.get(index), volume, volume,
+					1, value, 1f);
+			currentSoundMap.put(index, streamID);
+			soundList[soundListIndex] = streamID;
+			soundListIndex = (soundListIndex + 1) % soundList.length;
+			break;
+		case PAUSE:
+			streamID = currentSoundMap.get(index);
+			if (streamID != 0) {
+				soundPool.pause(streamID);
+			}
+			break;
+		case PAUSE_ALL:
+			soundPool.autoPause();
+			break;
+		case RESUME:
+			streamID = currentSoundMap.get(index);
+			if (streamID != 0) {
+				soundPool.resume(streamID);
+			}
+			break;
+		case RESUME_ALL:
+			// the volume may have changed while the game was paused
+			volumeChanged = true;
+			soundPool.autoResume();
+			break;
+		case STOP:
+			streamID = currentSoundMap.get(index);
+			if (streamID != 0) {
+				soundPool.stop(streamID);
+			}
+			break;
+		case STOP_ALL:
+			for (int i = 0; i < soundList.length; i++) {
+				if (soundList[i] != 0) {
+					soundPool.stop(soundList[i]);
+				}
+			}
+			break;
+		case RELEASE:
+			release();
+			return false;
+		default:
+			break;
+		}
+		return true;
+	}
+}
@@ -1,93 +1,220 @@
-package android.gameengine.icadroids.sound;
-
-import java.util.HashSet;
-import java.io.IOException;
-import android.gameengine.icadroids.engine.GameEngine;
-import android.media.AudioManager;
-import android.media.MediaPlayer;
-import android.net.Uri;
-import android.util.Log;
-
-/**
- * This class features a number of static methods that can be used to add music
- * to your game.
- * 
- * This class should be used when you want to play long sound clips or
- * background music. For short soundclips, use the GameSound class.
- * 
- * @author Lex & Leon
- * 
- */
-public final class MusicPlayer {
-
-	private static HashSet<MediaPlayer> mpSet = new HashSet<MediaPlayer>();
-
-	/**
-	 * Plays the specified music.
-	 * 
-	 * @param resId
-	 *            The name of the music that needs to played.
-	 */
-	public static void play(String resId, boolean loop) {
-		try {
-			MediaPlayer mp = new MediaPlayer();
-			int resID = GameEngine.getAppContext().getResources()
-					.getIdentifier(resId, "raw",
-							GameEngine.getAppContext().getPackageName());
-			mp.setDataSource(GameEngine.getAppContext(),
-					Uri.parse("android.resource://android.GameAPI.ICA_DROID/"	+ resID));
-			mp.setAudioStreamType(AudioManager.STREAM_MUSIC);
-			if (loop) {
-				mp.setLooping(true);
-			} else {
-				mp.setOnCompletionListener(new MediaPlayer.OnCompletionListener() {
-					public void onCompletion(MediaPlayer mp) {
-						mpSet.remove(mp);
-						mp.stop();
-						mp.release();
-					}
-				});
-			}
-			mp.prepare();
-			mpSet.add(mp);
-			mp.start();
-		} catch (IOException e) {
-			Log.wtf("MusicPlayer", e);
-		}
-	}
-
-	/**
-	 * Stop playing music.
-	 */
-	public static void stop() {
-		for (MediaPlayer mp : mpSet) {
-			if (mp != null) {
-				mp.stop();
-				mp.release();
-			}
-		}
-		mpSet.clear();
-	}
-
-	/**
-	 * Pauses all playing music, call resumeAll to continue playing music.
-	 */
-	public static void pauseAll() {
-		for (MediaPlayer mp : mpSet) {
-			if (mp != null) {
-				mp.pause();
-			}
-		}
-	}
-
-	/**
-	 * Resumes playing all paused music.
-	 */
-	public static void resumeAll() {
-		for (MediaPlayer mp : mpSet) {
-			if (mp != null) {
-				mp.start();
-			}
-		}
-	}
-}
\ No newline at end of file
+package android.gameengine.icadroids.sound;
+
+import android.content.Context;
+import android.gameengine.icadroids.engine.GameEngine;
+import android.gameengine.icadroids.engine.ResourceRegistry;
+
+/**
+ * This class features a number of static methods that can be used to add music
+ * to your game.
+ * 
+ * This class should be used when you want to play long sound clips or
+ * background music. For short soundclips, use the GameSound class.
+ * 
+ * The music is prepared in the background, so starting music never stops the
+ * game. Use preload() to prepare music before it is needed, then play() starts
+ * it at once. A small pool of players is reused for all music, and
+ * crossfade() fades from the current music to new music.
+ * 
+ * @author Lex & Leon
+ * 
+ */
+public final class MusicPlayer {
+
+	/**
+	 * The number of players in the pool, the number of pieces of music that
+	 * can be playing or preloaded at the same time. Preloading never stops
+	 * music that is playing.
+	 */
+	public static final int POOL_SIZE = 3;
+
+	private static final MusicTrack[] tracks = new MusicTrack[POOL_SIZE];
+	static {
+		for (int i = 0; i < POOL_SIZE; i++) {
+			tracks[i] = new MusicTrack();
+		}
+	}
+
+	/**
+	 * Prepares music in the background, so it starts at once when play() is
+	 * called.
+	 * 
+	 * @param resId
+	 *            The name of the music
+	 */
+	public static synchronized void preload(String resId) {
+		if (findTrack(resId, false) == null) {
+			openTrack(resId);
+		}
+	}
+
+	/**
+	 * Plays the specified music. When the music is not preloaded, it starts
+	 * when it has been prepared in the background.
+	 * 
+	 * @param resId
+	 *            The name of the music that needs to played.
+	 * @param loop
+	 *            True to play the music again and again
+	 */
+	public static synchronized void play(String resId, boolean loop) {
+		MusicTrack track = findTrack(resId, true);
+		if (track == null) {
+			track = openTrack(resId);
+		}
+		if (track != null) {
+			track.loop = loop;
+			track.start();
+		}
+	}
+
+	/**
+	 * Fades out all playing music and fades in the specified music.
+	 * 
+	 * @param resId
+	 *            The name of the music that needs to played.
+	 * @param loop
+	 *            True to play the music again and again
+	 * @param duration
+	 *            The length of the fade in milliseconds
+	 */
+	public static synchronized void crossfade(String resId, boolean loop,
+			int duration) {
+		for (int i = 0; i < POOL_SIZE; i++) {
+			MusicTrack track = tracks[i];
+			if (track.state == MusicTrack.PLAYING
+					&& !resId.equals(track.name)) {
+				track.fade(0, duration, true);
+			} else if (track.state == MusicTrack.PREPARING
+					&& track.startWhenPrepared) {
+				track.free();
+			}
+		}
+		// music that is already playing fades back in
+		MusicTrack track = findTrack(resId, false);
+		if (track == null) {
+			track = openTrack(resId);
+		}
+		if (track != null) {
+			track.loop = loop;
+			if (track.state != MusicTrack.PLAYING) {
+				track.volume = 0;
+			}
+			track.fade(1, duration, false);
+			track.start();
+		}
+	}
+
+	/**
+	 * <b>This method is automatically called by the GameEngine</b> every
+	 * update, it changes the volume of fading music. Fades follow the game
+	 * time, so they take as many updates in a replay.
+	 * 
+	 * @param stepNanos
+	 *            The step the world was updated with, in nanoseconds
+	 */
+	public static synchronized void update(long stepNanos) {
+		for (int i = 0; i < POOL_SIZE; i++) {
+			if (tracks[i].isFading()) {
+				tracks[i].updateFade(stepNanos);
+			}
+		}
+	}
+
+	/**
+	 * Stop playing music.
+	 */
+	public static synchronized void stop() {
+		for (int i = 0; i < POOL_SIZE; i++) {
+			tracks[i].free();
+		}
+	}
+
+	/**
+	 * Pauses all playing music, call resumeAll to continue playing music.
+	 */
+	public static synchronized void pauseAll() {
+		for (int i = 0; i < POOL_SIZE; i++) {
+			MusicTrack track = tracks[i];
+			if (track.state == MusicTrack.PLAYING || track.startWhenPrepared) {
+				track.pause();
+				track.pausedByGame = true;
+			}
+		}
+	}
+
+	/**
+	 * Resumes playing all paused music.
+	 */
+	public static synchronized void resumeAll() {
+		for (int i = 0; i < POOL_SIZE; i++) {
+			if (tracks[i].pausedByGame) {
+				tracks[i].start();
+			}
+		}
+	}
+
+	/**
+	 * Stops all music and releases the players. The players are made again
+	 * when music is played.
+	 */
+	public static synchronized void release() {
+		for (int i = 0; i < POOL_SIZE; i++) {
+			tracks[i].release();
+		}
+	}
+
+	/**
+	 * Find the track of the given music
+	 * 
+	 * @param resId
+	 *            The name of the music
+	 * @param notPlaying
+	 *            Only find tracks that are not playing yet
+	 * @return The track, null when the music is not in the pool
+	 */
+	private static MusicTrack findTrack(String resId, boolean notPlaying) {
+		for (int i = 0; i < POOL_SIZE; i++) {
+			MusicTrack track = tracks[i];
+			if (track.state != MusicTrack.IDLE && resId.equals(track.name)
+					&& !(notPlaying && track.state == MusicTrack.PLAYING)) {
+				return track;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Take a free track, or the track that wasn't used for the longest time,
+	 * and start preparing the music. Tracks that are in use (playing music)
+	 * are never taken.
+	 * 
+	 * @return The track, null when the music can't be opened or all tracks
+	 *         are in use
+	 */
+	private static MusicTrack openTrack(String resId) {
+		MusicTrack oldest = null;
+		for (int i = 0; i < POOL_SIZE; i++) {
+			MusicTrack track = tracks[i];
+			if (track.state == MusicTrack.IDLE) {
+				oldest = track;
+				break;
+			}
+			if (!track.isInUse()
+					&& (oldest == null || track.lastUsed < oldest.lastUsed)) {
+				oldest = track;
+			}
+		}
+		if (oldest == null) {
+			System.out.println("MusicPlayer: all players are in use, "
+					+ "can't open " + resId);
+			return null;
+		}
+		Context context = GameEngine.getAppContext();
+		if (oldest.open(context, resId, ResourceRegistry.getId(context,
+				resId, "raw"))) {
+			return oldest;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,242 @@
+package android.gameengine.icadroids.sound;
+
+import java.io.IOException;
+
+import android.content.Context;
+import android.media.AudioManager;
+import android.media.MediaPlayer;
+import android.net.Uri;
+
+/**
+ * A MediaPlayer of the pool of the MusicPlayer, with its state. The player is
+ * prepared in the background and is reused for other music when it is done.
+ * 
+ * All fields are guarded by the MusicPlayer class, the callbacks of the
+ * MediaPlayer arrive on another thread.
+ * 
+ */
+final class MusicTrack implements MediaPlayer.OnPreparedListener,
+		MediaPlayer.OnCompletionListener, MediaPlayer.OnErrorListener {
+
+	static final int IDLE = 0, PREPARING = 1, PREPARED = 2, PLAYING = 3,
+			PAUSED = 4;
+
+	private MediaPlayer player;
+	int state = IDLE;
+	/** The name of the music, null when the track is free */
+	String name;
+	boolean loop;
+	/** Start playing as soon as the music is prepared */
+	boolean startWhenPrepared;
+	/** Paused by MusicPlayer.pauseAll(), resumed by resumeAll() */
+	boolean pausedByGame;
+	/** The time the track was last used, the oldest track is reused first */
+	long lastUsed;
+
+	/** The fade of the volume, the fade is done when fadeDuration is 0 */
+	float volume = 1;
+	private float fadeFrom, fadeTo;
+	/** The game time since the fade started, in nanoseconds */
+	private long fadeTime;
+	private int fadeDuration;
+	/** Stop the track when the fade is done */
+	private boolean stopAfterFade;
+
+	/**
+	 * Start preparing music in the background
+	 * 
+	 * @return False when the music can't be opened, the track is free again
+	 */
+	boolean open(Context context, String name, int resID) {
+		if (player == null) {
+			player = new MediaPlayer();
+			player.setOnPreparedListener(this);
+			player.setOnCompletionListener(this);
+			player.setOnErrorListener(this);
+		} else {
+			player.reset();
+		}
+		this.name = name;
+		loop = false;
+		startWhenPrepared = false;
+		pausedByGame = false;
+		volume = 1;
+		fadeDuration = 0;
+		stopAfterFade = false;
+		lastUsed = System.currentTimeMillis();
+		try {
+			player.setDataSource(context,
+					Uri.parse("android.resource://" + context.getPackageName()
+							+ "/" + resID));
+			player.setAudioStreamType(AudioManager.STREAM_MUSIC);
+			player.prepareAsync();
+			state = PREPARING;
+			return true;
+		} catch (IOException e) {
+			return openFailed(e);
+		} catch (RuntimeException e) {
+			// setDataSource and prepareAsync also throw IllegalStateException,
+			// IllegalArgumentException and SecurityException
+			return openFailed(e);
+		}
+	}
+
+	/**
+	 * Free the track after the music could not be opened
+	 * 
+	 * @return Always false
+	 */
+	private boolean openFailed(Exception e) {
+		System.out.println("MusicPlayer: can't open " + name + ", " + e);
+		free();
+		return false;
+	}
+
+	/**
+	 * Check if the track must not be reused for other music: it is playing,
+	 * it starts as soon as it is prepared or it is paused by the game. Music
+	 * that fades out to stop may be reused.
+	 * 
+	 * @return True when the track is in use
+	 */
+	boolean isInUse() {
+		return (state == PLAYING && !stopAfterFade) || startWhenPrepared
+				|| pausedByGame;
+	}
+
+	/**
+	 * Start playing, or start as soon as the music is prepared
+	 */
+	void start() {
+		lastUsed = System.currentTimeMillis();
+		pausedByGame = false;
+		if (state == PREPARED || state == PAUSED) {
+			player.setLooping(loop);
+			player.setVolume(volume, volume);
+			player.start();
+			state = PLAYING;
+			if (fadeDuration > 0) {
+				// the fade starts with the music
+				fadeTime = 0;
+			}
+		} else if (state == PREPARING) {
+			startWhenPrepared = true;
+		}
+	}
+
+	/**
+	 * Pause the track when it is playing
+	 */
+	void pause() {
+		if (state == PLAYING) {
+			player.pause();
+			state = PAUSED;
+		}
+		startWhenPrepared = false;
+	}
+
+	/**
+	 * Stop the music, the track is free for other music
+	 */
+	void free() {
+		if (player != null && state != IDLE) {
+			player.reset();
+		}
+		state = IDLE;
+		name = null;
+		startWhenPrepared = false;
+		pausedByGame = false;
+		fadeDuration = 0;
+	}
+
+	/**
+	 * Release the MediaPlayer, the track can still be used again
+	 */
+	void release() {
+		if (player != null) {
+			player.release();
+			player = null;
+		}
+		state = IDLE;
+		name = null;
+	}
+
+	/**
+	 * Fade the volume
+	 * 
+	 * @param to
+	 *            The volume at the end of the fade, 0 to 1
+	 * @param duration
+	 *            The length of the fade in milliseconds
+	 * @param stop
+	 *            Free the track at the end of the fade
+	 */
+	void fade(float to, int duration, boolean stop) {
+		fadeFrom = volume;
+		fadeTo = to;
+		fadeTime = 0;
+		fadeDuration = Math.max(1, duration);
+		stopAfterFade = stop;
+	}
+
+	/**
+	 * Move the fade on and set the volume of the current moment of the fade
+	 * 
+	 * @param stepNanos
+	 *            The game time since the previous update in nanoseconds
+	 */
+	void updateFade(long stepNanos) {
+		if (fadeDuration == 0 || state != PLAYING) {
+			return;
+		}
+		fadeTime += stepNanos;
+		float part = Math.min(1, fadeTime / (fadeDuration * 1000000f));
+		volume = fadeFrom + (fadeTo - fadeFrom) * part;
+		player.setVolume(volume, volume);
+		if (part >= 1) {
+			fadeDuration = 0;
+			if (stopAfterFade) {
+				free();
+			}
+		}
+	}
+
+	/**
+	 * Check if the volume is fading
+	 * 
+	 * @return True while the volume fades
+	 */
+	boolean isFading() {
+		return fadeDuration > 0;
+	}
+
+	public void onPrepared(MediaPlayer mp) {
+		synchronized (MusicPlayer.class) {
+			if (mp == player && state == PREPARING) {
+				state = PREPARED;
+				if (startWhenPrepared) {
+					startWhenPrepared = false;
+					start();
+				}
+			}
+		}
+	}
+
+	public void onCompletion(MediaPlayer mp) {
+		synchronized (MusicPlayer.class) {
+			if (mp == player && !loop) {
+				free();
+			}
+		}
+	}
+
+	public boolean onError(MediaPlayer mp, int what, int extra) {
+		synchronized (MusicPlayer.class) {
+			if (mp == player) {
+				System.out.println("MusicPlayer: error " + what + " in " + name);
+				free();
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,150 @@
+package android.gameengine.icadroids.sound;
+
+/**
+ * A bounded queue of sound commands from the game to the audio thread. The
+ * commands are stored in arrays of primitives, so queueing a sound makes no
+ * garbage.
+ * 
+ * Commands that may be lost, like playing a sound, are dropped when the queue
+ * is nearly full, so a game never waits for the audio thread to play sounds.
+ * The last part of the queue is kept for the other commands (adding a sound,
+ * stopping, releasing), they wait for room when even that part is full.
+ * 
+ */
+final class SoundCommandQueue {
+
+	private final int[] commands, indexes, values;
+	private final String[] names;
+	private int head = 0, size = 0;
+	private int droppedCommands = 0;
+	/**
+	 * The size of the queue above which commands that may be lost are dropped
+	 */
+	private final int dropSize;
+
+	/**
+	 * Make a new queue
+	 * 
+	 * @param capacity
+	 *            The maximum number of waiting commands
+	 */
+	SoundCommandQueue(int capacity) {
+		commands = new int[capacity];
+		indexes = new int[capacity];
+		values = new int[capacity];
+		names = new String[capacity];
+		dropSize = Math.max(1, capacity - Math.max(1, capacity / 4));
+	}
+
+	/**
+	 * Add a command that may be lost to the queue, it is dropped when the
+	 * queue is nearly full
+	 * 
+	 * @param command
+	 *            The command
+	 * @param index
+	 *            The index of the sound
+	 * @param value
+	 *            An extra value, like the number of loops
+	 * @param name
+	 *            A resource name, or null
+	 * @return False when the queue was full and the command was dropped
+	 */
+	synchronized boolean offer(int command, int index, int value, String name) {
+		if (size >= dropSize) {
+			droppedCommands++;
+			return false;
+		}
+		add(command, index, value, name);
+		return true;
+	}
+
+	/**
+	 * Add a command that must not be lost to the queue, wait when the queue is
+	 * full
+	 * 
+	 * @param command
+	 *            The command
+	 * @param index
+	 *            The index of the sound
+	 * @param value
+	 *            An extra value, like the number of loops
+	 * @param name
+	 *            A resource name, or null
+	 * @param timeoutMillis
+	 *            The longest time to wait, when the audio thread is stuck
+	 * @return False when the command was dropped after waiting
+	 */
+	synchronized boolean put(int command, int index, int value, String name,
+			long timeoutMillis) {
+		long end = System.currentTimeMillis() + timeoutMillis;
+		while (size == commands.length) {
+			long wait = end - System.currentTimeMillis();
+			if (wait <= 0) {
+				droppedCommands++;
+				return false;
+			}
+			try {
+				wait(wait);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				droppedCommands++;
+				return false;
+			}
+		}
+		add(command, index, value, name);
+		return true;
+	}
+
+	/**
+	 * Add a command at the tail, there must be room
+	 */
+	private void add(int command, int index, int value, String name) {
+		int tail = (head + size) % commands.length;
+		commands[tail] = command;
+		indexes[tail] = index;
+		values[tail] = value;
+		names[tail] = name;
+		size++;
+		if (size == 1) {
+			// the audio thread may be waiting for an empty queue
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Take the oldest command, wait when the queue is empty
+	 * 
+	 * @param out
+	 *            Filled with the command, the index and the value
+	 * @return The resource name of the command, or null
+	 * @throws InterruptedException
+	 *             When the thread is interrupted while waiting
+	 */
+	synchronized String take(int[] out) throws InterruptedException {
+		while (size == 0) {
+			wait();
+		}
+		out[0] = commands[head];
+		out[1] = indexes[head];
+		out[2] = values[head];
+		String name = names[head];
+		names[head] = null;
+		head = (head + 1) % commands.length;
+		if (size-- == commands.length) {
+			// threads may be waiting for room
+			notifyAll();
+		}
+		return name;
+	}
+
+	/**
+	 * Get the number of commands that were dropped because the queue was
+	 * full
+	 * 
+	 * @return The number of dropped commands
+	 */
+	synchronized int getDroppedCommands() {
+		return droppedCommands;
+	}
+}
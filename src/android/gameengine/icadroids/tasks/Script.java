@@ -0,0 +1,239 @@
+package android.gameengine.icadroids.tasks;
+
+import java.util.ArrayList;
+
+import android.gameengine.icadroids.objects.MoveableGameObject;
+
+/**
+ * A Script is a list of steps that a GameObject does one after another, like
+ * 'wait 500 ms, move to (100, 200), wait for a collision with the player'.
+ * Instead of alarm IDs and counters in update(), you write the sequence once:
+ * 
+ * <pre>
+ * Script patrol = new Script().waitMillis(500).moveTo(100, 200, 4)
+ * 		.moveTo(300, 200, 4).loop();
+ * ...
+ * enemy.startScript(patrol);
+ * </pre>
+ * 
+ * A script holds no state of a running task, so one script can be shared by
+ * thousands of objects. Make your scripts once, for example in initialize(),
+ * and don't change them while they run.
+ * 
+ */
+public class Script {
+	/**
+	 * The steps of the script
+	 */
+	private final ArrayList<ScriptStep> steps = new ArrayList<ScriptStep>();
+	/**
+	 * True when the script starts again after the last step
+	 */
+	private boolean looping = false;
+
+	/**
+	 * Add a step to the script
+	 * 
+	 * @param step
+	 *            The step
+	 * @return This script
+	 */
+	public Script then(ScriptStep step) {
+		steps.add(step);
+		return this;
+	}
+
+	/**
+	 * Add a step that waits a number of updates
+	 * 
+	 * @param updates
+	 *            The number of updates
+	 * @return This script
+	 */
+	public Script waitUpdates(int updates) {
+		return then(new WaitUpdates(updates));
+	}
+
+	/**
+	 * Add a step that waits an amount of game time
+	 * 
+	 * @param millis
+	 *            The time in milliseconds
+	 * @return This script
+	 */
+	public Script waitMillis(long millis) {
+		return then(new WaitNanos(millis * 1000000L));
+	}
+
+	/**
+	 * Add a step that waits an amount of game time
+	 * 
+	 * @param nanos
+	 *            The time in nanoseconds
+	 * @return This script
+	 */
+	public Script waitNanos(long nanos) {
+		return then(new WaitNanos(nanos));
+	}
+
+	/**
+	 * Add a step that moves the owner of the task to a point. The owner must
+	 * be a MoveableGameObject. It stops at the point.
+	 * 
+	 * @param x
+	 *            The x coordinate of the point (the left of the object)
+	 * @param y
+	 *            The y coordinate of the point (the top of the object)
+	 * @param speed
+	 *            The speed in pixels per update
+	 * @return This script
+	 */
+	public Script moveTo(double x, double y, double speed) {
+		return then(new MoveTo(x, y, speed));
+	}
+
+	/**
+	 * Add a step that waits until the owner of the task collides with an
+	 * object of the given class. The owner must be a MoveableGameObject.
+	 * 
+	 * @param objectClass
+	 *            the class name with .class behind it.
+	 * @return This script
+	 */
+	public Script waitForCollision(Class<?> objectClass) {
+		return then(new WaitForCollision(objectClass));
+	}
+
+	/**
+	 * Let the script start again after the last step, until the task is
+	 * cancelled or its owner is deleted
+	 * 
+	 * @return This script
+	 */
+	public Script loop() {
+		looping = true;
+		return this;
+	}
+
+	/**
+	 * Check if the script starts again after the last step
+	 * 
+	 * @return True when the script loops
+	 */
+	public boolean isLooping() {
+		return looping;
+	}
+
+	/**
+	 * Get the number of steps
+	 * 
+	 * @return The number of steps
+	 */
+	public int size() {
+		return steps.size();
+	}
+
+	/**
+	 * Get a step
+	 * 
+	 * @param index
+	 *            The index of the step
+	 * @return The step
+	 */
+	public ScriptStep get(int index) {
+		return steps.get(index);
+	}
+
+	/**
+	 * Waits a number of updates
+	 */
+	private static final class WaitUpdates extends ScriptStep {
+		private final int updates;
+
+		WaitUpdates(int updates) {
+			this.updates = updates;
+		}
+
+		@Override
+		protected void start(Task task) {
+			task.counter = updates;
+		}
+
+		@Override
+		protected boolean update(Task task) {
+			return task.counter-- <= 0;
+		}
+	}
+
+	/**
+	 * Waits an amount of game time
+	 */
+	private static final class WaitNanos extends ScriptStep {
+		private final long nanos;
+
+		WaitNanos(long nanos) {
+			this.nanos = nanos;
+		}
+
+		@Override
+		protected void start(Task task) {
+			task.time = task.getGameTime() + nanos;
+		}
+
+		@Override
+		protected boolean update(Task task) {
+			return task.getGameTime() >= task.time;
+		}
+	}
+
+	/**
+	 * Moves the owner to a point
+	 */
+	private static final class MoveTo extends ScriptStep {
+		private final double x, y, speed;
+
+		MoveTo(double x, double y, double speed) {
+			this.x = x;
+			this.y = y;
+			this.speed = speed;
+		}
+
+		@Override
+		protected void start(Task task) {
+			MoveableGameObject owner = (MoveableGameObject) task.getOwner();
+			owner.moveTowardsAPoint(x, y);
+			owner.setSpeed(speed);
+		}
+
+		@Override
+		protected boolean update(Task task) {
+			MoveableGameObject owner = (MoveableGameObject) task.getOwner();
+			double deltaX = x - owner.getFullX();
+			double deltaY = y - owner.getFullY();
+			if (deltaX * deltaX + deltaY * deltaY <= speed * speed) {
+				owner.setSpeed(0);
+				owner.setPosition(x, y);
+				return true;
+			}
+			owner.moveTowardsAPoint(x, y);
+			return false;
+		}
+	}
+
+	/**
+	 * Waits for a collision of the owner
+	 */
+	private static final class WaitForCollision extends ScriptStep {
+		private final Class<?> objectClass;
+
+		WaitForCollision(Class<?> objectClass) {
+			this.objectClass = objectClass;
+		}
+
+		@Override
+		protected boolean update(Task task) {
+			return ((MoveableGameObject) task.getOwner())
+					.collidedWith(objectClass);
+		}
+	}
+}
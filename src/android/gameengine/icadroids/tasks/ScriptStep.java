@@ -0,0 +1,34 @@
+package android.gameengine.icadroids.tasks;
+
+/**
+ * One step of a Script, for example 'wait 500 ms' or 'move to a point'. A
+ * step is shared by all tasks that run the script, so it must not keep the
+ * state of a task in its own fields: use the time and counter of the Task
+ * instead.
+ * 
+ * Make your own steps by extending this class, and add them to a script
+ * with Script.then().
+ * 
+ */
+public abstract class ScriptStep {
+
+	/**
+	 * Called once when a task gets to this step, before the first call of
+	 * update(). Override it to set up the step.
+	 * 
+	 * @param task
+	 *            The task that runs the step
+	 */
+	protected void start(Task task) {
+	}
+
+	/**
+	 * Called every update while a task is at this step. When the step is
+	 * finished, the task goes on with the next step in the same update.
+	 * 
+	 * @param task
+	 *            The task that runs the step
+	 * @return True when the step is finished
+	 */
+	protected abstract boolean update(Task task);
+}
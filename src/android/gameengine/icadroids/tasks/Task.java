@@ -0,0 +1,207 @@
+package android.gameengine.icadroids.tasks;
+
+import android.gameengine.icadroids.objects.GameObject;
+
+/**
+ * A Task is a Script that is running for a GameObject. It keeps where the
+ * script is (the current step) and the state of that step, so a script can
+ * wait without a thread: every update the TaskScheduler gives the task a turn
+ * and the task goes on where it stopped.
+ * 
+ * Tasks are started with TaskScheduler.start() or GameObject.startScript() and
+ * are reused when they are finished, so only use a Task in the steps of its
+ * script. Outside the script, use the id that start() returns: an old id never
+ * matches the next script the task runs.
+ * 
+ */
+public final class Task {
+	/**
+	 * A time for the current step, for example the game time a wait ends, in
+	 * nanoseconds. It is 0 when a step starts.
+	 */
+	public long time;
+	/**
+	 * A counter for the current step, for example the updates left to wait.
+	 * It is 0 when a step starts.
+	 */
+	public int counter;
+
+	/**
+	 * The scheduler that runs the task
+	 */
+	final TaskScheduler scheduler;
+	/**
+	 * The place of the task in the scheduler, it never changes
+	 */
+	final int index;
+	/**
+	 * The id of the script run, 0 when the task is not in use
+	 */
+	long id = 0;
+	/**
+	 * The script the task runs
+	 */
+	private Script script;
+	/**
+	 * The GameObject the task runs for, can be null
+	 */
+	private GameObject owner;
+	/**
+	 * The pool generation of the owner when the task started, see
+	 * GameObject.getPoolGeneration()
+	 */
+	private int ownerGeneration;
+	/**
+	 * The index of the current step
+	 */
+	private int step;
+	/**
+	 * False when the task is finished or cancelled
+	 */
+	boolean running;
+
+	/**
+	 * Make a new task, <b>tasks are made by the TaskScheduler</b>
+	 */
+	Task(TaskScheduler scheduler, int index) {
+		this.scheduler = scheduler;
+		this.index = index;
+	}
+
+	/**
+	 * Start running a script
+	 */
+	void start(Script script, GameObject owner, long id) {
+		this.script = script;
+		this.owner = owner;
+		this.id = id;
+		ownerGeneration = owner == null ? 0 : owner.getPoolGeneration();
+		running = true;
+		if (script.size() == 0) {
+			running = false;
+		} else {
+			begin(0);
+		}
+	}
+
+	/**
+	 * Go to a step and start it
+	 */
+	private void begin(int index) {
+		step = index;
+		time = 0;
+		counter = 0;
+		script.get(index).start(this);
+	}
+
+	/**
+	 * Give the task its turn: update the current step and go on with the next
+	 * steps until a step is not finished. A looping script does at most one
+	 * round per update. The task stops when its owner is deleted.
+	 */
+	void run() {
+		if (isOwnerDeleted()) {
+			running = false;
+			return;
+		}
+		int size = script.size();
+		for (int i = 0; running && i < size; i++) {
+			if (!script.get(step).update(this)) {
+				return;
+			}
+			if (!running) {
+				return;
+			}
+			if (step + 1 < size) {
+				begin(step + 1);
+			} else if (script.isLooping()) {
+				begin(0);
+			} else {
+				running = false;
+			}
+		}
+	}
+
+	/**
+	 * Clear the task when it goes back to the pool of the scheduler
+	 */
+	void clear() {
+		script = null;
+		owner = null;
+		id = 0;
+		running = false;
+	}
+
+	/**
+	 * Check if the owner was deleted, or returned to its pool and used again,
+	 * since the task started
+	 */
+	private boolean isOwnerDeleted() {
+		return owner != null
+				&& (!owner.active
+						|| owner.getPoolGeneration() != ownerGeneration);
+	}
+
+	/**
+	 * Stop the task. The scheduler takes it back in the next update. Outside
+	 * the steps of the script, use TaskScheduler.cancel(id).
+	 */
+	public void cancel() {
+		running = false;
+	}
+
+	/**
+	 * Check if the task is running
+	 * 
+	 * @return False when the task is finished or cancelled, or its owner is
+	 *         deleted
+	 */
+	public boolean isRunning() {
+		return running && !isOwnerDeleted();
+	}
+
+	/**
+	 * Get the id of the script run, the id start() returned
+	 * 
+	 * @return The id
+	 */
+	public long getId() {
+		return id;
+	}
+
+	/**
+	 * Get the script of the task
+	 * 
+	 * @return The script
+	 */
+	public Script getScript() {
+		return script;
+	}
+
+	/**
+	 * Get the GameObject the task runs for
+	 * 
+	 * @return The owner, null when the task has no owner
+	 */
+	public GameObject getOwner() {
+		return owner;
+	}
+
+	/**
+	 * Get the step the task is at
+	 * 
+	 * @return The index of the step in the script
+	 */
+	public int getStep() {
+		return step;
+	}
+
+	/**
+	 * Get the game time of the current update
+	 * 
+	 * @return The game time in nanoseconds
+	 */
+	public long getGameTime() {
+		return scheduler.getGameTime();
+	}
+}
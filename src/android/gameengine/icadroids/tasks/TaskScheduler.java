@@ -0,0 +1,239 @@
+package android.gameengine.icadroids.tasks;
+
+import android.gameengine.icadroids.objects.GameObject;
+
+/**
+ * The TaskScheduler runs the scripts of a GameWorld. Every update each
+ * running task gets one turn on the game thread, in the order the tasks were
+ * started; there are no extra threads. A waiting task only checks its wait
+ * condition, so thousands of scripted objects cost one pass over the tasks
+ * per update.
+ * 
+ * Finished tasks go back to a pool, so starting scripts doesn't make garbage
+ * once the pool has grown. Because a task is reused, start() returns an id
+ * instead of the task: cancel(id) and isRunning(id) only see the script run
+ * that id was given to.
+ * 
+ */
+public class TaskScheduler {
+	/**
+	 * The maximum number of finished tasks kept for reuse
+	 */
+	public static int POOL_SIZE = 256;
+
+	/**
+	 * The running tasks, in the order they were started
+	 */
+	private Task[] tasks = new Task[16];
+	private int count = 0;
+	/**
+	 * The finished tasks that can be reused
+	 */
+	private final Task[] free = new Task[POOL_SIZE];
+	private int freeCount = 0;
+	/**
+	 * All tasks that were made and are not thrown away, by index, to find a
+	 * task by its id
+	 */
+	private Task[] all = new Task[16];
+	private int allCount = 0;
+	/**
+	 * The indexes of thrown away tasks, used again for new tasks
+	 */
+	private int[] unusedIndexes = new int[16];
+	private int unusedCount = 0;
+	/**
+	 * The number of scripts that were started, part of the ids
+	 */
+	private int starts = 0;
+	/**
+	 * The game time of the current update in nanoseconds
+	 */
+	private long gameTime = 0;
+
+	/**
+	 * Start running a script. The first step starts now, the task gets its
+	 * first turn the next time the tasks are updated.
+	 * 
+	 * @param script
+	 *            The script
+	 * @param owner
+	 *            The GameObject the script runs for, can be null when the
+	 *            script doesn't use an owner. The task stops when the owner is
+	 *            deleted.
+	 * @return The id of the script run, it can be used to cancel the script.
+	 *         It is never 0.
+	 */
+	public long start(Script script, GameObject owner) {
+		Task task;
+		if (freeCount > 0) {
+			task = free[--freeCount];
+			free[freeCount] = null;
+		} else {
+			task = new Task(this, newIndex());
+			all[task.index] = task;
+		}
+		if (count == tasks.length) {
+			Task[] larger = new Task[count * 2];
+			System.arraycopy(tasks, 0, larger, 0, count);
+			tasks = larger;
+		}
+		tasks[count++] = task;
+		// the number of the start makes the id of a reused task different
+		long id = ((long) ++starts << 32) | task.index;
+		task.start(script, owner, id);
+		return id;
+	}
+
+	/**
+	 * Get an index for a new task
+	 */
+	private int newIndex() {
+		if (unusedCount > 0) {
+			return unusedIndexes[--unusedCount];
+		}
+		if (allCount == all.length) {
+			Task[] larger = new Task[allCount * 2];
+			System.arraycopy(all, 0, larger, 0, allCount);
+			all = larger;
+		}
+		return allCount++;
+	}
+
+	/**
+	 * <b>This method is automatically called by the GameWorld</b> every
+	 * update.
+	 * <p>
+	 * Give every running task a turn and take back the finished tasks.
+	 * 
+	 * @param gameTime
+	 *            The game time of this update in nanoseconds
+	 */
+	public void update(long gameTime) {
+		this.gameTime = gameTime;
+		int started = count;
+		int kept = 0;
+		// tasks that are started during the pass are added at the end, they
+		// are kept but get their turn in the next update
+		for (int i = 0; i < count; i++) {
+			Task task = tasks[i];
+			if (i < started && task.running) {
+				task.run();
+			}
+			if (task.running) {
+				tasks[kept++] = task;
+			} else {
+				release(task);
+			}
+		}
+		for (int i = kept; i < count; i++) {
+			tasks[i] = null;
+		}
+		count = kept;
+	}
+
+	/**
+	 * Put a finished task in the pool, or throw it away when the pool is full
+	 */
+	private void release(Task task) {
+		task.clear();
+		if (freeCount < free.length) {
+			free[freeCount++] = task;
+		} else {
+			all[task.index] = null;
+			if (unusedCount == unusedIndexes.length) {
+				int[] larger = new int[unusedCount * 2];
+				System.arraycopy(unusedIndexes, 0, larger, 0, unusedCount);
+				unusedIndexes = larger;
+			}
+			unusedIndexes[unusedCount++] = task.index;
+		}
+	}
+
+	/**
+	 * Find the task of a script run
+	 * 
+	 * @param id
+	 *            The id start() returned
+	 * @return The task, null when the script is finished, cancelled or its
+	 *         owner is deleted
+	 */
+	public Task getTask(long id) {
+		int index = (int) id;
+		if (index < 0 || index >= allCount) {
+			return null;
+		}
+		Task task = all[index];
+		if (task == null || task.id != id || !task.isRunning()) {
+			return null;
+		}
+		return task;
+	}
+
+	/**
+	 * Cancel a script run. Nothing happens when it is already finished, also
+	 * when its task is running an other script by now.
+	 * 
+	 * @param id
+	 *            The id start() returned
+	 */
+	public void cancel(long id) {
+		Task task = getTask(id);
+		if (task != null) {
+			task.cancel();
+		}
+	}
+
+	/**
+	 * Check if a script run is still running
+	 * 
+	 * @param id
+	 *            The id start() returned
+	 * @return False when the script is finished, cancelled or its owner is
+	 *         deleted
+	 */
+	public boolean isRunning(long id) {
+		return getTask(id) != null;
+	}
+
+	/**
+	 * Cancel all tasks of a GameObject
+	 * 
+	 * @param owner
+	 *            The GameObject
+	 */
+	public void cancelAll(GameObject owner) {
+		for (int i = 0; i < count; i++) {
+			if (tasks[i].getOwner() == owner) {
+				tasks[i].cancel();
+			}
+		}
+	}
+
+	/**
+	 * Cancel all tasks
+	 */
+	public void clear() {
+		for (int i = 0; i < count; i++) {
+			tasks[i].cancel();
+		}
+	}
+
+	/**
+	 * Get the number of running tasks
+	 * 
+	 * @return The number of tasks
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Get the game time of the current update
+	 * 
+	 * @return The game time in nanoseconds
+	 */
+	public long getGameTime() {
+		return gameTime;
+	}
+}
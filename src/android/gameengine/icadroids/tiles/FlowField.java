@@ -0,0 +1,528 @@
+package android.gameengine.icadroids.tiles;
+
+import android.gameengine.icadroids.objects.MoveableGameObject;
+
+/**
+ * A FlowField leads any number of objects to one goal tile, for example a
+ * swarm of enemies that chase the player. Instead of a path search per
+ * object, the field holds for every tile the distance to the goal and the
+ * direction of the next tile towards the goal. An object only looks up the
+ * direction of the tile it is on:
+ * 
+ * <pre>
+ * public void update() {
+ * 	super.update();
+ * 	flowField.steer(this, 4);
+ * }
+ * </pre>
+ * 
+ * Call update() once per game update, for example in the update() of your
+ * game. The field is only computed again when the goal moves to an other tile.
+ * When tiles are changed with GameTiles.changeTile() or Tile.setTileType(),
+ * only the part of the field that depends on those tiles is repaired.
+ * 
+ * Objects move in 8 directions, but never diagonally past the corner of a
+ * wall, like with the Pathfinder. Empty tiles (tile type -1) and tiles that
+ * are not solid are walkable, other tile types can be made walkable with
+ * setWalkable().
+ * 
+ */
+public class FlowField {
+	/**
+	 * The distance of a tile that can't reach the goal
+	 */
+	public static final int UNREACHABLE = Integer.MAX_VALUE;
+	/**
+	 * The direction of a tile without a direction: the goal, walls and tiles
+	 * that can't reach the goal
+	 */
+	public static final int NONE = -1;
+	/**
+	 * The steps of the directions: up, up right, right, down right, down, down
+	 * left, left and up left. The direction in degrees is direction * 45.
+	 */
+	private static final int[] DX = { 0, 1, 1, 1, 0, -1, -1, -1 };
+	private static final int[] DY = { -1, -1, 0, 1, 1, 1, 0, -1 };
+	/**
+	 * The cost of a straight and a diagonal step
+	 */
+	private static final int STRAIGHT = 10, DIAGONAL = 14;
+
+	/**
+	 * The tiles of the field
+	 */
+	private final GameTiles gameTiles;
+	/**
+	 * The walkable tiles of the map
+	 */
+	private final WalkableGrid walkableGrid;
+	/**
+	 * The cells of the walkable grid and its size, copied from the grid
+	 */
+	private boolean[] grid;
+	private int width, height, stride;
+	/**
+	 * The steps to the neighbours of a tile in the grid, per direction
+	 */
+	private final int[] step = new int[8];
+
+	/**
+	 * The distance to the goal per tile, in grid indexes
+	 */
+	private int[] distance = new int[0];
+	/**
+	 * The direction to the next tile per tile, in grid indexes
+	 */
+	private byte[] direction = new byte[0];
+	/**
+	 * The goal tile, and the goal of the current field
+	 */
+	private int goalX = -1, goalY = -1;
+	private int fieldGoal = -1;
+
+	/**
+	 * The open tiles of a computation, a binary heap of distance << 32 |
+	 * index. A tile can be in it more than once, old entries are skipped.
+	 */
+	private long[] heap = new long[256];
+	private int heapSize = 0;
+	/**
+	 * The open tiles of a whole computation, per distance modulo 15. Steps
+	 * cost less than 15, so the open distances always fit in the buckets.
+	 */
+	private final int[][] buckets = new int[DIAGONAL + 1][64];
+	private final int[] bucketSize = new int[DIAGONAL + 1];
+	/**
+	 * The tiles that are cleared when a tile becomes a wall
+	 */
+	private int[] stack = new int[256];
+	private int builds = 0, repairs = 0;
+
+	/**
+	 * Make a new flow field for a tile map. Set the goal with setGoal().
+	 * 
+	 * @param gameTiles
+	 *            The tiles
+	 */
+	public FlowField(GameTiles gameTiles) {
+		this.gameTiles = gameTiles;
+		walkableGrid = new WalkableGrid(gameTiles);
+	}
+
+	/**
+	 * Set the goal tile. The field is computed at the next update().
+	 * 
+	 * @param tileX
+	 *            The x tile number of the goal
+	 * @param tileY
+	 *            The y tile number of the goal
+	 */
+	public void setGoal(int tileX, int tileY) {
+		goalX = tileX;
+		goalY = tileY;
+	}
+
+	/**
+	 * Set the goal at a position in the game world, for example the center
+	 * of the player. The field is computed at the next update().
+	 * 
+	 * @param x
+	 *            The x position in pixels
+	 * @param y
+	 *            The y position in pixels
+	 */
+	public void setGoalPosition(double x, double y) {
+		setGoal((int) Math.floor(x / gameTiles.tileSize),
+				(int) Math.floor(y / gameTiles.tileSize));
+	}
+
+	/**
+	 * Set if the tiles of a tile type are walkable. The field is computed
+	 * again at the next update().
+	 * 
+	 * @param tileType
+	 *            The tile type
+	 * @param walkable
+	 *            True when objects can walk over the tiles
+	 */
+	public void setWalkable(int tileType, boolean walkable) {
+		walkableGrid.setWalkable(tileType, walkable);
+	}
+
+	/**
+	 * Bring the field up to date: compute it when the goal moved to an other
+	 * tile or the map was replaced, and repair it around tiles that were
+	 * changed with changeTile(). Call this once per game update.
+	 */
+	public void update() {
+		int changes = walkableGrid.sync();
+		if (changes < 0) {
+			grid = walkableGrid.cells;
+			width = walkableGrid.width;
+			height = walkableGrid.height;
+			stride = walkableGrid.stride;
+			for (int i = 0; i < 8; i++) {
+				step[i] = DY[i] * stride + DX[i];
+			}
+			if (distance.length != grid.length) {
+				distance = new int[grid.length];
+				direction = new byte[grid.length];
+			}
+			fieldGoal = -1;
+		}
+		int goal = -1;
+		if (goalX >= 0 && goalY >= 0 && goalX < width && goalY < height) {
+			goal = (goalY + 1) * stride + goalX + 1;
+		}
+		if (goal != fieldGoal) {
+			build(goal);
+		} else if (changes > 0 && goal >= 0) {
+			for (int i = 0; i < changes; i++) {
+				repair(walkableGrid.changed[i]);
+				propagate();
+			}
+			repairs++;
+		}
+	}
+
+	/**
+	 * Get the direction of the next tile towards the goal
+	 * 
+	 * @param tileX
+	 *            The x tile number
+	 * @param tileY
+	 *            The y tile number
+	 * @return The direction: 0 is up, 1 is up right, ..., 7 is up left (the
+	 *         direction in degrees is direction * 45), or NONE
+	 */
+	public int getDirection(int tileX, int tileY) {
+		if (tileX < 0 || tileY < 0 || tileX >= width || tileY >= height) {
+			return NONE;
+		}
+		return direction[(tileY + 1) * stride + tileX + 1];
+	}
+
+	/**
+	 * Get the distance of a tile to the goal. A straight step costs 10 and a
+	 * diagonal step costs 14.
+	 * 
+	 * @param tileX
+	 *            The x tile number
+	 * @param tileY
+	 *            The y tile number
+	 * @return The distance, or UNREACHABLE
+	 */
+	public int getDistance(int tileX, int tileY) {
+		if (tileX < 0 || tileY < 0 || tileX >= width || tileY >= height) {
+			return UNREACHABLE;
+		}
+		return distance[(tileY + 1) * stride + tileX + 1];
+	}
+
+	/**
+	 * Let an object follow the field: it moves in the direction of the tile
+	 * under its center. It stops on the goal tile and on tiles that can't
+	 * reach the goal.
+	 * 
+	 * @param object
+	 *            The object
+	 * @param speed
+	 *            The speed of the object
+	 * @return True when the object moves, false when it stopped
+	 */
+	public boolean steer(MoveableGameObject object, double speed) {
+		int tileSize = gameTiles.tileSize;
+		int dir = getDirection((int) Math.floor(object.getCenterX() / tileSize),
+				(int) Math.floor(object.getCenterY() / tileSize));
+		if (dir == NONE) {
+			object.setSpeed(0);
+			return false;
+		}
+		object.setDirectionSpeed(dir * 45, speed);
+		return true;
+	}
+
+	/**
+	 * Get the number of times the field was computed
+	 * 
+	 * @return The number of computations
+	 */
+	public int getBuilds() {
+		return builds;
+	}
+
+	/**
+	 * Get the number of times the field was repaired after changed tiles
+	 * 
+	 * @return The number of repairs
+	 */
+	public int getRepairs() {
+		return repairs;
+	}
+
+	/**
+	 * Compute the whole field for a goal
+	 */
+	private void build(int goal) {
+		for (int i = 0; i < distance.length; i++) {
+			distance[i] = UNREACHABLE;
+			direction[i] = NONE;
+		}
+		fieldGoal = goal;
+		heapSize = 0;
+		if (goal >= 0 && grid[goal]) {
+			distance[goal] = 0;
+			spread(goal);
+		}
+		builds++;
+	}
+
+	/**
+	 * Spread the distances from the goal over the whole field (Dijkstra with
+	 * a bucket per distance instead of a heap)
+	 */
+	private void spread(int goal) {
+		int open = 1;
+		buckets[0][0] = goal;
+		bucketSize[0] = 1;
+		for (int d = 0; open > 0; d++) {
+			int b = d % buckets.length;
+			int[] bucket = buckets[b];
+			int size = bucketSize[b];
+			bucketSize[b] = 0;
+			open -= size;
+			for (int j = 0; j < size; j++) {
+				int tile = bucket[j];
+				if (distance[tile] != d) {
+					continue;
+				}
+				for (int i = 0; i < 8; i++) {
+					int next = tile + step[i];
+					if (!grid[next]) {
+						continue;
+					}
+					int back = (i + 4) & 7;
+					if (!canStep(next, back)) {
+						continue;
+					}
+					int nd = d + ((i & 1) == 1 ? DIAGONAL : STRAIGHT);
+					if (nd < distance[next]) {
+						distance[next] = nd;
+						direction[next] = (byte) back;
+						int nb = nd % buckets.length;
+						buckets[nb] = push(buckets[nb], bucketSize[nb]++, next);
+						open++;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Repair the field around a tile that became walkable or a wall. The
+	 * tiles that get new distances are put in the heap, propagate() spreads
+	 * the new distances.
+	 */
+	private void repair(int cell) {
+		if (grid[cell]) {
+			// a new walkable tile only makes distances shorter: give it the
+			// best neighbour and let its neighbours try again, it can also open
+			// a diagonal step between two neighbours
+			if (cell == fieldGoal) {
+				distance[cell] = 0;
+				direction[cell] = NONE;
+			} else {
+				best(cell);
+			}
+			if (distance[cell] != UNREACHABLE) {
+				push(distance[cell], cell);
+			}
+			for (int i = 0; i < 8; i++) {
+				int next = cell + step[i];
+				if (grid[next] && distance[next] != UNREACHABLE) {
+					push(distance[next], next);
+				}
+			}
+			return;
+		}
+		// a new wall: clear every tile whose way to the goal went through it
+		// or diagonally past its corner
+		int top = 0;
+		if (distance[cell] != UNREACHABLE) {
+			stack = push(stack, top++, cell);
+		}
+		for (int i = 0; i < 8; i++) {
+			int next = cell + step[i];
+			int dir = direction[next];
+			if (dir != NONE && (dir & 1) == 1 && distance[next] != UNREACHABLE
+					&& cutsCorner(next, dir, cell)) {
+				stack = push(stack, top++, next);
+			}
+		}
+		for (int i = 0; i < top; i++) {
+			int tile = stack[i];
+			distance[tile] = UNREACHABLE;
+			direction[tile] = NONE;
+		}
+		int cleared = 0;
+		while (cleared < top) {
+			int tile = stack[cleared++];
+			for (int i = 0; i < 8; i++) {
+				int next = tile + step[i];
+				int dir = direction[next];
+				if (dir != NONE && next + step[dir] == tile) {
+					distance[next] = UNREACHABLE;
+					direction[next] = NONE;
+					stack = push(stack, top++, next);
+				}
+			}
+		}
+		// the cleared tiles take the best distance of their other neighbours
+		for (int i = 0; i < top; i++) {
+			int tile = stack[i];
+			if (grid[tile] && tile != fieldGoal) {
+				best(tile);
+				if (distance[tile] != UNREACHABLE) {
+					push(distance[tile], tile);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Check if the diagonal step from a tile in a direction goes past the
+	 * corner of a tile
+	 */
+	private boolean cutsCorner(int tile, int dir, int corner) {
+		return tile + step[(dir + 1) & 7] == corner
+				|| tile + step[(dir + 7) & 7] == corner;
+	}
+
+	/**
+	 * Give a tile the shortest distance through one of its neighbours
+	 */
+	private void best(int tile) {
+		int bestDistance = UNREACHABLE;
+		int bestDir = NONE;
+		for (int i = 0; i < 8; i++) {
+			int next = tile + step[i];
+			int d = distance[next];
+			if (d == UNREACHABLE || !canStep(tile, i)) {
+				continue;
+			}
+			d += (i & 1) == 1 ? DIAGONAL : STRAIGHT;
+			if (d < bestDistance) {
+				bestDistance = d;
+				bestDir = i;
+			}
+		}
+		distance[tile] = bestDistance;
+		direction[tile] = (byte) bestDir;
+	}
+
+	/**
+	 * Check if an object can step from a tile in a direction
+	 */
+	private boolean canStep(int tile, int dir) {
+		if (!grid[tile + step[dir]]) {
+			return false;
+		}
+		return (dir & 1) == 0
+				|| (grid[tile + step[(dir + 1) & 7]] && grid[tile
+						+ step[(dir + 7) & 7]]);
+	}
+
+	/**
+	 * Spread the distances of the tiles in the heap (Dijkstra), from the
+	 * closest tile to the goal
+	 */
+	private void propagate() {
+		while (heapSize > 0) {
+			long entry = pop();
+			int tile = (int) entry;
+			int d = (int) (entry >>> 32);
+			if (d != distance[tile]) {
+				continue;
+			}
+			for (int i = 0; i < 8; i++) {
+				int next = tile + step[i];
+				if (!grid[next]) {
+					continue;
+				}
+				// the step from next back to tile
+				int back = (i + 4) & 7;
+				if (!canStep(next, back)) {
+					continue;
+				}
+				int nd = d + ((i & 1) == 1 ? DIAGONAL : STRAIGHT);
+				if (nd < distance[next]) {
+					distance[next] = nd;
+					direction[next] = (byte) back;
+					push(nd, next);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Add a tile to an array that grows when it is full
+	 */
+	private static int[] push(int[] array, int index, int value) {
+		if (index == array.length) {
+			int[] larger = new int[index * 2];
+			System.arraycopy(array, 0, larger, 0, index);
+			array = larger;
+		}
+		array[index] = value;
+		return array;
+	}
+
+	/**
+	 * Add a tile to the heap
+	 */
+	private void push(int d, int tile) {
+		if (heapSize == heap.length) {
+			long[] larger = new long[heapSize * 2];
+			System.arraycopy(heap, 0, larger, 0, heapSize);
+			heap = larger;
+		}
+		long entry = ((long) d << 32) | tile;
+		int index = heapSize++;
+		while (index > 0) {
+			int up = (index - 1) >> 1;
+			if (heap[up] <= entry) {
+				break;
+			}
+			heap[index] = heap[up];
+			index = up;
+		}
+		heap[index] = entry;
+	}
+
+	/**
+	 * Take the tile with the lowest distance from the heap
+	 */
+	private long pop() {
+		long first = heap[0];
+		long last = heap[--heapSize];
+		int index = 0;
+		while (true) {
+			int child = index * 2 + 1;
+			if (child >= heapSize) {
+				break;
+			}
+			if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+				child++;
+			}
+			if (heap[child] >= last) {
+				break;
+			}
+			heap[index] = heap[child];
+			index = child;
+		}
+		if (heapSize > 0) {
+			heap[index] = last;
+		}
+		return first;
+	}
+}
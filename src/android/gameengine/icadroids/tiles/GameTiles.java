@@ -1,224 +1,675 @@
-/**
- * 
- */
-package android.gameengine.icadroids.tiles;
-
-import java.util.Vector;
-import android.gameengine.icadroids.objects.graphics.Sprite;
-import android.graphics.Canvas;
-
-/**
- * 
- * Gametiles are especially useful if you want to quickly build a level/map
- * (walls, floor, etc) for a platform- or boardgame.
- * 
- * This class makes for every tile a seperated object and place it on the right
- * position. The tile objects can be manipulated separately.
- * 
- * @author Edward van Raak & Bas van der Zandt
- */
-public class GameTiles {
-	/***
-	 * Array that holds different TileTypes with each it's own sprites and
-	 * behavior.
-	 */
-	public Vector<Sprite> tileTypes = new Vector<Sprite>();
-	/***
-	 * Two dimensional array that holds the location of all tiles.
-	 */
-	public Tile tileArray[][];
-	/***
-	 * The width and height of every tile. Default value set to 50.
-	 */
-	public int tileSize = 50;
-
-	/**
-	 * The width in pixels of the tilemap
-	 */
-	private int mapWidth = 0;
-	/**
-	 * The height in pixels of the tilemap
-	 */
-	private int mapHeigth = 0;
-
-	/**
-	 * Make a new tilemap object with the given tile resources, the tilemap and
-	 * the tile size
-	 * 
-	 * @param tileResources
-	 *            a list of string with the names of the images you want to use
-	 *            in the tilemap. This images have only the name of the images
-	 *            without the extension! For example: new String[] = {"tile1",
-	 *            "tile2", "tile3"};
-	 * @param map
-	 *            An 2d Array of the overlay map. The numbers are the position
-	 *            of the tileResources, starting at 0. -1 means invisible Tile.
-	 *            Example: new Int[][] = {{0,-1,2,2,-1},{1,1,-1,2,-1}}
-	 * @param tileSize
-	 *            The size of a tile. This size is the width and height of a
-	 *            tile.
-	 */
-	public GameTiles(String[] tileResources, int[][] map, int tileSize) {
-		addTileResources(tileResources);
-		addTileMap(map, tileSize);
-	}
-
-	/**
-	 * This overloaded constructor will make an GameTile object with an <b>
-	 * empty </b> tilemap.
-	 * 
-	 * @param tileSize
-	 */
-	public GameTiles(int tileSize) {
-		this.tileSize = tileSize;
-	}
-
-	/**
-	 * Add / replace the current tile map. This method will also convert the
-	 * given int[][] map to a Tile[][] map.
-	 * 
-	 * @param tileResources
-	 *            a list of string with the names of the images you want to use
-	 *            in the tilemap. This images have only the name of the images
-	 *            without the extension! For example: new String[] = {"tile1",
-	 *            "tile2", "tile3"};
-	 * @param map
-	 *            An 2d Array of the overlay map. The numbers are the position
-	 *            of the tileResources, starting at 0. -1 means invisible Tile.
-	 *            Example: new Int[][] = {{0,-1,2,2,-1},{1,1,-1,2,-1}}
-	 * @param tileSize
-	 *            The size of a tile. This size is the width and height of a
-	 *            tile.
-	 */
-	public void addTileMap(int[][] map, int tileSize) {
-
-		tileArray = new Tile[map.length][];
-
-		for (int i = 0; i < tileArray.length; i++) {
-			tileArray[i] = new Tile[map[i].length];
-		}
-
-		for (int i = 0; i < tileArray.length; i++) {
-			for (int j = 0; j < tileArray[i].length; j++) {
-				tileArray[i][j] = new Tile(-1, this);
-				tileArray[i][j].setTileType(map[i][j]);
-				tileArray[i][j].tileNumberX = j;
-				tileArray[i][j].tileNumberY = i;
-			}
-
-		}
-
-		this.tileSize = tileSize;
-		calculateMapWidthHeigth(tileArray);
-
-	}
-
-	/***
-	 * Loop through the TileArray to draw the Tiles. The TileType is checked on
-	 * every loop so that the correct sprite is drawn.
-	 */
-	public void drawTiles(Canvas c) {
-		if (tileArray != null) {
-			for (int i = 0; i < tileArray.length; i++) {
-				for (int j = 0; j < tileArray[i].length; j++) {
-					if (tileArray[i][j].getTileType() != -1) {
-						c.drawBitmap(
-								tileTypes.get(tileArray[i][j].getTileType())
-										.getSprite(), j * tileSize, i
-										* tileSize, null);
-					}
-				}
-			}
-		}
-	}
-
-	/***
-	 * Change a tile in the game world.
-	 * <p/>
-	 * Notes:
-	 * <p/>
-	 * The x and y positions are the x and y positions in the world. <br/>
-	 * A negative value for the tilenumber makes the tile invisible. <br/>
-	 * 
-	 * @param yTile
-	 *            the y-pos of the tile in the tile array
-	 * @param xTile
-	 *            the y-pos of the tile in the tile array
-	 * @param tileType
-	 *            the new sprite type that should replace this tile
-	 */
-	public void changeTile(int xTile, int yTile, int tileType) {
-		tileArray[yTile][xTile].setTileType(tileType);
-	}
-
-	/**
-	 * @return the tileTypes
-	 */
-	public Vector<Sprite> getTileTypes() {
-		return tileTypes;
-	}
-
-	/**
-	 * @param tileTypes
-	 *            the tileTypes to set
-	 */
-	public void setTileTypes(Vector<Sprite> tileTypes) {
-		this.tileTypes = tileTypes;
-	}
-
-	/**
-	 * @return the tileArray
-	 */
-	public Tile[][] getTileArray() {
-		return tileArray;
-	}
-
-	/**
-	 * Add resources to the list
-	 * 
-	 * @param resourceNames
-	 *            all resources you want to add to the list
-	 */
-	public void addTileResources(String[] resourceNames) {
-		for (int i = 0; i < resourceNames.length; i++) {
-			tileTypes.add(new Sprite(resourceNames[i]));
-		}
-	}
-
-	/**
-	 * Get the height of the map
-	 * 
-	 * @return Map height
-	 */
-	public int getMapHeigth() {
-		return mapHeigth;
-	}
-
-	/**
-	 * Get the width of the map
-	 * 
-	 * @return Map width
-	 */
-	public int getMapWidth() {
-		return mapWidth;
-	}
-
-	/**
-	 * Calculate the size of the map based on the tile size and the longest
-	 * array in the 2d array.
-	 * 
-	 * @param tileArray
-	 *            the 2d array to calculate the size
-	 */
-	private void calculateMapWidthHeigth(Tile[][] tileArray) {
-		int maxSizeX = 0;
-		for (int i = 0; i < tileArray.length; i++) {
-			if (tileArray[i].length > maxSizeX) {
-				maxSizeX = tileArray[i].length;
-			}
-			mapWidth = maxSizeX * tileSize;
-			mapHeigth = tileArray.length * tileSize;
-
-		}
-	}
-}
+/**
+ * 
+ */
+package android.gameengine.icadroids.tiles;
+
+import java.util.ArrayList;
+import java.util.Vector;
+import android.gameengine.icadroids.objects.graphics.AnimatedSprite;
+import android.gameengine.icadroids.objects.graphics.Sprite;
+import android.gameengine.icadroids.renderer.Viewport;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+
+/**
+ * 
+ * Gametiles are especially useful if you want to quickly build a level/map
+ * (walls, floor, etc) for a platform- or boardgame.
+ * 
+ * This class makes for every tile a seperated object and place it on the right
+ * position. The tile objects can be manipulated separately.
+ * 
+ * These tiles are the collision layer: objects collide with the tiles that
+ * are solid (see setTileFlags()). Tiles that are only for decoration can be
+ * put in extra layers with addLayer(), they are drawn behind or in front of
+ * the objects and never checked for collisions.
+ * 
+ * A tile type can be animated (see addAnimatedTileResource()). All tiles of
+ * an animated type show the same frame, so the animation costs one frame
+ * counter per tile type, however many tiles there are.
+ * 
+ * @author Edward van Raak & Bas van der Zandt
+ */
+public class GameTiles {
+	/***
+	 * Array that holds different TileTypes with each it's own sprites and
+	 * behavior.
+	 */
+	public Vector<Sprite> tileTypes = new Vector<Sprite>();
+	/***
+	 * Two dimensional array that holds the location of all tiles.
+	 */
+	public Tile tileArray[][];
+	/***
+	 * The width and height of every tile. Default value set to 50.
+	 */
+	public int tileSize = 50;
+
+	/**
+	 * The width in pixels of the tilemap
+	 */
+	private int mapWidth = 0;
+	/**
+	 * The height in pixels of the tilemap
+	 */
+	private int mapHeigth = 0;
+	/**
+	 * Counts the changes of the map, so a Pathfinder knows when its cached
+	 * paths are old
+	 */
+	private int version = 0;
+	/**
+	 * The number of changes that is kept in the change log
+	 */
+	public static final int CHANGE_LOG_SIZE = 64;
+	/**
+	 * The tiles of the last changes, packed as y << 16 | x, -1 when a new map
+	 * was added
+	 */
+	private final int[] changeLog = new int[CHANGE_LOG_SIZE];
+	/**
+	 * The light and fog of war over the tiles, null when the tiles are not
+	 * lit
+	 */
+	private TileLighting lighting;
+	/**
+	 * Collision flag: objects collide with tiles of this type
+	 */
+	public static final int SOLID = 1;
+	/**
+	 * The collision flags of every tile type, types that are not in the table
+	 * are SOLID. The flags other than SOLID can be used by the game, for
+	 * example for water or tiles that hurt.
+	 */
+	private byte[] tileFlags = new byte[0];
+	/**
+	 * The decoration layers drawn behind and in front of the objects
+	 */
+	private final ArrayList<TileLayer> backgroundLayers = new ArrayList<TileLayer>();
+	private final ArrayList<TileLayer> foregroundLayers = new ArrayList<TileLayer>();
+	/**
+	 * The pre-drawn chunks of these tiles, null when they are not cached
+	 */
+	private TileChunkCache chunkCache;
+	/**
+	 * The chunk bitmaps of the caches of these tiles and of the layers
+	 */
+	final TileChunkPool chunkPool = new TileChunkPool();
+	/**
+	 * The tiles on the screen, reused every draw
+	 */
+	private final Rect visibleTiles = new Rect();
+	/**
+	 * The sprite of every tile type that is animated, null for the types
+	 * that are not
+	 */
+	private AnimatedSprite[] animatedTypes = new AnimatedSprite[0];
+	/**
+	 * The place of an animated tile on the canvas, reused for every tile
+	 */
+	private final Rect frameDestination = new Rect();
+
+	/**
+	 * Make a new tilemap object with the given tile resources, the tilemap and
+	 * the tile size
+	 * 
+	 * @param tileResources
+	 *            a list of string with the names of the images you want to use
+	 *            in the tilemap. This images have only the name of the images
+	 *            without the extension! For example: new String[] = {"tile1",
+	 *            "tile2", "tile3"};
+	 * @param map
+	 *            An 2d Array of the overlay map. The numbers are the position
+	 *            of the tileResources, starting at 0. -1 means invisible Tile.
+	 *            Example: new Int[][] = {{0,-1,2,2,-1},{1,1,-1,2,-1}}
+	 * @param tileSize
+	 *            The size of a tile. This size is the width and height of a
+	 *            tile.
+	 */
+	public GameTiles(String[] tileResources, int[][] map, int tileSize) {
+		addTileResources(tileResources);
+		addTileMap(map, tileSize);
+	}
+
+	/**
+	 * This overloaded constructor will make an GameTile object with an <b>
+	 * empty </b> tilemap.
+	 * 
+	 * @param tileSize
+	 */
+	public GameTiles(int tileSize) {
+		this.tileSize = tileSize;
+	}
+
+	/**
+	 * Add / replace the current tile map. This method will also convert the
+	 * given int[][] map to a Tile[][] map.
+	 * 
+	 * @param tileResources
+	 *            a list of string with the names of the images you want to use
+	 *            in the tilemap. This images have only the name of the images
+	 *            without the extension! For example: new String[] = {"tile1",
+	 *            "tile2", "tile3"};
+	 * @param map
+	 *            An 2d Array of the overlay map. The numbers are the position
+	 *            of the tileResources, starting at 0. -1 means invisible Tile.
+	 *            Example: new Int[][] = {{0,-1,2,2,-1},{1,1,-1,2,-1}}
+	 * @param tileSize
+	 *            The size of a tile. This size is the width and height of a
+	 *            tile.
+	 */
+	public void addTileMap(int[][] map, int tileSize) {
+
+		tileArray = new Tile[map.length][];
+
+		for (int i = 0; i < tileArray.length; i++) {
+			tileArray[i] = new Tile[map[i].length];
+		}
+
+		for (int i = 0; i < tileArray.length; i++) {
+			for (int j = 0; j < tileArray[i].length; j++) {
+				tileArray[i][j] = new Tile(map[i][j], this);
+				tileArray[i][j].tileNumberX = j;
+				tileArray[i][j].tileNumberY = i;
+			}
+
+		}
+
+		this.tileSize = tileSize;
+		calculateMapWidthHeigth(tileArray);
+		version++;
+		changeLog[version & (CHANGE_LOG_SIZE - 1)] = -1;
+		invalidateChunks();
+
+	}
+
+	/***
+	 * Draw the background layers and the tiles that are on the screen. The
+	 * TileType is checked on every draw so that the correct sprite is drawn.
+	 */
+	public void drawTiles(Canvas c) {
+		for (int i = 0; i < backgroundLayers.size(); i++) {
+			backgroundLayers.get(i).draw(c);
+		}
+		if (tileArray != null) {
+			getVisibleTiles(visibleTiles, getColumns(), tileArray.length);
+			if (chunkCache != null) {
+				chunkCache.draw(c, visibleTiles);
+			} else {
+				drawTiles(c, visibleTiles.left, visibleTiles.top,
+						visibleTiles.right, visibleTiles.bottom);
+			}
+		}
+	}
+
+	/**
+	 * Draw a range of tiles, inclusive
+	 */
+	private void drawTiles(Canvas c, int minX, int minY, int maxX, int maxY) {
+		for (int i = minY; i <= maxY; i++) {
+			Tile[] row = tileArray[i];
+			int last = Math.min(maxX, row.length - 1);
+			for (int j = minX; j <= last; j++) {
+				int type = row[j].getTileType();
+				if (type >= 0) {
+					drawTile(c, type, j * tileSize, i * tileSize);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Draw one tile, an animated tile type is drawn with its current frame
+	 * 
+	 * @param type
+	 *            The tile type, not -1
+	 * @param left
+	 *            The x position of the tile on the canvas
+	 * @param top
+	 *            The y position of the tile on the canvas
+	 */
+	void drawTile(Canvas c, int type, int left, int top) {
+		AnimatedSprite animated = type < animatedTypes.length ? animatedTypes[type]
+				: null;
+		if (animated == null) {
+			c.drawBitmap(tileTypes.get(type).getSprite(), left, top, null);
+		} else {
+			Rect frame = animated.getCurrentFrameRectangle();
+			frameDestination.set(left, top, left + frame.width(),
+					top + frame.height());
+			c.drawBitmap(animated.getSprite(), frame, frameDestination, null);
+		}
+	}
+
+	/**
+	 * Draw the foreground layers, in front of the objects
+	 * 
+	 * @param c
+	 *            The canvas to draw on
+	 */
+	public void drawForeground(Canvas c) {
+		for (int i = 0; i < foregroundLayers.size(); i++) {
+			foregroundLayers.get(i).draw(c);
+		}
+	}
+
+	/**
+	 * Get the range of tiles that is on the screen
+	 * 
+	 * @param tiles
+	 *            The rectangle that is filled with the first and last tile
+	 *            numbers, inclusive. It is empty when no tile is on the
+	 *            screen.
+	 * @param columns
+	 *            The number of tiles horizontally
+	 * @param rows
+	 *            The number of tiles vertically
+	 */
+	void getVisibleTiles(Rect tiles, int columns, int rows) {
+		tiles.set(0, 0, columns - 1, rows - 1);
+		if (Viewport.useViewport) {
+			Viewport viewport = Viewport.getInstance();
+			tiles.left = Math.max(0, viewport.getViewportX() / tileSize);
+			tiles.top = Math.max(0, viewport.getViewportY() / tileSize);
+			tiles.right = Math.min(columns - 1, (viewport.getViewportX()
+					+ viewport.getScreenWidth()) / tileSize);
+			tiles.bottom = Math.min(rows - 1, (viewport.getViewportY()
+					+ viewport.getScreenHeight()) / tileSize);
+		}
+	}
+
+	/**
+	 * Add a layer of tiles that is only drawn. The layer uses the tile types
+	 * and the tile size of these tiles and is never checked for collisions.
+	 * 
+	 * @param map
+	 *            The tile types of the layer, -1 is an empty tile
+	 * @param foreground
+	 *            True to draw the layer in front of the objects, false to draw
+	 *            it behind the collision tiles
+	 * @return The new layer
+	 */
+	public TileLayer addLayer(int[][] map, boolean foreground) {
+		TileLayer layer = new TileLayer(this, map, foreground);
+		if (foreground) {
+			foregroundLayers.add(layer);
+		} else {
+			backgroundLayers.add(layer);
+		}
+		return layer;
+	}
+
+	/**
+	 * Remove a layer
+	 * 
+	 * @param layer
+	 *            The layer to remove
+	 */
+	public void removeLayer(TileLayer layer) {
+		layer.setCached(false);
+		backgroundLayers.remove(layer);
+		foregroundLayers.remove(layer);
+	}
+
+	/**
+	 * Get the layers that are drawn behind or in front of the objects, in the
+	 * order they are drawn
+	 * 
+	 * @param foreground
+	 *            True for the foreground layers
+	 * @return The layers
+	 */
+	public ArrayList<TileLayer> getLayers(boolean foreground) {
+		return foreground ? foregroundLayers : backgroundLayers;
+	}
+
+	/**
+	 * Set if these tiles are drawn from pre-drawn chunks of tiles. This is
+	 * much faster when the map has many tiles that do not change often, see
+	 * TileLayer.setCached().
+	 * 
+	 * @param cached
+	 *            True to cache the tiles
+	 */
+	public void setChunkCache(boolean cached) {
+		if (cached && chunkCache == null) {
+			chunkCache = new TileChunkCache(this, null);
+		} else if (!cached && chunkCache != null) {
+			chunkCache.release();
+			chunkCache = null;
+		}
+	}
+
+	/**
+	 * Draw all cached chunks again, when the map or the sprites changed
+	 */
+	private void invalidateChunks() {
+		if (chunkCache != null) {
+			chunkCache.invalidateAll();
+		}
+		for (int i = 0; i < backgroundLayers.size(); i++) {
+			backgroundLayers.get(i).invalidate();
+		}
+		for (int i = 0; i < foregroundLayers.size(); i++) {
+			foregroundLayers.get(i).invalidate();
+		}
+	}
+
+	/**
+	 * Set the collision flags of a tile type, for example 0 for grass that
+	 * objects walk through. Tile types are SOLID until their flags are set.
+	 * Pathfinders, flow fields and the lighting see the change at their next
+	 * update.
+	 * 
+	 * @param tileType
+	 *            The tile type
+	 * @param flags
+	 *            SOLID and/or the flags of the game, at most 8 bits
+	 */
+	public void setTileFlags(int tileType, int flags) {
+		if (tileType >= tileFlags.length) {
+			byte[] larger = new byte[tileType + 1];
+			System.arraycopy(tileFlags, 0, larger, 0, tileFlags.length);
+			for (int i = tileFlags.length; i < larger.length; i++) {
+				larger[i] = SOLID;
+			}
+			tileFlags = larger;
+		}
+		tileFlags[tileType] = (byte) flags;
+		version++;
+		changeLog[version & (CHANGE_LOG_SIZE - 1)] = -1;
+	}
+
+	/**
+	 * Get the collision flags of a tile type
+	 * 
+	 * @param tileType
+	 *            The tile type
+	 * @return The flags, 0 for an empty tile (type -1)
+	 */
+	public int getTileFlags(int tileType) {
+		if (tileType < 0) {
+			return 0;
+		}
+		if (tileType >= tileFlags.length) {
+			return SOLID;
+		}
+		return tileFlags[tileType] & 0xff;
+	}
+
+	/**
+	 * Check if objects collide with a tile type
+	 * 
+	 * @param tileType
+	 *            The tile type
+	 * @return True when the tile type is SOLID, false for an empty tile
+	 */
+	public boolean isSolid(int tileType) {
+		return tileType >= 0
+				&& (tileType >= tileFlags.length
+						|| (tileFlags[tileType] & SOLID) != 0);
+	}
+
+	/**
+	 * Draw the darkness of the lighting over the tiles and objects. Nothing is
+	 * drawn when the tiles have no lighting.
+	 * 
+	 * @param c
+	 *            The canvas to draw on
+	 */
+	public void drawDarkness(Canvas c) {
+		if (lighting != null && tileArray != null) {
+			lighting.draw(c);
+		}
+	}
+
+	/**
+	 * Set the light and fog of war of the tiles
+	 * 
+	 * @param lighting
+	 *            The lighting, null to draw the tiles without darkness
+	 */
+	public void setLighting(TileLighting lighting) {
+		this.lighting = lighting;
+	}
+
+	/**
+	 * Get the light and fog of war of the tiles
+	 * 
+	 * @return The lighting, null when the tiles are not lit
+	 */
+	public TileLighting getLighting() {
+		return lighting;
+	}
+
+	/***
+	 * Change a tile in the game world.
+	 * <p/>
+	 * Notes:
+	 * <p/>
+	 * The x and y positions are the x and y positions in the world. <br/>
+	 * A negative value for the tilenumber makes the tile invisible. <br/>
+	 * 
+	 * @param yTile
+	 *            the y-pos of the tile in the tile array
+	 * @param xTile
+	 *            the y-pos of the tile in the tile array
+	 * @param tileType
+	 *            the new sprite type that should replace this tile
+	 */
+	public void changeTile(int xTile, int yTile, int tileType) {
+		tileArray[yTile][xTile].setTileType(tileType);
+	}
+
+	/**
+	 * Called by a tile of the map when its tile type has changed, see
+	 * Tile.setTileType()
+	 * 
+	 * @param tile
+	 *            The changed tile
+	 */
+	void tileChanged(Tile tile) {
+		int xTile = tile.tileNumberX;
+		int yTile = tile.tileNumberY;
+		// a tile of a map that was replaced, or of a map that isn't added
+		// yet, is not part of the map
+		if (tileArray == null || yTile >= tileArray.length
+				|| xTile >= tileArray[yTile].length
+				|| tileArray[yTile][xTile] != tile) {
+			return;
+		}
+		version++;
+		changeLog[version & (CHANGE_LOG_SIZE - 1)] = yTile << 16 | xTile;
+		if (chunkCache != null) {
+			chunkCache.invalidate(xTile, yTile);
+		}
+	}
+
+	/**
+	 * Get the number of changes of the map. It changes when a tile is changed
+	 * with changeTile() or Tile.setTileType(), or a new map is added.
+	 * 
+	 * @return The version of the map
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	/**
+	 * Get the tile that was changed by a change of the map, so a user of the
+	 * map can update only that tile. Only the last CHANGE_LOG_SIZE changes
+	 * are kept.
+	 * 
+	 * @param changeVersion
+	 *            The version of the map right after the change
+	 * @return The tile packed as y &lt;&lt; 16 | x, or -1 when the change is
+	 *         not known anymore or a new map was added
+	 */
+	public int getChangedTile(int changeVersion) {
+		if (changeVersion <= 0 || changeVersion > version
+				|| version - changeVersion >= CHANGE_LOG_SIZE) {
+			return -1;
+		}
+		return changeLog[changeVersion & (CHANGE_LOG_SIZE - 1)];
+	}
+
+	/**
+	 * @return the tileTypes
+	 */
+	public Vector<Sprite> getTileTypes() {
+		return tileTypes;
+	}
+
+	/**
+	 * @param tileTypes
+	 *            the tileTypes to set
+	 */
+	public void setTileTypes(Vector<Sprite> tileTypes) {
+		this.tileTypes = tileTypes;
+		findAnimatedTypes();
+		invalidateChunks();
+	}
+
+	/**
+	 * @return the tileArray
+	 */
+	public Tile[][] getTileArray() {
+		return tileArray;
+	}
+
+	/**
+	 * Add resources to the list
+	 * 
+	 * @param resourceNames
+	 *            all resources you want to add to the list
+	 */
+	public void addTileResources(String[] resourceNames) {
+		for (int i = 0; i < resourceNames.length; i++) {
+			tileTypes.add(new Sprite(resourceNames[i]));
+		}
+		invalidateChunks();
+	}
+
+	/**
+	 * Add an animated tile type. The resource is a film strip of frames, like
+	 * the sprite of an animated GameObject. All tiles of the type show the
+	 * same frame.
+	 * 
+	 * @param resourceName
+	 *            The name of the image without the extension
+	 * @param frameWidth
+	 *            The width of a frame in pixels
+	 * @param animationSpeed
+	 *            The number of updates a frame is shown
+	 * @return The new tile type
+	 */
+	public int addAnimatedTileResource(String resourceName, int frameWidth,
+			int animationSpeed) {
+		AnimatedSprite sprite = new AnimatedSprite();
+		sprite.startAnimate(frameWidth);
+		sprite.setAnimationSpeed(animationSpeed);
+		sprite.loadSprite(resourceName);
+		tileTypes.add(sprite);
+		findAnimatedTypes();
+		invalidateChunks();
+		return tileTypes.size() - 1;
+	}
+
+	/**
+	 * Check if a tile type is animated
+	 * 
+	 * @param tileType
+	 *            The tile type
+	 * @return True when the tile type has an animated sprite
+	 */
+	public boolean isAnimated(int tileType) {
+		return tileType >= 0 && tileType < animatedTypes.length
+				&& animatedTypes[tileType] != null;
+	}
+
+	/**
+	 * <b>This method is automatically called by the GameWorld</b> every
+	 * update.
+	 * <p>
+	 * Advance the animated tile types, once per tile type.
+	 */
+	public void update() {
+		if (animatedTypes.length != tileTypes.size()) {
+			findAnimatedTypes();
+		}
+		for (int i = 0; i < animatedTypes.length; i++) {
+			if (animatedTypes[i] != null) {
+				animatedTypes[i].updateToNextFrame();
+			}
+		}
+	}
+
+	/**
+	 * Find the tile types that have an animated sprite
+	 */
+	private void findAnimatedTypes() {
+		AnimatedSprite[] types = new AnimatedSprite[tileTypes.size()];
+		for (int i = 0; i < types.length; i++) {
+			Sprite sprite = tileTypes.get(i);
+			if (sprite instanceof AnimatedSprite) {
+				types[i] = (AnimatedSprite) sprite;
+			}
+		}
+		animatedTypes = types;
+	}
+
+	/**
+	 * Get the number of tiles in the longest row of the map
+	 * 
+	 * @return The number of columns
+	 */
+	public int getColumns() {
+		return tileSize > 0 ? mapWidth / tileSize : 0;
+	}
+
+	/**
+	 * Get the number of rows of the map
+	 * 
+	 * @return The number of rows
+	 */
+	public int getRows() {
+		return tileArray != null ? tileArray.length : 0;
+	}
+
+	/**
+	 * Get the height of the map
+	 * 
+	 * @return Map height
+	 */
+	public int getMapHeigth() {
+		return mapHeigth;
+	}
+
+	/**
+	 * Get the width of the map
+	 * 
+	 * @return Map width
+	 */
+	public int getMapWidth() {
+		return mapWidth;
+	}
+
+	/**
+	 * Calculate the size of the map based on the tile size and the longest
+	 * array in the 2d array.
+	 * 
+	 * @param tileArray
+	 *            the 2d array to calculate the size
+	 */
+	private void calculateMapWidthHeigth(Tile[][] tileArray) {
+		int maxSizeX = 0;
+		for (int i = 0; i < tileArray.length; i++) {
+			if (tileArray[i].length > maxSizeX) {
+				maxSizeX = tileArray[i].length;
+			}
+			mapWidth = maxSizeX * tileSize;
+			mapHeigth = tileArray.length * tileSize;
+
+		}
+	}
+}
@@ -0,0 +1,661 @@
+package android.gameengine.icadroids.tiles;
+
+/**
+ * A Pathfinder finds the shortest path between two tiles of a tile map. Empty
+ * tiles (tile type -1) and tiles that are not solid are walkable, the other
+ * tiles are walls, unless their type is made walkable with setWalkable().
+ * 
+ * Objects move in 8 directions by default, but never diagonally past the
+ * corner of a wall. On such maps the pathfinder uses jump point search: it
+ * jumps over the long straight and diagonal runs of open tiles that A* would
+ * add one by one, and finds the same path length. With only 4 directions it
+ * uses plain A*.
+ * 
+ * The search uses arrays that are made once and reused, so searches don't
+ * make garbage. The last CACHE_SIZE paths are cached, so objects that ask for
+ * the same route get it without a search. The cache is emptied when a tile is
+ * changed, with GameTiles.changeTile() or Tile.setTileType(), or when a new
+ * map is added.
+ * 
+ * A Pathfinder must be used by one thread at a time. Make a second
+ * Pathfinder to search in a BackgroundJob.
+ * 
+ */
+public class Pathfinder {
+	/**
+	 * The number of paths in the cache of a new pathfinder
+	 */
+	public static int CACHE_SIZE = 64;
+	/**
+	 * The cost of a straight and a diagonal step
+	 */
+	private static final int STRAIGHT = 10, DIAGONAL = 14;
+
+	/**
+	 * The walkable tiles of the map
+	 */
+	private final WalkableGrid walkableGrid;
+	/**
+	 * The cells of the walkable grid and its size, copied for the search
+	 */
+	private boolean[] grid;
+	private int width, height, stride;
+	private boolean allowDiagonal = true;
+	private boolean jumpPoints = true;
+
+	/**
+	 * The search buffers, one element per tile
+	 */
+	private int[] cost, estimate, parent, state, heapIndex;
+	/**
+	 * The open set, a binary heap of tile indexes ordered by estimate
+	 */
+	private int[] heap;
+	private int heapSize;
+	/**
+	 * The number of the current search, the state of a tile is
+	 * search * 2 when it is open and search * 2 + 1 when it is closed
+	 */
+	private int search = 0;
+	private int goalX, goalY;
+	/**
+	 * The jump points of the found path, from the goal back to the start
+	 */
+	private int[] route = new int[64];
+
+	/**
+	 * The cached paths, as tile indexes
+	 */
+	private final long[] cacheKey;
+	private final int[][] cachePath;
+	private final int[] cacheLength;
+	private final long[] cacheUsed;
+	private long useCount = 0;
+	private int cacheHits = 0, searches = 0;
+
+	/**
+	 * Make a new pathfinder for a tile map
+	 * 
+	 * @param gameTiles
+	 *            The tiles
+	 */
+	public Pathfinder(GameTiles gameTiles) {
+		walkableGrid = new WalkableGrid(gameTiles);
+		cacheKey = new long[CACHE_SIZE];
+		cachePath = new int[CACHE_SIZE][];
+		cacheLength = new int[CACHE_SIZE];
+		cacheUsed = new long[CACHE_SIZE];
+		clearCache();
+	}
+
+	/**
+	 * Find the shortest path between two tiles
+	 * 
+	 * @param startX
+	 *            The x tile number of the start
+	 * @param startY
+	 *            The y tile number of the start
+	 * @param goalX
+	 *            The x tile number of the goal
+	 * @param goalY
+	 *            The y tile number of the goal
+	 * @param path
+	 *            The path that is filled with the tiles from the start to the
+	 *            goal, it is empty when there is no path
+	 * @return True when a path was found
+	 */
+	public boolean findPath(int startX, int startY, int goalX, int goalY,
+			TilePath path) {
+		path.clear();
+		sync();
+		if (!walkableGrid.isWalkable(goalX, goalY)
+				|| !walkableGrid.isInside(startX, startY)) {
+			return false;
+		}
+		int start = startY * width + startX;
+		int goal = goalY * width + goalX;
+		long key = ((long) start << 32) | goal;
+		int entry = findCacheEntry(key);
+		if (entry >= 0) {
+			cacheHits++;
+			cacheUsed[entry] = ++useCount;
+			int[] cells = cachePath[entry];
+			for (int i = 0; i < cacheLength[entry]; i++) {
+				path.add(cells[i] % width, cells[i] / width);
+			}
+			return path.size() > 0;
+		}
+		searches++;
+		if (search(startX, startY, goalX, goalY)) {
+			buildPath(goal, path);
+		}
+		storeInCache(key, path);
+		return path.size() > 0;
+	}
+
+	/**
+	 * Check if a tile is walkable
+	 * 
+	 * @param x
+	 *            The x tile number
+	 * @param y
+	 *            The y tile number
+	 * @return False for walls and tiles outside the map
+	 */
+	public final boolean isWalkable(int x, int y) {
+		sync();
+		return walkableGrid.isWalkable(x, y);
+	}
+
+	/**
+	 * Check if a tile is walkable during a search, the border of the grid
+	 * keeps the neighbours of the map inside the array
+	 */
+	private boolean walkable(int x, int y) {
+		return grid[(y + 1) * stride + x + 1];
+	}
+
+	/**
+	 * Set if the tiles of a tile type are walkable
+	 * 
+	 * @param tileType
+	 *            The tile type
+	 * @param walkable
+	 *            True when objects can walk over the tiles
+	 */
+	public void setWalkable(int tileType, boolean walkable) {
+		walkableGrid.setWalkable(tileType, walkable);
+	}
+
+	/**
+	 * Set if objects can move diagonally. They never move diagonally past the
+	 * corner of a wall.
+	 * 
+	 * @param allowDiagonal
+	 *            True for 8 directions (default), false for 4 directions
+	 */
+	public void setAllowDiagonal(boolean allowDiagonal) {
+		this.allowDiagonal = allowDiagonal;
+		clearCache();
+	}
+
+	/**
+	 * Set if jump point search is used when objects can move diagonally. It
+	 * finds the same path length as A*, but faster on open maps.
+	 * 
+	 * @param jumpPoints
+	 *            True to use jump point search (default), false for A*
+	 */
+	public void setJumpPoints(boolean jumpPoints) {
+		this.jumpPoints = jumpPoints;
+		clearCache();
+	}
+
+	/**
+	 * Empty the cache of paths
+	 */
+	public void clearCache() {
+		for (int i = 0; i < cacheKey.length; i++) {
+			cacheKey[i] = -1;
+			cacheLength[i] = 0;
+		}
+	}
+
+	/**
+	 * Get the number of paths that were found in the cache
+	 * 
+	 * @return The number of cache hits
+	 */
+	public int getCacheHits() {
+		return cacheHits;
+	}
+
+	/**
+	 * Get the number of searches that were done
+	 * 
+	 * @return The number of searches
+	 */
+	public int getSearches() {
+		return searches;
+	}
+
+	/**
+	 * Check if the tiles were changed since the last search, make the buffers
+	 * for a new map and empty the cache
+	 */
+	private void sync() {
+		int changes = walkableGrid.sync();
+		if (changes == 0) {
+			return;
+		}
+		clearCache();
+		grid = walkableGrid.cells;
+		width = walkableGrid.width;
+		height = walkableGrid.height;
+		stride = walkableGrid.stride;
+		int size = width * height;
+		if (cost == null || cost.length < size) {
+			cost = new int[size];
+			estimate = new int[size];
+			parent = new int[size];
+			state = new int[size];
+			heapIndex = new int[size];
+			heap = new int[size];
+			search = 0;
+		}
+	}
+
+	/**
+	 * The estimated cost between two tiles, never more than the real cost
+	 */
+	private int heuristic(int x, int y) {
+		int dx = Math.abs(goalX - x);
+		int dy = Math.abs(goalY - y);
+		if (allowDiagonal) {
+			return STRAIGHT * (dx + dy) + (DIAGONAL - 2 * STRAIGHT)
+					* Math.min(dx, dy);
+		}
+		return STRAIGHT * (dx + dy);
+	}
+
+	/**
+	 * Search a path with A* or jump point search
+	 * 
+	 * @return True when the goal was reached
+	 */
+	private boolean search(int startX, int startY, int goalX, int goalY) {
+		this.goalX = goalX;
+		this.goalY = goalY;
+		search++;
+		if (search >= Integer.MAX_VALUE / 2) {
+			for (int i = 0; i < state.length; i++) {
+				state[i] = 0;
+			}
+			search = 1;
+		}
+		int open = search * 2;
+		int closed = open + 1;
+		heapSize = 0;
+		int start = startY * width + startX;
+		int goal = goalY * width + goalX;
+		state[start] = open;
+		cost[start] = 0;
+		parent[start] = -1;
+		estimate[start] = heuristic(startX, startY);
+		push(start);
+		boolean jump = allowDiagonal && jumpPoints;
+		while (heapSize > 0) {
+			int node = pop();
+			state[node] = closed;
+			if (node == goal) {
+				return true;
+			}
+			int x = node % width;
+			int y = node / width;
+			if (jump) {
+				expandJumpPoints(node, x, y);
+			} else {
+				expandNeighbours(node, x, y);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Add the neighbours of a tile to the open set (A*)
+	 */
+	private void expandNeighbours(int node, int x, int y) {
+		boolean left = walkable(x - 1, y);
+		boolean right = walkable(x + 1, y);
+		boolean up = walkable(x, y - 1);
+		boolean down = walkable(x, y + 1);
+		if (left) {
+			relax(node, x - 1, y, STRAIGHT);
+		}
+		if (right) {
+			relax(node, x + 1, y, STRAIGHT);
+		}
+		if (up) {
+			relax(node, x, y - 1, STRAIGHT);
+		}
+		if (down) {
+			relax(node, x, y + 1, STRAIGHT);
+		}
+		if (allowDiagonal) {
+			if (left && up && walkable(x - 1, y - 1)) {
+				relax(node, x - 1, y - 1, DIAGONAL);
+			}
+			if (right && up && walkable(x + 1, y - 1)) {
+				relax(node, x + 1, y - 1, DIAGONAL);
+			}
+			if (left && down && walkable(x - 1, y + 1)) {
+				relax(node, x - 1, y + 1, DIAGONAL);
+			}
+			if (right && down && walkable(x + 1, y + 1)) {
+				relax(node, x + 1, y + 1, DIAGONAL);
+			}
+		}
+	}
+
+	/**
+	 * Add the jump points that can be reached from a tile to the open set.
+	 * Only the directions that can't be reached shorter through the parent
+	 * are searched.
+	 */
+	private void expandJumpPoints(int node, int x, int y) {
+		int from = parent[node];
+		if (from < 0) {
+			for (int dy = -1; dy <= 1; dy++) {
+				for (int dx = -1; dx <= 1; dx++) {
+					if ((dx != 0 || dy != 0) && canStep(x, y, dx, dy)) {
+						jumpFrom(node, x, y, dx, dy);
+					}
+				}
+			}
+			return;
+		}
+		int dx = Integer.signum(x - from % width);
+		int dy = Integer.signum(y - from / width);
+		if (dx != 0 && dy != 0) {
+			boolean vertical = walkable(x, y + dy);
+			boolean horizontal = walkable(x + dx, y);
+			if (vertical) {
+				jumpFrom(node, x, y, 0, dy);
+			}
+			if (horizontal) {
+				jumpFrom(node, x, y, dx, 0);
+			}
+			if (vertical && horizontal && walkable(x + dx, y + dy)) {
+				jumpFrom(node, x, y, dx, dy);
+			}
+		} else if (dx != 0) {
+			boolean next = walkable(x + dx, y);
+			boolean below = walkable(x, y + 1);
+			boolean above = walkable(x, y - 1);
+			if (next) {
+				jumpFrom(node, x, y, dx, 0);
+				if (below && walkable(x + dx, y + 1)) {
+					jumpFrom(node, x, y, dx, 1);
+				}
+				if (above && walkable(x + dx, y - 1)) {
+					jumpFrom(node, x, y, dx, -1);
+				}
+			}
+			if (below) {
+				jumpFrom(node, x, y, 0, 1);
+			}
+			if (above) {
+				jumpFrom(node, x, y, 0, -1);
+			}
+		} else {
+			boolean next = walkable(x, y + dy);
+			boolean right = walkable(x + 1, y);
+			boolean left = walkable(x - 1, y);
+			if (next) {
+				jumpFrom(node, x, y, 0, dy);
+				if (right && walkable(x + 1, y + dy)) {
+					jumpFrom(node, x, y, 1, dy);
+				}
+				if (left && walkable(x - 1, y + dy)) {
+					jumpFrom(node, x, y, -1, dy);
+				}
+			}
+			if (right) {
+				jumpFrom(node, x, y, 1, 0);
+			}
+			if (left) {
+				jumpFrom(node, x, y, -1, 0);
+			}
+		}
+	}
+
+	/**
+	 * Check if an object can step from a tile in a direction, without moving
+	 * past the corner of a wall
+	 */
+	private boolean canStep(int x, int y, int dx, int dy) {
+		if (!walkable(x + dx, y + dy)) {
+			return false;
+		}
+		return dx == 0 || dy == 0
+				|| (walkable(x + dx, y) && walkable(x, y + dy));
+	}
+
+	/**
+	 * Jump from a tile in a direction and add the jump point that is found
+	 */
+	private void jumpFrom(int node, int x, int y, int dx, int dy) {
+		int point;
+		if (dx != 0 && dy != 0) {
+			point = jumpDiagonal(x + dx, y + dy, dx, dy);
+		} else {
+			point = jumpStraight(x + dx, y + dy, dx, dy);
+		}
+		if (point >= 0) {
+			int px = point % width;
+			int py = point / width;
+			int steps = Math.max(Math.abs(px - x), Math.abs(py - y));
+			relax(node, px, py, (dx != 0 && dy != 0 ? DIAGONAL : STRAIGHT)
+					* steps);
+		}
+	}
+
+	/**
+	 * Move straight until a tile is found with a neighbour that can only be
+	 * reached shortest through it, or the goal
+	 * 
+	 * @return The index of the jump point, -1 when a wall is reached
+	 */
+	private int jumpStraight(int x, int y, int dx, int dy) {
+		while (true) {
+			if (!walkable(x, y)) {
+				return -1;
+			}
+			if (x == goalX && y == goalY) {
+				return y * width + x;
+			}
+			if (dx != 0) {
+				if ((walkable(x, y - 1) && !walkable(x - dx, y - 1))
+						|| (walkable(x, y + 1) && !walkable(x - dx, y + 1))) {
+					return y * width + x;
+				}
+			} else {
+				if ((walkable(x - 1, y) && !walkable(x - 1, y - dy))
+						|| (walkable(x + 1, y) && !walkable(x + 1, y - dy))) {
+					return y * width + x;
+				}
+			}
+			x += dx;
+			y += dy;
+		}
+	}
+
+	/**
+	 * Move diagonally until a tile is found from which a straight jump finds
+	 * a jump point, or the goal
+	 * 
+	 * @return The index of the jump point, -1 when the way is blocked
+	 */
+	private int jumpDiagonal(int x, int y, int dx, int dy) {
+		while (true) {
+			if (!walkable(x, y)) {
+				return -1;
+			}
+			if (x == goalX && y == goalY) {
+				return y * width + x;
+			}
+			if (jumpStraight(x + dx, y, dx, 0) >= 0
+					|| jumpStraight(x, y + dy, 0, dy) >= 0) {
+				return y * width + x;
+			}
+			if (!walkable(x + dx, y) || !walkable(x, y + dy)) {
+				return -1;
+			}
+			x += dx;
+			y += dy;
+		}
+	}
+
+	/**
+	 * Open a tile or lower its cost when it is reached cheaper through node
+	 */
+	private void relax(int node, int x, int y, int stepCost) {
+		int next = y * width + x;
+		int open = search * 2;
+		if (state[next] == open + 1) {
+			return;
+		}
+		int newCost = cost[node] + stepCost;
+		if (state[next] != open) {
+			state[next] = open;
+			cost[next] = newCost;
+			parent[next] = node;
+			estimate[next] = newCost + heuristic(x, y);
+			push(next);
+		} else if (newCost < cost[next]) {
+			estimate[next] -= cost[next] - newCost;
+			cost[next] = newCost;
+			parent[next] = node;
+			siftUp(heapIndex[next]);
+		}
+	}
+
+	/**
+	 * Fill the path with every tile from the start to the goal
+	 */
+	private void buildPath(int goal, TilePath path) {
+		int count = 0;
+		for (int node = goal; node >= 0; node = parent[node]) {
+			if (count == route.length) {
+				int[] larger = new int[count * 2];
+				System.arraycopy(route, 0, larger, 0, count);
+				route = larger;
+			}
+			route[count++] = node;
+		}
+		int x = route[count - 1] % width;
+		int y = route[count - 1] / width;
+		path.add(x, y);
+		for (int i = count - 2; i >= 0; i--) {
+			int toX = route[i] % width;
+			int toY = route[i] / width;
+			int dx = Integer.signum(toX - x);
+			int dy = Integer.signum(toY - y);
+			while (x != toX || y != toY) {
+				x += dx;
+				y += dy;
+				path.add(x, y);
+			}
+		}
+	}
+
+	/**
+	 * Find a path in the cache
+	 * 
+	 * @return The index of the cache entry, -1 when the path is not cached
+	 */
+	private int findCacheEntry(long key) {
+		for (int i = 0; i < cacheKey.length; i++) {
+			if (cacheKey[i] == key) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Put a path in the cache, in place of the path that was used longest ago
+	 */
+	private void storeInCache(long key, TilePath path) {
+		if (cacheKey.length == 0) {
+			return;
+		}
+		int entry = 0;
+		for (int i = 1; i < cacheKey.length; i++) {
+			if (cacheUsed[i] < cacheUsed[entry]) {
+				entry = i;
+			}
+		}
+		int length = path.size();
+		if (cachePath[entry] == null || cachePath[entry].length < length) {
+			cachePath[entry] = new int[Math.max(length, 16)];
+		}
+		int[] cells = cachePath[entry];
+		for (int i = 0; i < length; i++) {
+			cells[i] = path.getY(i) * width + path.getX(i);
+		}
+		cacheKey[entry] = key;
+		cacheLength[entry] = length;
+		cacheUsed[entry] = ++useCount;
+	}
+
+	/**
+	 * Add a tile to the open set
+	 */
+	private void push(int node) {
+		heap[heapSize] = node;
+		heapIndex[node] = heapSize;
+		siftUp(heapSize++);
+	}
+
+	/**
+	 * Take the open tile with the lowest estimate
+	 */
+	private int pop() {
+		int first = heap[0];
+		heapSize--;
+		if (heapSize > 0) {
+			heap[0] = heap[heapSize];
+			heapIndex[heap[0]] = 0;
+			siftDown(0);
+		}
+		return first;
+	}
+
+	/**
+	 * Check if a tile must be searched before another tile: the lowest
+	 * estimate first, and the tile closest to the goal when they are equal
+	 */
+	private boolean isBefore(int node, int other) {
+		if (estimate[node] != estimate[other]) {
+			return estimate[node] < estimate[other];
+		}
+		return cost[node] > cost[other];
+	}
+
+	private void siftUp(int index) {
+		int node = heap[index];
+		while (index > 0) {
+			int up = (index - 1) >> 1;
+			if (!isBefore(node, heap[up])) {
+				break;
+			}
+			heap[index] = heap[up];
+			heapIndex[heap[index]] = index;
+			index = up;
+		}
+		heap[index] = node;
+		heapIndex[node] = index;
+	}
+
+	private void siftDown(int index) {
+		int node = heap[index];
+		while (true) {
+			int child = index * 2 + 1;
+			if (child >= heapSize) {
+				break;
+			}
+			if (child + 1 < heapSize && isBefore(heap[child + 1], heap[child])) {
+				child++;
+			}
+			if (!isBefore(heap[child], node)) {
+				break;
+			}
+			heap[index] = heap[child];
+			heapIndex[heap[index]] = index;
+			index = child;
+		}
+		heap[index] = node;
+		heapIndex[node] = index;
+	}
+}
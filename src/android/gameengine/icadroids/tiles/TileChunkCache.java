@@ -0,0 +1,202 @@
+package android.gameengine.icadroids.tiles;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+
+/**
+ * Keeps chunks of CHUNK_TILES x CHUNK_TILES tiles of a static layer drawn in
+ * bitmaps, so a chunk on the screen costs one drawBitmap instead of one per
+ * tile. The bitmaps come from the TileChunkPool of the GameTiles, which all
+ * caches of the tiles and its layers share: a chunk keeps its bitmap until
+ * another chunk needs it, and the pool only keeps a few bitmaps more than
+ * there are chunks on the screen. A chunk is drawn again when one of its
+ * tiles changes.
+ * 
+ * A chunk bitmap is ARGB_8888 and CHUNK_TILES * tileSize pixels wide and
+ * high, with tiles of 50 pixels that is 400 x 400 pixels, 640 KB. An 800 x
+ * 480 screen shows up to 3 x 3 of those chunks, so every cached layer costs
+ * up to 5.8 MB, almost four screens of pixels.
+ * 
+ * Tiles of an animated tile type are left out of the bitmaps, the chunk
+ * remembers them and they are drawn on top of the chunk with their current
+ * frame.
+ * 
+ */
+final class TileChunkCache {
+	/**
+	 * The number of tiles horizontally and vertically in a chunk
+	 */
+	static final int CHUNK_TILES = 8;
+
+	private final GameTiles gameTiles;
+	/**
+	 * The layer that is cached, null for the tiles of the GameTiles itself
+	 */
+	private final TileLayer layer;
+	/**
+	 * The bitmaps, shared with the other caches of the tiles
+	 */
+	private final TileChunkPool pool;
+	/**
+	 * The tile size when the chunks were laid out
+	 */
+	private int chunkTileSize = -1;
+	private int chunksX = 0, chunksY = 0;
+	/**
+	 * The slot of every chunk in the pool, -1 when the chunk is not drawn.
+	 * The pool may have given the slot to another chunk since.
+	 */
+	private int[] chunkSlot = new int[0];
+	/**
+	 * The frame of the pool this cache was drawn in last
+	 */
+	private long drawnFrame = -1;
+	/**
+	 * The canvas to draw the chunks with
+	 */
+	private Canvas chunkCanvas;
+
+	TileChunkCache(GameTiles gameTiles, TileLayer layer) {
+		this.gameTiles = gameTiles;
+		this.layer = layer;
+		pool = gameTiles.chunkPool;
+	}
+
+	/**
+	 * Draw the chunk of a tile again the next time it is on the screen
+	 */
+	void invalidate(int tileX, int tileY) {
+		int cx = tileX / CHUNK_TILES;
+		int cy = tileY / CHUNK_TILES;
+		if (cx < chunksX && cy < chunksY) {
+			int chunk = cy * chunksX + cx;
+			int slot = chunkSlot[chunk];
+			if (pool.holds(slot, this, chunk)) {
+				pool.slotDirty[slot] = true;
+			}
+		}
+	}
+
+	/**
+	 * Draw all chunks again
+	 */
+	void invalidateAll() {
+		pool.invalidate(this);
+	}
+
+	/**
+	 * Free the bitmaps
+	 */
+	void release() {
+		pool.release(this);
+		chunkTileSize = -1;
+	}
+
+	/**
+	 * Draw the chunks that hold the given tiles
+	 * 
+	 * @param tiles
+	 *            The range of tiles on the screen, inclusive
+	 */
+	void draw(Canvas canvas, Rect tiles) {
+		if (tiles.right < tiles.left || tiles.bottom < tiles.top) {
+			return;
+		}
+		int columns = layer != null ? layer.getColumns() : gameTiles
+				.getColumns();
+		int rows = layer != null ? layer.getRows() : gameTiles.getRows();
+		int tileSize = gameTiles.tileSize;
+		int newChunksX = (columns + CHUNK_TILES - 1) / CHUNK_TILES;
+		int newChunksY = (rows + CHUNK_TILES - 1) / CHUNK_TILES;
+		if (tileSize != chunkTileSize || newChunksX != chunksX
+				|| newChunksY != chunksY) {
+			release();
+			chunkTileSize = tileSize;
+			chunksX = newChunksX;
+			chunksY = newChunksY;
+			chunkSlot = new int[chunksX * chunksY];
+			for (int i = 0; i < chunkSlot.length; i++) {
+				chunkSlot[i] = -1;
+			}
+		}
+		int chunkPixels = CHUNK_TILES * tileSize;
+		drawnFrame = pool.startDraw(drawnFrame, chunkPixels);
+		int minCX = tiles.left / CHUNK_TILES;
+		int minCY = tiles.top / CHUNK_TILES;
+		int maxCX = tiles.right / CHUNK_TILES;
+		int maxCY = tiles.bottom / CHUNK_TILES;
+		for (int cy = minCY; cy <= maxCY; cy++) {
+			for (int cx = minCX; cx <= maxCX; cx++) {
+				int chunk = cy * chunksX + cx;
+				int slot = chunkSlot[chunk];
+				if (!pool.holds(slot, this, chunk)) {
+					slot = pool.take(this, chunk);
+					chunkSlot[chunk] = slot;
+				}
+				if (pool.slotDirty[slot]) {
+					drawChunk(slot, cx, cy, columns, rows);
+				}
+				pool.use(slot);
+				canvas.drawBitmap(pool.slotBitmap[slot], cx * chunkPixels, cy
+						* chunkPixels, null);
+				int[] animated = pool.slotAnimated[slot];
+				for (int i = 0; i < pool.slotAnimatedCount[slot]; i++) {
+					int x = animated[i] & 0xffff;
+					int y = animated[i] >>> 16;
+					gameTiles.drawTile(canvas, typeAt(x, y), x * tileSize, y
+							* tileSize);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Draw the tiles of a chunk in the bitmap of its slot
+	 */
+	private void drawChunk(int slot, int cx, int cy, int columns, int rows) {
+		Bitmap bitmap = pool.slotBitmap[slot];
+		bitmap.eraseColor(0);
+		if (chunkCanvas == null) {
+			chunkCanvas = new Canvas();
+		}
+		chunkCanvas.setBitmap(bitmap);
+		int minX = cx * CHUNK_TILES;
+		int minY = cy * CHUNK_TILES;
+		int maxX = Math.min(columns, minX + CHUNK_TILES) - 1;
+		int maxY = Math.min(rows, minY + CHUNK_TILES) - 1;
+		int[] animated = pool.slotAnimated[slot];
+		int animatedCount = 0;
+		for (int y = minY; y <= maxY; y++) {
+			for (int x = minX; x <= maxX; x++) {
+				int type = typeAt(x, y);
+				if (type < 0) {
+					continue;
+				}
+				if (gameTiles.isAnimated(type)) {
+					if (animated == null) {
+						animated = new int[CHUNK_TILES * CHUNK_TILES];
+						pool.slotAnimated[slot] = animated;
+					}
+					animated[animatedCount++] = y << 16 | x;
+				} else {
+					gameTiles.drawTile(chunkCanvas, type, (x - minX)
+							* chunkTileSize, (y - minY) * chunkTileSize);
+				}
+			}
+		}
+		pool.slotAnimatedCount[slot] = animatedCount;
+		pool.slotDirty[slot] = false;
+	}
+
+	/**
+	 * Get the tile type of a tile of the cached tiles
+	 */
+	private int typeAt(int x, int y) {
+		if (layer != null) {
+			return layer.getTile(x, y);
+		}
+		Tile[] row = gameTiles.tileArray[y];
+		return x < row.length ? row[x].getTileType() : -1;
+	}
+}
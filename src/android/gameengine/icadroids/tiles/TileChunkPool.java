@@ -0,0 +1,180 @@
+package android.gameengine.icadroids.tiles;
+
+import android.graphics.Bitmap;
+
+/**
+ * The chunk bitmaps of all TileChunkCaches of a GameTiles. The caches of the
+ * tiles and of the layers take their bitmaps from one pool, so together they
+ * keep the chunks on the screen and only SPARE_CHUNKS bitmaps more. When a
+ * cache needs a bitmap and none is free, the bitmap that was drawn longest
+ * ago is taken from its cache; only when all bitmaps are on the screen the
+ * pool grows.
+ * 
+ * A slot is a bitmap with the cache and the chunk it holds. A cache remembers
+ * the slot of its chunks and checks with holds() that the slot wasn't taken.
+ * 
+ */
+final class TileChunkPool {
+	/**
+	 * The number of bitmaps kept besides the chunks on the screen, for all
+	 * caches together
+	 */
+	static final int SPARE_CHUNKS = 4;
+
+	/**
+	 * The width and height of the bitmaps in pixels
+	 */
+	private int chunkPixels = -1;
+	/**
+	 * The bitmaps, null until they are drawn
+	 */
+	Bitmap[] slotBitmap = new Bitmap[0];
+	/**
+	 * The cache and the chunk of every slot, null and -1 for a free slot
+	 */
+	private TileChunkCache[] slotCache = new TileChunkCache[0];
+	private int[] slotChunk = new int[0];
+	/**
+	 * When the slots were last drawn and if they must be drawn again
+	 */
+	private long[] slotUsed = new long[0];
+	boolean[] slotDirty = new boolean[0];
+	/**
+	 * The animated tiles of the chunk in every slot, packed as y << 16 | x
+	 */
+	int[][] slotAnimated = new int[0][];
+	int[] slotAnimatedCount = new int[0];
+	/**
+	 * The frame, it starts again when a cache draws for the second time
+	 */
+	private long frame = 0;
+
+	/**
+	 * Start a draw of a cache
+	 * 
+	 * @param drawnFrame
+	 *            The frame the cache was drawn in last
+	 * @param pixels
+	 *            The size of the chunks of the cache in pixels, the bitmaps
+	 *            are made again when it changed
+	 * @return The frame of this draw
+	 */
+	long startDraw(long drawnFrame, int pixels) {
+		if (pixels != chunkPixels) {
+			release(null);
+			chunkPixels = pixels;
+		}
+		if (drawnFrame == frame) {
+			frame++;
+		}
+		return frame;
+	}
+
+	/**
+	 * Check if a slot still holds the chunk of a cache
+	 */
+	boolean holds(int slot, TileChunkCache cache, int chunk) {
+		return slot >= 0 && slotCache[slot] == cache
+				&& slotChunk[slot] == chunk;
+	}
+
+	/**
+	 * Mark a slot as drawn in this frame
+	 */
+	void use(int slot) {
+		slotUsed[slot] = frame;
+	}
+
+	/**
+	 * Get a slot for a chunk of a cache: a free one, or the one drawn longest
+	 * ago. The slot must be drawn.
+	 * 
+	 * @return The slot, with a bitmap of chunkPixels
+	 */
+	int take(TileChunkCache cache, int chunk) {
+		int slot = -1;
+		for (int i = 0; i < slotCache.length; i++) {
+			if (slotCache[i] == null) {
+				slot = i;
+				break;
+			}
+			if (slot < 0 || slotUsed[i] < slotUsed[slot]) {
+				slot = i;
+			}
+		}
+		if (slot < 0 || (slotCache[slot] != null && slotUsed[slot] == frame)) {
+			// all bitmaps are on the screen
+			slot = slotCache.length;
+			grow(slot + 1 + SPARE_CHUNKS);
+		}
+		if (slotBitmap[slot] == null) {
+			slotBitmap[slot] = Bitmap.createBitmap(chunkPixels, chunkPixels,
+					Bitmap.Config.ARGB_8888);
+		}
+		slotCache[slot] = cache;
+		slotChunk[slot] = chunk;
+		slotDirty[slot] = true;
+		return slot;
+	}
+
+	/**
+	 * Draw all chunks of a cache again
+	 */
+	void invalidate(TileChunkCache cache) {
+		for (int i = 0; i < slotCache.length; i++) {
+			if (slotCache[i] == cache) {
+				slotDirty[i] = true;
+			}
+		}
+	}
+
+	/**
+	 * Free the bitmaps of a cache
+	 * 
+	 * @param cache
+	 *            The cache, null for the bitmaps of all caches
+	 */
+	void release(TileChunkCache cache) {
+		for (int i = 0; i < slotCache.length; i++) {
+			if (cache == null || slotCache[i] == cache) {
+				if (slotBitmap[i] != null) {
+					slotBitmap[i].recycle();
+					slotBitmap[i] = null;
+				}
+				slotCache[i] = null;
+				slotChunk[i] = -1;
+			}
+		}
+	}
+
+	/**
+	 * Make room for more bitmaps
+	 */
+	private void grow(int size) {
+		int old = slotCache.length;
+		Bitmap[] bitmaps = new Bitmap[size];
+		TileChunkCache[] caches = new TileChunkCache[size];
+		int[] chunks = new int[size];
+		long[] used = new long[size];
+		boolean[] dirty = new boolean[size];
+		int[][] animated = new int[size][];
+		int[] animatedCount = new int[size];
+		System.arraycopy(slotBitmap, 0, bitmaps, 0, old);
+		System.arraycopy(slotCache, 0, caches, 0, old);
+		System.arraycopy(slotChunk, 0, chunks, 0, old);
+		System.arraycopy(slotUsed, 0, used, 0, old);
+		System.arraycopy(slotDirty, 0, dirty, 0, old);
+		System.arraycopy(slotAnimated, 0, animated, 0, old);
+		System.arraycopy(slotAnimatedCount, 0, animatedCount, 0, old);
+		for (int i = old; i < size; i++) {
+			chunks[i] = -1;
+		}
+		slotBitmap = bitmaps;
+		slotCache = caches;
+		slotChunk = chunks;
+		slotUsed = used;
+		slotDirty = dirty;
+		slotAnimated = animated;
+		slotAnimatedCount = animatedCount;
+	}
+}
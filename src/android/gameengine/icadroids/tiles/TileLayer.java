@@ -0,0 +1,214 @@
+package android.gameengine.icadroids.tiles;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+
+/**
+ * A TileLayer is an extra layer of tiles that is only drawn, like grass and
+ * cracks behind the walls or tree tops in front of the objects. Collisions,
+ * pathfinding and lighting only use the tiles of the GameTiles itself, so a
+ * layer never costs time in a collision check.
+ * 
+ * A layer uses the tile types (sprites) and tile size of its GameTiles and
+ * keeps its tiles in one short array, -1 is an empty tile. Add a layer with
+ * GameTiles.addLayer().
+ * 
+ * Static layers can be drawn from a cache of pre-drawn chunks of tiles (see
+ * setCached()), layers whose tiles change often (animated layers) are always
+ * drawn tile by tile. Tiles of an animated tile type are drawn on top of the
+ * cached chunks, so they keep moving.
+ * 
+ */
+public class TileLayer {
+	/**
+	 * The tiles the layer belongs to
+	 */
+	private final GameTiles gameTiles;
+	/**
+	 * The tile types, row by row
+	 */
+	private final short[] types;
+	private final int columns, rows;
+	/**
+	 * True when the layer is drawn in front of the objects
+	 */
+	private final boolean foreground;
+	/**
+	 * True when the tiles of the layer change often, they are never cached
+	 */
+	private boolean animated = false;
+	/**
+	 * The pre-drawn chunks, null when the layer is not cached
+	 */
+	private TileChunkCache cache;
+	/**
+	 * The tiles on the screen, reused every draw
+	 */
+	private final Rect visibleTiles = new Rect();
+
+	/**
+	 * Make a new layer, <b>layers are made by GameTiles.addLayer()</b>
+	 */
+	TileLayer(GameTiles gameTiles, int[][] map, boolean foreground) {
+		this.gameTiles = gameTiles;
+		this.foreground = foreground;
+		rows = map.length;
+		int maxColumns = 0;
+		for (int i = 0; i < rows; i++) {
+			maxColumns = Math.max(maxColumns, map[i].length);
+		}
+		columns = maxColumns;
+		types = new short[columns * rows];
+		for (int y = 0; y < rows; y++) {
+			for (int x = 0; x < columns; x++) {
+				types[y * columns + x] = (short) (x < map[y].length ? map[y][x]
+						: -1);
+			}
+		}
+	}
+
+	/**
+	 * Get the tile type of a tile
+	 * 
+	 * @param tileX
+	 *            The x tile number
+	 * @param tileY
+	 *            The y tile number
+	 * @return The tile type, -1 for an empty tile or a tile outside the layer
+	 */
+	public int getTile(int tileX, int tileY) {
+		if (tileX < 0 || tileY < 0 || tileX >= columns || tileY >= rows) {
+			return -1;
+		}
+		return types[tileY * columns + tileX];
+	}
+
+	/**
+	 * Change a tile of the layer
+	 * 
+	 * @param tileX
+	 *            The x tile number
+	 * @param tileY
+	 *            The y tile number
+	 * @param tileType
+	 *            The new tile type, -1 for an empty tile
+	 */
+	public void setTile(int tileX, int tileY, int tileType) {
+		types[tileY * columns + tileX] = (short) tileType;
+		if (cache != null) {
+			cache.invalidate(tileX, tileY);
+		}
+	}
+
+	/**
+	 * Set if the tiles of the layer change often. Animated layers are drawn
+	 * tile by tile and are never cached.
+	 * 
+	 * @param animated
+	 *            True for an animated layer
+	 */
+	public void setAnimated(boolean animated) {
+		this.animated = animated;
+		if (animated) {
+			setCached(false);
+		}
+	}
+
+	/**
+	 * Check if the layer is animated
+	 * 
+	 * @return True for an animated layer
+	 */
+	public boolean isAnimated() {
+		return animated;
+	}
+
+	/**
+	 * Set if the layer is drawn from pre-drawn chunks of tiles. This is much
+	 * faster for layers with many tiles, but every chunk on the screen is a
+	 * bitmap of 8 x 8 tiles, 4 bytes a pixel: with tiles of 50 pixels an 800
+	 * x 480 screen needs up to 9 bitmaps of 400 x 400 pixels, 5.8 MB for each
+	 * cached layer. The cached layers of the tiles share a few spare bitmaps.
+	 * Animated layers are not cached.
+	 * 
+	 * @param cached
+	 *            True to cache the layer
+	 */
+	public void setCached(boolean cached) {
+		if (cached && !animated && cache == null) {
+			cache = new TileChunkCache(gameTiles, this);
+		} else if (!cached && cache != null) {
+			cache.release();
+			cache = null;
+		}
+	}
+
+	/**
+	 * Check if the layer is drawn in front of the objects
+	 * 
+	 * @return True for a foreground layer
+	 */
+	public boolean isForeground() {
+		return foreground;
+	}
+
+	/**
+	 * Get the number of tiles horizontally
+	 * 
+	 * @return The number of columns
+	 */
+	public int getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Get the number of tiles vertically
+	 * 
+	 * @return The number of rows
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * Draw the tiles of the layer that are on the screen
+	 * 
+	 * @param canvas
+	 *            The canvas to draw on
+	 */
+	public void draw(Canvas canvas) {
+		gameTiles.getVisibleTiles(visibleTiles, columns, rows);
+		if (cache != null) {
+			cache.draw(canvas, visibleTiles);
+			return;
+		}
+		drawTiles(canvas, visibleTiles.left, visibleTiles.top,
+				visibleTiles.right, visibleTiles.bottom);
+	}
+
+	/**
+	 * Draw a range of tiles, inclusive
+	 */
+	private void drawTiles(Canvas canvas, int minX, int minY, int maxX,
+			int maxY) {
+		int tileSize = gameTiles.tileSize;
+		for (int y = minY; y <= maxY; y++) {
+			int row = y * columns;
+			for (int x = minX; x <= maxX; x++) {
+				int type = types[row + x];
+				if (type >= 0) {
+					gameTiles.drawTile(canvas, type, x * tileSize, y * tileSize);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Draw all cached chunks again, for example when the sprites changed
+	 */
+	void invalidate() {
+		if (cache != null) {
+			cache.invalidateAll();
+		}
+	}
+}
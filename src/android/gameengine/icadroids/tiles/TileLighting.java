@@ -0,0 +1,665 @@
+package android.gameengine.icadroids.tiles;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+/**
+ * TileLighting adds light, shadows and a field of view to a tile map. Light
+ * sources light the tiles around them, walls cast shadows, and with fog of
+ * war only the tiles the viewer can see are shown; tiles that were seen
+ * before stay dim, the rest is black.
+ * 
+ * The lighting is drawn by the tile map as one darkness pass over the tiles
+ * and objects: neighbouring tiles in a row with the same darkness are drawn
+ * as one rectangle. Add it to the tiles with GameTiles.setLighting().
+ * 
+ * Light and sight use shadowcasting over the tiles. Only the light sources
+ * that moved to an other tile, or that are near a tile that was changed, are
+ * cast again. Empty tiles (tile type -1) and tiles that are not solid let
+ * light through, other tile types can be made transparent with
+ * setTransparent().
+ * 
+ */
+public class TileLighting {
+	/**
+	 * The tiles of the lighting
+	 */
+	private final GameTiles gameTiles;
+	/**
+	 * The transparent tiles of the map
+	 */
+	private final WalkableGrid transparentGrid;
+	private boolean[] grid;
+	private int width, height, stride;
+
+	/**
+	 * The light level of every tile, 0 is dark, 255 is fully lit, in grid
+	 * indexes
+	 */
+	private int[] light = new int[0];
+	/**
+	 * The light level of tiles without light sources, 0 to 255
+	 */
+	private int ambient = 0;
+
+	/**
+	 * The light sources
+	 */
+	private int lightCount = 0;
+	private boolean[] lightUsed = new boolean[8];
+	private boolean[] lightDirty = new boolean[8];
+	private int[] lightX = new int[8];
+	private int[] lightY = new int[8];
+	private int[] lightRadius = new int[8];
+	private int[] lightIntensity = new int[8];
+	/**
+	 * The tiles lit by every light source and how much, so the light can be
+	 * taken away again when the source moves
+	 */
+	private int[][] litCells = new int[8][];
+	private int[][] litAmount = new int[8][];
+	private int[] litCount = new int[8];
+
+	/**
+	 * True when only the tiles the viewer sees are shown
+	 */
+	private boolean fogOfWar = false;
+	private int viewerX = -1, viewerY = -1, viewRadius = 0;
+	private boolean viewDirty = true;
+	/**
+	 * The tiles that are visible have the current view stamp, the tiles that
+	 * were ever visible are explored
+	 */
+	private int[] visible = new int[0];
+	private int viewStamp = 0;
+	private boolean[] explored = new boolean[0];
+	/**
+	 * The darkness of tiles that were seen before but are not visible now, 0
+	 * to 255
+	 */
+	private int fogAlpha = 170;
+
+	/**
+	 * The tiles that are reached by the current shadowcast have the cast
+	 * stamp, so tiles on the borders of octants are counted once
+	 */
+	private int[] castStamp = new int[0];
+	private int cast = 0;
+	/**
+	 * The light source that is cast, -1 when the view is cast
+	 */
+	private int castLight;
+
+	/**
+	 * The paint and color of the darkness
+	 */
+	private final Paint paint = new Paint();
+	private int darknessColor = 0xff000000;
+	/**
+	 * The tiles on the screen, reused every draw
+	 */
+	private final Rect visibleTiles = new Rect();
+
+	/**
+	 * The octants of the shadowcast, transforms of the row and column
+	 */
+	private static final int[][] OCTANTS = { { 1, 0, 0, -1, -1, 0, 0, 1 },
+			{ 0, 1, -1, 0, 0, -1, 1, 0 }, { 0, 1, 1, 0, 0, -1, -1, 0 },
+			{ 1, 0, 0, 1, -1, 0, 0, -1 } };
+
+	/**
+	 * Make new lighting for a tile map. Add it to the tile map with
+	 * GameTiles.setLighting().
+	 * 
+	 * @param gameTiles
+	 *            The tiles
+	 */
+	public TileLighting(GameTiles gameTiles) {
+		this.gameTiles = gameTiles;
+		transparentGrid = new WalkableGrid(gameTiles);
+	}
+
+	/**
+	 * Add a light source
+	 * 
+	 * @param tileX
+	 *            The x tile number of the light
+	 * @param tileY
+	 *            The y tile number of the light
+	 * @param radius
+	 *            The radius of the light in tiles
+	 * @param intensity
+	 *            The light level at the source, 0 to 255
+	 * @return The id of the light, to move or remove it
+	 */
+	public int addLight(int tileX, int tileY, int radius, int intensity) {
+		int id = 0;
+		while (id < lightCount && lightUsed[id]) {
+			id++;
+		}
+		if (id == lightUsed.length) {
+			growLights();
+		}
+		if (id == lightCount) {
+			lightCount++;
+		}
+		lightUsed[id] = true;
+		lightX[id] = tileX;
+		lightY[id] = tileY;
+		lightRadius[id] = radius;
+		lightIntensity[id] = intensity;
+		litCount[id] = 0;
+		lightDirty[id] = true;
+		return id;
+	}
+
+	/**
+	 * Move a light source. The light is only cast again when it moves to an
+	 * other tile. Nothing happens when the light was removed.
+	 * 
+	 * @param id
+	 *            The id of the light
+	 * @param tileX
+	 *            The x tile number
+	 * @param tileY
+	 *            The y tile number
+	 */
+	public void moveLight(int id, int tileX, int tileY) {
+		if (lightUsed[id] && (lightX[id] != tileX || lightY[id] != tileY)) {
+			lightX[id] = tileX;
+			lightY[id] = tileY;
+			lightDirty[id] = true;
+		}
+	}
+
+	/**
+	 * Move a light source to a position in the game world, for example the
+	 * center of a torch
+	 * 
+	 * @param id
+	 *            The id of the light
+	 * @param x
+	 *            The x position in pixels
+	 * @param y
+	 *            The y position in pixels
+	 */
+	public void moveLightTo(int id, double x, double y) {
+		moveLight(id, (int) Math.floor(x / gameTiles.tileSize),
+				(int) Math.floor(y / gameTiles.tileSize));
+	}
+
+	/**
+	 * Change the radius and intensity of a light source. Nothing happens when
+	 * the light was removed.
+	 * 
+	 * @param id
+	 *            The id of the light
+	 * @param radius
+	 *            The radius of the light in tiles
+	 * @param intensity
+	 *            The light level at the source, 0 to 255
+	 */
+	public void setLight(int id, int radius, int intensity) {
+		if (lightUsed[id]
+				&& (lightRadius[id] != radius
+						|| lightIntensity[id] != intensity)) {
+			lightRadius[id] = radius;
+			lightIntensity[id] = intensity;
+			lightDirty[id] = true;
+		}
+	}
+
+	/**
+	 * Remove a light source
+	 * 
+	 * @param id
+	 *            The id of the light
+	 */
+	public void removeLight(int id) {
+		if (lightUsed[id]) {
+			unlight(id);
+			lightUsed[id] = false;
+			lightDirty[id] = false;
+		}
+	}
+
+	/**
+	 * Set the viewer for the fog of war, for example the player. Fog of war
+	 * is switched on.
+	 * 
+	 * @param tileX
+	 *            The x tile number of the viewer
+	 * @param tileY
+	 *            The y tile number of the viewer
+	 * @param radius
+	 *            How far the viewer can see in tiles
+	 */
+	public void setViewer(int tileX, int tileY, int radius) {
+		fogOfWar = true;
+		if (tileX != viewerX || tileY != viewerY || radius != viewRadius) {
+			viewerX = tileX;
+			viewerY = tileY;
+			viewRadius = radius;
+			viewDirty = true;
+		}
+	}
+
+	/**
+	 * Set the viewer at a position in the game world, for example the center
+	 * of the player. Fog of war is switched on.
+	 * 
+	 * @param x
+	 *            The x position in pixels
+	 * @param y
+	 *            The y position in pixels
+	 * @param radius
+	 *            How far the viewer can see in tiles
+	 */
+	public void setViewerPosition(double x, double y, int radius) {
+		setViewer((int) Math.floor(x / gameTiles.tileSize),
+				(int) Math.floor(y / gameTiles.tileSize), radius);
+	}
+
+	/**
+	 * Switch the fog of war on or off
+	 * 
+	 * @param fogOfWar
+	 *            True to show only the tiles the viewer can see
+	 */
+	public void setFogOfWar(boolean fogOfWar) {
+		this.fogOfWar = fogOfWar;
+	}
+
+	/**
+	 * Forget which tiles were seen before
+	 */
+	public void clearExplored() {
+		for (int i = 0; i < explored.length; i++) {
+			explored[i] = false;
+		}
+		viewDirty = true;
+	}
+
+	/**
+	 * Set the light level of tiles without light sources
+	 * 
+	 * @param ambient
+	 *            The light level, 0 (dark) to 255 (fully lit)
+	 */
+	public void setAmbient(int ambient) {
+		this.ambient = ambient;
+	}
+
+	/**
+	 * Set the darkness of tiles that were seen before but are not visible
+	 * now
+	 * 
+	 * @param fogAlpha
+	 *            The darkness, 0 (not dark) to 255 (black)
+	 */
+	public void setFogAlpha(int fogAlpha) {
+		this.fogAlpha = fogAlpha;
+	}
+
+	/**
+	 * Set the color of the darkness
+	 * 
+	 * @param rgb
+	 *            The color, the alpha is ignored
+	 */
+	public void setDarknessColor(int rgb) {
+		darknessColor = rgb | 0xff000000;
+	}
+
+	/**
+	 * Set if the tiles of a tile type let light through. The lighting is
+	 * cast again at the next update().
+	 * 
+	 * @param tileType
+	 *            The tile type
+	 * @param transparent
+	 *            True when light goes through the tiles
+	 */
+	public void setTransparent(int tileType, boolean transparent) {
+		transparentGrid.setWalkable(tileType, transparent);
+	}
+
+	/**
+	 * Bring the lighting up to date: cast the light sources that moved or are
+	 * near a changed tile again, and the view when the viewer moved. It is
+	 * called by draw(), call it yourself when you use the light levels or the
+	 * visibility in your game logic.
+	 */
+	public void update() {
+		int changes = transparentGrid.sync();
+		if (changes < 0) {
+			grid = transparentGrid.cells;
+			width = transparentGrid.width;
+			height = transparentGrid.height;
+			stride = transparentGrid.stride;
+			if (light.length != grid.length) {
+				light = new int[grid.length];
+				visible = new int[grid.length];
+				explored = new boolean[grid.length];
+				castStamp = new int[grid.length];
+			} else {
+				for (int i = 0; i < light.length; i++) {
+					light[i] = 0;
+				}
+			}
+			for (int id = 0; id < lightCount; id++) {
+				litCount[id] = 0;
+				lightDirty[id] = lightUsed[id];
+			}
+			viewDirty = true;
+		} else if (changes > 0) {
+			for (int i = 0; i < changes; i++) {
+				int cell = transparentGrid.changed[i];
+				int x = cell % stride - 1;
+				int y = cell / stride - 1;
+				for (int id = 0; id < lightCount; id++) {
+					if (lightUsed[id] && isInRange(x, y, lightX[id], lightY[id],
+							lightRadius[id])) {
+						lightDirty[id] = true;
+					}
+				}
+				if (isInRange(x, y, viewerX, viewerY, viewRadius)) {
+					viewDirty = true;
+				}
+			}
+		}
+		for (int id = 0; id < lightCount; id++) {
+			// a removed light is never cast, it would light the map again
+			if (lightDirty[id] && lightUsed[id]) {
+				lightDirty[id] = false;
+				unlight(id);
+				castLight = id;
+				castFrom(lightX[id], lightY[id], lightRadius[id]);
+			}
+		}
+		if (viewDirty && fogOfWar) {
+			viewDirty = false;
+			viewStamp++;
+			castLight = -1;
+			castFrom(viewerX, viewerY, viewRadius);
+		}
+	}
+
+	/**
+	 * Get the light level of a tile
+	 * 
+	 * @param tileX
+	 *            The x tile number
+	 * @param tileY
+	 *            The y tile number
+	 * @return The light level, 0 (dark) to 255 (fully lit)
+	 */
+	public int getLight(int tileX, int tileY) {
+		if (!isInMap(tileX, tileY)) {
+			return 0;
+		}
+		return Math.min(255, ambient + light[(tileY + 1) * stride + tileX + 1]);
+	}
+
+	/**
+	 * Check if the viewer can see a tile
+	 * 
+	 * @param tileX
+	 *            The x tile number
+	 * @param tileY
+	 *            The y tile number
+	 * @return True when the tile is visible, or when fog of war is off
+	 */
+	public boolean isVisible(int tileX, int tileY) {
+		if (!isInMap(tileX, tileY)) {
+			return false;
+		}
+		return !fogOfWar
+				|| visible[(tileY + 1) * stride + tileX + 1] == viewStamp;
+	}
+
+	/**
+	 * Check if the viewer has ever seen a tile
+	 * 
+	 * @param tileX
+	 *            The x tile number
+	 * @param tileY
+	 *            The y tile number
+	 * @return True when the tile was seen, or when fog of war is off
+	 */
+	public boolean isExplored(int tileX, int tileY) {
+		if (!isInMap(tileX, tileY)) {
+			return false;
+		}
+		return !fogOfWar || explored[(tileY + 1) * stride + tileX + 1];
+	}
+
+	/**
+	 * <b>This method is automatically called by the GameTiles</b> after the
+	 * objects are drawn.
+	 * <p>
+	 * Draw the darkness over the tiles that are on the screen. Tiles in a row
+	 * with the same darkness are drawn as one rectangle.
+	 * 
+	 * @param canvas
+	 *            The canvas to draw on
+	 */
+	public void draw(Canvas canvas) {
+		update();
+		int tileSize = gameTiles.tileSize;
+		gameTiles.getVisibleTiles(visibleTiles, width, height);
+		int minX = visibleTiles.left, minY = visibleTiles.top;
+		int maxX = visibleTiles.right, maxY = visibleTiles.bottom;
+		paint.setColor(darknessColor);
+		for (int y = minY; y <= maxY; y++) {
+			int row = (y + 1) * stride + 1;
+			int runStart = minX;
+			int runAlpha = darkness(row + minX);
+			for (int x = minX + 1; x <= maxX + 1; x++) {
+				int alpha = x <= maxX ? darkness(row + x) : -1;
+				if (alpha != runAlpha) {
+					if (runAlpha > 0) {
+						paint.setAlpha(runAlpha);
+						canvas.drawRect(runStart * tileSize, y * tileSize, x
+								* tileSize, (y + 1) * tileSize, paint);
+					}
+					runStart = x;
+					runAlpha = alpha;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the darkness of a tile
+	 * 
+	 * @return The alpha of the darkness, 0 to 255
+	 */
+	private int darkness(int cell) {
+		int alpha = 255 - Math.min(255, ambient + light[cell]);
+		if (fogOfWar) {
+			if (!explored[cell]) {
+				return 255;
+			}
+			if (visible[cell] != viewStamp) {
+				return Math.max(alpha, fogAlpha);
+			}
+		}
+		return alpha;
+	}
+
+	/**
+	 * Check if a tile is in the map
+	 */
+	private boolean isInMap(int x, int y) {
+		return x >= 0 && y >= 0 && x < width && y < height;
+	}
+
+	/**
+	 * Check if a tile is within the radius of a source
+	 */
+	private static boolean isInRange(int x, int y, int sourceX, int sourceY,
+			int radius) {
+		return Math.abs(x - sourceX) <= radius
+				&& Math.abs(y - sourceY) <= radius;
+	}
+
+	/**
+	 * Take the light of a source away from the tiles
+	 */
+	private void unlight(int id) {
+		int[] cells = litCells[id];
+		int[] amounts = litAmount[id];
+		for (int i = 0; i < litCount[id]; i++) {
+			light[cells[i]] -= amounts[i];
+		}
+		litCount[id] = 0;
+	}
+
+	/**
+	 * Cast light or sight from a tile over the 8 octants around it
+	 */
+	private void castFrom(int x, int y, int radius) {
+		if (!isInMap(x, y)) {
+			return;
+		}
+		cast++;
+		if (cast == Integer.MAX_VALUE) {
+			for (int i = 0; i < castStamp.length; i++) {
+				castStamp[i] = 0;
+			}
+			cast = 1;
+		}
+		reach(x, y, 0, 0, radius);
+		for (int octant = 0; octant < 8; octant++) {
+			castOctant(x, y, 1, 1.0, 0.0, radius, OCTANTS[0][octant],
+					OCTANTS[1][octant], OCTANTS[2][octant], OCTANTS[3][octant]);
+		}
+	}
+
+	/**
+	 * Recursive shadowcasting of one octant: walk the rows away from the
+	 * source and start a new scan past every wall, between the start and end
+	 * slopes that are not in shadow
+	 */
+	private void castOctant(int x, int y, int row, double start, double end,
+			int radius, int xx, int xy, int yx, int yy) {
+		if (start < end) {
+			return;
+		}
+		int radiusSquared = radius * radius;
+		double newStart = 0;
+		for (int j = row; j <= radius; j++) {
+			int dx = -j - 1;
+			int dy = -j;
+			boolean blocked = false;
+			while (dx <= 0) {
+				dx++;
+				int mapX = x + dx * xx + dy * xy;
+				int mapY = y + dx * yx + dy * yy;
+				double leftSlope = (dx - 0.5) / (dy + 0.5);
+				double rightSlope = (dx + 0.5) / (dy - 0.5);
+				if (start < rightSlope) {
+					continue;
+				} else if (end > leftSlope) {
+					break;
+				}
+				boolean inMap = isInMap(mapX, mapY);
+				if (inMap && dx * dx + dy * dy < radiusSquared) {
+					reach(mapX, mapY, dx, dy, radius);
+				}
+				boolean wall = !inMap || !grid[(mapY + 1) * stride + mapX + 1];
+				if (blocked) {
+					if (wall) {
+						newStart = rightSlope;
+					} else {
+						blocked = false;
+						start = newStart;
+					}
+				} else if (wall && j < radius) {
+					blocked = true;
+					castOctant(x, y, j + 1, start, leftSlope, radius, xx, xy,
+							yx, yy);
+					newStart = rightSlope;
+				}
+			}
+			if (blocked) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * A tile is reached by the cast: light it or make it visible
+	 */
+	private void reach(int x, int y, int dx, int dy, int radius) {
+		int cell = (y + 1) * stride + x + 1;
+		if (castStamp[cell] == cast) {
+			return;
+		}
+		castStamp[cell] = cast;
+		if (castLight < 0) {
+			visible[cell] = viewStamp;
+			explored[cell] = true;
+			return;
+		}
+		int id = castLight;
+		int amount = (int) (lightIntensity[id] * (1 - Math.sqrt(dx * dx + dy
+				* dy)
+				/ radius));
+		if (amount <= 0) {
+			return;
+		}
+		int count = litCount[id];
+		if (litCells[id] == null || count == litCells[id].length) {
+			int size = count == 0 ? 64 : count * 2;
+			int[] cells = new int[size];
+			int[] amounts = new int[size];
+			if (count > 0) {
+				System.arraycopy(litCells[id], 0, cells, 0, count);
+				System.arraycopy(litAmount[id], 0, amounts, 0, count);
+			}
+			litCells[id] = cells;
+			litAmount[id] = amounts;
+		}
+		litCells[id][count] = cell;
+		litAmount[id][count] = amount;
+		litCount[id] = count + 1;
+		light[cell] += amount;
+	}
+
+	/**
+	 * Make the arrays of the light sources larger
+	 */
+	private void growLights() {
+		int size = lightUsed.length * 2;
+		boolean[] used = new boolean[size];
+		boolean[] dirty = new boolean[size];
+		int[] xs = new int[size];
+		int[] ys = new int[size];
+		int[] radii = new int[size];
+		int[] intensities = new int[size];
+		int[][] cells = new int[size][];
+		int[][] amounts = new int[size][];
+		int[] counts = new int[size];
+		System.arraycopy(lightUsed, 0, used, 0, lightCount);
+		System.arraycopy(lightDirty, 0, dirty, 0, lightCount);
+		System.arraycopy(lightX, 0, xs, 0, lightCount);
+		System.arraycopy(lightY, 0, ys, 0, lightCount);
+		System.arraycopy(lightRadius, 0, radii, 0, lightCount);
+		System.arraycopy(lightIntensity, 0, intensities, 0, lightCount);
+		System.arraycopy(litCells, 0, cells, 0, lightCount);
+		System.arraycopy(litAmount, 0, amounts, 0, lightCount);
+		System.arraycopy(litCount, 0, counts, 0, lightCount);
+		lightUsed = used;
+		lightDirty = dirty;
+		lightX = xs;
+		lightY = ys;
+		lightRadius = radii;
+		lightIntensity = intensities;
+		litCells = cells;
+		litAmount = amounts;
+		litCount = counts;
+	}
+}
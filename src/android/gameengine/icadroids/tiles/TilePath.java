@@ -0,0 +1,71 @@
+package android.gameengine.icadroids.tiles;
+
+/**
+ * A path over the tiles of a tile map, found by a Pathfinder. The path holds
+ * every tile from the start to the goal, as tile numbers in the tile map (not
+ * positions in the game world).
+ * 
+ * A TilePath can be used for many searches, so a moving object can keep one
+ * path and fill it again when it needs a new route.
+ * 
+ */
+public class TilePath {
+	private int[] xs = new int[32];
+	private int[] ys = new int[32];
+	private int length = 0;
+
+	/**
+	 * Get the number of tiles in the path, including the start and the goal
+	 * 
+	 * @return The number of tiles, 0 when no path was found
+	 */
+	public int size() {
+		return length;
+	}
+
+	/**
+	 * Get the x tile number of a tile of the path
+	 * 
+	 * @param index
+	 *            The index in the path, 0 is the start
+	 * @return The x tile number
+	 */
+	public int getX(int index) {
+		return xs[index];
+	}
+
+	/**
+	 * Get the y tile number of a tile of the path
+	 * 
+	 * @param index
+	 *            The index in the path, 0 is the start
+	 * @return The y tile number
+	 */
+	public int getY(int index) {
+		return ys[index];
+	}
+
+	/**
+	 * Make the path empty
+	 */
+	public void clear() {
+		length = 0;
+	}
+
+	/**
+	 * Add a tile at the end of the path
+	 */
+	void add(int x, int y) {
+		if (length == xs.length) {
+			int[] largerX = new int[length * 2];
+			int[] largerY = new int[length * 2];
+			System.arraycopy(xs, 0, largerX, 0, length);
+			System.arraycopy(ys, 0, largerY, 0, length);
+			xs = largerX;
+			ys = largerY;
+		}
+		xs[length] = x;
+		ys[length] = y;
+		length++;
+	}
+}
@@ -0,0 +1,168 @@
+package android.gameengine.icadroids.tiles;
+
+/**
+ * The walkable tiles of a tile map as an array of booleans, for the
+ * Pathfinder and the FlowField. Empty tiles (tile type -1) and tiles that
+ * are not solid (see GameTiles.setTileFlags()) are walkable, the other tiles
+ * are walls, unless their type is made walkable.
+ * 
+ * The grid has a border of walls around the map, so the neighbours of a tile
+ * never need a bounds check. The index of tile (x, y) is
+ * (y + 1) * stride + x + 1.
+ * 
+ */
+final class WalkableGrid {
+	/**
+	 * The tiles of the grid
+	 */
+	private final GameTiles gameTiles;
+	/**
+	 * The tile map when the grid was made
+	 */
+	private Tile[][] tileArray;
+	/**
+	 * The version of the tiles the grid belongs to, -1 when the grid must be
+	 * made again
+	 */
+	private int version = -1;
+	/**
+	 * The tile types that are made walkable (1) or walls (2), 0 when the
+	 * collision flags of the tile type decide
+	 */
+	private byte[] walkableTypes = new byte[0];
+
+	/**
+	 * The walkable tiles, with the border
+	 */
+	boolean[] cells = new boolean[0];
+	/**
+	 * The size of the map in tiles and the length of a row of the grid
+	 */
+	int width, height, stride;
+	/**
+	 * The grid indexes of the tiles that changed at the last sync
+	 */
+	int[] changed = new int[GameTiles.CHANGE_LOG_SIZE];
+
+	/**
+	 * Make a new grid for a tile map
+	 * 
+	 * @param gameTiles
+	 *            The tiles
+	 */
+	WalkableGrid(GameTiles gameTiles) {
+		this.gameTiles = gameTiles;
+	}
+
+	/**
+	 * Bring the grid up to date with the tiles. Tiles changed with
+	 * changeTile() are updated one by one, otherwise the grid is made again.
+	 * 
+	 * @return 0 when nothing changed, the number of changed tiles in
+	 *         'changed', or -1 when the grid was made again
+	 */
+	int sync() {
+		int current = gameTiles.getVersion();
+		if (version == current && tileArray == gameTiles.tileArray) {
+			return 0;
+		}
+		if (version >= 0 && tileArray == gameTiles.tileArray
+				&& current - version <= GameTiles.CHANGE_LOG_SIZE) {
+			int count = 0;
+			for (int v = version + 1; v <= current; v++) {
+				int tile = gameTiles.getChangedTile(v);
+				if (tile < 0) {
+					count = -1;
+					break;
+				}
+				int x = tile & 0xffff;
+				int y = tile >>> 16;
+				int index = (y + 1) * stride + x + 1;
+				boolean walkable = isWalkableType(tileArray[y][x].getTileType());
+				if (cells[index] != walkable) {
+					cells[index] = walkable;
+					changed[count++] = index;
+				}
+			}
+			if (count >= 0) {
+				version = current;
+				return count;
+			}
+		}
+		build();
+		version = current;
+		return -1;
+	}
+
+	/**
+	 * Make the grid again from the tiles
+	 */
+	private void build() {
+		tileArray = gameTiles.tileArray;
+		if (tileArray == null) {
+			tileArray = new Tile[0][];
+		}
+		height = tileArray.length;
+		int maxWidth = 0;
+		for (int i = 0; i < height; i++) {
+			maxWidth = Math.max(maxWidth, tileArray[i].length);
+		}
+		width = maxWidth;
+		stride = width + 2;
+		cells = new boolean[stride * (height + 2)];
+		for (int y = 0; y < height; y++) {
+			Tile[] row = tileArray[y];
+			for (int x = 0; x < row.length; x++) {
+				cells[(y + 1) * stride + x + 1] = isWalkableType(row[x]
+						.getTileType());
+			}
+		}
+	}
+
+	/**
+	 * Check if a tile type is walkable
+	 */
+	private boolean isWalkableType(int type) {
+		if (type < 0) {
+			return true;
+		}
+		if (type < walkableTypes.length && walkableTypes[type] != 0) {
+			return walkableTypes[type] == 1;
+		}
+		return !gameTiles.isSolid(type);
+	}
+
+	/**
+	 * Check if a tile is walkable, call sync() first
+	 * 
+	 * @return False for walls and tiles outside the map
+	 */
+	boolean isWalkable(int x, int y) {
+		if (y < 0 || y >= height || x < 0 || x >= width) {
+			return false;
+		}
+		return cells[(y + 1) * stride + x + 1];
+	}
+
+	/**
+	 * Check if a tile is in the map, the rows of a map can have different
+	 * lengths
+	 */
+	boolean isInside(int x, int y) {
+		return y >= 0 && y < height && x >= 0 && x < tileArray[y].length;
+	}
+
+	/**
+	 * Set if the tiles of a tile type are walkable, the grid is made again
+	 * at the next sync
+	 */
+	void setWalkable(int tileType, boolean walkable) {
+		if (tileType >= walkableTypes.length) {
+			byte[] larger = new byte[tileType + 1];
+			System.arraycopy(walkableTypes, 0, larger, 0, walkableTypes.length);
+			walkableTypes = larger;
+		}
+		walkableTypes[tileType] = (byte) (walkable ? 1 : 2);
+		version = -1;
+	}
+}
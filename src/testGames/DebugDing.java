@@ -1,11 +1,11 @@
-package testGames;
-
-import android.gameengine.icadroids.objects.GameObject;
-
-public class DebugDing extends GameObject {
-
-	public DebugDing() {
-		setSprite("tile3");
-	}
-	
-}
+package testGames;
+
+import android.gameengine.icadroids.objects.GameObject;
+
+public class DebugDing extends GameObject {
+
+	public DebugDing() {
+		setSprite("tile3");
+	}
+	
+}
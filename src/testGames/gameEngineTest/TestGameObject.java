@@ -1,18 +1,18 @@
-package testGames.gameEngineTest;
-
-import android.gameengine.icadroids.objects.MoveableGameObject;
-
-/**
- * Dit GameObject test sprite en speed.
- * 
- * @author Bas van der Zandt
- *
- */
-public class TestGameObject extends MoveableGameObject {
-	public TestGameObject() {
-		setSprite("nyan");
-		setSpeed(2);
-	}
-	
-
-}
+package testGames.gameEngineTest;
+
+import android.gameengine.icadroids.objects.MoveableGameObject;
+
+/**
+ * Dit GameObject test sprite en speed.
+ * 
+ * @author Bas van der Zandt
+ *
+ */
+public class TestGameObject extends MoveableGameObject {
+	public TestGameObject() {
+		setSprite("nyan");
+		setSpeed(2);
+	}
+	
+
+}